@@ -0,0 +1,116 @@
+package com.example.ritmofit;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.example.ritmofit.core.DomainCallback;
+import com.example.ritmofit.core.connectivity.FetchPolicy;
+import com.example.ritmofit.core.http.RequestBatcher;
+import com.example.ritmofit.core.http.RequestPriority;
+import com.example.ritmofit.core.paging.Page;
+import com.example.ritmofit.data.repository.HistorialRepository;
+import com.example.ritmofit.home.model.Course;
+import com.example.ritmofit.home.repository.CourseRepository;
+import com.example.ritmofit.model.HistorialItem;
+import com.example.ritmofit.profile.model.User;
+import com.example.ritmofit.profile.repository.UserRepository;
+
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import dagger.hilt.android.qualifiers.ApplicationContext;
+
+/**
+ * Precarga al iniciar la app, en un solo round-trip, lo que muestran las primeras pantallas:
+ * catálogo de cursos, perfil e historial del mes. Cada resultado queda en el cache de su
+ * repositorio; si una pantalla pide lo mismo mientras el batch está en vuelo, se suma a él.
+ * En redes malas o medidas no se precarga el historial, que nadie pidió todavía.
+ */
+@Singleton
+public class HomeBootstrap {
+
+    static final String PREFS = "APP_PREFS";
+
+    private final Context context;
+    private final RequestBatcher batcher;
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+    private final HistorialRepository historialRepository;
+    private final FetchPolicy fetchPolicy;
+
+    @Inject
+    public HomeBootstrap(@ApplicationContext Context context,
+                         RequestBatcher batcher,
+                         CourseRepository courseRepository,
+                         UserRepository userRepository,
+                         HistorialRepository historialRepository,
+                         FetchPolicy fetchPolicy) {
+        this.context = context;
+        this.batcher = batcher;
+        this.courseRepository = courseRepository;
+        this.userRepository = userRepository;
+        this.historialRepository = historialRepository;
+        this.fetchPolicy = fetchPolicy;
+    }
+
+    public void prefetch() {
+        boolean speculative = fetchPolicy.allowsSpeculativePrefetch();
+        batcher.batch(() -> {
+            // La misma primera página que pide el listado del Home, con su mismo paginado
+            courseRepository.pagedByName("").load(0, courseRepository.pagingConfig().getPageSize(),
+                    RequestPriority.PREFETCH,
+                    new DomainCallback<Page<Course>>() {
+                        @Override
+                        public void onSuccess(Page<Course> result) {
+                            // Queda en DecodedResponseCache para HomeFragment
+                        }
+
+                        @Override
+                        public void onError(Throwable error) {
+                            // HomeFragment lo vuelve a pedir y muestra el error
+                        }
+                    });
+
+            userRepository.currentUser(new DomainCallback<User>() {
+                @Override
+                public void onSuccess(User user) {
+                    saveUserPreview(user);
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    // ProfileFragment lo vuelve a pedir
+                }
+            });
+
+            if (!speculative) {
+                return;
+            }
+            // Se encola en este mismo hilo, sin esperar a la base: así entra en el batch
+            historialRepository.prefetchCurrentMonth(new HistorialRepository.HistorialCallback() {
+                @Override
+                public void onSuccess(List<HistorialItem> historialItems) {
+                    // Queda en HistorialCache para HistorialViewModel
+                }
+
+                @Override
+                public void onError(String errorMessage) {
+                    // HistorialViewModel lo vuelve a pedir
+                }
+            });
+        });
+    }
+
+    // Datos que ProfileFragment muestra mientras llega el perfil actualizado
+    private void saveUserPreview(User user) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+        prefs.edit()
+                .putString("USER_NAME", user.getName())
+                .putString("USER_EMAIL", user.getEmail())
+                .putString("USER_DIRECCION", user.getDireccion() != null ? user.getDireccion() : "—")
+                .putString("USER_TELEFONO", user.getTelefono() != null ? user.getTelefono() : "—")
+                .apply();
+    }
+}
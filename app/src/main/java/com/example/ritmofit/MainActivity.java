@@ -10,6 +10,8 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.example.ritmofit.auth.model.UnAuthenticationEvent;
 import com.example.ritmofit.auth.repository.TokenRepository;
 import com.example.ritmofit.auth.ui.AuthActivity;
+import com.example.ritmofit.core.http.CircuitBreaker;
+import com.example.ritmofit.core.http.CircuitStateEvent;
 
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 
@@ -34,6 +36,9 @@ public class MainActivity extends AppCompatActivity {
     @Inject
     TokenRepository tokenRepository;
 
+    @Inject
+    HomeBootstrap homeBootstrap;
+
     private NavController navController;
     private BottomNavigationView bottomNav;
 
@@ -43,6 +48,10 @@ public class MainActivity extends AppCompatActivity {
         EdgeToEdge.enable(this);
         setContentView(R.layout.activity_main);
         handleAuth();
+        if (savedInstanceState == null && tokenRepository.hasToken()) {
+            // Perfil, catálogo e historial del mes en un solo request
+            homeBootstrap.prefetch();
+        }
 
         bottomNav = findViewById(R.id.bottom_navigation);
         ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.main), (v, insets) -> {
@@ -128,4 +137,11 @@ public class MainActivity extends AppCompatActivity {
     public void onUnAuthenticationEvent(UnAuthenticationEvent event) {
         goToLogin();
     }
+
+    @Subscribe(threadMode = ThreadMode.MAIN)
+    public void onCircuitStateEvent(CircuitStateEvent event) {
+        if (event.state() == CircuitBreaker.State.OPEN) {
+            Toast.makeText(this, R.string.backend_unavailable, Toast.LENGTH_LONG).show();
+        }
+    }
 }
\ No newline at end of file
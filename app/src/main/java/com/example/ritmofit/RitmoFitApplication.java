@@ -1,8 +1,27 @@
 package com.example.ritmofit;
 
 import android.app.Application;
+import android.content.ComponentCallbacks2;
+
+import com.example.ritmofit.reservas.repository.EnrollmentRepository;
+
+import javax.inject.Inject;
 
 import dagger.hilt.android.HiltAndroidApp;
 
 @HiltAndroidApp
-public class RitmoFitApplication extends Application {}
+public class RitmoFitApplication extends Application {
+
+    @Inject
+    EnrollmentRepository enrollmentRepository;
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        // La app dejó de verse: puede morir sin más aviso, así que se escribe lo pendiente.
+        // flush() sólo lo encola en el hilo de I/O; no frena el hilo principal
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            enrollmentRepository.flush();
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.example.ritmofit.auth.http.api.RegisterResponse;
 
 import retrofit2.Call;
 import retrofit2.http.Body;
+import retrofit2.http.Header;
 import retrofit2.http.POST;
 
 public interface AuthApi {
@@ -23,4 +24,11 @@ public interface AuthApi {
 
     @POST("/api/auth/otp/validate")
     Call<Void> verifyOtp(@Body OtpRequest req);
+
+    /**
+     * Renueva la sesión a partir del token vencido
+     * @param authorization "Bearer " + el token que recibió el 401
+     */
+    @POST("/api/auth/refresh")
+    Call<LoginResponse> refresh(@Header("Authorization") String authorization);
 }
@@ -2,17 +2,17 @@ package com.example.ritmofit.auth.http;
 
 import androidx.annotation.NonNull;
 
-import com.example.ritmofit.auth.model.UnAuthenticationEvent;
 import com.example.ritmofit.auth.repository.TokenRepository;
 
-import org.greenrobot.eventbus.EventBus;
-
 import java.io.IOException;
 
 import okhttp3.Interceptor;
 import okhttp3.Request;
 import okhttp3.Response;
 
+/**
+ * Agrega el token de la sesión a cada request. Los 401 los resuelve {@link TokenAuthenticator}.
+ */
 public class AuthInterceptor implements Interceptor {
 
     private final TokenRepository tokenRepository;
@@ -24,17 +24,17 @@ public class AuthInterceptor implements Interceptor {
     @NonNull
     @Override
     public Response intercept(@NonNull Chain chain) throws IOException {
-        String token = tokenRepository.getToken();
-        Request.Builder requestBuilder = chain.request().newBuilder();
-
-        if (token != null) {
-            requestBuilder.addHeader("Authorization", "Bearer " + token);
+        Request request = chain.request();
+        // El reintento del authenticator y el refresh ya traen su propio header
+        if (request.header("Authorization") != null) {
+            return chain.proceed(request);
         }
-        Response response = chain.proceed(requestBuilder.build());
-        if (response.code() == 401) {
-            tokenRepository.clearToken();
-            EventBus.getDefault().post(new UnAuthenticationEvent("Token expired or invalid"));
+        String token = tokenRepository.getToken();
+        if (token == null) {
+            return chain.proceed(request);
         }
-        return response;
+        return chain.proceed(request.newBuilder()
+                .header("Authorization", "Bearer " + token)
+                .build());
     }
 }
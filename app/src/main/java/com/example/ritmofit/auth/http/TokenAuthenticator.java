@@ -0,0 +1,128 @@
+package com.example.ritmofit.auth.http;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.ritmofit.auth.http.api.LoginResponse;
+import com.example.ritmofit.auth.model.UnAuthenticationEvent;
+import com.example.ritmofit.auth.repository.TokenRepository;
+
+import org.greenrobot.eventbus.EventBus;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import okhttp3.Authenticator;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.Route;
+
+/**
+ * Ante un 401 renueva la sesión contra /api/auth/refresh y repite el request con el token nuevo.
+ * <p>
+ * El refresh es uno solo para todos los requests que vencen a la vez: el primero lo hace y
+ * los demás esperan en el lock; al entrar ven que el token ya cambió y se repiten con él
+ * sin otro round-trip. Sólo si el servidor rechaza el refresh se borra el token y se publica
+ * un único {@link UnAuthenticationEvent}; si falla la red, el request falla con ese error y
+ * la sesión se conserva.
+ */
+@Singleton
+public class TokenAuthenticator implements Authenticator {
+
+    static final String REFRESH_PATH = "/api/auth/refresh";
+
+    private static final String BEARER = "Bearer ";
+
+    private final TokenRepository tokenRepository;
+    private final Provider<AuthApi> authApi;
+    private final Consumer<UnAuthenticationEvent> listener;
+    private final Object lock = new Object();
+    private final AtomicInteger refreshes = new AtomicInteger();
+
+    // Provider: AuthApi sale del Retrofit que usa este authenticator
+    @Inject
+    public TokenAuthenticator(TokenRepository tokenRepository, Provider<AuthApi> authApi) {
+        this(tokenRepository, authApi, event -> EventBus.getDefault().post(event));
+    }
+
+    TokenAuthenticator(TokenRepository tokenRepository, Provider<AuthApi> authApi,
+                       Consumer<UnAuthenticationEvent> listener) {
+        this.tokenRepository = tokenRepository;
+        this.authApi = authApi;
+        this.listener = listener;
+    }
+
+    @Nullable
+    @Override
+    public Request authenticate(@Nullable Route route, @NonNull Response response) throws IOException {
+        Request request = response.request();
+        String sent = sentToken(response);
+        // Sin sesión no hay nada que renovar; un 401 del propio refresh lo resuelve refresh()
+        if (sent == null || REFRESH_PATH.equals(request.url().encodedPath())) {
+            return null;
+        }
+        // Ya se repitió con un token renovado y el servidor lo volvió a rechazar
+        if (response.priorResponse() != null) {
+            return null;
+        }
+
+        synchronized (lock) {
+            String current = tokenRepository.getToken();
+            if (current == null) {
+                return null; // otro request ya falló el refresh o el usuario cerró sesión
+            }
+            if (!current.equals(sent)) {
+                return withToken(request, current); // otro request ya lo renovó
+            }
+            String renewed = refresh(sent);
+            if (renewed == null) {
+                tokenRepository.clearToken();
+                listener.accept(new UnAuthenticationEvent("Token expired or invalid"));
+                return null;
+            }
+            tokenRepository.saveToken(renewed);
+            return withToken(request, renewed);
+        }
+    }
+
+    /**
+     * Refresh que llegaron al servidor
+     */
+    public int getRefreshCount() {
+        return refreshes.get();
+    }
+
+    /**
+     * @return el token nuevo, o null si el servidor no renovó la sesión
+     */
+    @Nullable
+    private String refresh(String expired) throws IOException {
+        refreshes.incrementAndGet();
+        retrofit2.Response<LoginResponse> response = authApi.get().refresh(BEARER + expired).execute();
+        LoginResponse body = response.body();
+        if (!response.isSuccessful() || body == null || body.token() == null) {
+            return null;
+        }
+        return body.token();
+    }
+
+    // AuthInterceptor es network interceptor: el header sólo queda en el request de la red
+    @Nullable
+    private static String sentToken(Response response) {
+        Response network = response.networkResponse();
+        Request sent = network != null ? network.request() : response.request();
+        String header = sent.header("Authorization");
+        return header != null && header.startsWith(BEARER) ? header.substring(BEARER.length()) : null;
+    }
+
+    private static Request withToken(Request request, String token) {
+        return request.newBuilder()
+                .header("Authorization", BEARER + token)
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.ritmofit.auth.repository;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the bearer token in memory in front of the encrypted store.
+ * Reads are answered from a volatile snapshot, so OkHttp dispatcher threads never
+ * decrypt nor lock; the snapshot only changes on saveToken/clearToken.
+ */
+public class CachedTokenRepository implements TokenRepository {
+
+    private final TokenRepository delegate;
+    private final AtomicLong decryptsAvoided = new AtomicLong();
+
+    // null until the first read loads the value from the encrypted store
+    private volatile Snapshot snapshot;
+
+    public CachedTokenRepository(TokenRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public synchronized void saveToken(String token) {
+        delegate.saveToken(token);
+        snapshot = new Snapshot(token);
+    }
+
+    @Override
+    public String getToken() {
+        return current().token;
+    }
+
+    @Override
+    public synchronized void clearToken() {
+        delegate.clearToken();
+        snapshot = Snapshot.EMPTY;
+    }
+
+    @Override
+    public boolean hasToken() {
+        return current().token != null;
+    }
+
+    /**
+     * Cantidad de lecturas resueltas en memoria sin desencriptar el token
+     */
+    public long getDecryptsAvoided() {
+        return decryptsAvoided.get();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            decryptsAvoided.incrementAndGet();
+            return current;
+        }
+        return load();
+    }
+
+    private synchronized Snapshot load() {
+        if (snapshot == null) {
+            snapshot = new Snapshot(delegate.getToken());
+        } else {
+            decryptsAvoided.incrementAndGet();
+        }
+        return snapshot;
+    }
+
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(null);
+
+        final String token;
+
+        Snapshot(String token) {
+            this.token = token;
+        }
+    }
+}
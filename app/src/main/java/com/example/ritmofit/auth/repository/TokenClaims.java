@@ -0,0 +1,50 @@
+package com.example.ritmofit.auth.repository;
+
+import androidx.annotation.Nullable;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import okio.ByteString;
+
+/**
+ * Lee los claims del JWT que devuelve el backend en login y refresh.
+ * No valida la firma: sólo se usa para saber de quién es la sesión, nunca para autorizar.
+ */
+public final class TokenClaims {
+
+    private TokenClaims() {
+    }
+
+    /**
+     * Usuario dueño del token (claim {@code sub}). A diferencia del token, no cambia cuando la
+     * sesión se renueva
+     * @return null sin token, si no es un JWT o si no trae sujeto
+     */
+    @Nullable
+    public static String subject(@Nullable String token) {
+        if (token == null) {
+            return null;
+        }
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) {
+            return null;
+        }
+        // base64url sin relleno; okio acepta los dos alfabetos
+        ByteString payload = ByteString.decodeBase64(parts[1]);
+        if (payload == null) {
+            return null;
+        }
+        try {
+            JsonElement claims = new JsonParser().parse(payload.utf8());
+            if (!claims.isJsonObject()) {
+                return null;
+            }
+            JsonElement subject = ((JsonObject) claims).get("sub");
+            return subject != null && subject.isJsonPrimitive() ? subject.getAsString() : null;
+        } catch (RuntimeException e) {
+            return null; // payload que no es JSON
+        }
+    }
+}
@@ -20,6 +20,7 @@ import com.example.ritmofit.auth.model.Login;
 import com.example.ritmofit.auth.repository.TokenRepository;
 import com.example.ritmofit.auth.service.AuthService;
 import com.example.ritmofit.core.DomainCallback;
+import com.example.ritmofit.core.http.ConnectionWarmer;
 import com.example.ritmofit.security.service.SecurityService;
 
 import javax.inject.Inject;
@@ -35,6 +36,8 @@ public class LoginFragment extends Fragment {
     AuthService authService;
     @Inject
     SecurityService securityService;
+    @Inject
+    ConnectionWarmer connectionWarmer;
 
     private EditText userEditText;
     private EditText passwordEditText;
@@ -49,6 +52,9 @@ public class LoginFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
 
+        // Mientras el usuario escribe, dejamos abierta la conexión al backend
+        connectionWarmer.warmUp();
+
         userEditText = view.findViewById(R.id.userEditText);
         passwordEditText = view.findViewById(R.id.passwordEditText);
         Button loginButton = view.findViewById(R.id.loginButton);
@@ -12,6 +12,7 @@ import androidx.navigation.Navigation;
 import com.example.ritmofit.R;
 import com.example.ritmofit.auth.service.AuthService;
 import com.example.ritmofit.core.DomainCallback;
+import com.example.ritmofit.core.http.ConnectionWarmer;
 
 import javax.inject.Inject;
 
@@ -29,6 +30,8 @@ public class OtpFragment extends Fragment {
 
     @Inject
     AuthService service;
+    @Inject
+    ConnectionWarmer connectionWarmer;
 
     @Nullable
     @Override
@@ -41,6 +44,7 @@ public class OtpFragment extends Fragment {
     @Override
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
+        connectionWarmer.warmUp(); // la verificación y el home usan la misma conexión
         tvOtpInstruction = view.findViewById(R.id.tvOtpInstruction);
         etOtp = view.findViewById(R.id.etOtp);
         btnVerifyOtp = view.findViewById(R.id.btnVerifyOtp);
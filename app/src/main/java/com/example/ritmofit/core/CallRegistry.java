@@ -0,0 +1,153 @@
+package com.example.ritmofit.core;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Llamadas en vuelo de una pantalla, agrupadas por clave.
+ * <ul>
+ *     <li>{@link #next(String)} abre una nueva generación para la clave y cancela la anterior:
+ *     una respuesta vieja nunca pisa a una más nueva.</li>
+ *     <li>{@link #cancelAll()} cancela todo; atado a un {@link LifecycleOwner} se llama solo en
+ *     ON_DESTROY, y desde un ViewModel en onCleared.</li>
+ * </ul>
+ */
+public class CallRegistry {
+
+    private final Map<String, Generation> current = new HashMap<>();
+    private int nextNumber;
+    private boolean cleared;
+
+    /**
+     * Registro que se cancela cuando el owner se destruye (para fragments, usar
+     * getViewLifecycleOwner()).
+     */
+    public static CallRegistry bindTo(LifecycleOwner owner) {
+        CallRegistry registry = new CallRegistry();
+        owner.getLifecycle().addObserver(new DefaultLifecycleObserver() {
+            @Override
+            public void onDestroy(@NonNull LifecycleOwner source) {
+                source.getLifecycle().removeObserver(this);
+                registry.cancelAll();
+            }
+        });
+        return registry;
+    }
+
+    /**
+     * Abre una nueva generación para la clave; la anterior queda reemplazada y su llamada se cancela
+     */
+    public Generation next(String key) {
+        Generation previous;
+        Generation generation;
+        synchronized (this) {
+            generation = new Generation(key, nextNumber++);
+            previous = cleared ? null : current.put(key, generation);
+        }
+        if (previous != null) {
+            previous.cancelCall();
+        }
+        return generation;
+    }
+
+    /**
+     * Cancela todas las llamadas; las generaciones que se abran después nacen vencidas
+     */
+    public void cancelAll() {
+        Generation[] generations;
+        synchronized (this) {
+            cleared = true;
+            generations = current.values().toArray(new Generation[0]);
+            current.clear();
+        }
+        for (Generation generation : generations) {
+            generation.cancelCall();
+        }
+    }
+
+    public synchronized boolean isCleared() {
+        return cleared;
+    }
+
+    private synchronized boolean isCurrent(Generation generation) {
+        return !cleared && current.get(generation.key) == generation;
+    }
+
+    /**
+     * Una carga concreta para una clave. Sólo la última generación de cada clave entrega resultados.
+     */
+    public final class Generation {
+        private final String key;
+        private final int number;
+        private Cancellable call;
+
+        private Generation(String key, int number) {
+            this.key = key;
+            this.number = number;
+        }
+
+        /**
+         * Asocia la llamada a esta generación. Si ya fue reemplazada, la cancela en el acto.
+         */
+        public void track(Cancellable call) {
+            if (call == null) {
+                return;
+            }
+            synchronized (this) {
+                this.call = call;
+            }
+            if (!isCurrent()) {
+                cancelCall();
+            }
+        }
+
+        /**
+         * false si hubo una carga más nueva para la misma clave o si la pantalla ya no existe
+         */
+        public boolean isCurrent() {
+            return CallRegistry.this.isCurrent(this);
+        }
+
+        /**
+         * Envuelve el callback para que descarte resultados de generaciones vencidas
+         */
+        public <T> DomainCallback<T> guard(DomainCallback<T> callback) {
+            return new DomainCallback<T>() {
+                @Override
+                public void onSuccess(T result) {
+                    if (isCurrent()) {
+                        callback.onSuccess(result);
+                    }
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    if (isCurrent()) {
+                        callback.onError(error);
+                    }
+                }
+            };
+        }
+
+        private void cancelCall() {
+            Cancellable toCancel;
+            synchronized (this) {
+                toCancel = call;
+                call = null;
+            }
+            if (toCancel != null) {
+                toCancel.cancel();
+            }
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return key + "#" + number;
+        }
+    }
+}
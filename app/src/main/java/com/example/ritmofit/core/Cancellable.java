@@ -0,0 +1,13 @@
+package com.example.ritmofit.core;
+
+/**
+ * Handle de una operación asíncrona en curso.
+ * Una vez cancelada, su callback no se vuelve a invocar.
+ */
+public interface Cancellable {
+
+    /** Para resultados que se entregaron en el momento, sin nada en vuelo */
+    Cancellable NONE = () -> { };
+
+    void cancel();
+}
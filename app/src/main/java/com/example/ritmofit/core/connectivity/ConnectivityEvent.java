@@ -0,0 +1,6 @@
+package com.example.ritmofit.core.connectivity;
+
+/**
+ * Se publica en el EventBus cuando cambia el enlace: conexión, validación, medición o transporte
+ */
+public record ConnectivityEvent(ConnectivityState previous, ConnectivityState current) {}
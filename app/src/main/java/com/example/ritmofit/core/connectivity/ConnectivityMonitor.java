@@ -0,0 +1,219 @@
+package com.example.ritmofit.core.connectivity;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+
+import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
+
+import com.example.ritmofit.core.Cancellable;
+
+import org.greenrobot.eventbus.EventBus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import dagger.hilt.android.qualifiers.ApplicationContext;
+
+/**
+ * Sigue la red por defecto con un {@link ConnectivityManager.NetworkCallback} registrado una sola
+ * vez para toda la app. {@link #getState()} se responde en memoria, sin consultar al sistema.
+ * <p>
+ * Los cambios de enlace se avisan a los {@link Listener} y se publican como
+ * {@link ConnectivityEvent}; el trabajo encolado con {@link #whenConnected(Runnable)} corre al
+ * volver la conexión. Todo se entrega en el hilo principal.
+ */
+@Singleton
+public class ConnectivityMonitor {
+
+    public interface Listener {
+        void onConnectivityChanged(ConnectivityState previous, ConnectivityState current);
+    }
+
+    private final Executor notifier;
+    private final Consumer<ConnectivityEvent> events;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> pending = new ArrayList<>();
+    private volatile ConnectivityState state;
+
+    @Inject
+    public ConnectivityMonitor(@ApplicationContext Context context) {
+        this(ConnectivityState.UNKNOWN, ContextCompat.getMainExecutor(context),
+                event -> EventBus.getDefault().post(event));
+        ConnectivityManager manager = context.getSystemService(ConnectivityManager.class);
+        if (manager == null) {
+            return;
+        }
+        try {
+            Network active = manager.getActiveNetwork();
+            update(active != null ? stateOf(manager.getNetworkCapabilities(active)) : ConnectivityState.OFFLINE);
+            manager.registerDefaultNetworkCallback(new DefaultNetworkCallback(manager));
+        } catch (RuntimeException e) {
+            // Sin permiso o sin cupo de callbacks: se queda en UNKNOWN, como antes de monitorear
+            update(ConnectivityState.UNKNOWN);
+        }
+    }
+
+    ConnectivityMonitor(ConnectivityState initial, Executor notifier, Consumer<ConnectivityEvent> events) {
+        this.state = initial;
+        this.notifier = notifier;
+        this.events = events;
+    }
+
+    public ConnectivityState getState() {
+        return state;
+    }
+
+    public boolean isConnected() {
+        return state.isConnected();
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Corre la tarea la próxima vez que haya conexión, o enseguida si ya la hay
+     * @return handle para descartarla si ya no hace falta
+     */
+    public Cancellable whenConnected(Runnable task) {
+        Pending entry = new Pending(task);
+        synchronized (this) {
+            if (!state.isConnected()) {
+                pending.add(entry);
+                return entry;
+            }
+        }
+        notifier.execute(entry);
+        return entry;
+    }
+
+    /**
+     * Tareas esperando conexión
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    void update(ConnectivityState next) {
+        ConnectivityState previous;
+        List<Runnable> resumed = List.of();
+        synchronized (this) {
+            previous = state;
+            if (previous.equals(next)) {
+                return;
+            }
+            state = next;
+            if (previous.sameLink(next)) {
+                return; // sólo cambió la estimación de ancho de banda
+            }
+            if (!previous.isConnected() && next.isConnected() && !pending.isEmpty()) {
+                resumed = new ArrayList<>(pending);
+                pending.clear();
+            }
+        }
+        List<Runnable> toRun = resumed;
+        notifier.execute(() -> {
+            for (Listener listener : listeners) {
+                listener.onConnectivityChanged(previous, next);
+            }
+            events.accept(new ConnectivityEvent(previous, next));
+            for (Runnable task : toRun) {
+                task.run();
+            }
+        });
+    }
+
+    static ConnectivityState stateOf(NetworkCapabilities capabilities) {
+        if (capabilities == null
+                || !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)) {
+            return ConnectivityState.OFFLINE;
+        }
+        ConnectivityState.Transport transport;
+        if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_VPN)) {
+            transport = ConnectivityState.Transport.VPN;
+        } else if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_WIFI)) {
+            transport = ConnectivityState.Transport.WIFI;
+        } else if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR)) {
+            transport = ConnectivityState.Transport.CELLULAR;
+        } else if (capabilities.hasTransport(NetworkCapabilities.TRANSPORT_ETHERNET)) {
+            transport = ConnectivityState.Transport.ETHERNET;
+        } else {
+            transport = ConnectivityState.Transport.OTHER;
+        }
+        return new ConnectivityState(
+                true,
+                capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_VALIDATED),
+                !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED),
+                transport,
+                capabilities.getLinkDownstreamBandwidthKbps(),
+                capabilities.getLinkUpstreamBandwidthKbps());
+    }
+
+    private final class Pending implements Runnable, Cancellable {
+        private final Runnable task;
+        private volatile boolean cancelled;
+
+        Pending(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (!cancelled) {
+                task.run();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            synchronized (ConnectivityMonitor.this) {
+                pending.remove(this);
+            }
+        }
+    }
+
+    private final class DefaultNetworkCallback extends ConnectivityManager.NetworkCallback {
+        private final ConnectivityManager manager;
+        private Network current;
+
+        DefaultNetworkCallback(ConnectivityManager manager) {
+            this.manager = manager;
+        }
+
+        @Override
+        public void onAvailable(@NonNull Network network) {
+            current = network;
+            // En API 24-25 onCapabilitiesChanged no siempre sigue a onAvailable
+            update(stateOf(manager.getNetworkCapabilities(network)));
+        }
+
+        @Override
+        public void onCapabilitiesChanged(@NonNull Network network, @NonNull NetworkCapabilities capabilities) {
+            current = network;
+            update(stateOf(capabilities));
+        }
+
+        @Override
+        public void onLost(@NonNull Network network) {
+            // Al pasar de una red a otra puede llegar el onLost de la anterior después
+            if (network.equals(current)) {
+                current = null;
+                update(ConnectivityState.OFFLINE);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.ritmofit.core.connectivity;
+
+import androidx.annotation.NonNull;
+
+import java.util.Objects;
+
+/**
+ * Foto inmutable de la red por defecto del dispositivo
+ */
+public final class ConnectivityState {
+
+    public enum Transport { NONE, WIFI, CELLULAR, ETHERNET, VPN, OTHER }
+
+    public static final ConnectivityState OFFLINE =
+            new ConnectivityState(false, false, false, Transport.NONE, 0, 0);
+
+    /** Cuando el sistema no deja consultar la red se asume que hay conexión */
+    public static final ConnectivityState UNKNOWN =
+            new ConnectivityState(true, false, false, Transport.OTHER, 0, 0);
+
+    private final boolean connected;
+    private final boolean validated;
+    private final boolean metered;
+    private final Transport transport;
+    private final int downstreamKbps;
+    private final int upstreamKbps;
+
+    public ConnectivityState(boolean connected, boolean validated, boolean metered,
+                             Transport transport, int downstreamKbps, int upstreamKbps) {
+        this.connected = connected;
+        this.validated = validated;
+        this.metered = metered;
+        this.transport = transport;
+        this.downstreamKbps = downstreamKbps;
+        this.upstreamKbps = upstreamKbps;
+    }
+
+    /** Hay una red con acceso a internet, aunque todavía no esté validada */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /** El sistema verificó que la red llega a internet (no es un portal cautivo) */
+    public boolean isValidated() {
+        return validated;
+    }
+
+    public boolean isMetered() {
+        return metered;
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    /** Estimación del sistema, 0 si no la informa */
+    public int getDownstreamKbps() {
+        return downstreamKbps;
+    }
+
+    /** Estimación del sistema, 0 si no la informa */
+    public int getUpstreamKbps() {
+        return upstreamKbps;
+    }
+
+    /**
+     * Mismo enlace aunque cambien las estimaciones de ancho de banda, que el sistema
+     * actualiza muy seguido
+     */
+    public boolean sameLink(ConnectivityState other) {
+        return other != null
+                && connected == other.connected
+                && validated == other.validated
+                && metered == other.metered
+                && transport == other.transport;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ConnectivityState)) return false;
+        ConnectivityState that = (ConnectivityState) o;
+        return sameLink(that)
+                && downstreamKbps == that.downstreamKbps
+                && upstreamKbps == that.upstreamKbps;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(connected, validated, metered, transport, downstreamKbps, upstreamKbps);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        if (!connected) {
+            return "offline";
+        }
+        return transport
+                + (validated ? " validated" : "")
+                + (metered ? " metered" : "")
+                + " down=" + downstreamKbps + "kbps up=" + upstreamKbps + "kbps";
+    }
+}
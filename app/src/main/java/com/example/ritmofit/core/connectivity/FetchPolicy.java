@@ -0,0 +1,117 @@
+package com.example.ritmofit.core.connectivity;
+
+import com.example.ritmofit.core.http.NetworkMetrics;
+import com.example.ritmofit.core.paging.PagedList;
+
+import java.util.function.Supplier;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Decide cuánto pedir según la red: tamaño de página del catálogo, cuánto prefetch
+ * especulativo hacer y qué tan ancho pedir el historial.
+ * <p>
+ * La calidad sale del estado de {@link ConnectivityMonitor} y, cuando ya hay requests
+ * medidos, del tiempo al primer byte y el throughput recientes de {@link NetworkMetrics};
+ * la medición manda sobre la estimación del sistema. Sin datos se comporta como antes de
+ * adaptar (calidad MODERATE).
+ */
+@Singleton
+public class FetchPolicy {
+
+    public enum Quality { OFFLINE, POOR, MODERATE, GOOD }
+
+    /** Por debajo de esto la red es mala (≈ 3G flojo) */
+    static final long POOR_KBPS = 500;
+    static final long POOR_TTFB_MILLIS = 1_500;
+
+    /** Wi-Fi o 4G buenos */
+    static final long GOOD_KBPS = 5_000;
+    static final long GOOD_TTFB_MILLIS = 300;
+
+    /** Días de historial que se piden sin rango en redes malas o medidas */
+    static final int CONSTRAINED_HISTORIAL_DAYS = 31;
+
+    // Página chica y sin prefetch: sólo se baja lo que se ve
+    static final PagedList.Config CONSTRAINED_PAGING = new PagedList.Config(10, 0, 5);
+    /** Lo de siempre: la página siguiente se pide media página antes de llegar al borde */
+    public static final PagedList.Config DEFAULT_PAGING = new PagedList.Config(20, 10, 5);
+    // Páginas grandes y dos páginas de anticipación
+    static final PagedList.Config GOOD_PAGING = new PagedList.Config(30, 60, 7);
+
+    private final Supplier<ConnectivityState> connectivity;
+    private final NetworkMetrics metrics;
+
+    // Paginado elegido para el enlace actual
+    private ConnectivityState pagingLink;
+    private PagedList.Config paging;
+
+    @Inject
+    public FetchPolicy(ConnectivityMonitor monitor, NetworkMetrics metrics) {
+        this(monitor::getState, metrics);
+    }
+
+    FetchPolicy(Supplier<ConnectivityState> connectivity, NetworkMetrics metrics) {
+        this.connectivity = connectivity;
+        this.metrics = metrics;
+    }
+
+    public Quality quality() {
+        ConnectivityState state = connectivity.get();
+        if (!state.isConnected()) {
+            return Quality.OFFLINE;
+        }
+        long measuredKbps = metrics.getRecentKbps();
+        long kbps = measuredKbps >= 0 ? measuredKbps : state.getDownstreamKbps(); // 0: desconocido
+        long ttfb = metrics.getRecentTtfbMillis();                                 // -1: sin medir
+
+        if ((kbps > 0 && kbps < POOR_KBPS) || ttfb > POOR_TTFB_MILLIS) {
+            return Quality.POOR;
+        }
+        if (kbps >= GOOD_KBPS && ttfb <= GOOD_TTFB_MILLIS && state.isValidated()) {
+            return Quality.GOOD;
+        }
+        return Quality.MODERATE;
+    }
+
+    /**
+     * Red mala, medida (datos móviles, hotspot) o sin conexión: se pide lo justo
+     */
+    public boolean isConstrained() {
+        Quality quality = quality();
+        return quality == Quality.OFFLINE || quality == Quality.POOR || connectivity.get().isMetered();
+    }
+
+    /**
+     * Si vale la pena bajar algo que todavía nadie pidió
+     */
+    public boolean allowsSpeculativePrefetch() {
+        return !isConstrained();
+    }
+
+    /**
+     * Paginado para un listado de cursos que arranca ahora
+     * Se decide una vez por enlace: la primera página que precarga HomeBootstrap tiene el mismo
+     * tamaño que la que pide después el Home, aunque en el medio lleguen mediciones nuevas
+     */
+    public synchronized PagedList.Config coursePaging() {
+        ConnectivityState link = connectivity.get();
+        if (paging == null || !link.sameLink(pagingLink)) {
+            if (isConstrained()) {
+                paging = CONSTRAINED_PAGING;
+            } else {
+                paging = quality() == Quality.GOOD ? GOOD_PAGING : DEFAULT_PAGING;
+            }
+            pagingLink = link;
+        }
+        return paging;
+    }
+
+    /**
+     * Cuántos días hacia atrás pedir cuando no hay rango; 0 para todo el historial
+     */
+    public int historialWindowDays() {
+        return isConstrained() ? CONSTRAINED_HISTORIAL_DAYS : 0;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.ritmofit.core.http;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Política de cache HTTP para un método de Retrofit.
+ * La resuelve CachePolicyInterceptor sobre la respuesta de red; los métodos sin
+ * anotar conservan los headers que envía el backend.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachePolicy {
+
+    /**
+     * Segundos durante los que la respuesta se sirve del cache sin consultar al backend
+     */
+    int maxAgeSeconds() default 0;
+
+    /**
+     * Una vez vencida, la respuesta no se usa sin revalidarla primero
+     */
+    boolean mustRevalidate() default false;
+
+    /**
+     * La respuesta no se guarda (datos privados o cambiantes)
+     */
+    boolean noStore() default false;
+}
@@ -0,0 +1,64 @@
+package com.example.ritmofit.core.http;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+/**
+ * Interceptor de red que aplica la política de cache declarada con {@link CachePolicy}.
+ * Las mutaciones (todo lo que no sea GET/HEAD) nunca se guardan.
+ */
+public class CachePolicyInterceptor implements Interceptor {
+
+    static final String NO_STORE = "no-store";
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+
+        String cacheControl = cacheControlFor(request);
+        if (cacheControl == null) {
+            return response;
+        }
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .header("Cache-Control", cacheControl)
+                .build();
+    }
+
+    /**
+     * Resuelve el header Cache-Control para un request
+     * @return valor del header o null si se respeta el del backend
+     */
+    static String cacheControlFor(Request request) {
+        String method = request.method();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return NO_STORE;
+        }
+
+        Invocation invocation = request.tag(Invocation.class);
+        CachePolicy policy = invocation != null
+                ? invocation.method().getAnnotation(CachePolicy.class)
+                : null;
+        if (policy == null) {
+            return null;
+        }
+        if (policy.noStore()) {
+            return NO_STORE;
+        }
+
+        // El cache de OkHttp es privado del dispositivo: nunca marcamos respuestas como public
+        StringBuilder header = new StringBuilder("private, max-age=").append(policy.maxAgeSeconds());
+        if (policy.mustRevalidate()) {
+            header.append(", must-revalidate");
+        }
+        return header.toString();
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.ritmofit.core.http;
+
+import androidx.annotation.NonNull;
+
+import com.example.ritmofit.auth.repository.TokenRepository;
+import com.example.ritmofit.core.Cancellable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Invocation;
+import retrofit2.Response;
+
+/**
+ * Single-flight para llamadas GET idénticas.
+ * Si ya hay una llamada en vuelo con el mismo método, URL y token, la nueva no se
+ * ejecuta: su callback se suma a la pendiente y recibe la misma respuesta.
+ * Las llamadas salen por {@link PriorityCallScheduler}; si alguien con más prioridad se
+ * suma a una llamada encolada, la llamada sube de prioridad.
+ * Cada enqueue devuelve un {@link Cancellable} propio: cancelarlo sólo desuscribe a ese
+ * caller, y la llamada compartida se cancela cuando ya nadie la espera.
+ * Dentro de {@link RequestBatcher#batch(Runnable)} los GET se agrupan en un solo request;
+ * una llamada idéntica encolada después se suma a la parte del batch.
+ */
+@Singleton
+public class CallCoalescer {
+
+    private final TokenRepository tokenRepository;
+    private final PriorityCallScheduler scheduler;
+    private final RequestBatcher batcher;
+    private final ConcurrentHashMap<String, InFlight<?>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    public CallCoalescer(TokenRepository tokenRepository) {
+        this(tokenRepository, null, null);
+    }
+
+    public CallCoalescer(TokenRepository tokenRepository, PriorityCallScheduler scheduler) {
+        this(tokenRepository, scheduler, null);
+    }
+
+    @Inject
+    public CallCoalescer(TokenRepository tokenRepository, PriorityCallScheduler scheduler,
+                         RequestBatcher batcher) {
+        this.tokenRepository = tokenRepository;
+        this.scheduler = scheduler;
+        this.batcher = batcher;
+    }
+
+    /**
+     * Encola la llamada o la adjunta a una idéntica que ya está en vuelo,
+     * con la prioridad declarada en el método de Retrofit
+     * @param call llamada de Retrofit sin ejecutar
+     * @param callback callback que recibe la respuesta compartida
+     * @return handle para dejar de esperar la respuesta
+     */
+    public <T> Cancellable enqueue(Call<T> call, Callback<T> callback) {
+        return enqueue(call, callback, PriorityCallScheduler.priorityOf(call));
+    }
+
+    /**
+     * Igual que {@link #enqueue(Call, Callback)} pero con una prioridad explícita
+     */
+    public <T> Cancellable enqueue(Call<T> call, Callback<T> callback, RequestPriority priority) {
+        String key = keyFor(call);
+        if (key == null) {
+            Subscriber<T> subscriber = new Subscriber<>(call, callback, null);
+            subscriber.attach(start(call, subscriber, priority));
+            return subscriber;
+        }
+
+        while (true) {
+            InFlight<T> created = new InFlight<>(key, call);
+            @SuppressWarnings("unchecked")
+            InFlight<T> existing = (InFlight<T>) inFlight.putIfAbsent(key, created);
+
+            if (existing == null) {
+                Subscriber<T> subscriber = created.join(call, callback);
+                created.attach(start(call, new FanOutCallback<>(created), priority), priority);
+                return subscriber;
+            }
+            Subscriber<T> subscriber = existing.join(call, callback);
+            if (subscriber != null) {
+                coalescedCount.incrementAndGet();
+                existing.promote(priority);
+                return subscriber;
+            }
+            // La llamada existente terminó mientras nos sumábamos: reintentar
+            inFlight.remove(key, existing);
+        }
+    }
+
+    /**
+     * Cantidad de llamadas que se resolvieron sin un round-trip propio
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    private <T> ScheduledCall start(Call<T> call, Callback<T> callback, RequestPriority priority) {
+        // Dentro de RequestBatcher.batch(...) los GET viajan juntos en un solo request
+        ScheduledCall batched = batcher != null ? batcher.offer(call, callback, priority) : null;
+        if (batched != null) {
+            return batched;
+        }
+        if (scheduler == null) {
+            call.enqueue(callback);
+            return null;
+        }
+        return scheduler.enqueue(call, callback, priority);
+    }
+
+    private static void cancelUnderlying(Call<?> call, ScheduledCall scheduled) {
+        if (scheduled != null) {
+            scheduled.cancel();
+        } else {
+            call.cancel();
+        }
+    }
+
+    private String keyFor(Call<?> call) {
+        Request request = call.request();
+        if (request == null || !"GET".equals(request.method())) {
+            return null;
+        }
+
+        StringBuilder key = new StringBuilder()
+                .append(request.method())
+                .append(' ')
+                .append(request.url());
+
+        // Dos métodos de Retrofit con la misma URL pueden tener tipos de respuesta distintos
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null) {
+            key.append('#').append(invocation.method().getGenericReturnType());
+        }
+
+        String token = tokenRepository != null ? tokenRepository.getToken() : null;
+        key.append('|').append(token != null ? token : "");
+        return key.toString();
+    }
+
+    /**
+     * Un caller esperando la respuesta; una vez cancelado no recibe nada
+     */
+    private static final class Subscriber<T> implements Cancellable, Callback<T> {
+        private final Call<T> call;
+        private final Callback<T> callback;
+        private final InFlight<T> flight;
+        private volatile ScheduledCall scheduled;
+        private volatile boolean canceled;
+
+        Subscriber(Call<T> call, Callback<T> callback, InFlight<T> flight) {
+            this.call = call;
+            this.callback = callback;
+            this.flight = flight;
+        }
+
+        void attach(ScheduledCall scheduled) {
+            this.scheduled = scheduled;
+        }
+
+        @Override
+        public void cancel() {
+            if (canceled) {
+                return;
+            }
+            canceled = true;
+            if (flight != null) {
+                flight.leave(this);
+            } else {
+                cancelUnderlying(call, scheduled);
+            }
+        }
+
+        @Override
+        public void onResponse(@NonNull Call<T> ignored, @NonNull Response<T> response) {
+            if (!canceled) {
+                callback.onResponse(call, response);
+            }
+        }
+
+        @Override
+        public void onFailure(@NonNull Call<T> ignored, @NonNull Throwable t) {
+            if (!canceled) {
+                callback.onFailure(call, t);
+            }
+        }
+    }
+
+    private final class InFlight<T> {
+        private final String key;
+        private final Call<T> leader;
+        private final List<Subscriber<T>> subscribers = new ArrayList<>();
+        private boolean done;
+        private ScheduledCall scheduled;
+        private RequestPriority pendingPriority;
+
+        InFlight(String key, Call<T> leader) {
+            this.key = key;
+            this.leader = leader;
+        }
+
+        synchronized Subscriber<T> join(Call<T> call, Callback<T> callback) {
+            if (done) {
+                return null;
+            }
+            Subscriber<T> subscriber = new Subscriber<>(call, callback, this);
+            subscribers.add(subscriber);
+            return subscriber;
+        }
+
+        /**
+         * Marca la llamada como terminada y devuelve quiénes la esperaban
+         */
+        List<Subscriber<T>> complete() {
+            inFlight.remove(key, this);
+            synchronized (this) {
+                done = true;
+                return new ArrayList<>(subscribers);
+            }
+        }
+
+        void leave(Subscriber<T> subscriber) {
+            ScheduledCall target;
+            synchronized (this) {
+                subscribers.remove(subscriber);
+                if (done || !subscribers.isEmpty()) {
+                    return;
+                }
+                // Nadie más espera la respuesta: se libera el slot
+                done = true;
+                target = scheduled;
+            }
+            inFlight.remove(key, this);
+            cancelUnderlying(leader, target);
+        }
+
+        void attach(ScheduledCall scheduled, RequestPriority priority) {
+            RequestPriority promoted;
+            boolean abandoned;
+            synchronized (this) {
+                this.scheduled = scheduled;
+                promoted = pendingPriority;
+                abandoned = done && subscribers.isEmpty();
+            }
+            if (abandoned) {
+                // Se canceló antes de que la llamada llegara a la cola
+                cancelUnderlying(leader, scheduled);
+                return;
+            }
+            // Alguien se sumó con más prioridad antes de que la llamada llegara a la cola
+            if (promoted != null && promoted.isHigherThan(priority)) {
+                promote(promoted);
+            }
+        }
+
+        void promote(RequestPriority priority) {
+            ScheduledCall target;
+            synchronized (this) {
+                target = scheduled;
+                if (target == null) {
+                    if (pendingPriority == null || priority.isHigherThan(pendingPriority)) {
+                        pendingPriority = priority;
+                    }
+                    return;
+                }
+            }
+            if (scheduler != null) {
+                scheduler.promote(target, priority);
+            }
+        }
+    }
+
+    private static final class FanOutCallback<T> implements Callback<T> {
+        private final InFlight<T> flight;
+
+        FanOutCallback(InFlight<T> flight) {
+            this.flight = flight;
+        }
+
+        @Override
+        public void onResponse(@NonNull Call<T> call, @NonNull Response<T> response) {
+            for (Subscriber<T> subscriber : flight.complete()) {
+                subscriber.onResponse(call, response);
+            }
+        }
+
+        @Override
+        public void onFailure(@NonNull Call<T> call, @NonNull Throwable t) {
+            for (Subscriber<T> subscriber : flight.complete()) {
+                subscriber.onFailure(call, t);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.ritmofit.core.http;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Prioridad por defecto de un método de Retrofit en {@link PriorityCallScheduler}.
+ * Los métodos sin anotar se tratan como {@link RequestPriority#VISIBLE}; quien encola
+ * la llamada puede pedir otra prioridad explícitamente.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CallPriority {
+
+    RequestPriority value();
+}
@@ -0,0 +1,63 @@
+package com.example.ritmofit.core.http;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Converter que decodifica respuestas CBOR con los mismos TypeAdapter de Gson.
+ * El formato se negocia por endpoint con {@link #ACCEPT_CBOR}: si el servidor responde
+ * {@code application/cbor} se lee con {@link CborReader}, si responde JSON se delega en
+ * el siguiente converter registrado. Debe registrarse antes que GsonConverterFactory.
+ */
+public final class CborConverterFactory extends Converter.Factory {
+
+    /** Header para las interfaces de Retrofit cuyos payloads conviene recibir en binario */
+    public static final String ACCEPT_CBOR = "Accept: application/cbor, application/json;q=0.9";
+
+    private final Gson gson;
+
+    public static CborConverterFactory create() {
+        return create(new Gson());
+    }
+
+    public static CborConverterFactory create(Gson gson) {
+        if (gson == null) throw new NullPointerException("gson == null");
+        return new CborConverterFactory(gson);
+    }
+
+    private CborConverterFactory(Gson gson) {
+        this.gson = gson;
+    }
+
+    /**
+     * Indica si el body de la respuesta viene en CBOR
+     */
+    public static boolean isCbor(ResponseBody body) {
+        MediaType contentType = body.contentType();
+        return contentType != null && "cbor".equalsIgnoreCase(contentType.subtype());
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations,
+                                                            Retrofit retrofit) {
+        Converter<ResponseBody, ?> json = retrofit.nextResponseBodyConverter(this, type, annotations);
+        TypeAdapter<?> adapter = gson.getAdapter(TypeToken.get(type));
+        return body -> {
+            if (!isCbor(body)) {
+                return json.convert(body);
+            }
+            try (CborReader reader = new CborReader(body.source())) {
+                return adapter.read(reader);
+            }
+        };
+    }
+}
@@ -0,0 +1,428 @@
+package com.example.ritmofit.core.http;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import okio.Buffer;
+import okio.BufferedSource;
+
+/**
+ * {@link JsonReader} que lee CBOR (RFC 8949) en lugar de texto JSON.
+ * Expone los mismos tokens que el lector de JSON, así los TypeAdapter de Gson y los
+ * converters propios decodifican cualquiera de los dos formatos sin cambios.
+ * Soporta enteros, floats (half/single/double), strings, arrays y maps definidos o
+ * indefinidos; los tags se ignoran y los byte strings se leen como texto UTF-8.
+ */
+public class CborReader extends JsonReader {
+
+    private static final int MAJOR_UNSIGNED = 0;
+    private static final int MAJOR_NEGATIVE = 1;
+    private static final int MAJOR_BYTES = 2;
+    private static final int MAJOR_TEXT = 3;
+    private static final int MAJOR_ARRAY = 4;
+    private static final int MAJOR_MAP = 5;
+    private static final int MAJOR_TAG = 6;
+    private static final int MAJOR_SIMPLE = 7;
+
+    private static final int INDEFINITE = 31;
+    private static final int BREAK = 0xFF;
+
+    private static final Reader UNREADABLE = new Reader() {
+        @Override
+        public int read(char[] buffer, int offset, int count) {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void close() {
+            throw new AssertionError();
+        }
+    };
+
+    private final BufferedSource source;
+    private final Deque<Frame> stack = new ArrayDeque<>();
+    private boolean documentDone;
+
+    public CborReader(BufferedSource source) {
+        super(UNREADABLE);
+        this.source = source;
+    }
+
+    @Override
+    public JsonToken peek() throws IOException {
+        Frame frame = stack.peek();
+        if (frame == null) {
+            if (documentDone) {
+                return JsonToken.END_DOCUMENT;
+            }
+        } else {
+            if (atEnd(frame)) {
+                return frame.map ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+            }
+            if (frame.map && frame.expectingName) {
+                return JsonToken.NAME;
+            }
+        }
+
+        skipTags();
+        int initial = peekByte();
+        switch (initial >>> 5) {
+            case MAJOR_UNSIGNED:
+            case MAJOR_NEGATIVE:
+                return JsonToken.NUMBER;
+            case MAJOR_BYTES:
+            case MAJOR_TEXT:
+                return JsonToken.STRING;
+            case MAJOR_ARRAY:
+                return JsonToken.BEGIN_ARRAY;
+            case MAJOR_MAP:
+                return JsonToken.BEGIN_OBJECT;
+            default:
+                switch (initial & 0x1F) {
+                    case 20:
+                    case 21:
+                        return JsonToken.BOOLEAN;
+                    case 22:
+                    case 23:
+                        return JsonToken.NULL;
+                    case 25:
+                    case 26:
+                    case 27:
+                        return JsonToken.NUMBER;
+                    default:
+                        throw syntaxError("valor simple no soportado: " + (initial & 0x1F));
+                }
+        }
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        JsonToken token = peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY
+                && token != JsonToken.END_DOCUMENT;
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+        expect(JsonToken.BEGIN_ARRAY);
+        stack.push(new Frame(false, readLength(source.readByte() & 0xFF)));
+    }
+
+    @Override
+    public void endArray() throws IOException {
+        expect(JsonToken.END_ARRAY);
+        endContainer();
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+        expect(JsonToken.BEGIN_OBJECT);
+        stack.push(new Frame(true, readLength(source.readByte() & 0xFF)));
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        expect(JsonToken.END_OBJECT);
+        endContainer();
+    }
+
+    @Override
+    public String nextName() throws IOException {
+        expect(JsonToken.NAME);
+        stack.peek().expectingName = false;
+        skipTags();
+        return readScalarAsString();
+    }
+
+    @Override
+    public String nextString() throws IOException {
+        JsonToken token = peek();
+        if (token != JsonToken.STRING && token != JsonToken.NUMBER) {
+            throw syntaxError("se esperaba STRING y llegó " + token);
+        }
+        String value = readScalarAsString();
+        valueConsumed();
+        return value;
+    }
+
+    @Override
+    public boolean nextBoolean() throws IOException {
+        expect(JsonToken.BOOLEAN);
+        boolean value = (source.readByte() & 0x1F) == 21;
+        valueConsumed();
+        return value;
+    }
+
+    @Override
+    public void nextNull() throws IOException {
+        expect(JsonToken.NULL);
+        source.readByte();
+        valueConsumed();
+    }
+
+    @Override
+    public double nextDouble() throws IOException {
+        JsonToken token = peek();
+        if (token == JsonToken.STRING) {
+            return Double.parseDouble(nextString());
+        }
+        expect(JsonToken.NUMBER);
+        double value = readNumber();
+        valueConsumed();
+        return value;
+    }
+
+    @Override
+    public long nextLong() throws IOException {
+        JsonToken token = peek();
+        if (token == JsonToken.STRING) {
+            return Long.parseLong(nextString());
+        }
+        expect(JsonToken.NUMBER);
+        int initial = peekByte();
+        long value;
+        if (initial >>> 5 == MAJOR_SIMPLE) {
+            double number = readNumber();
+            value = (long) number;
+            if (value != number) {
+                throw new NumberFormatException("se esperaba un long y llegó " + number);
+            }
+        } else {
+            value = readInteger();
+        }
+        valueConsumed();
+        return value;
+    }
+
+    @Override
+    public int nextInt() throws IOException {
+        long value = nextLong();
+        if (value != (int) value) {
+            throw new NumberFormatException("se esperaba un int y llegó " + value);
+        }
+        return (int) value;
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+        JsonToken token = peek();
+        switch (token) {
+            case NAME:
+                nextName();
+                break;
+            case BEGIN_ARRAY:
+                beginArray();
+                while (hasNext()) {
+                    skipValue();
+                }
+                endArray();
+                break;
+            case BEGIN_OBJECT:
+                beginObject();
+                while (hasNext()) {
+                    nextName();
+                    skipValue();
+                }
+                endObject();
+                break;
+            case BOOLEAN:
+                nextBoolean();
+                break;
+            case NULL:
+                nextNull();
+                break;
+            case STRING:
+            case NUMBER:
+                nextString();
+                break;
+            default:
+                throw syntaxError("no hay valor para saltear: " + token);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        stack.clear();
+        source.close();
+    }
+
+    @Override
+    public String getPath() {
+        return "$";
+    }
+
+    @Override
+    public String toString() {
+        return "CborReader";
+    }
+
+    // Lectura de bajo nivel
+
+    private boolean atEnd(Frame frame) throws IOException {
+        if (frame.remaining < 0) {
+            return peekByte() == BREAK;
+        }
+        return frame.remaining == 0;
+    }
+
+    private void endContainer() throws IOException {
+        Frame frame = stack.pop();
+        if (frame.remaining < 0) {
+            source.readByte(); // break
+        }
+        valueConsumed();
+    }
+
+    private void valueConsumed() {
+        Frame frame = stack.peek();
+        if (frame == null) {
+            documentDone = true;
+            return;
+        }
+        if (frame.map) {
+            frame.expectingName = true;
+        }
+        if (frame.remaining > 0) {
+            frame.remaining--;
+        }
+    }
+
+    private void expect(JsonToken expected) throws IOException {
+        JsonToken actual = peek();
+        if (actual != expected) {
+            throw new IllegalStateException("Se esperaba " + expected + " y llegó " + actual);
+        }
+    }
+
+    private int peekByte() throws IOException {
+        source.require(1);
+        return source.getBuffer().getByte(0) & 0xFF;
+    }
+
+    private void skipTags() throws IOException {
+        while (peekByte() >>> 5 == MAJOR_TAG) {
+            readArgument(source.readByte() & 0xFF);
+        }
+    }
+
+    private String readScalarAsString() throws IOException {
+        int initial = peekByte();
+        switch (initial >>> 5) {
+            case MAJOR_UNSIGNED:
+            case MAJOR_NEGATIVE:
+                return Long.toString(readInteger());
+            case MAJOR_BYTES:
+            case MAJOR_TEXT:
+                return readText();
+            case MAJOR_SIMPLE:
+                double number = readNumber();
+                long integral = (long) number;
+                return integral == number ? Long.toString(integral) : Double.toString(number);
+            default:
+                throw syntaxError("se esperaba un escalar");
+        }
+    }
+
+    private String readText() throws IOException {
+        int initial = source.readByte() & 0xFF;
+        long length = readLength(initial);
+        if (length >= 0) {
+            return source.readString(length, StandardCharsets.UTF_8);
+        }
+        // String indefinido: concatenación de chunks definidos hasta el break
+        Buffer chunks = new Buffer();
+        while (peekByte() != BREAK) {
+            long chunk = readLength(source.readByte() & 0xFF);
+            source.readFully(chunks, chunk);
+        }
+        source.readByte();
+        return chunks.readUtf8();
+    }
+
+    private long readInteger() throws IOException {
+        int initial = source.readByte() & 0xFF;
+        long argument = readArgument(initial);
+        return initial >>> 5 == MAJOR_NEGATIVE ? -1 - argument : argument;
+    }
+
+    private double readNumber() throws IOException {
+        int initial = peekByte();
+        if (initial >>> 5 != MAJOR_SIMPLE) {
+            return readInteger();
+        }
+        source.readByte();
+        switch (initial & 0x1F) {
+            case 25:
+                return halfToDouble(source.readShort() & 0xFFFF);
+            case 26:
+                return Float.intBitsToFloat(source.readInt());
+            case 27:
+                return Double.longBitsToDouble(source.readLong());
+            default:
+                throw syntaxError("se esperaba un número");
+        }
+    }
+
+    private long readLength(int initial) throws IOException {
+        if ((initial & 0x1F) == INDEFINITE) {
+            return -1;
+        }
+        return readArgument(initial);
+    }
+
+    private long readArgument(int initial) throws IOException {
+        int info = initial & 0x1F;
+        if (info < 24) {
+            return info;
+        }
+        switch (info) {
+            case 24:
+                return source.readByte() & 0xFFL;
+            case 25:
+                return source.readShort() & 0xFFFFL;
+            case 26:
+                return source.readInt() & 0xFFFFFFFFL;
+            case 27:
+                return source.readLong();
+            default:
+                throw syntaxError("longitud inválida: " + info);
+        }
+    }
+
+    private static double halfToDouble(int half) {
+        int exponent = (half >> 10) & 0x1F;
+        int mantissa = half & 0x3FF;
+        double value;
+        if (exponent == 0) {
+            value = mantissa * Math.pow(2, -24);
+        } else if (exponent == 31) {
+            value = mantissa == 0 ? Double.POSITIVE_INFINITY : Double.NaN;
+        } else {
+            value = (mantissa + 1024) * Math.pow(2, exponent - 25);
+        }
+        return (half & 0x8000) != 0 ? -value : value;
+    }
+
+    private IOException syntaxError(String message) {
+        return new IOException("CBOR inválido: " + message);
+    }
+
+    private static final class Frame {
+        final boolean map;
+        // Ítems (o pares clave/valor) pendientes; -1 si la longitud es indefinida
+        long remaining;
+        boolean expectingName;
+
+        Frame(boolean map, long remaining) {
+            this.map = map;
+            this.remaining = remaining;
+            this.expectingName = map;
+        }
+    }
+}
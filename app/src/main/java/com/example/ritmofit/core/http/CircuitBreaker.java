@@ -0,0 +1,108 @@
+package com.example.ritmofit.core.http;
+
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker de un grupo de endpoints.
+ * <ul>
+ *     <li>CLOSED: los requests pasan; {@link #FAILURE_THRESHOLD} fallas seguidas lo abren.</li>
+ *     <li>OPEN: los requests no salen a la red durante {@link #OPEN_MILLIS}.</li>
+ *     <li>HALF_OPEN: se deja pasar un único request de prueba; si anda se cierra,
+ *     si falla se vuelve a abrir.</li>
+ * </ul>
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    static final int FAILURE_THRESHOLD = 5;
+    static final long OPEN_MILLIS = 30_000;
+
+    private final EndpointGroup group;
+    private final LongSupplier clock;
+    private final Consumer<CircuitStateEvent> listener;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtMillis;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(EndpointGroup group, LongSupplier clock, Consumer<CircuitStateEvent> listener) {
+        this.group = group;
+        this.clock = clock;
+        this.listener = listener;
+    }
+
+    /**
+     * Pide permiso para enviar un request
+     * @return false si el circuito está abierto o ya hay una prueba en curso
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (clock.getAsLong() - openedAtMillis < OPEN_MILLIS) {
+                    return false;
+                }
+                moveTo(State.HALF_OPEN);
+                probeInFlight = true;
+                return true;
+            default:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        moveTo(State.CLOSED);
+    }
+
+    public synchronized void onFailure() {
+        probeInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= FAILURE_THRESHOLD) {
+            openedAtMillis = clock.getAsLong();
+            moveTo(State.OPEN);
+        }
+    }
+
+    /**
+     * El request terminó sin decir nada del servidor (cancelado o respondido desde cache)
+     */
+    public synchronized void onIgnored() {
+        probeInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Milisegundos hasta que se permita un request de prueba
+     */
+    public synchronized long remainingOpenMillis() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, OPEN_MILLIS - (clock.getAsLong() - openedAtMillis));
+    }
+
+    private void moveTo(State next) {
+        if (state == next) {
+            return;
+        }
+        state = next;
+        listener.accept(new CircuitStateEvent(group, next));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.ritmofit.core.http;
+
+import androidx.annotation.NonNull;
+
+import org.greenrobot.eventbus.EventBus;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Aplica un {@link CircuitBreaker} por {@link EndpointGroup}. Va por fuera de
+ * {@link RetryInterceptor}, así una serie de reintentos cuenta como un solo resultado.
+ * Con el circuito abierto los GET se responden desde el cache HTTP (aunque esté vencido)
+ * y el resto falla al instante con {@link CircuitOpenException}.
+ * Los cambios de estado se publican como {@link CircuitStateEvent} en el EventBus.
+ */
+@Singleton
+public class CircuitBreakerInterceptor implements Interceptor {
+
+    private final Map<EndpointGroup, CircuitBreaker> breakers;
+
+    @Inject
+    public CircuitBreakerInterceptor() {
+        this(System::currentTimeMillis, event -> EventBus.getDefault().post(event));
+    }
+
+    CircuitBreakerInterceptor(LongSupplier clock, Consumer<CircuitStateEvent> listener) {
+        Map<EndpointGroup, CircuitBreaker> map = new EnumMap<>(EndpointGroup.class);
+        for (EndpointGroup group : EndpointGroup.values()) {
+            map.put(group, new CircuitBreaker(group, clock, listener));
+        }
+        this.breakers = Collections.unmodifiableMap(map);
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        EndpointGroup group = EndpointGroup.of(request.url());
+        CircuitBreaker breaker = breakers.get(group);
+
+        if (!breaker.tryAcquire()) {
+            return fallback(chain, request, group, breaker);
+        }
+
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            if (chain.call().isCanceled()) {
+                breaker.onIgnored();
+            } else {
+                breaker.onFailure();
+            }
+            throw e;
+        }
+
+        if (response.networkResponse() == null) {
+            breaker.onIgnored(); // salió del cache, no dice nada del servidor
+        } else if (response.code() >= 500) {
+            breaker.onFailure();
+        } else {
+            breaker.onSuccess();
+        }
+        return response;
+    }
+
+    public CircuitBreaker.State getState(EndpointGroup group) {
+        return breakers.get(group).getState();
+    }
+
+    private Response fallback(Chain chain, Request request, EndpointGroup group,
+                              CircuitBreaker breaker) throws IOException {
+        if (!"GET".equals(request.method())) {
+            throw new CircuitOpenException(group, breaker.remainingOpenMillis());
+        }
+        // Sin validadores: con condiciones OkHttp no puede responder sólo desde cache
+        Request cacheOnly = request.newBuilder()
+                .removeHeader("If-None-Match")
+                .removeHeader("If-Modified-Since")
+                .cacheControl(CacheControl.FORCE_CACHE)
+                .build();
+        Response response = chain.proceed(cacheOnly);
+        if (response.cacheResponse() == null) {
+            response.close();
+            throw new CircuitOpenException(group, breaker.remainingOpenMillis());
+        }
+        return response;
+    }
+}
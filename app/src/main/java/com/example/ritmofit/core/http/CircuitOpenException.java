@@ -0,0 +1,26 @@
+package com.example.ritmofit.core.http;
+
+import java.io.IOException;
+
+/**
+ * Falla inmediata de un request cuyo circuito está abierto y no tiene respuesta en cache
+ */
+public class CircuitOpenException extends IOException {
+
+    private final EndpointGroup group;
+    private final long retryAfterMillis;
+
+    public CircuitOpenException(EndpointGroup group, long retryAfterMillis) {
+        super("Circuito abierto para " + group + ", nuevo intento en " + retryAfterMillis + " ms");
+        this.group = group;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public EndpointGroup getGroup() {
+        return group;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
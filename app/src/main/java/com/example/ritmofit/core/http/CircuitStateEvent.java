@@ -0,0 +1,6 @@
+package com.example.ritmofit.core.http;
+
+/**
+ * Se publica en el EventBus cada vez que un circuito cambia de estado
+ */
+public record CircuitStateEvent(EndpointGroup group, CircuitBreaker.State state) {}
@@ -0,0 +1,198 @@
+package com.example.ritmofit.core.http;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * OkHttp acepta un solo {@link EventListener.Factory}: éste reparte cada evento entre varios.
+ */
+public final class CompositeEventListener extends EventListener {
+
+    private final List<EventListener> listeners;
+
+    private CompositeEventListener(List<EventListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    /**
+     * Factory que crea, para cada llamada, un listener de cada factory.
+     * Los que devuelven {@link EventListener#NONE} no se agregan.
+     */
+    public static EventListener.Factory factory(EventListener.Factory... factories) {
+        return call -> {
+            List<EventListener> created = new ArrayList<>(factories.length);
+            for (EventListener.Factory factory : factories) {
+                EventListener listener = factory.create(call);
+                if (listener != EventListener.NONE) {
+                    created.add(listener);
+                }
+            }
+            if (created.isEmpty()) {
+                return EventListener.NONE;
+            }
+            return created.size() == 1 ? created.get(0) : new CompositeEventListener(created);
+        };
+    }
+
+    @Override
+    public void callStart(@NonNull Call call) {
+        for (EventListener l : listeners) l.callStart(call);
+    }
+
+    @Override
+    public void proxySelectStart(@NonNull Call call, @NonNull HttpUrl url) {
+        for (EventListener l : listeners) l.proxySelectStart(call, url);
+    }
+
+    @Override
+    public void proxySelectEnd(@NonNull Call call, @NonNull HttpUrl url, @NonNull List<Proxy> proxies) {
+        for (EventListener l : listeners) l.proxySelectEnd(call, url, proxies);
+    }
+
+    @Override
+    public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+        for (EventListener l : listeners) l.dnsStart(call, domainName);
+    }
+
+    @Override
+    public void dnsEnd(@NonNull Call call, @NonNull String domainName, @NonNull List<InetAddress> addresses) {
+        for (EventListener l : listeners) l.dnsEnd(call, domainName, addresses);
+    }
+
+    @Override
+    public void connectStart(@NonNull Call call, @NonNull InetSocketAddress address, @NonNull Proxy proxy) {
+        for (EventListener l : listeners) l.connectStart(call, address, proxy);
+    }
+
+    @Override
+    public void secureConnectStart(@NonNull Call call) {
+        for (EventListener l : listeners) l.secureConnectStart(call);
+    }
+
+    @Override
+    public void secureConnectEnd(@NonNull Call call, Handshake handshake) {
+        for (EventListener l : listeners) l.secureConnectEnd(call, handshake);
+    }
+
+    @Override
+    public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress address, @NonNull Proxy proxy,
+                           Protocol protocol) {
+        for (EventListener l : listeners) l.connectEnd(call, address, proxy, protocol);
+    }
+
+    @Override
+    public void connectFailed(@NonNull Call call, @NonNull InetSocketAddress address, @NonNull Proxy proxy,
+                              Protocol protocol, @NonNull IOException ioe) {
+        for (EventListener l : listeners) l.connectFailed(call, address, proxy, protocol, ioe);
+    }
+
+    @Override
+    public void connectionAcquired(@NonNull Call call, @NonNull Connection connection) {
+        for (EventListener l : listeners) l.connectionAcquired(call, connection);
+    }
+
+    @Override
+    public void connectionReleased(@NonNull Call call, @NonNull Connection connection) {
+        for (EventListener l : listeners) l.connectionReleased(call, connection);
+    }
+
+    @Override
+    public void requestHeadersStart(@NonNull Call call) {
+        for (EventListener l : listeners) l.requestHeadersStart(call);
+    }
+
+    @Override
+    public void requestHeadersEnd(@NonNull Call call, @NonNull Request request) {
+        for (EventListener l : listeners) l.requestHeadersEnd(call, request);
+    }
+
+    @Override
+    public void requestBodyStart(@NonNull Call call) {
+        for (EventListener l : listeners) l.requestBodyStart(call);
+    }
+
+    @Override
+    public void requestBodyEnd(@NonNull Call call, long byteCount) {
+        for (EventListener l : listeners) l.requestBodyEnd(call, byteCount);
+    }
+
+    @Override
+    public void requestFailed(@NonNull Call call, @NonNull IOException ioe) {
+        for (EventListener l : listeners) l.requestFailed(call, ioe);
+    }
+
+    @Override
+    public void responseHeadersStart(@NonNull Call call) {
+        for (EventListener l : listeners) l.responseHeadersStart(call);
+    }
+
+    @Override
+    public void responseHeadersEnd(@NonNull Call call, @NonNull Response response) {
+        for (EventListener l : listeners) l.responseHeadersEnd(call, response);
+    }
+
+    @Override
+    public void responseBodyStart(@NonNull Call call) {
+        for (EventListener l : listeners) l.responseBodyStart(call);
+    }
+
+    @Override
+    public void responseBodyEnd(@NonNull Call call, long byteCount) {
+        for (EventListener l : listeners) l.responseBodyEnd(call, byteCount);
+    }
+
+    @Override
+    public void responseFailed(@NonNull Call call, @NonNull IOException ioe) {
+        for (EventListener l : listeners) l.responseFailed(call, ioe);
+    }
+
+    @Override
+    public void callEnd(@NonNull Call call) {
+        for (EventListener l : listeners) l.callEnd(call);
+    }
+
+    @Override
+    public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+        for (EventListener l : listeners) l.callFailed(call, ioe);
+    }
+
+    @Override
+    public void canceled(@NonNull Call call) {
+        for (EventListener l : listeners) l.canceled(call);
+    }
+
+    @Override
+    public void satisfactionFailure(@NonNull Call call, @NonNull Response response) {
+        for (EventListener l : listeners) l.satisfactionFailure(call, response);
+    }
+
+    @Override
+    public void cacheHit(@NonNull Call call, @NonNull Response response) {
+        for (EventListener l : listeners) l.cacheHit(call, response);
+    }
+
+    @Override
+    public void cacheMiss(@NonNull Call call) {
+        for (EventListener l : listeners) l.cacheMiss(call);
+    }
+
+    @Override
+    public void cacheConditionalHit(@NonNull Call call, @NonNull Response cachedResponse) {
+        for (EventListener l : listeners) l.cacheConditionalHit(call, cachedResponse);
+    }
+}
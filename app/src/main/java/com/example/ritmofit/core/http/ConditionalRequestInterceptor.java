@@ -0,0 +1,43 @@
+package com.example.ritmofit.core.http;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Convierte los GET con una entrada vencida en {@link DecodedResponseCache} en requests
+ * condicionales. El 304 llega intacto al repositorio, que lo resuelve desde el cache.
+ * Si la entrada se descartó mientras el request viajaba, el 304 no tiene con qué
+ * resolverse y se vuelve a pedir una vez sin validadores.
+ */
+public class ConditionalRequestInterceptor implements Interceptor {
+
+    private final DecodedResponseCache decodedResponseCache;
+
+    public ConditionalRequestInterceptor(DecodedResponseCache decodedResponseCache) {
+        this.decodedResponseCache = decodedResponseCache;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!"GET".equals(request.method())
+                || request.header("If-None-Match") != null
+                || request.header("If-Modified-Since") != null) {
+            return chain.proceed(request);
+        }
+        Request conditional = decodedResponseCache.withValidators(request);
+        Response response = chain.proceed(conditional);
+        if (response.code() == 304 && conditional != request
+                && !decodedResponseCache.canResolveNotModified(request)) {
+            response.close();
+            return chain.proceed(request);
+        }
+        return response;
+    }
+}
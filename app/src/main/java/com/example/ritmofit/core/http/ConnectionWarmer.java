@@ -0,0 +1,188 @@
+package com.example.ritmofit.core.http;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import okhttp3.Authenticator;
+import okhttp3.CacheControl;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Retrofit;
+
+/**
+ * Abre de antemano una conexión al backend en el ConnectionPool de OkHttp, mientras el
+ * usuario todavía está en login, OTP o el prompt biométrico. Así el primer request con datos
+ * no paga DNS + TCP (+ TLS).
+ * <p>
+ * El warm-up es un HEAD a la base URL que no pasa por interceptores ni cache. Con el
+ * {@link #eventListenerFactory()} registrado en el cliente se mide si el primer request
+ * posterior reusó la conexión ({@link #getUsedCount()}) o tuvo que abrir otra
+ * ({@link #getMissedCount()}).
+ */
+@Singleton
+public class ConnectionWarmer {
+
+    /** No se repite el warm-up si hubo uno hace menos de esto */
+    static final long MIN_INTERVAL_MILLIS = 30_000;
+
+    private final Provider<Retrofit> retrofit;
+    private final LongSupplier clock;
+
+    private final AtomicBoolean warming = new AtomicBoolean();
+    private final AtomicBoolean pendingReport = new AtomicBoolean();
+    private final AtomicInteger warmUps = new AtomicInteger();
+    private final AtomicInteger used = new AtomicInteger();
+    private final AtomicInteger missed = new AtomicInteger();
+    private volatile long lastWarmUpMillis = Long.MIN_VALUE;
+    private volatile OkHttpClient warmUpClient;
+
+    // Provider: el OkHttpClient usa nuestro EventListener, no se puede pedir en el constructor
+    @Inject
+    public ConnectionWarmer(Provider<Retrofit> retrofit) {
+        this(retrofit, System::currentTimeMillis);
+    }
+
+    ConnectionWarmer(Provider<Retrofit> retrofit, LongSupplier clock) {
+        this.retrofit = retrofit;
+        this.clock = clock;
+    }
+
+    /**
+     * Abre una conexión al backend en segundo plano, salvo que haya una reciente
+     * @return false si no hizo falta
+     */
+    public boolean warmUp() {
+        long now = clock.getAsLong();
+        if (lastWarmUpMillis != Long.MIN_VALUE && now - lastWarmUpMillis < MIN_INTERVAL_MILLIS) {
+            return false;
+        }
+        if (!warming.compareAndSet(false, true)) {
+            return false;
+        }
+
+        Retrofit target = retrofit.get();
+        Request request = new Request.Builder()
+                .url(target.baseUrl())
+                .head()
+                .cacheControl(CacheControl.FORCE_NETWORK)
+                .tag(ConnectionWarmer.class, this)
+                .build();
+
+        warmUpClient(target).newCall(request).enqueue(new Callback() {
+            @Override
+            public void onResponse(@NonNull Call call, @NonNull Response response) {
+                // Cualquier status sirve: lo que importa es la conexión que queda en el pool
+                response.close();
+                lastWarmUpMillis = clock.getAsLong();
+                warmUps.incrementAndGet();
+                warming.set(false);
+                pendingReport.set(true);
+            }
+
+            @Override
+            public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                warming.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * true si hay un warm-up terminado que ningún request aprovechó todavía
+     */
+    public boolean isWarm() {
+        return pendingReport.get();
+    }
+
+    public int getWarmUpCount() {
+        return warmUps.get();
+    }
+
+    /** Primeros requests después de un warm-up que reusaron la conexión */
+    public int getUsedCount() {
+        return used.get();
+    }
+
+    /** Primeros requests después de un warm-up que igual tuvieron que conectarse */
+    public int getMissedCount() {
+        return missed.get();
+    }
+
+    /**
+     * Factory para {@code OkHttpClient.Builder.eventListenerFactory}: sólo instrumenta
+     * las llamadas mientras haya un warm-up pendiente de evaluar
+     */
+    public EventListener.Factory eventListenerFactory() {
+        return call -> pendingReport.get() && call.request().tag(ConnectionWarmer.class) == null
+                ? new Probe()
+                : EventListener.NONE;
+    }
+
+    // Mismo pool y dispatcher que el cliente de la app, sin interceptores, cache ni refresh de sesión
+    private OkHttpClient warmUpClient(Retrofit target) {
+        OkHttpClient client = warmUpClient;
+        if (client == null) {
+            OkHttpClient.Builder builder = ((OkHttpClient) target.callFactory()).newBuilder()
+                    .cache(null)
+                    .authenticator(Authenticator.NONE)
+                    .retryOnConnectionFailure(false);
+            builder.interceptors().clear();
+            builder.networkInterceptors().clear();
+            client = builder.build();
+            warmUpClient = client;
+        }
+        return client;
+    }
+
+    private void report(boolean reused) {
+        if (pendingReport.compareAndSet(true, false)) {
+            (reused ? used : missed).incrementAndGet();
+        }
+    }
+
+    private final class Probe extends EventListener {
+        private boolean connected;
+        private boolean acquired;
+
+        @Override
+        public void connectStart(@NonNull Call call, @NonNull java.net.InetSocketAddress address,
+                                 @NonNull java.net.Proxy proxy) {
+            connected = true;
+        }
+
+        @Override
+        public void connectionAcquired(@NonNull Call call, @NonNull Connection connection) {
+            acquired = true;
+        }
+
+        @Override
+        public void callEnd(@NonNull Call call) {
+            finish();
+        }
+
+        @Override
+        public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+            finish();
+        }
+
+        private void finish() {
+            // Respuestas servidas desde el cache no dicen nada sobre la conexión
+            if (acquired) {
+                report(!connected);
+            }
+        }
+    }
+}
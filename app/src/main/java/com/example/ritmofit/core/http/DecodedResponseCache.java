@@ -0,0 +1,153 @@
+package com.example.ritmofit.core.http;
+
+import com.example.ritmofit.auth.repository.TokenRepository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import okhttp3.CacheControl;
+import okhttp3.Request;
+import retrofit2.Response;
+
+/**
+ * Cache en memoria de respuestas ya decodificadas a objetos de dominio.
+ * Guarda los validadores (ETag / Last-Modified) de cada respuesta para que
+ * {@link ConditionalRequestInterceptor} revalide con un request condicional; ante un
+ * 304 el repositorio recupera los objetos de acá sin volver a parsear el JSON.
+ */
+@Singleton
+public class DecodedResponseCache {
+
+    private static final int MAX_ENTRIES = 32;
+
+    private final TokenRepository tokenRepository;
+    private final LongSupplier clock;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    @Inject
+    public DecodedResponseCache(TokenRepository tokenRepository) {
+        this(tokenRepository, System::currentTimeMillis);
+    }
+
+    DecodedResponseCache(TokenRepository tokenRepository, LongSupplier clock) {
+        this.tokenRepository = tokenRepository;
+        this.clock = clock;
+    }
+
+    /**
+     * Devuelve el valor decodificado si todavía está dentro de su max-age
+     * @param request request que se está por enviar
+     * @return objetos de dominio o null si hay que ir a la red
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T getFresh(Request request) {
+        if (request == null) {
+            return null;
+        }
+        Entry entry = entries.get(keyFor(request));
+        if (entry == null || clock.getAsLong() >= entry.expiresAtMillis) {
+            return null;
+        }
+        return (T) entry.value;
+    }
+
+    /**
+     * Resuelve una respuesta 304 con los objetos decodificados en la respuesta anterior
+     * @param response respuesta de Retrofit
+     * @return objetos de dominio o null si la respuesta no es un 304 conocido
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T getNotModified(Response<?> response) {
+        if (response.code() != 304) {
+            return null;
+        }
+        Entry entry = entries.get(keyFor(response.raw().request()));
+        if (entry == null) {
+            return null;
+        }
+        entry.expiresAtMillis = expiresAt(response.raw().cacheControl());
+        return (T) entry.value;
+    }
+
+    /**
+     * Guarda los objetos decodificados de una respuesta exitosa junto a sus validadores
+     * @param response respuesta de Retrofit
+     * @param decoded objetos de dominio obtenidos del body
+     */
+    public synchronized void store(Response<?> response, Object decoded) {
+        okhttp3.Response raw = response.raw();
+        String key = keyFor(raw.request());
+        String etag = raw.header("ETag");
+        String lastModified = raw.header("Last-Modified");
+        if (etag == null && lastModified == null) {
+            entries.remove(key);
+            return;
+        }
+        entries.put(key, new Entry(etag, lastModified, decoded, expiresAt(raw.cacheControl())));
+    }
+
+    /**
+     * Agrega If-None-Match / If-Modified-Since si hay una entrada vencida para el request
+     */
+    synchronized Request withValidators(Request request) {
+        Entry entry = entries.get(keyFor(request));
+        if (entry == null || clock.getAsLong() < entry.expiresAtMillis) {
+            return request;
+        }
+        Request.Builder builder = request.newBuilder();
+        if (entry.etag != null) {
+            builder.header("If-None-Match", entry.etag);
+        }
+        if (entry.lastModified != null) {
+            builder.header("If-Modified-Since", entry.lastModified);
+        }
+        return builder.build();
+    }
+
+    /**
+     * true si hay una entrada con qué resolver un 304 para el request. La consulta la marca
+     * como recién usada, así no es la próxima en descartarse antes de que llegue al repositorio.
+     */
+    synchronized boolean canResolveNotModified(Request request) {
+        return entries.get(keyFor(request)) != null;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private long expiresAt(CacheControl cacheControl) {
+        int maxAge = Math.max(cacheControl.maxAgeSeconds(), 0);
+        return clock.getAsLong() + maxAge * 1000L;
+    }
+
+    // Los datos son por usuario: el token forma parte de la clave
+    private String keyFor(Request request) {
+        String token = tokenRepository != null ? tokenRepository.getToken() : null;
+        return request.url() + "|" + (token != null ? token : "");
+    }
+
+    private static final class Entry {
+        final String etag;
+        final String lastModified;
+        final Object value;
+        long expiresAtMillis;
+
+        Entry(String etag, String lastModified, Object value, long expiresAtMillis) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
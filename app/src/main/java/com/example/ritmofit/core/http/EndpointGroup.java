@@ -0,0 +1,39 @@
+package com.example.ritmofit.core.http;
+
+import okhttp3.HttpUrl;
+
+/**
+ * Agrupa los endpoints del backend según el recurso, para aislar fallas por área.
+ * Se resuelve por el path porque hay interfaces de Retrofit que mezclan recursos.
+ */
+public enum EndpointGroup {
+    AUTH,
+    COURSES,
+    HISTORIAL,
+    USERS,
+    RESERVAS,
+    OTHER;
+
+    public static EndpointGroup of(HttpUrl url) {
+        for (String segment : url.pathSegments()) {
+            switch (segment) {
+                case "auth":
+                    return AUTH;
+                case "courses":
+                case "clases":
+                    return COURSES;
+                case "historial":
+                    return HISTORIAL;
+                case "users":
+                case "user":
+                case "usuarios":
+                    return USERS;
+                case "reservas":
+                    return RESERVAS;
+                default:
+                    break;
+            }
+        }
+        return OTHER;
+    }
+}
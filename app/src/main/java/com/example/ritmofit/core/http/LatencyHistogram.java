@@ -0,0 +1,74 @@
+package com.example.ritmofit.core.http;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latencias con buckets fijos en milisegundos.
+ * Ocupa siempre lo mismo y se puede registrar desde varios hilos sin locks;
+ * a cambio, los percentiles son la cota superior del bucket donde caen.
+ */
+public class LatencyHistogram {
+
+    /** Cota superior (inclusive) de cada bucket, en ms. El último bucket no tiene cota. */
+    static final long[] BOUNDS_MILLIS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000};
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS_MILLIS.length + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sumMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        long micros = nanos / 1_000;
+        buckets.incrementAndGet(bucketFor(micros));
+        count.incrementAndGet();
+        sumMicros.addAndGet(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public double getMeanMillis() {
+        long n = count.get();
+        return n == 0 ? 0 : sumMicros.get() / 1_000.0 / n;
+    }
+
+    public double getMaxMillis() {
+        return maxMicros.get() / 1_000.0;
+    }
+
+    /**
+     * @param quantile entre 0 y 1, p. ej. 0.95
+     * @return cota superior del bucket que contiene el percentil, en ms; 0 si no hay muestras
+     */
+    public double percentileMillis(double quantile) {
+        long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * n));
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                // El bucket abierto no tiene cota: el máximo observado es lo más honesto
+                return i < BOUNDS_MILLIS.length ? Math.min(BOUNDS_MILLIS[i], getMaxMillis()) : getMaxMillis();
+            }
+        }
+        return getMaxMillis();
+    }
+
+    private static int bucketFor(long micros) {
+        for (int i = 0; i < BOUNDS_MILLIS.length; i++) {
+            if (micros <= BOUNDS_MILLIS[i] * 1_000) {
+                return i;
+            }
+        }
+        return BOUNDS_MILLIS.length;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.ritmofit.core.http;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+import retrofit2.http.DELETE;
+import retrofit2.http.GET;
+import retrofit2.http.HEAD;
+import retrofit2.http.PATCH;
+import retrofit2.http.POST;
+import retrofit2.http.PUT;
+
+/**
+ * Registra cada request muestreado en el {@link NetworkLogger}: método, plantilla del path,
+ * status, bytes y duración. No arma strings ni toca logcat en el hilo del request.
+ */
+public class NetworkLogInterceptor implements Interceptor {
+
+    private final NetworkLogger logger;
+
+    public NetworkLogInterceptor(NetworkLogger logger) {
+        this.logger = logger;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!logger.shouldSample()) {
+            return chain.proceed(request);
+        }
+
+        long start = System.nanoTime();
+        long requestBytes = request.body() != null ? request.body().contentLength() : 0;
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException e) {
+            logger.offer(new NetworkLogRecord(System.currentTimeMillis(), request.method(), pathOf(request),
+                    NetworkLogRecord.NO_RESPONSE, requestBytes, -1, elapsedMillis(start),
+                    e.getClass().getSimpleName()));
+            throw e;
+        }
+        long responseBytes = response.body() != null ? response.body().contentLength() : 0;
+        logger.offer(new NetworkLogRecord(System.currentTimeMillis(), request.method(), pathOf(request),
+                response.code(), requestBytes, responseBytes, elapsedMillis(start), null));
+        return response;
+    }
+
+    /**
+     * La plantilla declarada en Retrofit ({@code api/users/{id}}); si no es un request de
+     * Retrofit, el path tal cual
+     */
+    static String pathOf(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null) {
+            for (Annotation annotation : invocation.method().getAnnotations()) {
+                String template = templateOf(annotation);
+                if (template != null) {
+                    return template;
+                }
+            }
+        }
+        return request.url().encodedPath();
+    }
+
+    private static String templateOf(Annotation annotation) {
+        if (annotation instanceof GET) return ((GET) annotation).value();
+        if (annotation instanceof POST) return ((POST) annotation).value();
+        if (annotation instanceof PUT) return ((PUT) annotation).value();
+        if (annotation instanceof PATCH) return ((PATCH) annotation).value();
+        if (annotation instanceof DELETE) return ((DELETE) annotation).value();
+        if (annotation instanceof HEAD) return ((HEAD) annotation).value();
+        return null;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.ritmofit.core.http;
+
+import java.util.Locale;
+
+/**
+ * Un request ya terminado, tal como lo registra {@link NetworkLogInterceptor}.
+ * El path es la plantilla del endpoint (p. ej. {@code api/users/{id}}), sin query ni ids.
+ */
+public final class NetworkLogRecord {
+
+    /** Status de un request que terminó en IOException */
+    public static final int NO_RESPONSE = -1;
+
+    private final long timestampMillis;
+    private final String method;
+    private final String path;
+    private final int status;
+    private final long requestBytes;
+    private final long responseBytes;
+    private final long durationMillis;
+    private final String error;
+
+    NetworkLogRecord(long timestampMillis, String method, String path, int status,
+                     long requestBytes, long responseBytes, long durationMillis, String error) {
+        this.timestampMillis = timestampMillis;
+        this.method = method;
+        this.path = path;
+        this.status = status;
+        this.requestBytes = requestBytes;
+        this.responseBytes = responseBytes;
+        this.durationMillis = durationMillis;
+        this.error = error;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /** -1 si no se conoce el largo */
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+
+    /** -1 si no se conoce el largo (p. ej. respuesta chunked) */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /** Clase de la excepción si no hubo respuesta, o null */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Formato key=value, una línea por request
+     */
+    @Override
+    public String toString() {
+        String line = String.format(Locale.US, "method=%s path=%s status=%d req_bytes=%d resp_bytes=%d ms=%d",
+                method, path, status, requestBytes, responseBytes, durationMillis);
+        return error != null ? line + " error=" + error : line;
+    }
+}
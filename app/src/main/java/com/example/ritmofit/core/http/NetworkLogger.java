@@ -0,0 +1,135 @@
+package com.example.ritmofit.core.http;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Log de red estructurado y asíncrono. Los hilos de OkHttp sólo dejan un
+ * {@link NetworkLogRecord} en un ring buffer sin locks; un hilo aparte lo vacía cada
+ * {@value #DRAIN_INTERVAL_MILLIS} ms hacia el {@link Sink}.
+ * <p>
+ * Se registra una fracción configurable de los requests ({@link #setSampleRate(double)}).
+ * Con sample rate 0 el interceptor ni siquiera mide: no cuesta nada. Si el buffer se llena
+ * antes de vaciarse, los registros nuevos se descartan y se cuentan en {@link #getDroppedCount()}.
+ */
+public class NetworkLogger {
+
+    /** Destino de los registros; se llama siempre desde el hilo del drainer */
+    public interface Sink {
+        void write(NetworkLogRecord record);
+    }
+
+    static final long DRAIN_INTERVAL_MILLIS = 500;
+
+    private final AtomicReferenceArray<NetworkLogRecord> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong(); // próximo slot a escribir (productores)
+    private final AtomicLong head = new AtomicLong(); // próximo slot a leer (drainer)
+    private final AtomicLong dropped = new AtomicLong();
+    private final Sink sink;
+    private volatile double sampleRate;
+    private volatile ScheduledExecutorService drainer;
+
+    /**
+     * @param capacity   se redondea a la siguiente potencia de 2
+     * @param sampleRate fracción de requests a registrar, entre 0 (apagado) y 1
+     */
+    public NetworkLogger(int capacity, double sampleRate, Sink sink) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.sink = sink;
+        setSampleRate(sampleRate);
+    }
+
+    public boolean isEnabled() {
+        return sampleRate > 0;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = Math.max(0, Math.min(1, sampleRate));
+    }
+
+    /**
+     * Decide si se registra el request que está por salir
+     */
+    boolean shouldSample() {
+        double rate = sampleRate;
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    /**
+     * Encola un registro sin bloquear
+     * @return false si el buffer estaba lleno y se descartó
+     */
+    boolean offer(NetworkLogRecord record) {
+        long slot;
+        do {
+            slot = tail.get();
+            if (slot - head.get() > mask) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!tail.compareAndSet(slot, slot + 1));
+        slots.lazySet((int) (slot & mask), record);
+        startDrainer();
+        return true;
+    }
+
+    /**
+     * Vacía el buffer hacia el sink. Lo llama el drainer; un solo consumidor a la vez.
+     * @return cantidad de registros escritos
+     */
+    synchronized int drain() {
+        int written = 0;
+        long next = head.get();
+        while (next < tail.get()) {
+            int index = (int) (next & mask);
+            NetworkLogRecord record = slots.get(index);
+            if (record == null) {
+                break; // el productor reservó el slot pero todavía no lo publicó
+            }
+            slots.set(index, null);
+            head.set(++next);
+            sink.write(record);
+            written++;
+        }
+        return written;
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public int getPendingCount() {
+        return (int) (tail.get() - head.get());
+    }
+
+    // Recién cuando hay algo que escribir: apagado no crea ni el hilo
+    private void startDrainer() {
+        if (drainer != null) {
+            return;
+        }
+        synchronized (this) {
+            if (drainer == null) {
+                ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "network-log");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+                executor.scheduleWithFixedDelay(this::drain, DRAIN_INTERVAL_MILLIS, DRAIN_INTERVAL_MILLIS,
+                        TimeUnit.MILLISECONDS);
+                drainer = executor;
+            }
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package com.example.ritmofit.core.http;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+/**
+ * Mide en qué se va el tiempo de cada request, separado por método de Retrofit
+ * (p. ej. {@code CoursesApi.getAllBy}): DNS, TCP, TLS, tiempo hasta el primer byte, descarga
+ * del body y total, más los aciertos del cache HTTP.
+ * <p>
+ * Se engancha con {@link #eventListenerFactory()}; los datos se ven en la pantalla de debug
+ * de métricas y se pueden exportar como CSV con {@link #writeCsv(Writer)}. Además lleva un
+ * promedio reciente del tiempo al primer byte y del throughput de descarga, que usa
+ * FetchPolicy para adaptar los requests a la red.
+ */
+@Singleton
+public class NetworkMetrics {
+
+    public enum Phase { DNS, TCP, TLS, TTFB, DOWNLOAD, TOTAL }
+
+    /** Tope de endpoints distintos; los que no entran se suman a {@value #OTHER} */
+    static final int MAX_ENDPOINTS = 64;
+    static final String OTHER = "otros";
+
+    /** Peso de la última muestra en los promedios recientes */
+    static final double RECENT_WEIGHT = 0.3;
+
+    /** Bodies más chicos no sirven para medir throughput: los domina la latencia */
+    static final long MIN_THROUGHPUT_BYTES = 8 * 1024;
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final RecentAverage recentTtfbMillis = new RecentAverage();
+    private final RecentAverage recentKbps = new RecentAverage();
+
+    @Inject
+    public NetworkMetrics() {
+        this(System::nanoTime);
+    }
+
+    NetworkMetrics(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    public EventListener.Factory eventListenerFactory() {
+        return call -> new Recorder(metricsFor(endpointOf(call.request())));
+    }
+
+    /**
+     * Métricas de un endpoint, o null si todavía no hubo llamadas
+     */
+    public EndpointMetrics get(String endpoint) {
+        return endpoints.get(endpoint);
+    }
+
+    /**
+     * Todos los endpoints medidos, ordenados por nombre
+     */
+    public List<EndpointMetrics> snapshot() {
+        List<EndpointMetrics> result = new ArrayList<>(endpoints.values());
+        result.sort((a, b) -> a.endpoint.compareTo(b.endpoint));
+        return result;
+    }
+
+    public void reset() {
+        endpoints.clear();
+        recentTtfbMillis.clear();
+        recentKbps.clear();
+    }
+
+    /**
+     * Tiempo reciente hasta el primer byte, en ms; -1 si todavía no hubo requests a la red
+     */
+    public long getRecentTtfbMillis() {
+        return recentTtfbMillis.get();
+    }
+
+    /**
+     * Throughput reciente de descarga en kbps; -1 si todavía no hubo bodies de
+     * {@value #MIN_THROUGHPUT_BYTES} bytes o más
+     */
+    public long getRecentKbps() {
+        return recentKbps.get();
+    }
+
+    /**
+     * Resumen legible para la pantalla de debug: p50/p95/p99 en ms por fase
+     */
+    public String report() {
+        StringBuilder out = new StringBuilder();
+        for (EndpointMetrics metrics : snapshot()) {
+            out.append(metrics.endpoint).append('\n');
+            out.append(String.format(Locale.US, "  llamadas %d · errores %d · cache %d hit / %d cond / %d miss%n",
+                    metrics.getCalls(), metrics.getFailures(),
+                    metrics.getCacheHits(), metrics.getConditionalHits(), metrics.getCacheMisses()));
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram histogram = metrics.histogram(phase);
+                if (histogram.getCount() == 0) {
+                    continue;
+                }
+                out.append(String.format(Locale.US, "  %-8s n=%-5d p50 %7.1f  p95 %7.1f  p99 %7.1f ms%n",
+                        phase, histogram.getCount(), histogram.percentileMillis(0.50),
+                        histogram.percentileMillis(0.95), histogram.percentileMillis(0.99)));
+            }
+        }
+        return out.length() == 0 ? "Sin requests medidos todavía" : out.toString();
+    }
+
+    /**
+     * Exporta una fila por endpoint y fase
+     */
+    public void writeCsv(Writer writer) throws IOException {
+        writer.write("endpoint,phase,count,p50_ms,p95_ms,p99_ms,max_ms,mean_ms,"
+                + "calls,failures,cache_hits,cache_conditional_hits,cache_misses\n");
+        for (EndpointMetrics metrics : snapshot()) {
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram histogram = metrics.histogram(phase);
+                writer.write(String.format(Locale.US, "%s,%s,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%d,%d,%d,%d,%d%n",
+                        metrics.endpoint, phase, histogram.getCount(),
+                        histogram.percentileMillis(0.50), histogram.percentileMillis(0.95),
+                        histogram.percentileMillis(0.99), histogram.getMaxMillis(), histogram.getMeanMillis(),
+                        metrics.getCalls(), metrics.getFailures(), metrics.getCacheHits(),
+                        metrics.getConditionalHits(), metrics.getCacheMisses()));
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Nombre del endpoint: el método de Retrofit si lo hay; si no, verbo y path
+     */
+    static String endpointOf(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null) {
+            return invocation.method().getDeclaringClass().getSimpleName() + "." + invocation.method().getName();
+        }
+        return request.method() + " " + request.url().encodedPath();
+    }
+
+    private EndpointMetrics metricsFor(String endpoint) {
+        EndpointMetrics metrics = endpoints.get(endpoint);
+        if (metrics != null) {
+            return metrics;
+        }
+        // Paths con ids o requests sueltos no pueden hacer crecer el mapa sin límite
+        String key = endpoints.size() < MAX_ENDPOINTS ? endpoint : OTHER;
+        return endpoints.computeIfAbsent(key, EndpointMetrics::new);
+    }
+
+    public static final class EndpointMetrics {
+        private final String endpoint;
+        private final Map<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong cacheHits = new AtomicLong();
+        private final AtomicLong conditionalHits = new AtomicLong();
+        private final AtomicLong cacheMisses = new AtomicLong();
+
+        EndpointMetrics(String endpoint) {
+            this.endpoint = endpoint;
+            for (Phase phase : Phase.values()) {
+                histograms.put(phase, new LatencyHistogram());
+            }
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public LatencyHistogram histogram(Phase phase) {
+            return histograms.get(phase);
+        }
+
+        public long getCalls() {
+            return calls.get();
+        }
+
+        public long getFailures() {
+            return failures.get();
+        }
+
+        public long getCacheHits() {
+            return cacheHits.get();
+        }
+
+        public long getConditionalHits() {
+            return conditionalHits.get();
+        }
+
+        public long getCacheMisses() {
+            return cacheMisses.get();
+        }
+    }
+
+    // Uno por llamada: OkHttp no emite eventos de la misma llamada en paralelo
+    private final class Recorder extends EventListener {
+        private final EndpointMetrics metrics;
+        private long callStart;
+        private long dnsStart;
+        private long connectStart;
+        private long secureStart;
+        private long requestStart;
+        private long bodyStart;
+        private boolean secured;
+
+        Recorder(EndpointMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void callStart(@NonNull Call call) {
+            callStart = nanoClock.getAsLong();
+            metrics.calls.incrementAndGet();
+        }
+
+        @Override
+        public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+            dnsStart = nanoClock.getAsLong();
+        }
+
+        @Override
+        public void dnsEnd(@NonNull Call call, @NonNull String domainName, @NonNull List<InetAddress> addresses) {
+            record(Phase.DNS, dnsStart);
+        }
+
+        @Override
+        public void connectStart(@NonNull Call call, @NonNull InetSocketAddress address, @NonNull Proxy proxy) {
+            connectStart = nanoClock.getAsLong();
+            secured = false;
+        }
+
+        @Override
+        public void secureConnectStart(@NonNull Call call) {
+            // El handshake TCP terminó; lo que sigue es TLS
+            secureStart = nanoClock.getAsLong();
+            record(Phase.TCP, connectStart);
+            secured = true;
+        }
+
+        @Override
+        public void secureConnectEnd(@NonNull Call call, Handshake handshake) {
+            record(Phase.TLS, secureStart);
+        }
+
+        @Override
+        public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress address, @NonNull Proxy proxy,
+                               Protocol protocol) {
+            if (!secured) {
+                record(Phase.TCP, connectStart);
+            }
+        }
+
+        @Override
+        public void requestHeadersStart(@NonNull Call call) {
+            requestStart = nanoClock.getAsLong();
+        }
+
+        @Override
+        public void responseHeadersStart(@NonNull Call call) {
+            long elapsed = record(Phase.TTFB, requestStart);
+            recentTtfbMillis.add(elapsed / 1_000_000.0);
+        }
+
+        @Override
+        public void responseBodyStart(@NonNull Call call) {
+            bodyStart = nanoClock.getAsLong();
+        }
+
+        @Override
+        public void responseBodyEnd(@NonNull Call call, long byteCount) {
+            long elapsed = record(Phase.DOWNLOAD, bodyStart);
+            if (byteCount >= MIN_THROUGHPUT_BYTES && elapsed > 0) {
+                recentKbps.add(byteCount * 8 * 1_000_000.0 / elapsed); // bits por ms = kbps
+            }
+        }
+
+        @Override
+        public void cacheHit(@NonNull Call call, @NonNull Response response) {
+            metrics.cacheHits.incrementAndGet();
+        }
+
+        @Override
+        public void cacheConditionalHit(@NonNull Call call, @NonNull Response cachedResponse) {
+            metrics.conditionalHits.incrementAndGet();
+        }
+
+        @Override
+        public void cacheMiss(@NonNull Call call) {
+            metrics.cacheMisses.incrementAndGet();
+        }
+
+        @Override
+        public void callEnd(@NonNull Call call) {
+            record(Phase.TOTAL, callStart);
+        }
+
+        @Override
+        public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+            metrics.failures.incrementAndGet();
+            record(Phase.TOTAL, callStart);
+        }
+
+        private long record(Phase phase, long start) {
+            long elapsed = nanoClock.getAsLong() - start;
+            metrics.histogram(phase).record(elapsed);
+            return elapsed;
+        }
+    }
+
+    // Promedio exponencial: las últimas muestras pesan más que las viejas
+    private static final class RecentAverage {
+        private double value = -1;
+
+        synchronized void add(double sample) {
+            value = value < 0 ? sample : value + RECENT_WEIGHT * (sample - value);
+        }
+
+        synchronized long get() {
+            return value < 0 ? -1 : Math.round(value);
+        }
+
+        synchronized void clear() {
+            value = -1;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.ritmofit.core.http;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Invocation;
+import retrofit2.Response;
+
+/**
+ * Cola con prioridades delante del Dispatcher de OkHttp.
+ * <ul>
+ *     <li>Las llamadas salen en orden de {@link RequestPriority} y, dentro de cada una, FIFO.</li>
+ *     <li>Cada prioridad tiene un tope de llamadas en vuelo: prefetch y background sólo usan
+ *     capacidad ociosa y siempre queda un slot libre para lo que bloquea al usuario.</li>
+ *     <li>Si una llamada USER_BLOCKING no tiene slot, se cancela un prefetch/background en
+ *     vuelo y se vuelve a encolar, así nunca la demora.</li>
+ * </ul>
+ * El tope total coincide con {@code Dispatcher.maxRequestsPerHost}, así el orden lo decide
+ * esta cola y no la FIFO del Dispatcher.
+ */
+@Singleton
+public class PriorityCallScheduler {
+
+    static final int MAX_IN_FLIGHT = 5;
+
+    private static final Comparator<Entry<?>> ORDER = Comparator
+            .<Entry<?>>comparingInt(entry -> entry.priority.ordinal())
+            .thenComparingLong(entry -> entry.sequence);
+
+    private final PriorityQueue<Entry<?>> queue = new PriorityQueue<>(ORDER);
+    private final List<Entry<?>> running = new ArrayList<>();
+    private long nextSequence;
+
+    @Inject
+    public PriorityCallScheduler() {
+    }
+
+    /**
+     * Prioridad declarada con {@link CallPriority} en el método de Retrofit
+     */
+    public static RequestPriority priorityOf(Call<?> call) {
+        Request request = call.request();
+        Invocation invocation = request != null ? request.tag(Invocation.class) : null;
+        CallPriority annotation = invocation != null
+                ? invocation.method().getAnnotation(CallPriority.class) : null;
+        return annotation != null ? annotation.value() : RequestPriority.VISIBLE;
+    }
+
+    /**
+     * Encola una llamada con la prioridad indicada
+     * @return handle para cancelarla o cambiarle la prioridad
+     */
+    public <T> ScheduledCall enqueue(Call<T> call, Callback<T> callback, RequestPriority priority) {
+        Entry<T> entry = new Entry<>(call, callback, priority);
+        synchronized (this) {
+            entry.sequence = nextSequence++;
+            queue.add(entry);
+        }
+        drain();
+        return entry;
+    }
+
+    /**
+     * Sube la prioridad de una llamada (por ejemplo, cuando el usuario pasa a esperarla)
+     */
+    public void promote(ScheduledCall handle, RequestPriority priority) {
+        if (!(handle instanceof Entry)) {
+            return; // no pasó por esta cola (por ejemplo, viaja dentro de un batch)
+        }
+        Entry<?> entry = (Entry<?>) handle;
+        synchronized (this) {
+            if (!priority.isHigherThan(entry.priority)) {
+                return;
+            }
+            if (queue.remove(entry)) {
+                entry.priority = priority;
+                queue.add(entry);
+            } else {
+                entry.priority = priority;
+            }
+        }
+        drain();
+    }
+
+    /**
+     * Cancela todo lo encolado o en vuelo con prioridad igual o menor a la indicada
+     */
+    public void cancelAtOrBelow(RequestPriority priority) {
+        List<Entry<?>> toCancel = new ArrayList<>();
+        synchronized (this) {
+            for (Entry<?> entry : queue) {
+                if (!entry.priority.isHigherThan(priority)) {
+                    toCancel.add(entry);
+                }
+            }
+            for (Entry<?> entry : running) {
+                if (!entry.priority.isHigherThan(priority)) {
+                    toCancel.add(entry);
+                }
+            }
+        }
+        for (Entry<?> entry : toCancel) {
+            entry.cancel();
+        }
+    }
+
+    public synchronized int getQueuedCount() {
+        return queue.size();
+    }
+
+    public synchronized int getRunningCount() {
+        return running.size();
+    }
+
+    // Tope de llamadas en vuelo (de cualquier prioridad) para poder arrancar una de esta prioridad
+    static int limitFor(RequestPriority priority) {
+        switch (priority) {
+            case USER_BLOCKING:
+                return MAX_IN_FLIGHT;
+            case VISIBLE:
+                return MAX_IN_FLIGHT - 1;
+            default:
+                return 2;
+        }
+    }
+
+    private void drain() {
+        List<Entry<?>> toStart = new ArrayList<>();
+        Entry<?> toPreempt = null;
+        synchronized (this) {
+            while (!queue.isEmpty()) {
+                Entry<?> next = queue.peek();
+                if (running.size() >= limitFor(next.priority)) {
+                    if (next.priority == RequestPriority.USER_BLOCKING) {
+                        toPreempt = findPreemptable();
+                    }
+                    break;
+                }
+                queue.poll();
+                running.add(next);
+                toStart.add(next);
+            }
+            if (toPreempt != null) {
+                toPreempt.preempted = true;
+            }
+        }
+        for (Entry<?> entry : toStart) {
+            entry.start();
+        }
+        if (toPreempt != null) {
+            toPreempt.call.cancel();
+        }
+    }
+
+    // La llamada de menor prioridad y más reciente entre prefetch/background en vuelo
+    private Entry<?> findPreemptable() {
+        Entry<?> candidate = null;
+        for (Entry<?> entry : running) {
+            if (entry.preempted || entry.priority.ordinal() < RequestPriority.PREFETCH.ordinal()) {
+                continue;
+            }
+            if (candidate == null || ORDER.compare(entry, candidate) > 0) {
+                candidate = entry;
+            }
+        }
+        return candidate;
+    }
+
+    private final class Entry<T> implements ScheduledCall, Callback<T> {
+        Call<T> call;
+        final Callback<T> callback;
+        volatile RequestPriority priority;
+        long sequence;
+        volatile boolean preempted;
+        volatile boolean canceled;
+
+        Entry(Call<T> call, Callback<T> callback, RequestPriority priority) {
+            this.call = call;
+            this.callback = callback;
+            this.priority = priority;
+        }
+
+        void start() {
+            call.enqueue(this);
+        }
+
+        @Override
+        public RequestPriority getPriority() {
+            return priority;
+        }
+
+        @Override
+        public void cancel() {
+            boolean wasQueued;
+            synchronized (PriorityCallScheduler.this) {
+                if (canceled) {
+                    return;
+                }
+                canceled = true;
+                wasQueued = queue.remove(this);
+            }
+            if (wasQueued) {
+                callback.onFailure(call, new IOException("Canceled"));
+            } else {
+                call.cancel();
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @Override
+        public void onResponse(@NonNull Call<T> finished, @NonNull Response<T> response) {
+            synchronized (PriorityCallScheduler.this) {
+                running.remove(this);
+            }
+            drain();
+            callback.onResponse(call, response);
+        }
+
+        @Override
+        public void onFailure(@NonNull Call<T> finished, @NonNull Throwable t) {
+            boolean requeue;
+            synchronized (PriorityCallScheduler.this) {
+                running.remove(this);
+                // Cancelada para dejarle lugar a una USER_BLOCKING: vuelve a la cola
+                requeue = preempted && !canceled;
+                if (requeue) {
+                    preempted = false;
+                    call = call.clone();
+                    queue.add(this);
+                }
+            }
+            drain();
+            if (!requeue) {
+                callback.onFailure(call, t);
+            }
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package com.example.ritmofit.core.http;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Converter;
+import retrofit2.Invocation;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+/**
+ * Junta en un solo POST a {@value #BATCH_PATH} los GET que se encolan dentro de
+ * {@link #batch(Runnable)} y reparte cada sub-respuesta al callback de su llamada,
+ * decodificada con los mismos converters de Retrofit.
+ * <pre>
+ * → {"requests":  [{"id":"0","method":"GET","url":"/api/users/me","headers":{...}}, ...]}
+ * ← {"responses": [{"id":"0","status":200,"headers":{...},"body":{...}}, ...]}
+ * </pre>
+ * Si el servidor no soporta batching (404, 405 o 501) se recuerda y las llamadas salen por
+ * separado, en paralelo. Ante cualquier otra falla del batch pasa lo mismo, sólo para ese batch.
+ */
+@Singleton
+public class RequestBatcher {
+
+    public static final String BATCH_PATH = "api/batch";
+
+    static final int MAX_PARTS = 10;
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    private final Retrofit retrofit;
+    private final PriorityCallScheduler scheduler;
+    private final Gson gson = new Gson();
+    private final ThreadLocal<Batch> current = new ThreadLocal<>();
+    private volatile boolean supported = true;
+
+    @Inject
+    public RequestBatcher(Retrofit retrofit, PriorityCallScheduler scheduler) {
+        this.retrofit = retrofit;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Ejecuta el bloque y manda en un solo request los GET que se hayan encolado adentro.
+     * Un batch anidado se suma al que ya está abierto.
+     */
+    public void batch(Runnable block) {
+        if (current.get() != null) {
+            block.run();
+            return;
+        }
+        Batch batch = new Batch();
+        current.set(batch);
+        try {
+            block.run();
+        } finally {
+            current.remove();
+        }
+        batch.send();
+    }
+
+    /**
+     * false una vez que el servidor respondió que no soporta batching
+     */
+    public boolean isSupported() {
+        return supported;
+    }
+
+    /**
+     * Suma la llamada al batch abierto en este hilo
+     * @return handle de la parte, o null si no hay batch abierto o la llamada no se puede batchear
+     */
+    <T> ScheduledCall offer(Call<T> call, Callback<T> callback, RequestPriority priority) {
+        Batch batch = current.get();
+        if (batch == null || !supported || batch.parts.size() >= MAX_PARTS) {
+            return null;
+        }
+        Request request = call.request();
+        Invocation invocation = request != null ? request.tag(Invocation.class) : null;
+        if (invocation == null || !"GET".equals(request.method())) {
+            return null;
+        }
+        Type returnType = invocation.method().getGenericReturnType();
+        if (!(returnType instanceof ParameterizedType)) {
+            return null;
+        }
+        Type bodyType = ((ParameterizedType) returnType).getActualTypeArguments()[0];
+
+        Part<T> part = new Part<>(String.valueOf(batch.parts.size()), call, callback, priority,
+                bodyType, invocation.method().getAnnotations());
+        batch.parts.add(part);
+        return part;
+    }
+
+    private final class Batch {
+        final List<Part<?>> parts = new ArrayList<>();
+
+        void send() {
+            if (parts.isEmpty()) {
+                return;
+            }
+            if (parts.size() == 1 || !supported) {
+                startAlone(parts);
+                return;
+            }
+
+            List<SubRequest> requests = new ArrayList<>();
+            for (Part<?> part : parts) {
+                requests.add(part.toSubRequest());
+            }
+            Request request = new Request.Builder()
+                    .url(retrofit.baseUrl().resolve(BATCH_PATH))
+                    .post(RequestBody.create(gson.toJson(new BatchRequest(requests)), JSON))
+                    .build();
+
+            retrofit.callFactory().newCall(request).enqueue(new okhttp3.Callback() {
+                @Override
+                public void onFailure(@NonNull okhttp3.Call call, @NonNull IOException e) {
+                    startAlone(parts);
+                }
+
+                @Override
+                public void onResponse(@NonNull okhttp3.Call call, @NonNull okhttp3.Response response) {
+                    try (okhttp3.Response batchResponse = response) {
+                        dispatch(batchResponse);
+                    } catch (IOException | JsonParseException e) {
+                        startAlone(parts);
+                    }
+                }
+            });
+        }
+
+        private void dispatch(okhttp3.Response response) throws IOException {
+            int code = response.code();
+            if (code == 404 || code == 405 || code == 501) {
+                supported = false;
+                startAlone(parts);
+                return;
+            }
+            if (!response.isSuccessful() || response.body() == null) {
+                startAlone(parts);
+                return;
+            }
+
+            BatchResponse batchResponse = gson.fromJson(response.body().charStream(), BatchResponse.class);
+            Map<String, SubResponse> byId = new HashMap<>();
+            if (batchResponse != null && batchResponse.responses != null) {
+                for (SubResponse subResponse : batchResponse.responses) {
+                    byId.put(subResponse.id, subResponse);
+                }
+            }
+            for (Part<?> part : parts) {
+                SubResponse subResponse = byId.get(part.id);
+                if (subResponse != null) {
+                    part.deliver(subResponse);
+                } else {
+                    part.startAlone(); // el servidor la omitió: sale sola
+                }
+            }
+        }
+
+        private void startAlone(List<Part<?>> toStart) {
+            for (Part<?> part : toStart) {
+                part.startAlone();
+            }
+        }
+    }
+
+    private final class Part<T> implements ScheduledCall {
+        final String id;
+        final Call<T> call;
+        final Callback<T> callback;
+        final RequestPriority priority;
+        final Type bodyType;
+        final Annotation[] annotations;
+        private volatile boolean canceled;
+        private ScheduledCall alone;
+        private boolean startedAlone;
+
+        Part(String id, Call<T> call, Callback<T> callback, RequestPriority priority,
+             Type bodyType, Annotation[] annotations) {
+            this.id = id;
+            this.call = call;
+            this.callback = callback;
+            this.priority = priority;
+            this.bodyType = bodyType;
+            this.annotations = annotations;
+        }
+
+        SubRequest toSubRequest() {
+            Request request = call.request();
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (String name : request.headers().names()) {
+                headers.put(name, request.header(name));
+            }
+            // El body de cada parte viaja embebido en el JSON del batch
+            headers.put("Accept", "application/json");
+
+            String url = request.url().encodedPath();
+            if (request.url().encodedQuery() != null) {
+                url += "?" + request.url().encodedQuery();
+            }
+            return new SubRequest(id, request.method(), url, headers);
+        }
+
+        void deliver(SubResponse subResponse) {
+            if (canceled) {
+                return;
+            }
+            Response<T> response;
+            try {
+                response = toResponse(subResponse);
+            } catch (IOException | RuntimeException e) {
+                callbackExecutor().execute(() -> {
+                    if (!canceled) {
+                        callback.onFailure(call, e);
+                    }
+                });
+                return;
+            }
+            callbackExecutor().execute(() -> {
+                if (!canceled) {
+                    callback.onResponse(call, response);
+                }
+            });
+        }
+
+        private Response<T> toResponse(SubResponse subResponse) throws IOException {
+            Headers.Builder headers = new Headers.Builder();
+            if (subResponse.headers != null) {
+                for (Map.Entry<String, String> header : subResponse.headers.entrySet()) {
+                    headers.set(header.getKey(), header.getValue());
+                }
+            }
+            // Mismo TTL que le daría CachePolicyInterceptor a la llamada suelta
+            String cacheControl = CachePolicyInterceptor.cacheControlFor(call.request());
+            if (cacheControl != null) {
+                headers.set("Cache-Control", cacheControl);
+            }
+            okhttp3.Response raw = new okhttp3.Response.Builder()
+                    .request(call.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(subResponse.status)
+                    .message("")
+                    .headers(headers.build())
+                    .build();
+
+            boolean hasBody = subResponse.body != null && !subResponse.body.isJsonNull();
+            ResponseBody body = ResponseBody.create(hasBody ? subResponse.body.toString() : "", JSON);
+            if (!raw.isSuccessful()) {
+                return Response.error(body, raw);
+            }
+            if (!hasBody) {
+                return Response.success(null, raw);
+            }
+            Converter<ResponseBody, T> converter = retrofit.responseBodyConverter(bodyType, annotations);
+            return Response.success(converter.convert(body), raw);
+        }
+
+        void startAlone() {
+            synchronized (this) {
+                if (canceled || startedAlone) {
+                    return;
+                }
+                startedAlone = true;
+            }
+            ScheduledCall started = null;
+            if (scheduler != null) {
+                started = scheduler.enqueue(call, callback, priority);
+            } else {
+                call.enqueue(callback);
+            }
+            synchronized (this) {
+                alone = started;
+            }
+        }
+
+        @Override
+        public RequestPriority getPriority() {
+            return priority;
+        }
+
+        @Override
+        public void cancel() {
+            ScheduledCall target;
+            boolean started;
+            synchronized (this) {
+                canceled = true;
+                target = alone;
+                started = startedAlone;
+            }
+            if (target != null) {
+                target.cancel();
+            } else if (started) {
+                call.cancel();
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        private Executor callbackExecutor() {
+            Executor executor = retrofit.callbackExecutor();
+            return executor != null ? executor : Runnable::run;
+        }
+    }
+
+    static final class BatchRequest {
+        final List<SubRequest> requests;
+
+        BatchRequest(List<SubRequest> requests) {
+            this.requests = requests;
+        }
+    }
+
+    static final class SubRequest {
+        final String id;
+        final String method;
+        final String url;
+        final Map<String, String> headers;
+
+        SubRequest(String id, String method, String url, Map<String, String> headers) {
+            this.id = id;
+            this.method = method;
+            this.url = url;
+            this.headers = headers;
+        }
+    }
+
+    static final class BatchResponse {
+        List<SubResponse> responses;
+    }
+
+    static final class SubResponse {
+        String id;
+        int status;
+        Map<String, String> headers;
+        JsonElement body;
+    }
+}
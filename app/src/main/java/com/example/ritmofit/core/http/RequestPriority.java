@@ -0,0 +1,19 @@
+package com.example.ritmofit.core.http;
+
+/**
+ * Prioridad de una llamada al backend, de mayor a menor
+ */
+public enum RequestPriority {
+    /** El usuario está esperando el resultado (filtros, reservas) */
+    USER_BLOCKING,
+    /** Contenido de la pantalla visible */
+    VISIBLE,
+    /** Datos que probablemente se usen pronto */
+    PREFETCH,
+    /** Sincronización sin nadie esperando */
+    BACKGROUND;
+
+    public boolean isHigherThan(RequestPriority other) {
+        return ordinal() < other.ordinal();
+    }
+}
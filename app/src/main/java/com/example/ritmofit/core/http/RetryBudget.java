@@ -0,0 +1,47 @@
+package com.example.ritmofit.core.http;
+
+/**
+ * Presupuesto global de reintentos (token bucket).
+ * Cada request deposita un décimo de token y cada reintento consume uno entero,
+ * así los reintentos no superan ~10% del tráfico una vez agotado el saldo inicial.
+ * El saldo se lleva en décimos para no acumular error de punto flotante.
+ */
+public class RetryBudget {
+
+    static final int UNITS_PER_RETRY = 10;
+    static final int MAX_RETRIES = 10;
+
+    private final int maxUnits = MAX_RETRIES * UNITS_PER_RETRY;
+    private int units;
+
+    public RetryBudget() {
+        this(MAX_RETRIES);
+    }
+
+    RetryBudget(int initialRetries) {
+        this.units = Math.min(initialRetries * UNITS_PER_RETRY, maxUnits);
+    }
+
+    public synchronized void onRequest() {
+        units = Math.min(maxUnits, units + 1);
+    }
+
+    /**
+     * Consume un reintento si hay saldo
+     * @return true si el reintento está permitido
+     */
+    public synchronized boolean tryAcquire() {
+        if (units < UNITS_PER_RETRY) {
+            return false;
+        }
+        units -= UNITS_PER_RETRY;
+        return true;
+    }
+
+    /**
+     * Reintentos disponibles en este momento
+     */
+    public synchronized int getAvailableRetries() {
+        return units / UNITS_PER_RETRY;
+    }
+}
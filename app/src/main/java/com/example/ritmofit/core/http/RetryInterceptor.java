@@ -0,0 +1,183 @@
+package com.example.ritmofit.core.http;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Invocation;
+
+/**
+ * Reintenta los requests idempotentes ante fallas transitorias (IOException, 408, 429, 5xx).
+ * <ul>
+ *     <li>Sólo GET y HEAD: un POST repetido podría, por ejemplo, crear dos reservas.</li>
+ *     <li>Backoff exponencial con jitter completo; si el servidor manda Retry-After se respeta.</li>
+ *     <li>Un presupuesto global ({@link RetryBudget}) limita los reintentos a una fracción del
+ *     tráfico, para que una red inestable no multiplique la carga.</li>
+ * </ul>
+ */
+@Singleton
+public class RetryInterceptor implements Interceptor {
+
+    static final int MAX_ATTEMPTS = 3;
+    static final long BASE_DELAY_MILLIS = 300;
+    static final long MAX_DELAY_MILLIS = 5_000;
+
+    interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    private final RetryBudget budget;
+    private final Sleeper sleeper;
+    private final Random random;
+    private final Map<String, RetryStats> stats = new ConcurrentHashMap<>();
+
+    @Inject
+    public RetryInterceptor() {
+        this(new RetryBudget(), Thread::sleep, new Random());
+    }
+
+    RetryInterceptor(RetryBudget budget, Sleeper sleeper, Random random) {
+        this.budget = budget;
+        this.sleeper = sleeper;
+        this.random = random;
+    }
+
+    @NonNull
+    @Override
+    public Response intercept(@NonNull Chain chain) throws IOException {
+        Request request = chain.request();
+        budget.onRequest();
+        if (!isRetryable(request)) {
+            return chain.proceed(request);
+        }
+
+        RetryStats endpoint = statsFor(request);
+        endpoint.requests.incrementAndGet();
+
+        for (int attempt = 1; ; attempt++) {
+            Response response = null;
+            IOException failure = null;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                failure = e;
+            }
+
+            boolean transientFailure = failure != null || isTransient(response.code());
+            if (!transientFailure) {
+                if (attempt > 1) {
+                    endpoint.recovered.incrementAndGet();
+                }
+                return response;
+            }
+
+            long delay = failure != null ? backoff(attempt) : retryDelay(response, attempt);
+            boolean canRetry = attempt < MAX_ATTEMPTS
+                    && delay >= 0
+                    && !chain.call().isCanceled();
+            if (canRetry && !budget.tryAcquire()) {
+                endpoint.budgetDenied.incrementAndGet();
+                canRetry = false;
+            }
+            if (!canRetry) {
+                if (failure != null) {
+                    throw failure;
+                }
+                return response;
+            }
+
+            if (response != null) {
+                response.close();
+            }
+            endpoint.retries.incrementAndGet();
+            try {
+                sleeper.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Reintento interrumpido");
+            }
+        }
+    }
+
+    /**
+     * Contadores por endpoint, ordenados por nombre
+     */
+    public Map<String, RetryStats> getStats() {
+        return Collections.unmodifiableMap(new TreeMap<>(stats));
+    }
+
+    static boolean isRetryable(Request request) {
+        if (request.cacheControl().onlyIfCached()) {
+            return false; // un 504 de "sólo cache" no se arregla reintentando
+        }
+        String method = request.method();
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+
+    static boolean isTransient(int code) {
+        return code == 408 || code == 429 || code == 500 || code == 502 || code == 503 || code == 504;
+    }
+
+    /**
+     * Espera antes del próximo intento según Retry-After o backoff
+     * @return milisegundos a esperar, o -1 si el servidor pide esperar más de lo razonable
+     */
+    private long retryDelay(Response response, int attempt) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter == null) {
+            return backoff(attempt);
+        }
+        long delay = parseRetryAfter(retryAfter);
+        if (delay < 0) {
+            return backoff(attempt);
+        }
+        return delay <= MAX_DELAY_MILLIS ? delay : -1;
+    }
+
+    static long parseRetryAfter(String value) {
+        try {
+            return Math.max(0, Long.parseLong(value.trim()) * 1000L);
+        } catch (NumberFormatException ignored) {
+            // No son segundos: puede ser una fecha HTTP
+        }
+        Date date = Headers.of("Retry-After", value).getDate("Retry-After");
+        if (date == null) {
+            return -1;
+        }
+        return Math.max(0, date.getTime() - System.currentTimeMillis());
+    }
+
+    // Full jitter: uniforme entre 0 y el tope exponencial del intento
+    private long backoff(int attempt) {
+        long ceiling = Math.min(MAX_DELAY_MILLIS, BASE_DELAY_MILLIS << (attempt - 1));
+        return (long) (random.nextDouble() * ceiling);
+    }
+
+    private RetryStats statsFor(Request request) {
+        return stats.computeIfAbsent(endpointName(request), key -> new RetryStats());
+    }
+
+    static String endpointName(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        if (invocation != null) {
+            Method method = invocation.method();
+            return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        }
+        return request.method() + " " + request.url().encodedPath();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.ritmofit.core.http;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores de reintentos de un endpoint
+ */
+public class RetryStats {
+
+    final AtomicLong requests = new AtomicLong();
+    final AtomicLong retries = new AtomicLong();
+    final AtomicLong recovered = new AtomicLong();
+    final AtomicLong budgetDenied = new AtomicLong();
+
+    /** Requests reintentables que pasaron por el interceptor */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /** Intentos adicionales realizados */
+    public long getRetries() {
+        return retries.get();
+    }
+
+    /** Requests que terminaron bien gracias a un reintento */
+    public long getRecovered() {
+        return recovered.get();
+    }
+
+    /** Reintentos descartados por falta de presupuesto */
+    public long getBudgetDenied() {
+        return budgetDenied.get();
+    }
+
+    @Override
+    public String toString() {
+        return "RetryStats{" +
+                "requests=" + requests +
+                ", retries=" + retries +
+                ", recovered=" + recovered +
+                ", budgetDenied=" + budgetDenied +
+                '}';
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.ritmofit.core.http;
+
+import com.example.ritmofit.core.Cancellable;
+
+/**
+ * Llamada encolada en {@link PriorityCallScheduler}
+ */
+public interface ScheduledCall extends Cancellable {
+
+    RequestPriority getPriority();
+
+    /**
+     * Cancela la llamada, esté en cola o en vuelo. El callback recibe onFailure.
+     */
+    @Override
+    void cancel();
+
+    boolean isCanceled();
+}
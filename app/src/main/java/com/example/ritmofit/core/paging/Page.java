@@ -0,0 +1,41 @@
+package com.example.ritmofit.core.paging;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Una página de resultados y lo que el servidor informa del total.
+ */
+public final class Page<T> {
+
+    private final int number;
+    private final List<T> items;
+    private final int totalElements;
+
+    /**
+     * @param number        índice de la página, desde 0
+     * @param items         elementos de esta página
+     * @param totalElements total de elementos de la búsqueda, o -1 si el servidor no lo informa
+     */
+    public Page(int number, List<T> items, int totalElements) {
+        this.number = number;
+        this.items = items != null ? Collections.unmodifiableList(items) : Collections.emptyList();
+        this.totalElements = totalElements;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int getTotalElements() {
+        return totalElements;
+    }
+
+    public boolean hasTotal() {
+        return totalElements >= 0;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.ritmofit.core.paging;
+
+import com.example.ritmofit.core.Cancellable;
+import com.example.ritmofit.core.DomainCallback;
+import com.example.ritmofit.core.http.RequestPriority;
+
+/**
+ * Origen de páginas para un {@link PagedList}, p. ej. una búsqueda paginada del backend.
+ */
+public interface PageSource<T> {
+
+    /**
+     * Pide una página
+     * @param page índice de la página, desde 0
+     * @param size elementos por página
+     * @param priority quién la necesita: la pantalla, un filtro que el usuario espera o un prefetch
+     * @return handle para cancelar el pedido
+     */
+    Cancellable load(int page, int size, RequestPriority priority, DomainCallback<Page<T>> callback);
+}
@@ -0,0 +1,310 @@
+package com.example.ritmofit.core.paging;
+
+import com.example.ritmofit.core.Cancellable;
+import com.example.ritmofit.core.DomainCallback;
+import com.example.ritmofit.core.http.RequestPriority;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Lista que se carga por páginas a medida que se recorre.
+ * <ul>
+ *     <li>Al pedir una posición con {@link #get(int)} se cargan las páginas que quedan a menos
+ *     de {@link Config#prefetchDistance} elementos, antes de que el usuario llegue. La página
+ *     de la posición pedida sale como VISIBLE y las de adelante como PREFETCH.</li>
+ *     <li>Cuando el servidor informa el total, la lista tiene ese tamaño desde la primera página:
+ *     las posiciones que todavía no llegaron devuelven null (placeholders).</li>
+ *     <li>Se retienen como mucho {@link Config#maxPages} páginas; las más lejanas a la posición
+ *     actual se descartan y vuelven a ser placeholders hasta que se vuelvan a pedir.</li>
+ * </ul>
+ * Los cambios se avisan al {@link Listener} con la misma forma que los notify de un adapter,
+ * siempre a través del executor de notificaciones (el hilo principal en la UI).
+ */
+public class PagedList<T> implements Cancellable {
+
+    public static final class Config {
+        final int pageSize;
+        final int prefetchDistance;
+        final int maxPages;
+
+        /**
+         * @param pageSize         elementos por página
+         * @param prefetchDistance cuántos elementos antes del borde se pide la página siguiente
+         * @param maxPages         páginas retenidas en memoria como máximo
+         */
+        public Config(int pageSize, int prefetchDistance, int maxPages) {
+            if (pageSize <= 0 || prefetchDistance < 0) {
+                throw new IllegalArgumentException("pageSize debe ser positivo y prefetchDistance no negativo");
+            }
+            // Tienen que entrar todas las páginas de la ventana de prefetch, si no se descartarían solas
+            if (maxPages < 2 * prefetchDistance / pageSize + 2) {
+                throw new IllegalArgumentException("maxPages no alcanza para la distancia de prefetch");
+            }
+            this.pageSize = pageSize;
+            this.prefetchDistance = prefetchDistance;
+            this.maxPages = maxPages;
+        }
+
+        public int getPageSize() {
+            return pageSize;
+        }
+    }
+
+    public interface Listener {
+        void onItemRangeInserted(int start, int count);
+
+        void onItemRangeRemoved(int start, int count);
+
+        void onItemRangeChanged(int start, int count);
+
+        void onError(Throwable error);
+
+        /**
+         * Llegó la primera página; {@code size} es 0 si la búsqueda no tiene resultados
+         */
+        default void onInitialLoad(int size) {
+        }
+    }
+
+    private final PageSource<T> source;
+    private final Config config;
+    private final Executor notifier;
+    private final Listener listener;
+
+    private final Map<Integer, List<T>> pages = new HashMap<>();
+    private final Map<Integer, Cancellable> loading = new HashMap<>();
+    private final Set<Integer> failed = new HashSet<>();
+    private int size;
+    private int lastPage = -1;   // última página, si ya se conoce
+    private int anchorPage;      // página de la última posición pedida
+    private boolean initialLoaded;
+    private boolean cancelled;
+
+    public PagedList(PageSource<T> source, Config config, Executor notifier, Listener listener) {
+        this.source = source;
+        this.config = config;
+        this.notifier = notifier;
+        this.listener = listener;
+    }
+
+    /**
+     * Pide la primera página como contenido visible
+     */
+    public void start() {
+        start(RequestPriority.VISIBLE);
+    }
+
+    /**
+     * Pide la primera página
+     * @param priority p. ej. USER_BLOCKING si es un filtro que el usuario acaba de aplicar
+     */
+    public void start(RequestPriority priority) {
+        get(0, priority);
+    }
+
+    /**
+     * Tamaño conocido hasta ahora, placeholders incluidos
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Devuelve el elemento y programa la carga de las páginas cercanas
+     * @return el elemento, o null si su página todavía no llegó o fue descartada
+     */
+    public T get(int position) {
+        return get(position, RequestPriority.VISIBLE);
+    }
+
+    private T get(int position, RequestPriority priority) {
+        List<Integer> toLoad;
+        T item = null;
+        synchronized (this) {
+            if (cancelled) {
+                return null;
+            }
+            int page = position / config.pageSize;
+            anchorPage = page;
+            List<T> items = pages.get(page);
+            int offset = position % config.pageSize;
+            if (items != null && offset < items.size()) {
+                item = items.get(offset);
+            }
+            toLoad = pagesToLoad(position);
+            for (Integer pageToLoad : toLoad) {
+                loading.put(pageToLoad, Cancellable.NONE);
+            }
+        }
+        int current = position / config.pageSize;
+        for (Integer pageToLoad : toLoad) {
+            load(pageToLoad, pageToLoad == current ? priority : RequestPriority.PREFETCH);
+        }
+        return item;
+    }
+
+    /**
+     * Vuelve a pedir las páginas que fallaron cerca de la posición actual
+     */
+    public void retry() {
+        int position;
+        synchronized (this) {
+            failed.clear();
+            position = anchorPage * config.pageSize;
+        }
+        get(position);
+    }
+
+    public synchronized int getRetainedPageCount() {
+        return pages.size();
+    }
+
+    @Override
+    public void cancel() {
+        List<Cancellable> inFlight;
+        synchronized (this) {
+            cancelled = true;
+            inFlight = new ArrayList<>(loading.values());
+            loading.clear();
+        }
+        for (Cancellable call : inFlight) {
+            call.cancel();
+        }
+    }
+
+    private List<Integer> pagesToLoad(int position) {
+        int first = Math.max(0, position - config.prefetchDistance) / config.pageSize;
+        int last = (position + config.prefetchDistance) / config.pageSize;
+        if (lastPage >= 0) {
+            last = Math.min(last, lastPage);
+        } else {
+            // Sin total conocido no se adelanta más de una página sobre lo cargado
+            last = Math.min(last, highestLoadedPage() + 1);
+        }
+        List<Integer> result = new ArrayList<>();
+        for (int page = first; page <= last; page++) {
+            if (!pages.containsKey(page) && !loading.containsKey(page) && !failed.contains(page)) {
+                result.add(page);
+            }
+        }
+        return result;
+    }
+
+    private void load(int page, RequestPriority priority) {
+        Cancellable call = source.load(page, config.pageSize, priority, new DomainCallback<Page<T>>() {
+            @Override
+            public void onSuccess(Page<T> result) {
+                onPageLoaded(page, result);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                onPageFailed(page, error);
+            }
+        });
+        synchronized (this) {
+            // Si ya respondió (p. ej. desde cache) no queda nada que cancelar
+            if (loading.containsKey(page)) {
+                loading.put(page, call);
+            } else if (cancelled) {
+                call.cancel();
+            }
+        }
+    }
+
+    private void onPageLoaded(int page, Page<T> result) {
+        List<Runnable> notifications = new ArrayList<>();
+        synchronized (this) {
+            if (cancelled || loading.remove(page) == null) {
+                return;
+            }
+            List<T> items = result.getItems();
+            pages.put(page, items);
+
+            int newSize;
+            if (result.hasTotal()) {
+                newSize = result.getTotalElements();
+                lastPage = newSize == 0 ? 0 : (newSize - 1) / config.pageSize;
+            } else if (items.size() < config.pageSize) {
+                // Página incompleta: es la última
+                newSize = page * config.pageSize + items.size();
+                lastPage = page;
+            } else {
+                newSize = Math.max(size, (page + 1) * config.pageSize);
+            }
+            notifications.addAll(resize(newSize));
+            if (!items.isEmpty()) {
+                int start = page * config.pageSize;
+                int count = Math.min(items.size(), size - start);
+                if (count > 0) {
+                    notifications.add(() -> listener.onItemRangeChanged(start, count));
+                }
+            }
+            notifications.addAll(evict());
+            if (!initialLoaded) {
+                initialLoaded = true;
+                int loadedSize = size;
+                notifications.add(() -> listener.onInitialLoad(loadedSize));
+            }
+        }
+        for (Runnable notification : notifications) {
+            notifier.execute(notification);
+        }
+    }
+
+    private void onPageFailed(int page, Throwable error) {
+        synchronized (this) {
+            if (cancelled || loading.remove(page) == null) {
+                return;
+            }
+            failed.add(page); // no se reintenta solo: evita un loop de requests contra un servidor caído
+        }
+        notifier.execute(() -> listener.onError(error));
+    }
+
+    private List<Runnable> resize(int newSize) {
+        List<Runnable> notifications = new ArrayList<>();
+        int oldSize = size;
+        size = newSize;
+        if (newSize > oldSize) {
+            notifications.add(() -> listener.onItemRangeInserted(oldSize, newSize - oldSize));
+        } else if (newSize < oldSize) {
+            notifications.add(() -> listener.onItemRangeRemoved(newSize, oldSize - newSize));
+        }
+        return notifications;
+    }
+
+    // Descarta las páginas más lejanas a la posición actual hasta quedar dentro del límite
+    private List<Runnable> evict() {
+        List<Runnable> notifications = new ArrayList<>();
+        while (pages.size() > config.maxPages) {
+            int farthest = -1;
+            for (Integer page : pages.keySet()) {
+                if (farthest < 0 || Math.abs(page - anchorPage) > Math.abs(farthest - anchorPage)) {
+                    farthest = page;
+                }
+            }
+            List<T> removed = pages.remove(farthest);
+            int start = farthest * config.pageSize;
+            int count = Math.min(removed.size(), size - start);
+            if (count > 0) {
+                notifications.add(() -> listener.onItemRangeChanged(start, count));
+            }
+        }
+        return notifications;
+    }
+
+    private int highestLoadedPage() {
+        int highest = -1;
+        for (Integer page : pages.keySet()) {
+            highest = Math.max(highest, page);
+        }
+        return highest;
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.ritmofit.data.api;
+
+import com.example.ritmofit.core.http.CborConverterFactory;
+import com.example.ritmofit.core.http.CborReader;
+import com.example.ritmofit.data.api.model.HistorialDelta;
+import com.example.ritmofit.model.HistorialItem;
+import com.example.ritmofit.utils.DateUtils;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Decodifica las respuestas {@code List<HistorialItem>} y {@link HistorialDelta} leyendo el body como stream.
+ * Cada fila del JSON se convierte directamente en un {@link HistorialItem}, sin pasar
+ * por una lista intermedia de DTOs; las filas inválidas se descartan sin cortar la lectura.
+ * Acepta tanto JSON como CBOR, según el Content-Type de la respuesta.
+ * Debe registrarse antes que los converters de CBOR y Gson, que aceptan cualquier tipo.
+ */
+public final class HistorialConverterFactory extends Converter.Factory {
+
+    public static HistorialConverterFactory create() {
+        return new HistorialConverterFactory();
+    }
+
+    private HistorialConverterFactory() {
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations,
+                                                            Retrofit retrofit) {
+        if (type == HistorialDelta.class) {
+            return HistorialDeltaConverter.INSTANCE;
+        }
+        if (!isHistorialList(type)) {
+            return null;
+        }
+        return HistorialListConverter.INSTANCE;
+    }
+
+    private static boolean isHistorialList(Type type) {
+        if (!(type instanceof ParameterizedType)) {
+            return false;
+        }
+        ParameterizedType parameterized = (ParameterizedType) type;
+        return parameterized.getRawType() == List.class
+                && parameterized.getActualTypeArguments()[0] == HistorialItem.class;
+    }
+
+    static final class HistorialListConverter implements Converter<ResponseBody, List<HistorialItem>> {
+
+        static final HistorialListConverter INSTANCE = new HistorialListConverter();
+
+        @Override
+        public List<HistorialItem> convert(ResponseBody body) throws IOException {
+            try (JsonReader reader = CborConverterFactory.isCbor(body)
+                    ? new CborReader(body.source())
+                    : new JsonReader(body.charStream())) {
+                if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                    throw new IOException("Se esperaba una lista de asistencias y llegó " + reader.peek());
+                }
+                return readItems(reader);
+            } finally {
+                body.close();
+            }
+        }
+
+        List<HistorialItem> readItems(JsonReader reader) throws IOException {
+            List<HistorialItem> items = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                HistorialItem item = readItem(reader);
+                if (item != null) {
+                    items.add(item);
+                }
+            }
+            reader.endArray();
+            return items;
+        }
+
+        /**
+         * Lee una fila del historial
+         * @return el item o null si la fila no es válida (ya consumida del stream)
+         */
+        private HistorialItem readItem(JsonReader reader) throws IOException {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                return null;
+            }
+
+            HistorialItem item = new HistorialItem();
+            item.setClase("");
+            item.setSede("");
+            boolean valid = true;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "id":
+                        Long id = readLong(reader);
+                        valid &= id != null;
+                        item.setId(id);
+                        break;
+                    case "clase":
+                        String clase = readString(reader);
+                        valid &= clase != null;
+                        item.setClase(clase);
+                        break;
+                    case "sede":
+                        String sede = readString(reader);
+                        valid &= sede != null;
+                        item.setSede(sede);
+                        break;
+                    case "fecha":
+                        LocalDate fecha = DateUtils.parseApiDate(readString(reader));
+                        valid &= fecha != null;
+                        item.setFecha(fecha);
+                        break;
+                    case "hora":
+                        LocalTime hora = DateUtils.parseTime(readString(reader));
+                        item.setHora(hora);
+                        break;
+                    case "duracion":
+                        Long duracion = readLong(reader);
+                        valid &= duracion != null;
+                        item.setDuracion(duracion != null ? duracion.intValue() : 0);
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+
+            // Sin fecha la asistencia no se puede ubicar en el historial
+            return valid && item.getFecha() != null ? item : null;
+        }
+
+        String readString(JsonReader reader) throws IOException {
+            if (reader.peek() != JsonToken.STRING) {
+                reader.skipValue();
+                return null;
+            }
+            return reader.nextString();
+        }
+
+        Long readLong(JsonReader reader) throws IOException {
+            if (reader.peek() != JsonToken.NUMBER) {
+                reader.skipValue();
+                return null;
+            }
+            try {
+                return Long.parseLong(reader.nextString());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * {"cursor": "...", "changed": [ ...filas como en la lista... ], "deleted": [ids]}
+     */
+    static final class HistorialDeltaConverter implements Converter<ResponseBody, HistorialDelta> {
+
+        static final HistorialDeltaConverter INSTANCE = new HistorialDeltaConverter();
+
+        @Override
+        public HistorialDelta convert(ResponseBody body) throws IOException {
+            HistorialListConverter rows = HistorialListConverter.INSTANCE;
+            try (JsonReader reader = CborConverterFactory.isCbor(body)
+                    ? new CborReader(body.source())
+                    : new JsonReader(body.charStream())) {
+                if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                    throw new IOException("Se esperaban cambios del historial y llegó " + reader.peek());
+                }
+                String cursor = null;
+                List<HistorialItem> changed = null;
+                List<Long> deleted = new ArrayList<>();
+
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.nextNull();
+                        continue;
+                    }
+                    switch (name) {
+                        case "cursor":
+                            cursor = rows.readString(reader);
+                            break;
+                        case "changed":
+                            changed = reader.peek() == JsonToken.BEGIN_ARRAY ? rows.readItems(reader) : null;
+                            if (changed == null) {
+                                reader.skipValue();
+                            }
+                            break;
+                        case "deleted":
+                            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                                reader.skipValue();
+                                break;
+                            }
+                            reader.beginArray();
+                            while (reader.hasNext()) {
+                                Long id = rows.readLong(reader);
+                                if (id != null) {
+                                    deleted.add(id);
+                                }
+                            }
+                            reader.endArray();
+                            break;
+                        default:
+                            reader.skipValue();
+                            break;
+                    }
+                }
+                reader.endObject();
+
+                // Sin cursor no hay forma de pedir el próximo delta
+                if (cursor == null) {
+                    throw new IOException("Respuesta de cambios sin cursor");
+                }
+                return new HistorialDelta(cursor, changed, deleted);
+            } finally {
+                body.close();
+            }
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.example.ritmofit.data.api;
 
 
+import com.example.ritmofit.core.http.CachePolicy;
+import com.example.ritmofit.core.http.CallPriority;
+import com.example.ritmofit.core.http.RequestPriority;
 import com.example.ritmofit.data.api.model.CoursesResponse;
 import com.example.ritmofit.data.api.model.PageResponse;
 import com.example.ritmofit.data.api.model.auth.*;
-import com.example.ritmofit.data.api.model.usuario.*;
-import com.example.ritmofit.data.api.model.reserva.*;
 import com.example.ritmofit.data.api.model.historial.*;
+import com.example.ritmofit.data.api.model.reserva.*;
+import com.example.ritmofit.data.api.model.usuario.*;
 
 import java.util.List;
 
@@ -29,6 +32,7 @@ public interface RitmoFitApiService {
 
 
     // ---------- USUARIOS ----------
+    @CachePolicy(noStore = true)
     @GET("/api/usuarios/{id}")
     Call<PerfilResponseDTO> getUsuario(@Path("id") Long id);
 
@@ -40,12 +44,15 @@ public interface RitmoFitApiService {
 
 
     // ---------- RESERVAS ----------
+    @CallPriority(RequestPriority.USER_BLOCKING)
     @POST("/api/reservas")
     Call<ReservaResponseDTO> crearReserva(@Body ReservaCreateRequestDTO request);
 
+    @CachePolicy(noStore = true)
     @GET("/api/reservas/usuario/{usuarioId}")
     Call<List<ReservaResponseDTO>> listarReservasUsuario(@Path("usuarioId") Long usuarioId);
 
+    @CallPriority(RequestPriority.USER_BLOCKING)
     @DELETE("/api/reservas/{id}")
     Call<Void> cancelarReserva(@Path("id") Long id);
 
@@ -54,6 +61,7 @@ public interface RitmoFitApiService {
     @POST("/api/historial/filtrar")
     Call<List<AsistenciaResponseDTO>> filtrarHistorial(@Body HistorialFilterRequestDTO request);
 
+    @CachePolicy(noStore = true)
     @GET("/api/historial/{usuarioId}")
     Call<List<AsistenciaResponseDTO>> obtenerHistorial(@Path("usuarioId") Long usuarioId);
 
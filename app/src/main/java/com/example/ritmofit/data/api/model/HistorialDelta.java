@@ -0,0 +1,36 @@
+package com.example.ritmofit.data.api.model;
+
+import com.example.ritmofit.model.HistorialItem;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cambios del historial desde un cursor, tal como los devuelve {@code historial/changes}:
+ * asistencias nuevas o modificadas, ids borrados y el cursor para el próximo pedido.
+ * Lo decodifica HistorialConverterFactory.
+ */
+public class HistorialDelta {
+
+    private final String cursor;
+    private final List<HistorialItem> changed;
+    private final List<Long> deleted;
+
+    public HistorialDelta(String cursor, List<HistorialItem> changed, List<Long> deleted) {
+        this.cursor = cursor;
+        this.changed = changed != null ? changed : Collections.emptyList();
+        this.deleted = deleted != null ? deleted : Collections.emptyList();
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public List<HistorialItem> getChanged() {
+        return changed;
+    }
+
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+}
@@ -1,16 +1,34 @@
 package com.example.ritmofit.data.api.model;
 
+import com.example.ritmofit.core.http.CachePolicy;
+import com.example.ritmofit.core.http.CborConverterFactory;
+import com.example.ritmofit.model.HistorialItem;
+
 import java.util.List;
 
 import retrofit2.Call;
 import retrofit2.http.GET;
+import retrofit2.http.Headers;
 import retrofit2.http.Query;
 
 public interface HistorialService {
 
+    // Se decodifica con HistorialConverterFactory directo a HistorialItem.
+    // No va al cache HTTP: la URL no identifica al usuario y el cache de disco es compartido.
+    // Lo guardado por usuario vive en HistorialCache y AttendanceStore
+    @CachePolicy(noStore = true)
+    @Headers(CborConverterFactory.ACCEPT_CBOR)
     @GET("historial")
-    Call<List<HistorialResponse>> getHistorial(
+    Call<List<HistorialItem>> getHistorial(
             @Query("desde") String desde,
             @Query("hasta") String hasta
     );
+
+    /**
+     * Asistencias agregadas, modificadas o borradas desde el cursor.
+     * Sin cursor devuelve todo el historial. 410 si el cursor ya no es válido.
+     */
+    @Headers(CborConverterFactory.ACCEPT_CBOR)
+    @GET("historial/changes")
+    Call<HistorialDelta> getHistorialChanges(@Query("since") String since);
 }
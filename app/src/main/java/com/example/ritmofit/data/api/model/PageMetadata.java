@@ -0,0 +1,28 @@
+package com.example.ritmofit.data.api.model;
+
+/**
+ * Bloque "page" de las búsquedas paginadas del backend (Spring Data REST).
+ */
+public class PageMetadata {
+
+    private int size;
+    private long totalElements;
+    private int totalPages;
+    private int number;
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+}
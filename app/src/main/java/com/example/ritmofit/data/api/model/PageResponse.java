@@ -7,7 +7,18 @@ public class PageResponse<T> {
     @SerializedName("_embedded")
     private T data;
 
+    // Sólo en las búsquedas con page/size
+    @SerializedName("page")
+    private PageMetadata page;
+
     public T getData() {
         return data;
     }
+
+    /**
+     * Metadatos de paginación, o null si la búsqueda no es paginada
+     */
+    public PageMetadata getPage() {
+        return page;
+    }
 }
@@ -1,5 +1,9 @@
 package com.example.ritmofit.data.api.model;
 
+import com.example.ritmofit.core.http.CachePolicy;
+import com.example.ritmofit.core.http.CallPriority;
+import com.example.ritmofit.core.http.CborConverterFactory;
+import com.example.ritmofit.core.http.RequestPriority;
 import com.example.ritmofit.data.api.model.reserva.ReservaCreateRequestDTO;
 import com.example.ritmofit.data.api.model.reserva.ReservaResponseDTO;
 
@@ -9,17 +13,22 @@ import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.DELETE;
 import retrofit2.http.GET;
+import retrofit2.http.Headers;
 import retrofit2.http.POST;
 import retrofit2.http.Path;
 
 public interface ReservaService {
 
+    @CallPriority(RequestPriority.USER_BLOCKING)
     @POST("reservas")
     Call<ReservaResponseDTO> crearReserva(@Body ReservaCreateRequestDTO request);
 
+    @CallPriority(RequestPriority.USER_BLOCKING)
     @DELETE("reservas/{id}")
     Call<Void> cancelarReserva(@Path("id") Long id);
 
+    @CachePolicy(noStore = true)
+    @Headers(CborConverterFactory.ACCEPT_CBOR)
     @GET("reservas/mias")
     Call<List<ReservaResponseDTO>> getMisReservas();
 }
@@ -1,5 +1,6 @@
 package com.example.ritmofit.data.api.model;
 
+import com.example.ritmofit.core.http.CachePolicy;
 import com.example.ritmofit.data.api.model.usuario.PerfilResponseDTO;
 import com.example.ritmofit.data.api.model.usuario.PerfilUpdateRequestDTO;
 
@@ -11,6 +12,7 @@ import retrofit2.http.Path;
 
 public interface UserService {
 
+    @CachePolicy(noStore = true)
     @GET("user/{id}")
     Call<PerfilResponseDTO> getUser(@Path("id") Long id);
 
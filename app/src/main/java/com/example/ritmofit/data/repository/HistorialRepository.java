@@ -1,5 +1,6 @@
 package com.example.ritmofit.data.repository;
 
+import com.example.ritmofit.core.Cancellable;
 import com.example.ritmofit.model.HistorialItem;
 
 import java.time.LocalDate;
@@ -24,20 +25,39 @@ public interface HistorialRepository {
      * @param fromDate start date for filtering (can be null)
      * @param toDate end date for filtering (can be null)
      * @param callback callback to handle success/error responses
+     * @return handle to stop waiting for the response; the callback is not called after cancel
      */
-    void getHistorial(LocalDate fromDate, LocalDate toDate, HistorialCallback callback);
+    Cancellable getHistorial(LocalDate fromDate, LocalDate toDate, HistorialCallback callback);
+
+    /**
+     * Returns the last historial list downloaded for the range, without network access.
+     * Used to show data immediately while a fresh copy is requested.
+     * @param fromDate start date for filtering (can be null)
+     * @param toDate end date for filtering (can be null)
+     * @return cached items, or null if the range was never loaded
+     */
+    List<HistorialItem> getCachedHistorial(LocalDate fromDate, LocalDate toDate);
 
     /**
      * Fetches historial data for the current month
      * @param callback callback to handle success/error responses
      */
-    void getCurrentMonthHistorial(HistorialCallback callback);
+    Cancellable getCurrentMonthHistorial(HistorialCallback callback);
+
+    /**
+     * Requests the current month up to today and keeps it for the history screen.
+     * The request is enqueued before returning, on the calling thread, so it joins a
+     * {@link com.example.ritmofit.core.http.RequestBatcher#batch(Runnable)} opened by the caller.
+     * @param callback callback to handle success/error responses
+     */
+    Cancellable prefetchCurrentMonth(HistorialCallback callback);
 
     /**
-     * Fetches all historial data without date filtering
+     * Fetches all historial data without date filtering.
+     * On slow or metered networks only the most recent weeks are requested.
      * @param callback callback to handle success/error responses
      */
-    void getAllHistorial(HistorialCallback callback);
+    Cancellable getAllHistorial(HistorialCallback callback);
 
     /**
      * Validates date range parameters before making API calls
@@ -52,4 +72,10 @@ public interface HistorialRepository {
      * @return true if network operations are possible
      */
     boolean isNetworkAvailable();
+
+    /**
+     * Runs the task the next time the network is available, or right away if it already is
+     * @return handle to drop the task if it is no longer needed
+     */
+    Cancellable whenNetworkAvailable(Runnable task);
 }
\ No newline at end of file
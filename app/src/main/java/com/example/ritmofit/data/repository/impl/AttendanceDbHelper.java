@@ -0,0 +1,106 @@
+package com.example.ritmofit.data.repository.impl;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import com.example.ritmofit.model.HistorialItem;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Esquema SQLite del historial descargado: una fila por asistencia, indexada por día
+ * (epoch day), y los intervalos de días que ya se bajaron completos. Aparte, la copia que
+ * mantiene la sincronización incremental ({@link HistorialSyncStore}), con su cursor en meta.
+ */
+class AttendanceDbHelper extends SQLiteOpenHelper {
+
+    static final String DB_NAME = "attendance.db";
+    static final int DB_VERSION = 2;
+
+    static final String TABLE_ATTENDANCE = "attendance";
+    static final String COL_ID = "id";
+    static final String COL_DAY = "epoch_day";
+    static final String COL_CLASE = "clase";
+    static final String COL_SEDE = "sede";
+    static final String COL_HORA = "hora";
+    static final String COL_DURACION = "duracion";
+
+    // Intervalos cerrados [from_day, to_day], sin solaparse ni tocarse
+    static final String TABLE_COVERAGE = "coverage";
+    static final String COL_FROM_DAY = "from_day";
+    static final String COL_TO_DAY = "to_day";
+
+    // Mismas columnas que attendance; la sincronización identifica cada fila por id
+    static final String TABLE_SYNC = "sync_attendance";
+
+    static final String TABLE_META = "meta";
+    static final String COL_KEY = "key";
+    static final String COL_VALUE = "value";
+
+    AttendanceDbHelper(Context context) {
+        super(context, DB_NAME, null, DB_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_ATTENDANCE + " ("
+                + COL_ID + " INTEGER UNIQUE, "   // id del servidor; una asistencia que cambia de día no se duplica
+                + COL_DAY + " INTEGER NOT NULL, "
+                + COL_CLASE + " TEXT, "
+                + COL_SEDE + " TEXT, "
+                + COL_HORA + " TEXT, "           // HH:mm, ordena igual como texto
+                + COL_DURACION + " INTEGER NOT NULL)");
+        db.execSQL("CREATE INDEX attendance_by_day ON " + TABLE_ATTENDANCE + " (" + COL_DAY + ")");
+        db.execSQL("CREATE TABLE " + TABLE_COVERAGE + " ("
+                + COL_FROM_DAY + " INTEGER NOT NULL PRIMARY KEY, "
+                + COL_TO_DAY + " INTEGER NOT NULL)");
+        db.execSQL("CREATE TABLE " + TABLE_META + " ("
+                + COL_KEY + " TEXT NOT NULL PRIMARY KEY, "
+                + COL_VALUE + " TEXT)");
+        createSyncTable(db);
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        if (oldVersion < 2) {
+            createSyncTable(db);
+        }
+    }
+
+    private static void createSyncTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_SYNC + " ("
+                + COL_ID + " INTEGER NOT NULL PRIMARY KEY, "
+                + COL_DAY + " INTEGER NOT NULL, "
+                + COL_CLASE + " TEXT, "
+                + COL_SEDE + " TEXT, "
+                + COL_HORA + " TEXT, "
+                + COL_DURACION + " INTEGER NOT NULL)");
+    }
+
+    static ContentValues toValues(HistorialItem item) {
+        ContentValues values = new ContentValues();
+        values.put(COL_ID, item.getId());
+        values.put(COL_DAY, item.getFecha().toEpochDay());
+        values.put(COL_CLASE, item.getClase());
+        values.put(COL_SEDE, item.getSede());
+        values.put(COL_HORA, item.getHora() != null ? item.getHora().toString() : null);
+        values.put(COL_DURACION, item.getDuracion());
+        return values;
+    }
+
+    static HistorialItem fromCursor(Cursor cursor) {
+        int id = cursor.getColumnIndexOrThrow(COL_ID);
+        String hora = cursor.getString(cursor.getColumnIndexOrThrow(COL_HORA));
+        return new HistorialItem(
+                cursor.isNull(id) ? null : cursor.getLong(id),
+                cursor.getString(cursor.getColumnIndexOrThrow(COL_CLASE)),
+                cursor.getString(cursor.getColumnIndexOrThrow(COL_SEDE)),
+                LocalDate.ofEpochDay(cursor.getLong(cursor.getColumnIndexOrThrow(COL_DAY))),
+                hora != null ? LocalTime.parse(hora) : null,
+                cursor.getInt(cursor.getColumnIndexOrThrow(COL_DURACION)));
+    }
+}
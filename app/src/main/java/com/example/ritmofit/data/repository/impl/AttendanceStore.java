@@ -0,0 +1,403 @@
+package com.example.ritmofit.data.repository.impl;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.core.content.ContextCompat;
+
+import com.example.ritmofit.auth.repository.TokenClaims;
+import com.example.ritmofit.auth.repository.TokenRepository;
+import com.example.ritmofit.model.DateRange;
+import com.example.ritmofit.model.DateRangeSet;
+import com.example.ritmofit.model.HistorialItem;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import dagger.hilt.android.qualifiers.ApplicationContext;
+
+/**
+ * Historial descargado, persistido en SQLite por día, con registro de qué días ya se bajaron
+ * completos. Un rango cubierto se responde con una consulta al índice, sin red, también
+ * después de reiniciar la app; de un rango a medio cubrir sólo se piden los tramos que faltan.
+ * <p>
+ * Los días pasados no cambian y quedan cubiertos para siempre. El día de hoy sí puede sumar
+ * asistencias: se considera cubierto sólo durante {@link #TODAY_TTL_MILLIS} desde que se bajó.
+ * Un rango sin fecha desde arranca en el primer día del historial ({@link Long#MIN_VALUE}).
+ * <p>
+ * También guarda la copia de {@link HistorialSyncStore} y su cursor, para que la sincronización
+ * incremental siga desde donde quedó después de reiniciar la app.
+ * <p>
+ * Toda la base se usa desde un único hilo de I/O, en el orden en que se pidió: lo que se lee
+ * después de un {@link #put} ya lo ve. Los resultados se entregan en el hilo principal.
+ */
+@Singleton
+public class AttendanceStore {
+
+    /**
+     * Resultado de {@link #read}
+     */
+    public interface ReadCallback {
+        /**
+         * @param items asistencias del rango, más recientes primero, si ya estaba todo guardado;
+         *              null si falta algún tramo
+         * @param missing tramos que faltan, en orden y con null donde el pedido era abierto
+         */
+        void onRead(List<HistorialItem> items, List<DateRange> missing);
+    }
+
+    /**
+     * Resultado de {@link #loadSync}
+     */
+    public interface SyncCallback {
+        /**
+         * @param cursor cursor de la última sincronización guardada, o null si nunca se sincronizó
+         * @param items asistencias sincronizadas, sin orden
+         */
+        void onLoaded(String cursor, List<HistorialItem> items);
+    }
+
+    /** Cuánto vale lo bajado del día de hoy, como el TTL del historial en CachePolicyInterceptor */
+    static final long TODAY_TTL_MILLIS = 5 * 60_000;
+
+    private static final String META_OWNER = "owner";
+    private static final String META_TODAY = "today_checked";
+    private static final String META_SYNC_CURSOR = "sync_cursor";
+
+    private static final String NEWEST_FIRST = AttendanceDbHelper.COL_DAY + " DESC, "
+            + AttendanceDbHelper.COL_HORA + " DESC, " + AttendanceDbHelper.COL_ID + " DESC";
+
+    private final AttendanceDbHelper dbHelper;
+    private final TokenRepository tokenRepository;
+    private final LongSupplier clock;
+    private final Executor io;
+    private final Executor main;
+
+    // Todo lo que sigue se usa sólo desde el hilo de I/O
+    private SQLiteDatabase database;
+    // Copia en memoria de la tabla coverage
+    private DateRangeSet coverage = new DateRangeSet();
+    private long todayCheckedDay = Long.MIN_VALUE;
+    private long todayCheckedAt;
+    private String owner;
+
+    @Inject
+    public AttendanceStore(@ApplicationContext Context context, TokenRepository tokenRepository) {
+        this(context, tokenRepository, System::currentTimeMillis, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "attendance-io");
+            thread.setDaemon(true);
+            return thread;
+        }), ContextCompat.getMainExecutor(context));
+    }
+
+    AttendanceStore(Context context, TokenRepository tokenRepository, LongSupplier clock,
+                    Executor io, Executor main) {
+        this.dbHelper = new AttendanceDbHelper(context);
+        this.tokenRepository = tokenRepository;
+        this.clock = clock;
+        this.io = io;
+        this.main = main;
+    }
+
+    /**
+     * Qué le falta al rango y, si no le falta nada, sus asistencias guardadas
+     * @param fromDate fecha desde (puede ser null)
+     * @param toDate fecha hasta (puede ser null)
+     */
+    public void read(LocalDate fromDate, LocalDate toDate, ReadCallback callback) {
+        io.execute(() -> {
+            List<DateRange> missing = missing(fromDate, toDate);
+            List<HistorialItem> items = missing.isEmpty() ? query(fromDate, toDate) : null;
+            main.execute(() -> callback.onRead(items, missing));
+        });
+    }
+
+    /**
+     * Asistencias guardadas del rango, más recientes primero
+     * @param fromDate fecha desde (puede ser null)
+     * @param toDate fecha hasta (puede ser null)
+     */
+    public void query(LocalDate fromDate, LocalDate toDate, Consumer<List<HistorialItem>> callback) {
+        io.execute(() -> {
+            List<HistorialItem> items = query(fromDate, toDate);
+            main.execute(() -> callback.accept(items));
+        });
+    }
+
+    /**
+     * Guarda lo que devolvió el servidor para el rango y lo marca como cubierto.
+     * Reemplaza lo que hubiera guardado en esos días.
+     * @param fromDate fecha desde con la que se pidió (puede ser null)
+     * @param toDate fecha hasta con la que se pidió (puede ser null)
+     * @param items asistencias del servidor para ese rango
+     */
+    public void put(LocalDate fromDate, LocalDate toDate, List<HistorialItem> items) {
+        io.execute(() -> write(fromDate, toDate, items));
+    }
+
+    /**
+     * Borra todo lo guardado
+     */
+    public void clear() {
+        io.execute(() -> {
+            SQLiteDatabase db = database();
+            db.beginTransaction();
+            try {
+                clearTables(db);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        });
+    }
+
+    /**
+     * Lee la copia de la sincronización incremental que quedó guardada
+     */
+    public void loadSync(SyncCallback callback) {
+        io.execute(() -> {
+            SQLiteDatabase db = database();
+            String cursor = getMeta(db, META_SYNC_CURSOR);
+            List<HistorialItem> items = new ArrayList<>();
+            if (cursor != null) {
+                try (Cursor rows = db.query(AttendanceDbHelper.TABLE_SYNC, null, null, null, null, null, null)) {
+                    while (rows.moveToNext()) {
+                        items.add(AttendanceDbHelper.fromCursor(rows));
+                    }
+                }
+            }
+            main.execute(() -> callback.onLoaded(cursor, items));
+        });
+    }
+
+    /**
+     * Guarda un delta ya aplicado por {@link HistorialSyncStore}, junto con su cursor
+     * @param replaceAll el delta era el historial completo: reemplaza lo guardado
+     */
+    public void saveSync(String cursor, boolean replaceAll, List<HistorialItem> changed, List<Long> deleted) {
+        io.execute(() -> {
+            SQLiteDatabase db = database();
+            db.beginTransaction();
+            try {
+                if (replaceAll) {
+                    db.delete(AttendanceDbHelper.TABLE_SYNC, null, null);
+                }
+                for (HistorialItem item : changed) {
+                    if (item.getId() != null && item.getFecha() != null) {
+                        db.insertWithOnConflict(AttendanceDbHelper.TABLE_SYNC, null,
+                                AttendanceDbHelper.toValues(item), SQLiteDatabase.CONFLICT_REPLACE);
+                    }
+                }
+                for (Long id : deleted) {
+                    db.delete(AttendanceDbHelper.TABLE_SYNC, AttendanceDbHelper.COL_ID + " = ?",
+                            new String[]{String.valueOf(id)});
+                }
+                putMeta(db, META_SYNC_CURSOR, cursor);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        });
+    }
+
+    /**
+     * Borra la copia de la sincronización incremental; la próxima vuelve a bajar todo
+     */
+    public void clearSync() {
+        io.execute(() -> clearSync(database()));
+    }
+
+    private List<HistorialItem> query(LocalDate fromDate, LocalDate toDate) {
+        SQLiteDatabase db = database();
+        List<HistorialItem> items = new ArrayList<>();
+        try (Cursor cursor = db.query(AttendanceDbHelper.TABLE_ATTENDANCE, null,
+                AttendanceDbHelper.COL_DAY + " BETWEEN ? AND ?",
+                new String[]{String.valueOf(fromDay(fromDate)), String.valueOf(toDay(toDate))},
+                null, null, NEWEST_FIRST)) {
+            while (cursor.moveToNext()) {
+                items.add(AttendanceDbHelper.fromCursor(cursor));
+            }
+        }
+        return Collections.unmodifiableList(items);
+    }
+
+    // Tramos del rango pedido que todavía no se bajaron; vacía si no falta nada
+    private List<DateRange> missing(LocalDate fromDate, LocalDate toDate) {
+        database();
+        long today = today();
+        LocalDate to = LocalDate.ofEpochDay(toDay(toDate));
+        if (fromDate != null && fromDate.isAfter(to)) {
+            return Collections.emptyList();
+        }
+        List<DateRange> gaps = coveredDays(today).missing(new DateRange(fromDate, to));
+        if (toDate == null && !gaps.isEmpty()) {
+            // El último tramo llega hasta hoy: se pide abierto, como lo pidió la pantalla
+            DateRange last = gaps.get(gaps.size() - 1);
+            if (last.getToDate().toEpochDay() == today) {
+                last.setToDate(null);
+            }
+        }
+        return gaps;
+    }
+
+    private void write(LocalDate fromDate, LocalDate toDate, List<HistorialItem> items) {
+        SQLiteDatabase db = database();
+        long from = fromDay(fromDate);
+        long to = toDate != null ? toDate.toEpochDay() : Long.MAX_VALUE;
+        long now = clock.getAsLong();
+        long today = today();
+
+        DateRangeSet updated = new DateRangeSet(coverage);
+        db.beginTransaction();
+        try {
+            db.delete(AttendanceDbHelper.TABLE_ATTENDANCE, AttendanceDbHelper.COL_DAY + " BETWEEN ? AND ?",
+                    new String[]{String.valueOf(from), String.valueOf(to)});
+            for (HistorialItem item : items) {
+                if (item.getFecha() != null) {
+                    db.insertWithOnConflict(AttendanceDbHelper.TABLE_ATTENDANCE, null,
+                            AttendanceDbHelper.toValues(item), SQLiteDatabase.CONFLICT_REPLACE);
+                }
+            }
+            // Hoy todavía puede cambiar: no entra en la cobertura permanente
+            long lastFinal = Math.min(to, today - 1);
+            if (from <= lastFinal) {
+                updated.add(new DateRange(fromDate, LocalDate.ofEpochDay(lastFinal)));
+                writeCoverage(db, updated);
+            }
+            boolean coversToday = from <= today && today <= to;
+            if (coversToday) {
+                putMeta(db, META_TODAY, today + ":" + now);
+            }
+            db.setTransactionSuccessful();
+            // La copia en memoria cambia sólo si la transacción se confirma
+            coverage = updated;
+            if (coversToday) {
+                todayCheckedDay = today;
+                todayCheckedAt = now;
+            }
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private DateRangeSet coveredDays(long today) {
+        if (todayCheckedDay != today || clock.getAsLong() - todayCheckedAt > TODAY_TTL_MILLIS) {
+            return coverage;
+        }
+        DateRangeSet withToday = new DateRangeSet(coverage);
+        withToday.add(new DateRange(LocalDate.ofEpochDay(today), LocalDate.ofEpochDay(today)));
+        return withToday;
+    }
+
+    private static void writeCoverage(SQLiteDatabase db, DateRangeSet covered) {
+        db.delete(AttendanceDbHelper.TABLE_COVERAGE, null, null);
+        for (DateRange range : covered.getRanges()) {
+            ContentValues values = new ContentValues();
+            values.put(AttendanceDbHelper.COL_FROM_DAY, fromDay(range.getFromDate()));
+            values.put(AttendanceDbHelper.COL_TO_DAY, range.getToDate().toEpochDay());
+            db.insert(AttendanceDbHelper.TABLE_COVERAGE, null, values);
+        }
+    }
+
+    private long today() {
+        return Instant.ofEpochMilli(clock.getAsLong()).atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+
+    private static long fromDay(LocalDate fromDate) {
+        return fromDate != null ? fromDate.toEpochDay() : Long.MIN_VALUE;
+    }
+
+    // Nada después de hoy: no hay asistencias futuras
+    private long toDay(LocalDate toDate) {
+        long today = today();
+        return toDate != null ? Math.min(toDate.toEpochDay(), today) : today;
+    }
+
+    /**
+     * Abre la base la primera vez, carga la cobertura en memoria y descarta todo si cambió
+     * el usuario desde la última vez
+     */
+    private SQLiteDatabase database() {
+        if (database == null) {
+            database = dbHelper.getWritableDatabase();
+            owner = getMeta(database, META_OWNER);
+            loadCoverage(database);
+            String today = getMeta(database, META_TODAY);
+            if (today != null) {
+                String[] parts = today.split(":");
+                todayCheckedDay = Long.parseLong(parts[0]);
+                todayCheckedAt = Long.parseLong(parts[1]);
+            }
+        }
+        // El historial es por usuario: si cambió el usuario se descarta lo guardado.
+        // Sin sujeto conocido (sin sesión) no hay con qué comparar y se conserva
+        String current = TokenClaims.subject(tokenRepository != null ? tokenRepository.getToken() : null);
+        if (current != null && !current.equals(owner)) {
+            database.beginTransaction();
+            try {
+                clearTables(database);
+                putMeta(database, META_OWNER, current);
+                database.setTransactionSuccessful();
+            } finally {
+                database.endTransaction();
+            }
+            owner = current;
+        }
+        return database;
+    }
+
+    private void loadCoverage(SQLiteDatabase db) {
+        coverage.clear();
+        try (Cursor cursor = db.query(AttendanceDbHelper.TABLE_COVERAGE, null, null, null,
+                null, null, AttendanceDbHelper.COL_FROM_DAY)) {
+            while (cursor.moveToNext()) {
+                long from = cursor.getLong(cursor.getColumnIndexOrThrow(AttendanceDbHelper.COL_FROM_DAY));
+                long to = cursor.getLong(cursor.getColumnIndexOrThrow(AttendanceDbHelper.COL_TO_DAY));
+                coverage.add(new DateRange(from == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(from),
+                        LocalDate.ofEpochDay(to)));
+            }
+        }
+    }
+
+    private void clearTables(SQLiteDatabase db) {
+        db.delete(AttendanceDbHelper.TABLE_ATTENDANCE, null, null);
+        db.delete(AttendanceDbHelper.TABLE_COVERAGE, null, null);
+        db.delete(AttendanceDbHelper.TABLE_META, AttendanceDbHelper.COL_KEY + " = ?", new String[]{META_TODAY});
+        clearSync(db);
+        coverage.clear();
+        todayCheckedDay = Long.MIN_VALUE;
+        todayCheckedAt = 0;
+    }
+
+    private static void clearSync(SQLiteDatabase db) {
+        db.delete(AttendanceDbHelper.TABLE_SYNC, null, null);
+        db.delete(AttendanceDbHelper.TABLE_META, AttendanceDbHelper.COL_KEY + " = ?", new String[]{META_SYNC_CURSOR});
+    }
+
+    private static String getMeta(SQLiteDatabase db, String key) {
+        try (Cursor cursor = db.query(AttendanceDbHelper.TABLE_META, new String[]{AttendanceDbHelper.COL_VALUE},
+                AttendanceDbHelper.COL_KEY + " = ?", new String[]{key}, null, null, null)) {
+            return cursor.moveToFirst() ? cursor.getString(0) : null;
+        }
+    }
+
+    private static void putMeta(SQLiteDatabase db, String key, String value) {
+        ContentValues values = new ContentValues();
+        values.put(AttendanceDbHelper.COL_KEY, key);
+        values.put(AttendanceDbHelper.COL_VALUE, value);
+        db.insertWithOnConflict(AttendanceDbHelper.TABLE_META, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.ritmofit.data.repository.impl;
+
+import com.example.ritmofit.auth.repository.TokenClaims;
+import com.example.ritmofit.auth.repository.TokenRepository;
+import com.example.ritmofit.model.DateRange;
+import com.example.ritmofit.model.HistorialItem;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Última lista de asistencias descargada por rango de fechas, sin vencimiento.
+ * Es lo que se muestra mientras se revalida o cuando no hay conexión; un rango
+ * contenido en otro ya descargado se resuelve filtrando esa lista.
+ */
+@Singleton
+public class HistorialCache {
+
+    private static final int MAX_RANGES = 8;
+
+    private final TokenRepository tokenRepository;
+    private String owner;
+
+    private final Map<DateRange, List<HistorialItem>> ranges =
+            new LinkedHashMap<DateRange, List<HistorialItem>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<DateRange, List<HistorialItem>> eldest) {
+                    return size() > MAX_RANGES;
+                }
+            };
+
+    @Inject
+    public HistorialCache(TokenRepository tokenRepository) {
+        this.tokenRepository = tokenRepository;
+    }
+
+    /**
+     * Devuelve las asistencias guardadas para el rango pedido
+     * @param fromDate fecha desde (puede ser null)
+     * @param toDate fecha hasta (puede ser null)
+     * @return lista inmutable o null si nunca se descargó un rango que lo cubra
+     */
+    public synchronized List<HistorialItem> get(LocalDate fromDate, LocalDate toDate) {
+        checkOwner();
+        DateRange requested = new DateRange(fromDate, toDate);
+        List<HistorialItem> exact = ranges.get(requested);
+        if (exact != null) {
+            return exact;
+        }
+
+        for (Map.Entry<DateRange, List<HistorialItem>> entry : ranges.entrySet()) {
+            if (entry.getKey().covers(requested)) {
+                List<HistorialItem> filtered = new ArrayList<>();
+                for (HistorialItem item : entry.getValue()) {
+                    if (requested.contains(item.getFecha())) {
+                        filtered.add(item);
+                    }
+                }
+                return Collections.unmodifiableList(filtered);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Guarda la lista descargada para el rango
+     * @param fromDate fecha desde (puede ser null)
+     * @param toDate fecha hasta (puede ser null)
+     * @param items asistencias del servidor
+     */
+    public synchronized void put(LocalDate fromDate, LocalDate toDate, List<HistorialItem> items) {
+        checkOwner();
+        ranges.put(new DateRange(fromDate, toDate), items);
+    }
+
+    public synchronized void clear() {
+        ranges.clear();
+    }
+
+    // El historial es por usuario: si cambió el usuario se descarta lo guardado.
+    // Se compara el sujeto y no el token, que TokenAuthenticator renueva en cada refresh
+    private void checkOwner() {
+        String current = TokenClaims.subject(tokenRepository != null ? tokenRepository.getToken() : null);
+        if (current == null) {
+            return; // sin sesión no hay con quién comparar
+        }
+        if (owner != null && !current.equals(owner)) {
+            ranges.clear();
+        }
+        owner = current;
+    }
+}
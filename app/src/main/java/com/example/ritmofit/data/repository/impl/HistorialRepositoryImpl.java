@@ -4,9 +4,17 @@ import android.content.Context;
 import android.net.ConnectivityManager;
 import android.net.NetworkInfo;
 
-import com.example.ritmofit.data.api.model.HistorialResponse;
+import com.example.ritmofit.core.Cancellable;
+import com.example.ritmofit.core.connectivity.ConnectivityMonitor;
+import com.example.ritmofit.core.connectivity.FetchPolicy;
+import com.example.ritmofit.core.http.CallCoalescer;
+import com.example.ritmofit.core.http.CircuitOpenException;
+import com.example.ritmofit.core.http.DecodedResponseCache;
+import com.example.ritmofit.data.api.model.HistorialDelta;
 import com.example.ritmofit.data.api.model.HistorialService;
 import com.example.ritmofit.data.repository.HistorialRepository;
+import com.example.ritmofit.model.DateRange;
+import com.example.ritmofit.model.DateRangeSet;
 import com.example.ritmofit.model.HistorialItem;
 import com.example.ritmofit.utils.DateUtils;
 
@@ -15,8 +23,10 @@ import java.net.ConnectException;
 import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 
 import javax.inject.Inject;
@@ -28,76 +38,435 @@ import retrofit2.Response;
 
 /**
  * Implementation of HistorialRepository for managing historial (attendance history) data.
- * Handles API integration using HistorialService and provides data transformation
- * from HistorialResponse to HistorialItem domain models.
+ * Handles API integration using HistorialService; responses arrive already decoded
+ * into HistorialItem domain models by HistorialConverterFactory.
+ * When the server supports {@code historial/changes} and a sync cursor is saved, ranges are
+ * served from HistorialSyncStore after downloading only what changed since the last sync.
+ * Without a cursor the first sync downloads the whole history, so it only seeds the store when
+ * the whole history was requested anyway.
+ * Otherwise ranges go through AttendanceStore: days already downloaded are read from SQLite
+ * and only the missing sub-ranges are requested, a few at a time. AttendanceStore does its I/O on
+ * its own thread and answers on the main thread, like Retrofit.
  */
 @Singleton
 public class HistorialRepositoryImpl implements HistorialRepository {
 
+    /** Tramos faltantes separados por hasta estos días ya guardados se piden juntos */
+    static final int MAX_DAYS_BETWEEN_GAPS = 7;
+
+    /** Tramos de un mismo rango que se piden a la vez; el resto espera su turno */
+    static final int MAX_PARALLEL_GAPS = 3;
+
     private final HistorialService historialService;
     private final Context context;
+    private final CallCoalescer coalescer;
+    private final DecodedResponseCache decodedResponseCache;
+    private final HistorialCache historialCache;
+    private final HistorialSyncStore syncStore;
+    private final ConnectivityMonitor connectivityMonitor;
+    private final FetchPolicy fetchPolicy;
+    private final AttendanceStore attendanceStore;
 
+    /**
+     * @param syncStore copia local para la sincronización incremental; null para pedir siempre el rango
+     * @param connectivityMonitor estado de red en memoria; null para consultar al ConnectivityManager
+     * @param fetchPolicy acota el historial completo en redes malas; null para pedirlo siempre entero
+     * @param attendanceStore días ya descargados, persistidos; null para pedir siempre el rango entero
+     */
     @Inject
-    public HistorialRepositoryImpl(HistorialService historialService, Context context) {
+    public HistorialRepositoryImpl(HistorialService historialService, Context context,
+                                   CallCoalescer coalescer,
+                                   DecodedResponseCache decodedResponseCache,
+                                   HistorialCache historialCache,
+                                   HistorialSyncStore syncStore,
+                                   ConnectivityMonitor connectivityMonitor,
+                                   FetchPolicy fetchPolicy,
+                                   AttendanceStore attendanceStore) {
         this.historialService = historialService;
         this.context = context;
+        this.coalescer = coalescer;
+        this.decodedResponseCache = decodedResponseCache;
+        this.historialCache = historialCache;
+        this.syncStore = syncStore;
+        this.connectivityMonitor = connectivityMonitor;
+        this.fetchPolicy = fetchPolicy;
+        this.attendanceStore = attendanceStore;
     }
 
     @Override
-    public void getHistorial(LocalDate fromDate, LocalDate toDate, HistorialCallback callback) {
+    public Cancellable getHistorial(LocalDate fromDate, LocalDate toDate, HistorialCallback callback) {
+        return load(fromDate, toDate, callback, true);
+    }
+
+    /**
+     * @param allowSync false para pedir sólo el rango aunque haya sincronización: el delta no se
+     *                  puede acotar y puede traer cambios de todo el historial
+     */
+    private Cancellable load(LocalDate fromDate, LocalDate toDate, HistorialCallback callback,
+                             boolean allowSync) {
         // Check network connectivity before making the request
         if (!isNetworkAvailable()) {
-            callback.onError("Sin conexión a internet. Por favor, verifica tu conexión y vuelve a intentar.");
-            return;
+            // Sin red se responde con la última lista conocida del rango, si existe
+            List<HistorialItem> cached = getCachedHistorial(fromDate, toDate);
+            if (cached != null) {
+                callback.onSuccess(cached);
+                return Cancellable.NONE;
+            }
+            String offline = "Sin conexión a internet. Por favor, verifica tu conexión y vuelve a intentar.";
+            if (attendanceStore != null) {
+                // Tras reiniciar la app el cache en memoria está vacío, pero la base no
+                return new GapFetch(new DateRange(fromDate, toDate), callback).startOffline(offline);
+            }
+            callback.onError(offline);
+            return Cancellable.NONE;
         }
 
         // Validate date range before making API call
         String validationError = validateDateRange(fromDate, toDate);
         if (validationError != null) {
             callback.onError(validationError);
-            return;
+            return Cancellable.NONE;
+        }
+
+        // Sin cursor guardado, sincronizar es bajar todo: sólo si se pidió todo
+        boolean wholeHistory = fromDate == null && toDate == null;
+        if (allowSync && syncStore != null && syncStore.isSupported()
+                && (syncStore.isSeeded() || wholeHistory)) {
+            return sync(fromDate, toDate, callback, true);
+        }
+        return fetchRange(fromDate, toDate, callback);
+    }
+
+    /**
+     * Pide los cambios desde el último cursor, los aplica y responde el rango desde la copia local
+     * @param resetOnGone si el servidor rechaza el cursor (410), se vuelve a pedir todo una vez
+     */
+    private Cancellable sync(LocalDate fromDate, LocalDate toDate, HistorialCallback callback,
+                             boolean resetOnGone) {
+        String since = syncStore.getCursor();
+        Call<HistorialDelta> call = historialService.getHistorialChanges(since);
+
+        Cancellable[] retry = {Cancellable.NONE};
+        Cancellable first = coalescer.enqueue(call, new Callback<HistorialDelta>() {
+            @Override
+            public void onResponse(Call<HistorialDelta> call, Response<HistorialDelta> response) {
+                int code = response.code();
+                if (response.isSuccessful() && response.body() != null) {
+                    syncStore.apply(since, response.body());
+                    callback.onSuccess(syncStore.query(fromDate, toDate));
+                } else if (code == 410 && resetOnGone) {
+                    // Cursor vencido en el servidor: se baja todo de nuevo
+                    syncStore.reset();
+                    retry[0] = sync(fromDate, toDate, callback, false);
+                } else if (code == 404 || code == 405 || code == 501) {
+                    // El servidor no tiene sincronización incremental: se pide el rango como siempre
+                    syncStore.markUnsupported();
+                    retry[0] = fetchRange(fromDate, toDate, callback);
+                } else {
+                    callback.onError(getErrorMessage(code, response.message()));
+                }
+            }
+
+            @Override
+            public void onFailure(Call<HistorialDelta> call, Throwable t) {
+                // Backend caído: se responde con lo último sincronizado
+                if (t instanceof CircuitOpenException) {
+                    List<HistorialItem> cached = getCachedHistorial(fromDate, toDate);
+                    if (cached != null) {
+                        callback.onSuccess(cached);
+                        return;
+                    }
+                }
+                callback.onError(getNetworkErrorMessage(t));
+            }
+        });
+        return () -> {
+            first.cancel();
+            retry[0].cancel();
+        };
+    }
+
+    private Cancellable fetchRange(LocalDate fromDate, LocalDate toDate, HistorialCallback callback) {
+        if (attendanceStore == null) {
+            return fetchWindow(fromDate, toDate, new WindowCallback() {
+                @Override
+                public void onLoaded(List<HistorialItem> historialItems) {
+                    historialCache.put(fromDate, toDate, historialItems);
+                    callback.onSuccess(historialItems);
+                }
+
+                @Override
+                public void onFailed(String errorMessage, boolean backendDown) {
+                    // Backend caído: se responde con la última lista conocida del rango
+                    List<HistorialItem> cached = backendDown ? historialCache.get(fromDate, toDate) : null;
+                    if (cached != null) {
+                        callback.onSuccess(cached);
+                        return;
+                    }
+                    callback.onError(errorMessage);
+                }
+            });
         }
+        return new GapFetch(new DateRange(fromDate, toDate), callback).start();
+    }
 
+    /**
+     * Resultado de pedir un rango al servidor, antes de decidir qué se le responde a la pantalla
+     */
+    private interface WindowCallback {
+        void onLoaded(List<HistorialItem> historialItems);
+
+        /**
+         * @param backendDown el circuit breaker cortó el pedido: conviene responder con lo guardado
+         */
+        void onFailed(String errorMessage, boolean backendDown);
+    }
+
+    private Cancellable fetchWindow(LocalDate fromDate, LocalDate toDate, WindowCallback callback) {
         String fromDateStr = DateUtils.formatForApi(fromDate);
         String toDateStr = DateUtils.formatForApi(toDate);
 
-        Call<List<HistorialResponse>> call = historialService.getHistorial(fromDateStr, toDateStr);
+        Call<List<HistorialItem>> call = historialService.getHistorial(fromDateStr, toDateStr);
+
+        List<HistorialItem> fresh = decodedResponseCache.getFresh(call.request());
+        if (fresh != null) {
+            callback.onLoaded(fresh);
+            return Cancellable.NONE;
+        }
         
-        call.enqueue(new Callback<List<HistorialResponse>>() {
+        return coalescer.enqueue(call, new Callback<List<HistorialItem>>() {
             @Override
-            public void onResponse(Call<List<HistorialResponse>> call, Response<List<HistorialResponse>> response) {
+            public void onResponse(Call<List<HistorialItem>> call, Response<List<HistorialItem>> response) {
+                // 304: el historial no cambió desde la última descarga
+                List<HistorialItem> notModified = decodedResponseCache.getNotModified(response);
+                if (notModified != null) {
+                    callback.onLoaded(notModified);
+                    return;
+                }
                 if (response.isSuccessful()) {
                     if (response.body() != null) {
-                        List<HistorialItem> historialItems = transformResponseToItems(response.body());
-                        callback.onSuccess(historialItems);
+                        List<HistorialItem> historialItems = Collections.unmodifiableList(response.body());
+                        decodedResponseCache.store(response, historialItems);
+                        callback.onLoaded(historialItems);
                     } else {
                         // Empty response body - treat as empty result
-                        callback.onSuccess(new ArrayList<>());
+                        callback.onLoaded(new ArrayList<>());
                     }
                 } else {
                     String errorMessage = getErrorMessage(response.code(), response.message());
-                    callback.onError(errorMessage);
+                    callback.onFailed(errorMessage, false);
                 }
             }
 
             @Override
-            public void onFailure(Call<List<HistorialResponse>> call, Throwable t) {
-                String errorMessage = getNetworkErrorMessage(t);
-                callback.onError(errorMessage);
+            public void onFailure(Call<List<HistorialItem>> call, Throwable t) {
+                callback.onFailed(getNetworkErrorMessage(t), t instanceof CircuitOpenException);
             }
         });
     }
 
+    /**
+     * Responde un rango desde AttendanceStore y pide los tramos que le faltan, unos pocos a la
+     * vez; los tramos separados por pocos días ya guardados se piden como uno. Cada tramo se
+     * guarda al llegar; con el último, el rango entero se responde desde la base, ya ordenado.
+     * Si un tramo falla se responde el error: los que estaban en vuelo igual se guardan y los
+     * que esperaban turno ya no se piden.
+     */
+    private final class GapFetch implements Cancellable {
+        private final DateRange requested;
+        private final HistorialCallback callback;
+        private final List<Cancellable> calls = new ArrayList<>();
+        private final Deque<DateRange> queued = new ArrayDeque<>();
+        private int pending;
+        private boolean finished;
+        private boolean cancelled;
+
+        GapFetch(DateRange requested, HistorialCallback callback) {
+            this.requested = requested;
+            this.callback = callback;
+        }
+
+        Cancellable start() {
+            attendanceStore.read(requested.getFromDate(), requested.getToDate(), (items, missing) -> {
+                if (isCancelled()) {
+                    return;
+                }
+                if (items != null) {
+                    // Todos los días del rango ya están guardados
+                    finish(items);
+                    return;
+                }
+                fetch(missing);
+            });
+            return this;
+        }
+
+        /**
+         * Sin red: responde el rango sólo si ya estaba todo guardado
+         */
+        Cancellable startOffline(String errorMessage) {
+            attendanceStore.read(requested.getFromDate(), requested.getToDate(), (items, missing) -> {
+                if (isCancelled()) {
+                    return;
+                }
+                if (items != null) {
+                    callback.onSuccess(items);
+                } else {
+                    callback.onError(errorMessage);
+                }
+            });
+            return this;
+        }
+
+        private void fetch(List<DateRange> missing) {
+            List<DateRange> gaps = DateRangeSet.bridge(missing, MAX_DAYS_BETWEEN_GAPS);
+            synchronized (this) {
+                pending = gaps.size();
+                queued.addAll(gaps);
+            }
+            for (int i = 0; i < MAX_PARALLEL_GAPS; i++) {
+                fetchNext();
+            }
+        }
+
+        // Pide el próximo tramo en espera, si queda alguno
+        private void fetchNext() {
+            DateRange gap;
+            synchronized (this) {
+                gap = finished ? null : queued.poll();
+            }
+            if (gap == null) {
+                return;
+            }
+            Cancellable call = fetchWindow(gap.getFromDate(), gap.getToDate(), new WindowCallback() {
+                @Override
+                public void onLoaded(List<HistorialItem> historialItems) {
+                    attendanceStore.put(gap.getFromDate(), gap.getToDate(), historialItems);
+                    partLoaded();
+                    fetchNext();
+                }
+
+                @Override
+                public void onFailed(String errorMessage, boolean backendDown) {
+                    fail(errorMessage, backendDown);
+                }
+            });
+            synchronized (this) {
+                calls.add(call);
+            }
+        }
+
+        private void partLoaded() {
+            synchronized (this) {
+                if (finished || --pending > 0) {
+                    return;
+                }
+                finished = true;
+            }
+            // Se lee después de los put de cada tramo: el hilo de la base los respeta en orden
+            attendanceStore.query(requested.getFromDate(), requested.getToDate(), result -> {
+                if (!isCancelled()) {
+                    finish(result);
+                }
+            });
+        }
+
+        private void finish(List<HistorialItem> result) {
+            historialCache.put(requested.getFromDate(), requested.getToDate(), result);
+            callback.onSuccess(result);
+        }
+
+        private synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void fail(String errorMessage, boolean backendDown) {
+            synchronized (this) {
+                if (finished) {
+                    return;
+                }
+                finished = true;
+            }
+            List<HistorialItem> cached = backendDown
+                    ? getCachedHistorial(requested.getFromDate(), requested.getToDate()) : null;
+            if (cached != null) {
+                callback.onSuccess(cached);
+                return;
+            }
+            callback.onError(errorMessage);
+        }
+
+        @Override
+        public void cancel() {
+            List<Cancellable> inFlight;
+            synchronized (this) {
+                finished = true;
+                cancelled = true;
+                inFlight = new ArrayList<>(calls);
+            }
+            for (Cancellable call : inFlight) {
+                call.cancel();
+            }
+        }
+    }
+
+    @Override
+    public List<HistorialItem> getCachedHistorial(LocalDate fromDate, LocalDate toDate) {
+        if (syncStore != null && syncStore.isSeeded()) {
+            return syncStore.query(fromDate, toDate);
+        }
+        // Sólo memoria: se llama desde el hilo principal. Lo de la base llega por getHistorial
+        return historialCache.get(fromDate, toDate);
+    }
+
+    @Override
+    public Cancellable getCurrentMonthHistorial(HistorialCallback callback) {
+        LocalDate firstDayOfMonth = DateUtils.getFirstDayOfCurrentMonth();
+        LocalDate lastDayOfMonth = DateUtils.getLastDayOfCurrentMonth();
+        return getHistorial(firstDayOfMonth, lastDayOfMonth, callback);
+    }
+
     @Override
-    public void getCurrentMonthHistorial(HistorialCallback callback) {
+    public Cancellable prefetchCurrentMonth(HistorialCallback callback) {
+        if (!isNetworkAvailable()) {
+            callback.onError("Sin conexión a internet. Por favor, verifica tu conexión y vuelve a intentar.");
+            return Cancellable.NONE;
+        }
         LocalDate firstDayOfMonth = DateUtils.getFirstDayOfCurrentMonth();
         LocalDate lastDayOfMonth = DateUtils.getLastDayOfCurrentMonth();
-        getHistorial(firstDayOfMonth, lastDayOfMonth, callback);
+        if (syncStore != null && syncStore.isSupported() && syncStore.isSeeded()) {
+            return sync(firstDayOfMonth, lastDayOfMonth, callback, true);
+        }
+        // El pedido sale ya, sin leer antes la base (eso pasa en otro hilo y el batch de quien
+        // llama ya se habría mandado). Del mes se piden los días hasta hoy: no hay asistencias futuras
+        LocalDate today = LocalDate.now();
+        return fetchWindow(firstDayOfMonth, today, new WindowCallback() {
+            @Override
+            public void onLoaded(List<HistorialItem> historialItems) {
+                if (attendanceStore != null) {
+                    attendanceStore.put(firstDayOfMonth, today, historialItems);
+                }
+                historialCache.put(firstDayOfMonth, lastDayOfMonth, historialItems);
+                callback.onSuccess(historialItems);
+            }
+
+            @Override
+            public void onFailed(String errorMessage, boolean backendDown) {
+                callback.onError(errorMessage);
+            }
+        });
     }
 
     @Override
-    public void getAllHistorial(HistorialCallback callback) {
-        getHistorial(null, null, callback);
+    public Cancellable getAllHistorial(HistorialCallback callback) {
+        // En redes malas o medidas se piden sólo las últimas semanas en lugar de todo,
+        // también si hay sincronización: su delta no se puede acotar a esas semanas
+        int windowDays = fetchPolicy != null ? fetchPolicy.historialWindowDays() : 0;
+        if (windowDays > 0) {
+            LocalDate today = LocalDate.now();
+            return load(today.minusDays(windowDays - 1), today, callback, false);
+        }
+        return getHistorial(null, null, callback);
     }
 
     @Override
@@ -141,6 +510,9 @@ public class HistorialRepositoryImpl implements HistorialRepository {
 
     @Override
     public boolean isNetworkAvailable() {
+        if (connectivityMonitor != null) {
+            return connectivityMonitor.isConnected();
+        }
         try {
             ConnectivityManager connectivityManager = 
                 (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
@@ -157,57 +529,12 @@ public class HistorialRepositoryImpl implements HistorialRepository {
         }
     }
 
-    /**
-     * Transforms a list of HistorialResponse objects to HistorialItem domain models
-     * @param responses list of API response objects
-     * @return list of domain model objects
-     */
-    private List<HistorialItem> transformResponseToItems(List<HistorialResponse> responses) {
-        List<HistorialItem> items = new ArrayList<>();
-        
-        for (HistorialResponse response : responses) {
-            HistorialItem item = transformResponseToItem(response);
-            if (item != null) {
-                items.add(item);
-            }
-        }
-        
-        return items;
-    }
-
-    /**
-     * Transforms a single HistorialResponse to HistorialItem domain model
-     * @param response API response object
-     * @return domain model object or null if transformation fails
-     */
-    private HistorialItem transformResponseToItem(HistorialResponse response) {
-        if (response == null) {
-            return null;
-        }
-
-        try {
-            HistorialItem item = new HistorialItem();
-            
-            // Set basic fields
-            item.setId(response.id);
-            item.setClase(response.clase != null ? response.clase : "");
-            item.setSede(response.sede != null ? response.sede : "");
-            item.setDuracion(response.duracion);
-
-            // Parse and set date
-            LocalDate fecha = DateUtils.parseApiDate(response.fecha);
-            item.setFecha(fecha);
-
-            // Parse and set time
-            LocalTime hora = DateUtils.parseTime(response.hora);
-            item.setHora(hora);
-
-            return item;
-        } catch (Exception e) {
-            // Log the error in a real application
-            // For now, return null to skip invalid items
-            return null;
+    @Override
+    public Cancellable whenNetworkAvailable(Runnable task) {
+        if (connectivityMonitor == null) {
+            return Cancellable.NONE; // sin monitor no hay a quién esperar
         }
+        return connectivityMonitor.whenConnected(task);
     }
 
     /**
@@ -255,7 +582,9 @@ public class HistorialRepositoryImpl implements HistorialRepository {
      * @return localized error message in Spanish
      */
     private String getNetworkErrorMessage(Throwable throwable) {
-        if (throwable instanceof UnknownHostException) {
+        if (throwable instanceof CircuitOpenException) {
+            return "El servidor no está respondiendo. Volveremos a intentar en unos segundos.";
+        } else if (throwable instanceof UnknownHostException) {
             return "Sin conexión a internet. Verifica tu conexión WiFi o datos móviles e intenta nuevamente.";
         } else if (throwable instanceof SocketTimeoutException) {
             return "La conexión tardó demasiado tiempo. Verifica tu conexión e intenta nuevamente.";
@@ -0,0 +1,171 @@
+package com.example.ritmofit.data.repository.impl;
+
+import com.example.ritmofit.auth.repository.TokenClaims;
+import com.example.ritmofit.auth.repository.TokenRepository;
+import com.example.ritmofit.data.api.model.HistorialDelta;
+import com.example.ritmofit.model.DateRange;
+import com.example.ritmofit.model.HistorialItem;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Copia local del historial completo del usuario, mantenida con deltas de
+ * {@code historial/changes}. Guarda el cursor del último delta aplicado: cada sincronización
+ * baja sólo lo que cambió desde entonces y los rangos se resuelven filtrando localmente.
+ * <p>
+ * Las consultas se responden desde memoria. Cada delta se guarda además en la base de
+ * AttendanceStore, y al arrancar se recupera de ahí: reiniciar la app no obliga a bajar todo
+ * de nuevo. Hasta que termina esa lectura no hay cursor y {@link #isSeeded()} da false.
+ */
+@Singleton
+public class HistorialSyncStore {
+
+    // Más recientes primero, como se muestran en el historial
+    private static final Comparator<HistorialItem> NEWEST_FIRST = Comparator
+            .comparing(HistorialItem::getFecha, Comparator.reverseOrder())
+            .thenComparing(HistorialItem::getHora, Comparator.nullsLast(Comparator.<LocalTime>reverseOrder()))
+            .thenComparing(HistorialItem::getId, Comparator.nullsLast(Comparator.<Long>reverseOrder()));
+
+    private final TokenRepository tokenRepository;
+    private final AttendanceStore attendanceStore;
+    private final Map<Long, HistorialItem> items = new HashMap<>();
+    private String cursor;
+    private String owner;
+    // Hubo cambios desde que se pidió lo guardado: lo que llegue de la base ya es viejo
+    private boolean changedSinceLoad;
+    private volatile boolean supported = true;
+
+    /**
+     * @param attendanceStore base donde se guarda la copia; null para tenerla sólo en memoria
+     */
+    @Inject
+    public HistorialSyncStore(TokenRepository tokenRepository, AttendanceStore attendanceStore) {
+        this.tokenRepository = tokenRepository;
+        this.attendanceStore = attendanceStore;
+        if (attendanceStore != null) {
+            attendanceStore.loadSync(this::restore);
+        }
+    }
+
+    /**
+     * Cursor para el próximo pedido, o null si hay que bajar todo
+     */
+    public synchronized String getCursor() {
+        checkOwner();
+        return cursor;
+    }
+
+    /**
+     * true si ya se aplicó al menos una sincronización completa
+     */
+    public synchronized boolean isSeeded() {
+        checkOwner();
+        return cursor != null;
+    }
+
+    /**
+     * Aplica un delta del servidor: altas y modificaciones por id, bajas y nuevo cursor
+     * @param since cursor con el que se pidió el delta; si ya no es el actual, el delta se ignora
+     * @return false si el delta llegó tarde y no se aplicó
+     */
+    public synchronized boolean apply(String since, HistorialDelta delta) {
+        checkOwner();
+        if (since == null ? cursor != null : !since.equals(cursor)) {
+            return false; // otra sincronización ya avanzó el cursor
+        }
+        if (since == null) {
+            items.clear(); // sin cursor el servidor manda el historial completo
+        }
+        for (HistorialItem item : delta.getChanged()) {
+            if (item.getId() != null) {
+                items.put(item.getId(), item);
+            }
+        }
+        for (Long id : delta.getDeleted()) {
+            items.remove(id);
+        }
+        cursor = delta.getCursor();
+        changedSinceLoad = true;
+        if (attendanceStore != null) {
+            attendanceStore.saveSync(cursor, since == null, delta.getChanged(), delta.getDeleted());
+        }
+        return true;
+    }
+
+    /**
+     * Asistencias del rango, más recientes primero
+     * @param fromDate fecha desde (puede ser null)
+     * @param toDate fecha hasta (puede ser null)
+     */
+    public synchronized List<HistorialItem> query(LocalDate fromDate, LocalDate toDate) {
+        checkOwner();
+        DateRange range = new DateRange(fromDate, toDate);
+        List<HistorialItem> result = new ArrayList<>();
+        for (HistorialItem item : items.values()) {
+            if (range.contains(item.getFecha())) {
+                result.add(item);
+            }
+        }
+        result.sort(NEWEST_FIRST);
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Descarta todo; la próxima sincronización baja el historial completo (p. ej. cursor vencido)
+     */
+    public synchronized void reset() {
+        items.clear();
+        cursor = null;
+        changedSinceLoad = true;
+        if (attendanceStore != null) {
+            attendanceStore.clearSync();
+        }
+    }
+
+    /**
+     * false si el servidor no implementa {@code historial/changes}
+     */
+    public boolean isSupported() {
+        return supported;
+    }
+
+    public void markUnsupported() {
+        supported = false;
+    }
+
+    // Copia guardada, leída al arrancar
+    private synchronized void restore(String savedCursor, List<HistorialItem> savedItems) {
+        if (changedSinceLoad || savedCursor == null) {
+            return;
+        }
+        for (HistorialItem item : savedItems) {
+            items.put(item.getId(), item);
+        }
+        cursor = savedCursor;
+    }
+
+    // El historial es por usuario: si cambió el usuario se descarta lo que hay en memoria
+    // (AttendanceStore hace lo mismo con la base). Un token renovado trae el mismo sujeto
+    private void checkOwner() {
+        String current = TokenClaims.subject(tokenRepository != null ? tokenRepository.getToken() : null);
+        if (current == null) {
+            return; // sin sesión no hay con quién comparar
+        }
+        if (owner != null && !current.equals(owner)) {
+            items.clear();
+            cursor = null;
+            changedSinceLoad = true;
+        }
+        owner = current;
+    }
+}
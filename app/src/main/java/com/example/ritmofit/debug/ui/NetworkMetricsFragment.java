@@ -0,0 +1,80 @@
+package com.example.ritmofit.debug.ui;
+
+import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+
+import com.example.ritmofit.R;
+import com.example.ritmofit.core.http.NetworkMetrics;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+import javax.inject.Inject;
+
+import dagger.hilt.android.AndroidEntryPoint;
+
+/**
+ * Pantalla de debug con las latencias de red por endpoint (p50/p95/p99 de cada fase).
+ * Se abre con un toque largo sobre el avatar del perfil en builds debuggable.
+ */
+@AndroidEntryPoint
+public class NetworkMetricsFragment extends Fragment {
+
+    static final String EXPORT_FILE = "network-metrics.csv";
+
+    @Inject
+    NetworkMetrics metrics;
+
+    private TextView tvMetrics;
+
+    @Nullable
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container,
+                             @Nullable Bundle savedInstanceState) {
+        return inflater.inflate(R.layout.fragment_network_metrics, container, false);
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        tvMetrics = view.findViewById(R.id.tvMetrics);
+        Button btnRefresh = view.findViewById(R.id.btnRefresh);
+        Button btnExport = view.findViewById(R.id.btnExport);
+        Button btnReset = view.findViewById(R.id.btnReset);
+
+        btnRefresh.setOnClickListener(v -> render());
+        btnExport.setOnClickListener(v -> export());
+        btnReset.setOnClickListener(v -> {
+            metrics.reset();
+            render();
+        });
+        render();
+    }
+
+    private void render() {
+        tvMetrics.setText(metrics.report());
+    }
+
+    // Queda en Android/data/<paquete>/files, accesible por adb sin permisos extra
+    private void export() {
+        File dir = requireContext().getExternalFilesDir(null);
+        File file = new File(dir != null ? dir : requireContext().getFilesDir(), EXPORT_FILE);
+        try (Writer writer = new FileWriter(file)) {
+            metrics.writeCsv(writer);
+            Toast.makeText(requireContext(), "Exportado a " + file.getAbsolutePath(), Toast.LENGTH_LONG).show();
+        } catch (IOException e) {
+            Toast.makeText(requireContext(), "No se pudo exportar: " + e.getMessage(), Toast.LENGTH_LONG).show();
+        }
+    }
+}
@@ -2,7 +2,7 @@ package com.example.ritmofit.di;
 
 import android.content.Context;
 
-import com.example.ritmofit.auth.http.AuthApi;
+import com.example.ritmofit.auth.repository.CachedTokenRepository;
 import com.example.ritmofit.auth.repository.TokenRepository;
 import com.example.ritmofit.auth.repository.TokenRepositoryImpl;
 
@@ -20,6 +20,6 @@ public class AuthModule {
     @Provides
     @Singleton
     public TokenRepository provideTokenRepository(@ApplicationContext Context context) {
-        return new TokenRepositoryImpl(context);
+        return new CachedTokenRepository(new TokenRepositoryImpl(context));
     }
 }
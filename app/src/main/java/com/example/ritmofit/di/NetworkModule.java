@@ -1,9 +1,24 @@
 package com.example.ritmofit.di;
 
 import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.util.Log;
 
 import com.example.ritmofit.auth.http.AuthInterceptor;
+import com.example.ritmofit.auth.http.TokenAuthenticator;
 import com.example.ritmofit.auth.repository.TokenRepository;
+import com.example.ritmofit.core.http.CachePolicyInterceptor;
+import com.example.ritmofit.core.http.CircuitBreakerInterceptor;
+import com.example.ritmofit.core.http.CborConverterFactory;
+import com.example.ritmofit.core.http.CompositeEventListener;
+import com.example.ritmofit.core.http.ConditionalRequestInterceptor;
+import com.example.ritmofit.core.http.ConnectionWarmer;
+import com.example.ritmofit.core.http.DecodedResponseCache;
+import com.example.ritmofit.core.http.NetworkLogInterceptor;
+import com.example.ritmofit.core.http.NetworkLogger;
+import com.example.ritmofit.core.http.NetworkMetrics;
+import com.example.ritmofit.core.http.RetryInterceptor;
+import com.example.ritmofit.data.api.HistorialConverterFactory;
 import com.example.ritmofit.data.api.RitmoFitApiService;
 import com.example.ritmofit.data.api.model.HistorialService;
 
@@ -15,7 +30,6 @@ import dagger.hilt.components.SingletonComponent;
 import javax.inject.Singleton;
 import okhttp3.Cache;
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 import java.io.File;
@@ -35,18 +49,35 @@ public class NetworkModule {
 
     @Provides
     @Singleton
-    OkHttpClient provideOkHttpClient(Cache cache, TokenRepository tokenRepository) {
-        HttpLoggingInterceptor logging = new HttpLoggingInterceptor();
-        logging.setLevel(HttpLoggingInterceptor.Level.BASIC);
+    NetworkLogger provideNetworkLogger(@ApplicationContext Context context) {
+        // En debug se registra todo; en release, una muestra chica para no pagar por request
+        boolean debuggable = (context.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+        return new NetworkLogger(256, debuggable ? 1.0 : 0.01,
+                record -> Log.i("RitmoFitNet", record.toString()));
+    }
 
+    @Provides
+    @Singleton
+    OkHttpClient provideOkHttpClient(Cache cache, TokenRepository tokenRepository,
+                                     DecodedResponseCache decodedResponseCache,
+                                     CircuitBreakerInterceptor circuitBreakerInterceptor,
+                                     RetryInterceptor retryInterceptor,
+                                     ConnectionWarmer connectionWarmer,
+                                     NetworkMetrics networkMetrics,
+                                     NetworkLogger networkLogger,
+                                     TokenAuthenticator tokenAuthenticator) {
         return new OkHttpClient.Builder()
-                .addInterceptor(logging)
+                .addInterceptor(new NetworkLogInterceptor(networkLogger)) // asíncrono y muestreado
+                .addInterceptor(new ConditionalRequestInterceptor(decodedResponseCache))
+                .addInterceptor(circuitBreakerInterceptor) // por fuera de los reintentos
+                .addInterceptor(retryInterceptor) // sólo GET/HEAD: los POST no se reintentan
                 .cache(cache)
                 .addNetworkInterceptor(new AuthInterceptor(tokenRepository))
-                .addNetworkInterceptor(chain -> chain.proceed(chain.request())
-                        .newBuilder()
-                        .header("Cache-Control", "public, max-age=60") // Cache por 60 segundos
-                        .build())
+                .authenticator(tokenAuthenticator) // 401: un solo refresh para todos los requests
+                .addNetworkInterceptor(new CachePolicyInterceptor()) // TTL según @CachePolicy de cada endpoint
+                .eventListenerFactory(CompositeEventListener.factory(
+                        networkMetrics.eventListenerFactory(),     // latencias por endpoint (pantalla de debug)
+                        connectionWarmer.eventListenerFactory()))  // mide si se aprovechó el warm-up
                 .build();
     }
 
@@ -56,6 +87,8 @@ public class NetworkModule {
         return new Retrofit.Builder()
                 .baseUrl("http://10.0.2.2:8080") // ← localhost para emulador
                 .client(client)
+                .addConverterFactory(HistorialConverterFactory.create()) // JSON o CBOR, antes que el resto
+                .addConverterFactory(CborConverterFactory.create())     // CBOR si el servidor lo negocia
                 .addConverterFactory(GsonConverterFactory.create())
                 .build();
     }
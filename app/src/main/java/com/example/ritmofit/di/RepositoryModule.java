@@ -2,11 +2,18 @@ package com.example.ritmofit.di;
 
 import android.content.Context;
 
+import com.example.ritmofit.core.connectivity.ConnectivityMonitor;
+import com.example.ritmofit.core.connectivity.FetchPolicy;
+import com.example.ritmofit.core.http.CallCoalescer;
+import com.example.ritmofit.core.http.DecodedResponseCache;
 import com.example.ritmofit.data.api.model.HistorialService;
 import com.example.ritmofit.home.repository.CourseRepository;
 import com.example.ritmofit.data.repository.HistorialRepository;
 import com.example.ritmofit.home.repository.CourseRepositoryImpl;
+import com.example.ritmofit.data.repository.impl.AttendanceStore;
+import com.example.ritmofit.data.repository.impl.HistorialCache;
 import com.example.ritmofit.data.repository.impl.HistorialRepositoryImpl;
+import com.example.ritmofit.data.repository.impl.HistorialSyncStore;
 
 import javax.inject.Singleton;
 
@@ -26,7 +33,15 @@ public abstract class RepositoryModule {
     @Singleton
     public static HistorialRepository provideHistorialRepository(
             HistorialService historialService, 
-            @ApplicationContext Context context) {
-        return new HistorialRepositoryImpl(historialService, context);
+            @ApplicationContext Context context,
+            CallCoalescer coalescer,
+            DecodedResponseCache decodedResponseCache,
+            HistorialCache historialCache,
+            HistorialSyncStore historialSyncStore,
+            ConnectivityMonitor connectivityMonitor,
+            FetchPolicy fetchPolicy,
+            AttendanceStore attendanceStore) {
+        return new HistorialRepositoryImpl(historialService, context, coalescer, decodedResponseCache,
+                historialCache, historialSyncStore, connectivityMonitor, fetchPolicy, attendanceStore);
     }
 }
\ No newline at end of file
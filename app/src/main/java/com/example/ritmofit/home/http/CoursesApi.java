@@ -1,20 +1,32 @@
 package com.example.ritmofit.home.http;
 
-import com.example.ritmofit.data.api.model.CourseResponse;
+import com.example.ritmofit.core.http.CachePolicy;
+import com.example.ritmofit.core.http.CborConverterFactory;
 import com.example.ritmofit.data.api.model.CoursesResponse;
 import com.example.ritmofit.data.api.model.PageResponse;
 
 import retrofit2.Call;
 import retrofit2.http.GET;
+import retrofit2.http.Headers;
 import retrofit2.http.Query;
 
 public interface CoursesApi {
+
+    // El catálogo cambia poco: TTL largo y revalidación al vencer
+    int CATALOG_MAX_AGE_SECONDS = 10 * 60;
+
+    @CachePolicy(maxAgeSeconds = CATALOG_MAX_AGE_SECONDS, mustRevalidate = true)
+    @Headers(CborConverterFactory.ACCEPT_CBOR)
     @GET("api/courses/search/byProfessor")
     Call<PageResponse<CoursesResponse>> getAllByProfessor(@Query("professor") String professor);
 
+    @CachePolicy(maxAgeSeconds = CATALOG_MAX_AGE_SECONDS, mustRevalidate = true)
+    @Headers(CborConverterFactory.ACCEPT_CBOR)
     @GET("api/courses/search/byName")
     Call<PageResponse<CoursesResponse>> getAllBy(@Query("name") String name);
 
+    @CachePolicy(maxAgeSeconds = CATALOG_MAX_AGE_SECONDS, mustRevalidate = true)
+    @Headers(CborConverterFactory.ACCEPT_CBOR)
     @GET("api/courses/search/byDateBetween")
     Call<PageResponse<CoursesResponse>> getAllByDateBetween(
             @Query("start") String start,
@@ -22,16 +34,48 @@ public interface CoursesApi {
     );
 
     // 👇 Nuevo método para filtrar entre fechas
-    @GET("courses/search/byDateBetween")
-    Call<PageResponse<CourseResponse>> getAllByDateBetween(
+    @CachePolicy(maxAgeSeconds = CATALOG_MAX_AGE_SECONDS, mustRevalidate = true)
+    @Headers(CborConverterFactory.ACCEPT_CBOR)
+    @GET("api/courses/search/byDateBetween")
+    Call<PageResponse<CoursesResponse>> getAllByDateBetween(
             @Query("start") String start,
             @Query("end") String end,
             @Query("page") int page,
             @Query("size") int size
     );
 
+    @CachePolicy(maxAgeSeconds = CATALOG_MAX_AGE_SECONDS, mustRevalidate = true)
+    @Headers(CborConverterFactory.ACCEPT_CBOR)
     @GET("api/courses/search/byBranch")
     Call<PageResponse<CoursesResponse>> getAllByBranch(@Query("branch") String branch);
 
+    // Versiones paginadas para el listado del Home; la prioridad la pasa quien pide cada página
+
+    @CachePolicy(maxAgeSeconds = CATALOG_MAX_AGE_SECONDS, mustRevalidate = true)
+    @Headers(CborConverterFactory.ACCEPT_CBOR)
+    @GET("api/courses/search/byName")
+    Call<PageResponse<CoursesResponse>> getAllBy(
+            @Query("name") String name,
+            @Query("page") int page,
+            @Query("size") int size
+    );
+
+    @CachePolicy(maxAgeSeconds = CATALOG_MAX_AGE_SECONDS, mustRevalidate = true)
+    @Headers(CborConverterFactory.ACCEPT_CBOR)
+    @GET("api/courses/search/byProfessor")
+    Call<PageResponse<CoursesResponse>> getAllByProfessor(
+            @Query("professor") String professor,
+            @Query("page") int page,
+            @Query("size") int size
+    );
+
+    @CachePolicy(maxAgeSeconds = CATALOG_MAX_AGE_SECONDS, mustRevalidate = true)
+    @Headers(CborConverterFactory.ACCEPT_CBOR)
+    @GET("api/courses/search/byBranch")
+    Call<PageResponse<CoursesResponse>> getAllByBranch(
+            @Query("branch") String branch,
+            @Query("page") int page,
+            @Query("size") int size
+    );
 
 }
@@ -1,19 +1,32 @@
 package com.example.ritmofit.home.repository;
 
+import com.example.ritmofit.core.Cancellable;
 import com.example.ritmofit.core.DomainCallback;
+import com.example.ritmofit.core.paging.PageSource;
+import com.example.ritmofit.core.paging.PagedList;
 import com.example.ritmofit.home.model.Course;
 
 import java.util.List;
 
 public interface CourseRepository {
 
-    void getAllByName(String name, DomainCallback<List<Course>> callback);
-    void getAllByProfessor(String professor, DomainCallback<List<Course>> callback);
+    Cancellable getAllByName(String name, DomainCallback<List<Course>> callback);
+    Cancellable getAllByProfessor(String professor, DomainCallback<List<Course>> callback);
 
-    void getAllByBranch(String branch, DomainCallback<List<Course>> callback);
+    Cancellable getAllByBranch(String branch, DomainCallback<List<Course>> callback);
 
-    void getAllByDateBetween(String start, String end, DomainCallback<List<Course>> callback);
+    Cancellable getAllByDateBetween(String start, String end, DomainCallback<List<Course>> callback);
 
+    // Las mismas búsquedas, por páginas
 
+    PageSource<Course> pagedByName(String name);
 
+    PageSource<Course> pagedByProfessor(String professor);
+
+    PageSource<Course> pagedByBranch(String branch);
+
+    PageSource<Course> pagedByDateBetween(String start, String end);
+
+    // Tamaño de página y prefetch según la red, para un listado que arranca ahora
+    PagedList.Config pagingConfig();
 }
@@ -1,8 +1,17 @@
 package com.example.ritmofit.home.repository;
 
+import com.example.ritmofit.core.Cancellable;
 import com.example.ritmofit.core.DomainCallback;
+import com.example.ritmofit.core.connectivity.FetchPolicy;
+import com.example.ritmofit.core.http.CallCoalescer;
+import com.example.ritmofit.core.http.DecodedResponseCache;
+import com.example.ritmofit.core.http.RequestPriority;
+import com.example.ritmofit.core.paging.Page;
+import com.example.ritmofit.core.paging.PageSource;
+import com.example.ritmofit.core.paging.PagedList;
 import com.example.ritmofit.data.api.model.CourseResponse;
 import com.example.ritmofit.data.api.model.CoursesResponse;
+import com.example.ritmofit.data.api.model.PageMetadata;
 import com.example.ritmofit.data.api.model.PageResponse;
 import com.example.ritmofit.home.http.CoursesApi;
 import com.example.ritmofit.home.model.Course;
@@ -12,6 +21,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,10 +36,21 @@ import retrofit2.Response;
 public class CourseRepositoryImpl implements CourseRepository {
 
     private final CoursesApi api;
+    private final CallCoalescer coalescer;
+    private final DecodedResponseCache decodedResponseCache;
+    private final FetchPolicy fetchPolicy;
 
+    /**
+     * @param fetchPolicy adapta el paginado a la red; null para usar siempre el paginado por defecto
+     */
     @Inject
-    public CourseRepositoryImpl(CoursesApi api) {
+    public CourseRepositoryImpl(CoursesApi api, CallCoalescer coalescer,
+                                DecodedResponseCache decodedResponseCache,
+                                FetchPolicy fetchPolicy) {
         this.api = api;
+        this.coalescer = coalescer;
+        this.decodedResponseCache = decodedResponseCache;
+        this.fetchPolicy = fetchPolicy;
     }
 
     // Mapper de API → modelo de dominio
@@ -55,55 +76,156 @@ public class CourseRepositoryImpl implements CourseRepository {
     }
 
     @Override
-    public void getAllByName(String name, DomainCallback<List<Course>> callback) {
+    public Cancellable getAllByName(String name, DomainCallback<List<Course>> callback) {
         Call<PageResponse<CoursesResponse>> call = api.getAllBy(name);
-        enqueueCall(call, callback, "Error al buscar por nombre");
+        return enqueueCall(call, callback, "Error al buscar por nombre");
     }
 
     @Override
-    public void getAllByProfessor(String professor, DomainCallback<List<Course>> callback) {
+    public Cancellable getAllByProfessor(String professor, DomainCallback<List<Course>> callback) {
         Call<PageResponse<CoursesResponse>> call = api.getAllByProfessor(professor);
-        enqueueCall(call, callback, "Error al buscar por profesor");
+        return enqueueCall(call, callback, "Error al buscar por profesor");
     }
 
     @Override
-    public void getAllByDateBetween(String start, String end, DomainCallback<List<Course>> callback) {
-        // 👉 El DatePicker del fragment manda yyyy-MM-dd
-        // Acá lo convertimos a LocalDate y luego a LocalDateTime ISO
-        LocalDate startDate = LocalDate.parse(start, DateUtils.API_DATE_FORMATTER);
-        LocalDate endDate = LocalDate.parse(end, DateUtils.API_DATE_FORMATTER);
+    public Cancellable getAllByDateBetween(String start, String end, DomainCallback<List<Course>> callback) {
+        Call<PageResponse<CoursesResponse>> call = api.getAllByDateBetween(startOfDay(start), endOfDay(end));
+        return enqueueCall(call, callback, "Error al buscar por fecha");
+    }
 
-        String startIso = startDate.atStartOfDay().format(DateUtils.API_DATETIME_FORMATTER);
-        String endIso = endDate.atTime(23, 59, 59).format(DateUtils.API_DATETIME_FORMATTER);
+    // 👉 El DatePicker del fragment manda yyyy-MM-dd
+    // Acá lo convertimos a LocalDate y luego a LocalDateTime ISO
+    private static String startOfDay(String date) {
+        LocalDate startDate = LocalDate.parse(date, DateUtils.API_DATE_FORMATTER);
+        return startDate.atStartOfDay().format(DateUtils.API_DATETIME_FORMATTER);
+    }
 
-        Call<PageResponse<CoursesResponse>> call = api.getAllByDateBetween(startIso, endIso);
-        enqueueCall(call, callback, "Error al buscar por fecha");
+    private static String endOfDay(String date) {
+        LocalDate endDate = LocalDate.parse(date, DateUtils.API_DATE_FORMATTER);
+        return endDate.atTime(23, 59, 59).format(DateUtils.API_DATETIME_FORMATTER);
     }
 
     @Override
-    public void getAllByBranch(String branch, DomainCallback<List<Course>> callback) {
+    public Cancellable getAllByBranch(String branch, DomainCallback<List<Course>> callback) {
         Call<PageResponse<CoursesResponse>> call = api.getAllByBranch(branch);
-        enqueueCall(call, callback, "Error al buscar por sede");
+        return enqueueCall(call, callback, "Error al buscar por sede");
+    }
+
+    @Override
+    public PageSource<Course> pagedByName(String name) {
+        return (page, size, priority, callback) ->
+                enqueuePage(api.getAllBy(name, page, size), page, priority, callback, "Error al buscar por nombre");
+    }
+
+    @Override
+    public PageSource<Course> pagedByProfessor(String professor) {
+        return (page, size, priority, callback) ->
+                enqueuePage(api.getAllByProfessor(professor, page, size), page, priority, callback,
+                        "Error al buscar por profesor");
+    }
+
+    @Override
+    public PageSource<Course> pagedByBranch(String branch) {
+        return (page, size, priority, callback) ->
+                enqueuePage(api.getAllByBranch(branch, page, size), page, priority, callback,
+                        "Error al buscar por sede");
+    }
+
+    @Override
+    public PageSource<Course> pagedByDateBetween(String start, String end) {
+        String startIso = startOfDay(start);
+        String endIso = endOfDay(end);
+        return (page, size, priority, callback) ->
+                enqueuePage(api.getAllByDateBetween(startIso, endIso, page, size), page, priority, callback,
+                        "Error al buscar por fecha");
+    }
+
+    @Override
+    public PagedList.Config pagingConfig() {
+        return fetchPolicy != null ? fetchPolicy.coursePaging() : FetchPolicy.DEFAULT_PAGING;
+    }
+
+    static Page<Course> toPage(int number, PageResponse<CoursesResponse> body) {
+        // Una búsqueda sin resultados puede venir sin "_embedded"
+        List<CourseResponse> rows = body.getData() != null && body.getData().getCourses() != null
+                ? body.getData().getCourses()
+                : Collections.emptyList();
+        List<Course> courses = rows.stream()
+                .map(CourseRepositoryImpl::toModel)
+                .collect(Collectors.toList());
+        PageMetadata metadata = body.getPage();
+        int total = metadata != null ? (int) Math.min(metadata.getTotalElements(), Integer.MAX_VALUE) : -1;
+        return new Page<>(number, courses, total);
+    }
+
+    // La prioridad la decide quien pide la página: un filtro, la pantalla o un prefetch
+    private Cancellable enqueuePage(Call<PageResponse<CoursesResponse>> call, int page,
+                                    RequestPriority priority, DomainCallback<Page<Course>> callback,
+                                    String errorMessage) {
+        Page<Course> fresh = decodedResponseCache.getFresh(call.request());
+        if (fresh != null) {
+            callback.onSuccess(fresh);
+            return Cancellable.NONE;
+        }
+
+        return coalescer.enqueue(call, new Callback<>() {
+            @Override
+            public void onResponse(@NotNull Call<PageResponse<CoursesResponse>> call,
+                                   @NotNull Response<PageResponse<CoursesResponse>> response) {
+                Page<Course> notModified = decodedResponseCache.getNotModified(response);
+                if (notModified != null) {
+                    callback.onSuccess(notModified);
+                    return;
+                }
+                if (!response.isSuccessful() || response.body() == null) {
+                    callback.onError(new Exception(errorMessage));
+                    return;
+                }
+                Page<Course> result = toPage(page, response.body());
+                decodedResponseCache.store(response, result);
+                callback.onSuccess(result);
+            }
+
+            @Override
+            public void onFailure(@NotNull Call<PageResponse<CoursesResponse>> call,
+                                  @NotNull Throwable t) {
+                callback.onError(t);
+            }
+        }, priority);
     }
 
     // 🔹 Método común para reducir código repetido
-    private void enqueueCall(Call<PageResponse<CoursesResponse>> call,
+    private Cancellable enqueueCall(Call<PageResponse<CoursesResponse>> call,
                              DomainCallback<List<Course>> callback,
                              String errorMessage) {
-        call.enqueue(new Callback<>() {
+        // Catálogo todavía vigente: no hace falta ni la red ni el parseo
+        List<Course> fresh = decodedResponseCache.getFresh(call.request());
+        if (fresh != null) {
+            callback.onSuccess(fresh);
+            return Cancellable.NONE;
+        }
+
+        return coalescer.enqueue(call, new Callback<>() {
             @Override
             public void onResponse(@NotNull Call<PageResponse<CoursesResponse>> call,
                                    @NotNull Response<PageResponse<CoursesResponse>> response) {
+                // 304: el catálogo no cambió, reutilizamos los cursos ya decodificados
+                List<Course> notModified = decodedResponseCache.getNotModified(response);
+                if (notModified != null) {
+                    callback.onSuccess(notModified);
+                    return;
+                }
                 if (!response.isSuccessful() || response.body() == null) {
                     callback.onError(new Exception(errorMessage));
                     return;
                 }
-                List<Course> courses = response.body()
+                List<Course> courses = Collections.unmodifiableList(response.body()
                         .getData()
                         .getCourses()
                         .stream()
                         .map(CourseRepositoryImpl::toModel)
-                        .collect(Collectors.toList());
+                        .collect(Collectors.toList()));
+                decodedResponseCache.store(response, courses);
                 callback.onSuccess(courses);
             }
 
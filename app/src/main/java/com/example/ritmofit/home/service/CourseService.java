@@ -1,13 +1,22 @@
 package com.example.ritmofit.home.service;
 
+import com.example.ritmofit.core.Cancellable;
 import com.example.ritmofit.core.DomainCallback;
+import com.example.ritmofit.core.paging.PageSource;
+import com.example.ritmofit.core.paging.PagedList;
 import com.example.ritmofit.home.model.Course;
 
 import java.util.List;
 
 public interface CourseService {
-    void getAllByName(String name, DomainCallback<List<Course>> callback);
-    void getAllByProfessor(String professor, DomainCallback<List<Course>> callback);
-    void getAllByDateBetween(String start, String end, DomainCallback<List<Course>> callback);
-    void getAllByBranch(String branch, DomainCallback<List<Course>> callback); // 🔹 nuevo
+    Cancellable getAllByName(String name, DomainCallback<List<Course>> callback);
+    Cancellable getAllByProfessor(String professor, DomainCallback<List<Course>> callback);
+    Cancellable getAllByDateBetween(String start, String end, DomainCallback<List<Course>> callback);
+    Cancellable getAllByBranch(String branch, DomainCallback<List<Course>> callback); // 🔹 nuevo
+
+    PageSource<Course> pagedByName(String name);
+    PageSource<Course> pagedByProfessor(String professor);
+    PageSource<Course> pagedByBranch(String branch);
+    PageSource<Course> pagedByDateBetween(String start, String end);
+    PagedList.Config pagingConfig();
 }
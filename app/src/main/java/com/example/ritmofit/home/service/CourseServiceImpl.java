@@ -1,6 +1,9 @@
 package com.example.ritmofit.home.service;
 
+import com.example.ritmofit.core.Cancellable;
 import com.example.ritmofit.core.DomainCallback;
+import com.example.ritmofit.core.paging.PageSource;
+import com.example.ritmofit.core.paging.PagedList;
 import com.example.ritmofit.home.model.Course;
 import com.example.ritmofit.home.repository.CourseRepository;
 
@@ -20,22 +23,47 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
-    public void getAllByName(String name, DomainCallback<List<Course>> callback) {
-        repository.getAllByName(name, callback);
+    public Cancellable getAllByName(String name, DomainCallback<List<Course>> callback) {
+        return repository.getAllByName(name, callback);
     }
 
     @Override
-    public void getAllByBranch(String branch, DomainCallback<List<Course>> callback) {
-        repository.getAllByBranch(branch, callback);
+    public Cancellable getAllByBranch(String branch, DomainCallback<List<Course>> callback) {
+        return repository.getAllByBranch(branch, callback);
     }
 
     @Override
-    public void getAllByProfessor(String professor, DomainCallback<List<Course>> callback) {
-        repository.getAllByProfessor(professor, callback);
+    public Cancellable getAllByProfessor(String professor, DomainCallback<List<Course>> callback) {
+        return repository.getAllByProfessor(professor, callback);
     }
 
     @Override
-    public void getAllByDateBetween(String start, String end, DomainCallback<List<Course>> callback) {
-        repository.getAllByDateBetween(start, end, callback);
+    public Cancellable getAllByDateBetween(String start, String end, DomainCallback<List<Course>> callback) {
+        return repository.getAllByDateBetween(start, end, callback);
+    }
+
+    @Override
+    public PageSource<Course> pagedByName(String name) {
+        return repository.pagedByName(name);
+    }
+
+    @Override
+    public PageSource<Course> pagedByProfessor(String professor) {
+        return repository.pagedByProfessor(professor);
+    }
+
+    @Override
+    public PageSource<Course> pagedByBranch(String branch) {
+        return repository.pagedByBranch(branch);
+    }
+
+    @Override
+    public PageSource<Course> pagedByDateBetween(String start, String end) {
+        return repository.pagedByDateBetween(start, end);
+    }
+
+    @Override
+    public PagedList.Config pagingConfig() {
+        return repository.pagingConfig();
     }
 }
@@ -0,0 +1,156 @@
+package com.example.ritmofit.home.ui;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.ritmofit.R;
+import com.example.ritmofit.core.http.RequestPriority;
+import com.example.ritmofit.core.paging.PageSource;
+import com.example.ritmofit.core.paging.PagedList;
+import com.example.ritmofit.home.model.Course;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Adapter del catálogo del Home sobre un {@link PagedList}: las tarjetas de páginas que
+ * todavía no llegaron se muestran como placeholders y al bindear se piden las siguientes.
+ */
+public class CourseAdapter extends RecyclerView.Adapter<CourseAdapter.CourseViewHolder> {
+
+    public interface Listener {
+        void onCourseClick(View view, Course course);
+
+        /**
+         * Llegó la primera página de la búsqueda actual
+         */
+        void onLoaded(boolean empty);
+
+        void onError(Throwable error);
+    }
+
+    private final Executor mainExecutor;
+    private final Listener listener;
+
+    private PagedList<Course> courses;
+    // Se actualiza sólo en el hilo principal, al aplicar cada aviso de la lista
+    private int count;
+
+    public CourseAdapter(Executor mainExecutor, Listener listener) {
+        this.mainExecutor = mainExecutor;
+        this.listener = listener;
+    }
+
+    /**
+     * Reemplaza el listado por una nueva búsqueda
+     * @param config tamaño de página y prefetch para esta búsqueda
+     * @param priority prioridad de la primera página
+     * @return la lista paginada, para cancelarla junto con la vista
+     */
+    public PagedList<Course> submit(PageSource<Course> source, PagedList.Config config,
+                                    RequestPriority priority) {
+        Updates updates = new Updates();
+        PagedList<Course> list = new PagedList<>(source, config, mainExecutor, updates);
+        updates.list = list;
+
+        int removed = count;
+        courses = list;
+        count = 0;
+        if (removed > 0) {
+            notifyItemRangeRemoved(0, removed);
+        }
+        list.start(priority);
+        return list;
+    }
+
+    @NonNull
+    @Override
+    public CourseViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_course, parent, false);
+        return new CourseViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull CourseViewHolder holder, int position) {
+        holder.bind(courses.get(position), listener);
+    }
+
+    @Override
+    public int getItemCount() {
+        return count;
+    }
+
+    // Avisos de una lista; los de una búsqueda ya reemplazada se ignoran
+    private final class Updates implements PagedList.Listener {
+        PagedList<Course> list;
+
+        @Override
+        public void onItemRangeInserted(int start, int itemCount) {
+            if (list == courses) {
+                count += itemCount;
+                notifyItemRangeInserted(start, itemCount);
+            }
+        }
+
+        @Override
+        public void onItemRangeRemoved(int start, int itemCount) {
+            if (list == courses) {
+                count -= itemCount;
+                notifyItemRangeRemoved(start, itemCount);
+            }
+        }
+
+        @Override
+        public void onItemRangeChanged(int start, int itemCount) {
+            if (list == courses) {
+                notifyItemRangeChanged(start, itemCount);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            if (list == courses) {
+                listener.onError(error);
+            }
+        }
+
+        @Override
+        public void onInitialLoad(int size) {
+            if (list == courses) {
+                listener.onLoaded(size == 0);
+            }
+        }
+    }
+
+    static class CourseViewHolder extends RecyclerView.ViewHolder {
+        private final TextView nameTextView;
+        private final TextView descTextView;
+        private final TextView professorTextView;
+
+        CourseViewHolder(@NonNull View itemView) {
+            super(itemView);
+            nameTextView = itemView.findViewById(R.id.courseName);
+            descTextView = itemView.findViewById(R.id.courseDescription);
+            professorTextView = itemView.findViewById(R.id.courseProfessor);
+        }
+
+        void bind(Course course, Listener listener) {
+            if (course == null) {
+                // Placeholder: la página está en camino
+                nameTextView.setText("Cargando…");
+                descTextView.setText("");
+                professorTextView.setText("");
+                itemView.setOnClickListener(null);
+                return;
+            }
+            nameTextView.setText(course.getName() != null ? course.getName() : "");
+            descTextView.setText(course.getDescription() != null ? course.getDescription() : "");
+            professorTextView.setText(course.getProfessor() != null ? course.getProfessor() : "");
+            itemView.setOnClickListener(v -> listener.onCourseClick(v, course));
+        }
+    }
+}
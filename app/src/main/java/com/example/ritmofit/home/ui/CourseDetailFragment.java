@@ -55,7 +55,13 @@ public class CourseDetailFragment extends Fragment {
 
         if (course != null) {
             displayCourseData();
-            updateEnrollButtonState();
+            // Hasta que se carguen las inscripciones no se sabe si ya está inscrito
+            btnEnroll.setEnabled(false);
+            enrollmentService.whenLoaded(() -> {
+                if (getView() != null) {
+                    updateEnrollButtonState();
+                }
+            });
         } else {
             Toast.makeText(getContext(), "Error: No se encontró información del curso", Toast.LENGTH_LONG).show();
         }
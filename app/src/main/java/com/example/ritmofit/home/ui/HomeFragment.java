@@ -7,17 +7,21 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.Button;
 import android.widget.EditText;
-import android.widget.LinearLayout;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 import androidx.navigation.Navigation;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.ritmofit.R;
-import com.example.ritmofit.core.DomainCallback;
+import com.example.ritmofit.core.CallRegistry;
+import com.example.ritmofit.core.http.RequestPriority;
+import com.example.ritmofit.core.paging.PageSource;
 import com.example.ritmofit.home.model.Course;
 import com.example.ritmofit.home.service.CourseService;
 import com.example.ritmofit.utils.DateUtils;
@@ -25,7 +29,6 @@ import com.google.android.material.bottomsheet.BottomSheetDialog;
 
 import java.time.LocalDate;
 import java.util.Calendar;
-import java.util.List;
 
 import javax.inject.Inject;
 
@@ -34,11 +37,17 @@ import dagger.hilt.android.AndroidEntryPoint;
 @AndroidEntryPoint
 public class HomeFragment extends Fragment {
 
+    // Un solo listado en pantalla: cada filtro reemplaza al anterior
+    private static final String COURSES_KEY = "courses";
+
     @Inject
     CourseService courseService;
 
-    private LinearLayout coursesContainerLayout;
+    private RecyclerView coursesRecyclerView;
+    private TextView emptyCoursesText;
     private Button btnOpenFilters;
+    private CourseAdapter adapter;
+    private CallRegistry calls;
 
     @Nullable
     @Override
@@ -50,23 +59,43 @@ public class HomeFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
 
-        coursesContainerLayout = view.findViewById(R.id.coursesContainerLayout);
+        // Las llamadas pendientes se cancelan junto con la vista
+        calls = CallRegistry.bindTo(getViewLifecycleOwner());
+
+        coursesRecyclerView = view.findViewById(R.id.coursesRecyclerView);
+        emptyCoursesText = view.findViewById(R.id.emptyCoursesText);
         btnOpenFilters = view.findViewById(R.id.btnOpenFilters);
 
-        if (coursesContainerLayout == null) {
-            Toast.makeText(getContext(), "Error: No se encontró el contenedor de cursos", Toast.LENGTH_LONG).show();
-            return;
-        }
+        adapter = new CourseAdapter(ContextCompat.getMainExecutor(requireContext()),
+                new CourseAdapter.Listener() {
+                    @Override
+                    public void onCourseClick(View view, Course course) {
+                        openCourse(view, course);
+                    }
+
+                    @Override
+                    public void onLoaded(boolean empty) {
+                        emptyCoursesText.setVisibility(empty ? View.VISIBLE : View.GONE);
+                        coursesRecyclerView.setVisibility(empty ? View.GONE : View.VISIBLE);
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        showError(error);
+                    }
+                });
+        coursesRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
+        coursesRecyclerView.setAdapter(adapter);
 
         // Cargar todos los cursos al inicio
-        loadAllCourses();
+        loadAllCourses(RequestPriority.VISIBLE);
 
         // Configurar el botón de filtros
         btnOpenFilters.setOnClickListener(v -> openFiltersDialog());
     }
 
-    private void loadAllCourses() {
-        loadByName(""); // Cargar todos los cursos
+    private void loadAllCourses(RequestPriority priority) {
+        loadByName("", priority); // Cargar todos los cursos
     }
 
     private void openFiltersDialog() {
@@ -123,126 +152,54 @@ public class HomeFragment extends Fragment {
     }
 
     private void applyFilters(String name, String professor, String branch, String start, String end) {
+        // El usuario acaba de tocar "Aplicar" y espera el resultado
+        RequestPriority priority = RequestPriority.USER_BLOCKING;
         if (!name.isEmpty()) {
-            loadByName(name);
+            loadByName(name, priority);
         } else if (!professor.isEmpty()) {
-            loadByProfessor(professor);
+            loadByProfessor(professor, priority);
         } else if (!branch.isEmpty()) {
-            loadByBranch(branch);
+            loadByBranch(branch, priority);
         } else if (!start.isEmpty() && !end.isEmpty()) {
-            loadByDate(start, end);
+            loadByDate(start, end, priority);
         } else {
             // Si no hay filtros → mostrar todos los cursos
-            loadAllCourses();
+            loadAllCourses(priority);
         }
     }
 
-    private void loadByName(String name) {
-        courseService.getAllByName(name, new DomainCallback<List<Course>>() {
-            @Override
-            public void onSuccess(List<Course> courses) {
-                updateCourseCards(courses);
-            }
-
-            @Override
-            public void onError(Throwable error) {
-                showError(error);
-            }
-        });
+    private void loadByName(String name, RequestPriority priority) {
+        showCourses(courseService.pagedByName(name), priority);
     }
 
-    private void loadByProfessor(String professor) {
-        courseService.getAllByProfessor(professor, new DomainCallback<List<Course>>() {
-            @Override
-            public void onSuccess(List<Course> courses) {
-                updateCourseCards(courses);
-            }
-
-            @Override
-            public void onError(Throwable error) {
-                showError(error);
-            }
-        });
+    private void loadByProfessor(String professor, RequestPriority priority) {
+        showCourses(courseService.pagedByProfessor(professor), priority);
     }
 
-    private void loadByBranch(String branch) {
-        courseService.getAllByBranch(branch, new DomainCallback<List<Course>>() {
-            @Override
-            public void onSuccess(List<Course> courses) {
-                updateCourseCards(courses);
-            }
-
-            @Override
-            public void onError(Throwable error) {
-                showError(error);
-            }
-        });
+    private void loadByBranch(String branch, RequestPriority priority) {
+        showCourses(courseService.pagedByBranch(branch), priority);
     }
 
-    private void loadByDate(String start, String end) {
-        courseService.getAllByDateBetween(start, end, new DomainCallback<List<Course>>() {
-            @Override
-            public void onSuccess(List<Course> courses) {
-                updateCourseCards(courses);
-            }
-
-            @Override
-            public void onError(Throwable error) {
-                showError(error);
-            }
-        });
+    private void loadByDate(String start, String end, RequestPriority priority) {
+        showCourses(courseService.pagedByDateBetween(start, end), priority);
     }
 
-    private void updateCourseCards(List<Course> courses) {
-        requireActivity().runOnUiThread(() -> {
-            coursesContainerLayout.removeAllViews();
-            LayoutInflater inflater = LayoutInflater.from(getContext());
-
-            if (courses.isEmpty()) {
-                // Mostrar mensaje cuando no hay cursos
-                TextView emptyView = new TextView(getContext());
-                emptyView.setText("No se encontraron cursos");
-                emptyView.setTextSize(16f);
-                emptyView.setPadding(32, 32, 32, 32);
-                emptyView.setGravity(android.view.Gravity.CENTER);
-                coursesContainerLayout.addView(emptyView);
-                return;
-            }
-
-            for (Course course : courses) {
-                // Inflar la tarjeta del curso
-                View itemCardView = inflater.inflate(
-                        R.layout.item_course,
-                        coursesContainerLayout,
-                        false
-                );
-
-                TextView nameTextView = itemCardView.findViewById(R.id.courseName);
-                TextView descTextView = itemCardView.findViewById(R.id.courseDescription);
-                TextView professorTextView = itemCardView.findViewById(R.id.courseProfessor);
-
-                if (nameTextView != null) {
-                    nameTextView.setText(course.getName() != null ? course.getName() : "");
-                }
-                if (descTextView != null) {
-                    descTextView.setText(course.getDescription() != null ? course.getDescription() : "");
-                }
-                if (professorTextView != null) {
-                    professorTextView.setText(course.getProfessor() != null ? course.getProfessor() : "");
-                }
-
-                itemCardView.setOnClickListener(v -> {
-                    Bundle args = new Bundle();
-                    args.putParcelable("course", course);
-                    Navigation.findNavController(v).navigate(
-                            R.id.action_homeFragment_to_detailFragment,
-                            args
-                    );
-                });
+    private void showCourses(PageSource<Course> source, RequestPriority priority) {
+        // La búsqueda anterior (y sus páginas en vuelo) se cancela al empezar la nueva
+        CallRegistry.Generation generation = calls.next(COURSES_KEY);
+        emptyCoursesText.setVisibility(View.GONE);
+        coursesRecyclerView.setVisibility(View.VISIBLE);
+        // El paginado se elige con la red del momento en que arranca la búsqueda
+        generation.track(adapter.submit(source, courseService.pagingConfig(), priority));
+    }
 
-                coursesContainerLayout.addView(itemCardView);
-            }
-        });
+    private void openCourse(View view, Course course) {
+        Bundle args = new Bundle();
+        args.putParcelable("course", course);
+        Navigation.findNavController(view).navigate(
+                R.id.action_homeFragment_to_detailFragment,
+                args
+        );
     }
 
     private void showError(Throwable error) {
@@ -97,6 +97,25 @@ public class DateRange {
         return afterFrom && beforeTo;
     }
 
+    /**
+     * Checks if this range fully includes another range.
+     * A null bound is open-ended, so it only covers another open bound or any date.
+     * @param other the range to check
+     * @return true if every date in other also falls within this range
+     */
+    public boolean covers(DateRange other) {
+        if (other == null) {
+            return false;
+        }
+
+        boolean fromCovered = fromDate == null
+                || (other.fromDate != null && !other.fromDate.isBefore(fromDate));
+        boolean toCovered = toDate == null
+                || (other.toDate != null && !other.toDate.isAfter(toDate));
+
+        return fromCovered && toCovered;
+    }
+
     // API formatting methods
 
     /**
@@ -0,0 +1,175 @@
+package com.example.ritmofit.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Set of dates kept as sorted, non-overlapping ranges.
+ * Used to plan history fetches: it records which ranges are already loaded and, for a new
+ * range, returns only the sub-ranges that are still missing.
+ * A null fromDate or toDate is an open bound, as in DateRange.
+ */
+public class DateRangeSet {
+
+    private static final long OPEN_START = Long.MIN_VALUE;
+    private static final long OPEN_END = Long.MAX_VALUE;
+
+    // Inclusive [from, to] epoch days, sorted; adjacent ranges are merged
+    private final List<long[]> ranges = new ArrayList<>();
+
+    public DateRangeSet() {
+    }
+
+    /**
+     * Creates a copy of another set
+     * @param other the set to copy
+     */
+    public DateRangeSet(DateRangeSet other) {
+        for (long[] range : other.ranges) {
+            ranges.add(range.clone());
+        }
+    }
+
+    /**
+     * Adds a range, merging it with the ranges it overlaps or touches
+     * @param range the range to add; invalid ranges are ignored
+     */
+    public void add(DateRange range) {
+        if (range == null || !range.isValid()) {
+            return;
+        }
+        long from = fromDay(range.getFromDate());
+        long to = toDay(range.getToDate());
+
+        List<long[]> merged = new ArrayList<>();
+        long[] added = {from, to};
+        boolean placed = false;
+        for (long[] existing : ranges) {
+            if (added[0] != OPEN_START && existing[1] < added[0] - 1) {
+                merged.add(existing);
+            } else if (added[1] != OPEN_END && existing[0] > added[1] + 1) {
+                if (!placed) {
+                    merged.add(added);
+                    placed = true;
+                }
+                merged.add(existing);
+            } else {
+                added[0] = Math.min(added[0], existing[0]);
+                added[1] = Math.max(added[1], existing[1]);
+            }
+        }
+        if (!placed) {
+            merged.add(added);
+        }
+        ranges.clear();
+        ranges.addAll(merged);
+    }
+
+    /**
+     * Computes the minimal list of sub-ranges of the given range that are not in this set
+     * @param range the range to check
+     * @return missing ranges in ascending order; empty if the whole range is covered
+     */
+    public List<DateRange> missing(DateRange range) {
+        List<DateRange> gaps = new ArrayList<>();
+        if (range == null || !range.isValid()) {
+            return gaps;
+        }
+        long from = fromDay(range.getFromDate());
+        long to = toDay(range.getToDate());
+
+        long next = from;
+        for (long[] existing : ranges) {
+            if (existing[1] < next) {
+                continue;
+            }
+            if (existing[0] > to) {
+                break;
+            }
+            if (existing[0] > next) {
+                gaps.add(toRange(next, existing[0] - 1));
+            }
+            if (existing[1] >= to) {
+                return gaps;
+            }
+            next = existing[1] + 1;
+        }
+        gaps.add(toRange(next, to));
+        return gaps;
+    }
+
+    /**
+     * Checks if every date of the given range is in this set
+     * @param range the range to check
+     * @return true if nothing of the range is missing
+     */
+    public boolean covers(DateRange range) {
+        return range != null && range.isValid() && missing(range).isEmpty();
+    }
+
+    /**
+     * Returns the ranges of this set
+     * @return ranges in ascending order
+     */
+    public List<DateRange> getRanges() {
+        List<DateRange> result = new ArrayList<>();
+        for (long[] range : ranges) {
+            result.add(toRange(range[0], range[1]));
+        }
+        return result;
+    }
+
+    /**
+     * Joins consecutive ranges that are only a few days apart, so they can be fetched as one
+     * @param ranges ranges in ascending order, not overlapping (as returned by missing)
+     * @param maxDaysBetween how many days may separate two ranges that are joined
+     * @return the joined ranges, in ascending order
+     */
+    public static List<DateRange> bridge(List<DateRange> ranges, int maxDaysBetween) {
+        List<DateRange> result = new ArrayList<>();
+        DateRange current = null;
+        for (DateRange range : ranges) {
+            if (current != null && current.getToDate() != null && range.getFromDate() != null
+                    && range.getFromDate().toEpochDay() - current.getToDate().toEpochDay() - 1 <= maxDaysBetween) {
+                current = new DateRange(current.getFromDate(), range.getToDate());
+            } else {
+                if (current != null) {
+                    result.add(current);
+                }
+                current = range;
+            }
+        }
+        if (current != null) {
+            result.add(current);
+        }
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+
+    public void clear() {
+        ranges.clear();
+    }
+
+    private static long fromDay(LocalDate date) {
+        return date != null ? date.toEpochDay() : OPEN_START;
+    }
+
+    private static long toDay(LocalDate date) {
+        return date != null ? date.toEpochDay() : OPEN_END;
+    }
+
+    private static DateRange toRange(long from, long to) {
+        return new DateRange(
+                from == OPEN_START ? null : LocalDate.ofEpochDay(from),
+                to == OPEN_END ? null : LocalDate.ofEpochDay(to));
+    }
+
+    @Override
+    public String toString() {
+        return "DateRangeSet" + getRanges();
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.ritmofit.profile.http;
 
+import com.example.ritmofit.core.http.CachePolicy;
+import com.example.ritmofit.core.http.CallPriority;
+import com.example.ritmofit.core.http.RequestPriority;
 import com.example.ritmofit.profile.model.UpdateUserRequest;
 import com.example.ritmofit.profile.model.UserResponse;
 
@@ -11,9 +14,11 @@ import retrofit2.http.Path;
 
 public interface UsersApi {
 
+    @CachePolicy(noStore = true)
     @GET("/api/users/me")
     Call<UserResponse> getCurrentUser();
 
+    @CallPriority(RequestPriority.USER_BLOCKING)
     @PUT("/api/users/{id}")
     Call<UserResponse> updateById(@Path("id") Long id, @Body UpdateUserRequest body);
 }
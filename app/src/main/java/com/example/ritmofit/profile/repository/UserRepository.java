@@ -1,11 +1,12 @@
 package com.example.ritmofit.profile.repository;
 
+import com.example.ritmofit.core.Cancellable;
 import com.example.ritmofit.core.DomainCallback;
 import com.example.ritmofit.profile.model.UpdateUserRequest;
 import com.example.ritmofit.profile.model.User;
 
 public interface UserRepository {
-    void currentUser(DomainCallback<User> callback);
+    Cancellable currentUser(DomainCallback<User> callback);
 
-    void saveUser(Long id, UpdateUserRequest req, DomainCallback<User>callback);
+    Cancellable saveUser(Long id, UpdateUserRequest req, DomainCallback<User>callback);
 }
@@ -2,7 +2,9 @@ package com.example.ritmofit.profile.repository;
 
 import androidx.annotation.NonNull;
 
+import com.example.ritmofit.core.Cancellable;
 import com.example.ritmofit.core.DomainCallback;
+import com.example.ritmofit.core.http.CallCoalescer;
 import com.example.ritmofit.profile.http.UsersApi;
 import com.example.ritmofit.profile.model.UpdateUserRequest;
 import com.example.ritmofit.profile.model.User;
@@ -17,16 +19,18 @@ import retrofit2.Response;
 public class UserRepositoryImpl implements UserRepository {
 
     private final UsersApi api;
+    private final CallCoalescer coalescer;
 
     @Inject
-    public UserRepositoryImpl(UsersApi api) {
+    public UserRepositoryImpl(UsersApi api, CallCoalescer coalescer) {
         this.api = api;
+        this.coalescer = coalescer;
     }
 
     @Override
-    public void currentUser(DomainCallback<User> callback) {
+    public Cancellable currentUser(DomainCallback<User> callback) {
         Call<UserResponse> call = api.getCurrentUser();
-        call.enqueue(new Callback<>() {
+        return coalescer.enqueue(call, new Callback<>() {
             @Override
             public void onResponse(Call<UserResponse> call, Response<UserResponse> response) {
                 if (!response.isSuccessful() || response.body() == null) {
@@ -54,9 +58,9 @@ public class UserRepositoryImpl implements UserRepository {
         });
     }
 
-    public void saveUser(Long id, UpdateUserRequest req, DomainCallback<User> callback) {
+    public Cancellable saveUser(Long id, UpdateUserRequest req, DomainCallback<User> callback) {
         Call<UserResponse> call = api.updateById(id, req);
-        call.enqueue(new Callback<>() {
+        return coalescer.enqueue(call, new Callback<>() {
             @Override
             public void onResponse(@NonNull Call<UserResponse> call, @NonNull Response<UserResponse> resp) {
                 if (!resp.isSuccessful()) {
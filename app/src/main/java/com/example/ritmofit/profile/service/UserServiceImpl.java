@@ -1,5 +1,6 @@
 package com.example.ritmofit.profile.service;
 
+import com.example.ritmofit.core.Cancellable;
 import com.example.ritmofit.core.DomainCallback;
 import com.example.ritmofit.profile.model.UpdateUserRequest;
 import com.example.ritmofit.profile.model.User;
@@ -17,12 +18,12 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public void fetchCurrentUser(DomainCallback<User> callback) {
-        repository.currentUser(callback);
+    public Cancellable fetchCurrentUser(DomainCallback<User> callback) {
+        return repository.currentUser(callback);
     }
 
     @Override
-    public void saveUser(Long id, UpdateUserRequest req, DomainCallback<User> cb) {
-        repository.saveUser(id, req, cb);
+    public Cancellable saveUser(Long id, UpdateUserRequest req, DomainCallback<User> cb) {
+        return repository.saveUser(id, req, cb);
     }
 }
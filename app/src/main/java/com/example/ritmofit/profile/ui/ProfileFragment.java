@@ -3,6 +3,7 @@ package com.example.ritmofit.profile.ui;
 import android.annotation.SuppressLint;
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.content.pm.ApplicationInfo;
 import android.os.Bundle;
 
 import androidx.annotation.NonNull;
@@ -23,6 +24,7 @@ import android.widget.Toast;
 
 import com.example.ritmofit.R;
 import com.example.ritmofit.auth.repository.TokenRepository;
+import com.example.ritmofit.core.CallRegistry;
 import com.example.ritmofit.core.DomainCallback;
 import com.example.ritmofit.profile.model.UpdateUserRequest;
 import com.example.ritmofit.profile.model.User;
@@ -46,6 +48,10 @@ public class ProfileFragment extends Fragment {
     private Button btnEditarGuardar, btnCancelar, btnLogout;
 
     private boolean editing = false;
+
+    // Llamadas de esta vista; se cancelan en onDestroyView
+    private CallRegistry calls;
+
     @Inject
     UserService service;
 
@@ -81,8 +87,6 @@ public class ProfileFragment extends Fragment {
         tvDireccion.setText(prefs.getString("USER_DIRECCION", "—"));
         tvTelefono.setText(prefs.getString("USER_TELEFONO", "—"));
 
-        getUser();
-
         btnEditarGuardar.setOnClickListener(view -> {
             if (!editing) enterEditMode();
             else saveChanges();
@@ -97,11 +101,22 @@ public class ProfileFragment extends Fragment {
     @Override
     public void onViewCreated(@NonNull View view, Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
+        calls = CallRegistry.bindTo(getViewLifecycleOwner());
+        getUser();
+
         btnLogout.setOnClickListener(v -> {
             tokenRepository.clearToken();
             Navigation.findNavController(view)
                     .navigate(R.id.action_profileFragment_to_mainActivity);
         });
+
+        // Métricas de red, sólo en builds de desarrollo
+        if ((requireContext().getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+            view.findViewById(R.id.imgAvatar).setOnLongClickListener(v -> {
+                Navigation.findNavController(view).navigate(R.id.action_profileFragment_to_networkMetrics);
+                return true;
+            });
+        }
     }
 
     private void enterEditMode() {
@@ -145,10 +160,10 @@ public class ProfileFragment extends Fragment {
     }
 
     void getUser() {
-        service.fetchCurrentUser(new DomainCallback<>() {
+        CallRegistry.Generation generation = calls.next("user");
+        generation.track(service.fetchCurrentUser(generation.guard(new DomainCallback<>() {
             @Override
             public void onSuccess(User result) {
-                if (!isAdded()) return; // el fragment ya no está en pantalla
                 user = result;
                 tvNombre.setText(result.getName());
                 tvEmail.setText(result.getEmail());
@@ -163,11 +178,13 @@ public class ProfileFragment extends Fragment {
             public void onError(Throwable error) {
                 Toast.makeText(requireContext(), "Error al cargar perfil: " + error.getMessage(), Toast.LENGTH_LONG).show();
             }
-        });
+        })));
     }
     void saveUser(Long id){
         UpdateUserRequest UpdateUserRequest = new UpdateUserRequest(etNombre.getText().toString(), etDireccion.getText().toString(), etTelefono.getText().toString(),user.getPhotoUrl(), user.getPassword(), user.getRole(),user.getEmail(), id);
-        service.saveUser(id, UpdateUserRequest,new DomainCallback<>() {
+        // El guardado no se cancela al salir: sólo se descarta la respuesta si la vista ya no existe
+        CallRegistry.Generation generation = calls.next("saveUser");
+        service.saveUser(id, UpdateUserRequest, generation.guard(new DomainCallback<>() {
             @Override
             public void onSuccess(User result) {
                 Toast.makeText(requireContext(), "Perfil actualizado", Toast.LENGTH_SHORT).show();
@@ -178,6 +195,6 @@ public class ProfileFragment extends Fragment {
             public void onError(Throwable error) {
                 Toast.makeText(requireContext(), "Error al guardar los cambios: " + error.getMessage(), Toast.LENGTH_LONG).show();
             }
-        });
+        }));
     }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.example.ritmofit.reservas.repository;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import com.example.ritmofit.home.model.Course;
+
+import java.time.LocalDateTime;
+
+/**
+ * Esquema SQLite de las inscripciones: una fila por curso, con el nombre como clave primaria.
+ * La clave es un índice B-tree, así que buscar, insertar o borrar un curso es O(log n) y no
+ * reescribe el resto.
+ */
+class EnrollmentDbHelper extends SQLiteOpenHelper {
+
+    static final String DB_NAME = "enrollments.db";
+    static final int DB_VERSION = 1;
+
+    static final String TABLE = "enrollments";
+    static final String COL_NAME = "course_name";
+    static final String COL_DESCRIPTION = "description";
+    static final String COL_PROFESSOR = "professor";
+    static final String COL_BRANCH = "branch";
+    static final String COL_STARTS_AT = "starts_at";
+    static final String COL_ENDS_AT = "ends_at";
+    static final String COL_ENROLLED_AT = "enrolled_at";
+
+    EnrollmentDbHelper(Context context) {
+        super(context, DB_NAME, null, DB_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE + " ("
+                + COL_NAME + " TEXT NOT NULL PRIMARY KEY, "
+                + COL_DESCRIPTION + " TEXT, "
+                + COL_PROFESSOR + " TEXT, "
+                + COL_BRANCH + " TEXT, "
+                + COL_STARTS_AT + " TEXT, "   // ISO-8601, como en el Parcelable de Course
+                + COL_ENDS_AT + " TEXT, "
+                + COL_ENROLLED_AT + " INTEGER NOT NULL)");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Versión única por ahora
+    }
+
+    static ContentValues toValues(Course course, long enrolledAtMillis) {
+        ContentValues values = new ContentValues();
+        values.put(COL_NAME, course.getName());
+        values.put(COL_DESCRIPTION, course.getDescription());
+        values.put(COL_PROFESSOR, course.getProfessor());
+        values.put(COL_BRANCH, course.getBranch());
+        values.put(COL_STARTS_AT, course.getStartsAt() != null ? course.getStartsAt().toString() : null);
+        values.put(COL_ENDS_AT, course.getEndsAt() != null ? course.getEndsAt().toString() : null);
+        values.put(COL_ENROLLED_AT, enrolledAtMillis);
+        return values;
+    }
+
+    static Course fromCursor(Cursor cursor) {
+        String startsAt = cursor.getString(cursor.getColumnIndexOrThrow(COL_STARTS_AT));
+        String endsAt = cursor.getString(cursor.getColumnIndexOrThrow(COL_ENDS_AT));
+        return new Course(
+                cursor.getString(cursor.getColumnIndexOrThrow(COL_NAME)),
+                cursor.getString(cursor.getColumnIndexOrThrow(COL_DESCRIPTION)),
+                cursor.getString(cursor.getColumnIndexOrThrow(COL_PROFESSOR)),
+                cursor.getString(cursor.getColumnIndexOrThrow(COL_BRANCH)),
+                startsAt != null ? LocalDateTime.parse(startsAt) : null,
+                endsAt != null ? LocalDateTime.parse(endsAt) : null);
+    }
+}
@@ -39,4 +39,17 @@ public interface EnrollmentRepository {
      * Limpiar todas las inscripciones
      */
     void clearAllEnrollments();
+    
+    /**
+     * Ejecutar una acción en el hilo principal cuando las inscripciones guardadas ya están en memoria
+     * Antes de eso las lecturas sólo ven los cambios hechos en esta sesión
+     * @param action lo que se ejecuta; enseguida si ya se cargaron
+     */
+    void whenLoaded(Runnable action);
+    
+    /**
+     * Empezar ya a escribir los cambios que todavía estén sólo en memoria
+     * No espera a que terminen de escribirse
+     */
+    void flush();
 }
@@ -1,17 +1,21 @@
 package com.example.ritmofit.reservas.repository;
 
 import android.content.Context;
-import android.content.SharedPreferences;
 import android.util.Log;
 
+import androidx.core.content.ContextCompat;
+
 import com.example.ritmofit.home.model.Course;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 
-import java.lang.reflect.Type;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -19,104 +23,214 @@ import javax.inject.Singleton;
 import dagger.hilt.android.qualifiers.ApplicationContext;
 
 /**
- * Implementación del repositorio de inscripciones usando SharedPreferences
- * Almacena los cursos inscritos en formato JSON
+ * Implementación del repositorio de inscripciones con un índice en memoria
+ * El índice (por nombre de curso) se carga una vez desde SQLite en un hilo de I/O y todas las
+ * lecturas se responden desde ahí, sin esperar a la carga: lo que se cambia antes de que termine
+ * se aplica encima de lo guardado, y {@link #whenLoaded(Runnable)} avisa cuando el índice está
+ * completo. Los cambios se aplican al índice en el momento y se escriben después, juntos, en una
+ * sola transacción; {@link #flush()} los escribe ya, y la app lo llama al pasar a segundo plano.
+ * Si una escritura falla se reintenta sola, cada vez más espaciada.
  */
 @Singleton
 public class EnrollmentRepositoryImpl implements EnrollmentRepository {
     
     private static final String TAG = "EnrollmentRepository";
-    private static final String PREFS_NAME = "enrollment_preferences";
-    private static final String KEY_ENROLLED_COURSES = "enrolled_courses";
     
-    private final SharedPreferences sharedPreferences;
-    private final Gson gson;
+    /** Los cambios que llegan dentro de esta ventana se escriben en la misma transacción */
+    static final long FLUSH_DELAY_MILLIS = 500;
+    
+    /** Tope de espera entre reintentos de una escritura que falló */
+    static final long MAX_RETRY_DELAY_MILLIS = 30_000;
+    
+    private final EnrollmentStore store;
+    private final ScheduledExecutorService io;
+    private final Executor main;
+    
+    // Todo lo que sigue se protege con el lock de this
+    private final Map<String, Course> index = new LinkedHashMap<>();
+    // Cambios sin escribir: el curso para altas, null para bajas
+    private final Map<String, Course> pending = new LinkedHashMap<>();
+    private final List<Runnable> waitingForLoad = new ArrayList<>();
+    private boolean loaded;
+    private boolean pendingClear;
+    private ScheduledFuture<?> scheduledFlush;
+    private int failedFlushes;
+    private int flushCount;
     
     @Inject
     public EnrollmentRepositoryImpl(@ApplicationContext Context context) {
-        this.sharedPreferences = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        this.gson = new Gson();
+        this(new SqliteEnrollmentStore(context), Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "enrollment-io");
+            thread.setDaemon(true);
+            return thread;
+        }), ContextCompat.getMainExecutor(context));
+    }
+    
+    EnrollmentRepositoryImpl(EnrollmentStore store, ScheduledExecutorService io, Executor main) {
+        this.store = store;
+        this.io = io;
+        this.main = main;
+        io.execute(this::load);
     }
     
     @Override
-    public void enrollInCourse(Course course) {
-        try {
-            List<Course> enrolledCourses = getEnrolledCourses();
-            
-            // Verificar si ya está inscrito (por nombre del curso)
-            boolean alreadyEnrolled = enrolledCourses.stream()
-                    .anyMatch(c -> c.getName().equals(course.getName()));
-            
-            if (!alreadyEnrolled) {
-                enrolledCourses.add(course);
-                saveEnrolledCourses(enrolledCourses);
-                Log.d(TAG, "Usuario inscrito en curso: " + course.getName());
-            } else {
-                Log.d(TAG, "Usuario ya está inscrito en: " + course.getName());
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error al inscribir en curso", e);
+    public synchronized void enrollInCourse(Course course) {
+        if (index.containsKey(course.getName())) {
+            return; // ya estaba inscrito
         }
+        index.put(course.getName(), course);
+        pending.put(course.getName(), course);
+        scheduleFlush();
     }
     
     @Override
-    public List<Course> getEnrolledCourses() {
-        try {
-            String coursesJson = sharedPreferences.getString(KEY_ENROLLED_COURSES, "");
-            if (coursesJson.isEmpty()) {
-                return new ArrayList<>();
-            }
-            
-            Type listType = new TypeToken<List<Course>>(){}.getType();
-            List<Course> courses = gson.fromJson(coursesJson, listType);
-            return courses != null ? courses : new ArrayList<>();
-        } catch (Exception e) {
-            Log.e(TAG, "Error al obtener cursos inscritos", e);
-            return new ArrayList<>();
-        }
+    public synchronized List<Course> getEnrolledCourses() {
+        return new ArrayList<>(index.values());
     }
     
     @Override
-    public boolean isEnrolledInCourse(String courseName) {
-        List<Course> enrolledCourses = getEnrolledCourses();
-        return enrolledCourses.stream()
-                .anyMatch(course -> course.getName().equals(courseName));
+    public synchronized boolean isEnrolledInCourse(String courseName) {
+        return index.containsKey(courseName);
     }
     
     @Override
-    public void unenrollFromCourse(String courseName) {
-        try {
-            List<Course> enrolledCourses = getEnrolledCourses();
-            enrolledCourses.removeIf(course -> course.getName().equals(courseName));
-            saveEnrolledCourses(enrolledCourses);
-            Log.d(TAG, "Usuario desinscrito del curso: " + courseName);
-        } catch (Exception e) {
-            Log.e(TAG, "Error al desinscribir del curso", e);
+    public synchronized void unenrollFromCourse(String courseName) {
+        // Antes de la carga no se sabe si está guardado: la baja se anota igual
+        if (index.remove(courseName) == null && loaded) {
+            return;
         }
+        pending.put(courseName, null);
+        scheduleFlush();
     }
     
     @Override
-    public void clearAllEnrollments() {
-        try {
-            sharedPreferences.edit().remove(KEY_ENROLLED_COURSES).apply();
-            Log.d(TAG, "Todas las inscripciones han sido eliminadas");
-        } catch (Exception e) {
-            Log.e(TAG, "Error al limpiar inscripciones", e);
+    public synchronized void clearAllEnrollments() {
+        index.clear();
+        pending.clear();
+        pendingClear = true;
+        scheduleFlush();
+    }
+    
+    @Override
+    public synchronized void whenLoaded(Runnable action) {
+        if (loaded) {
+            main.execute(action);
+        } else {
+            waitingForLoad.add(action);
         }
     }
     
+    @Override
+    public void flush() {
+        io.execute(this::writePending);
+    }
+    
+    /**
+     * Transacciones escritas en el almacenamiento
+     */
+    synchronized int getFlushCount() {
+        return flushCount;
+    }
+    
     /**
-     * Guarda la lista de cursos inscritos en SharedPreferences
-     * @param courses lista de cursos a guardar
+     * Espera a que el hilo de I/O termine lo que ya tiene encolado (la carga, un flush)
      */
-    private void saveEnrolledCourses(List<Course> courses) {
+    void awaitIdle() throws Exception {
+        io.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+    
+    private void load() {
+        List<Course> courses;
+        try {
+            courses = store.loadAll();
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Error al obtener cursos inscritos", e);
+            courses = new ArrayList<>();
+        }
+        List<Runnable> waiting;
+        synchronized (this) {
+            // Lo guardado va primero y encima lo que se cambió mientras se cargaba,
+            // igual que va a quedar en el almacenamiento cuando se escriba
+            Map<String, Course> merged = new LinkedHashMap<>();
+            if (!pendingClear) {
+                for (Course course : courses) {
+                    merged.put(course.getName(), course);
+                }
+            }
+            for (Map.Entry<String, Course> change : pending.entrySet()) {
+                if (change.getValue() != null) {
+                    merged.putIfAbsent(change.getKey(), change.getValue());
+                } else {
+                    merged.remove(change.getKey());
+                }
+            }
+            index.clear();
+            index.putAll(merged);
+            loaded = true;
+            waiting = new ArrayList<>(waitingForLoad);
+            waitingForLoad.clear();
+        }
+        for (Runnable action : waiting) {
+            main.execute(action);
+        }
+    }
+    
+    private void scheduleFlush() {
+        scheduleFlush(FLUSH_DELAY_MILLIS);
+    }
+    
+    private void scheduleFlush(long delayMillis) {
+        if (scheduledFlush == null) {
+            scheduledFlush = io.schedule(this::writePending, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    // Corre siempre en el hilo de I/O
+    private void writePending() {
+        Map<String, Course> changes;
+        boolean clear;
+        synchronized (this) {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+            if (pending.isEmpty() && !pendingClear) {
+                return;
+            }
+            changes = new LinkedHashMap<>(pending);
+            clear = pendingClear;
+            pending.clear();
+            pendingClear = false;
+        }
         try {
-            String coursesJson = gson.toJson(courses);
-            sharedPreferences.edit()
-                    .putString(KEY_ENROLLED_COURSES, coursesJson)
-                    .apply();
-        } catch (Exception e) {
-            Log.e(TAG, "Error al guardar cursos inscritos", e);
+            store.apply(changes, clear);
+            synchronized (this) {
+                flushCount++;
+                failedFlushes = 0;
+            }
+        } catch (RuntimeException e) {
+            long retryMillis = requeue(changes, clear);
+            Log.e(TAG, "Error al guardar inscripciones; se reintenta en " + retryMillis + " ms", e);
+        }
+    }
+    
+    // Vuelve a encolar un lote que falló, sin pisar cambios más nuevos del mismo curso, y programa
+    // el reintento duplicando la espera en cada fallo seguido. Devuelve esa espera
+    private synchronized long requeue(Map<String, Course> changes, boolean clear) {
+        if (!pendingClear) { // si no, un borrado total posterior ya deja sin efecto el lote viejo
+            Map<String, Course> newer = new LinkedHashMap<>(pending);
+            pending.clear();
+            pending.putAll(changes);
+            pending.putAll(newer);
+            pendingClear = clear;
+        }
+        failedFlushes++;
+        long delayMillis = Math.min(FLUSH_DELAY_MILLIS << Math.min(failedFlushes, 16), MAX_RETRY_DELAY_MILLIS);
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false); // un cambio nuevo no adelanta el reintento
+            scheduledFlush = null;
         }
+        scheduleFlush(delayMillis);
+        return delayMillis;
     }
 }
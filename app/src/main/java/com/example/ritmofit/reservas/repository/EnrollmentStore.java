@@ -0,0 +1,25 @@
+package com.example.ritmofit.reservas.repository;
+
+import com.example.ritmofit.home.model.Course;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Almacenamiento durable de las inscripciones, detrás del índice en memoria de
+ * EnrollmentRepositoryImpl. Se usa siempre desde un único hilo de I/O.
+ */
+interface EnrollmentStore {
+
+    /**
+     * Todas las inscripciones, en orden de inscripción
+     */
+    List<Course> loadAll();
+
+    /**
+     * Aplica un lote de cambios en una sola transacción
+     * @param changes    altas (el curso) y bajas (null) por nombre de curso, en orden
+     * @param clearFirst si antes hay que borrar todo
+     */
+    void apply(Map<String, Course> changes, boolean clearFirst);
+}
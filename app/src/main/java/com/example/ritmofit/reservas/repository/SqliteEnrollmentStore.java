@@ -0,0 +1,144 @@
+package com.example.ritmofit.reservas.repository;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import com.example.ritmofit.home.model.Course;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inscripciones en SQLite: una fila por curso, indexada por nombre, así que cada cambio
+ * toca sólo su fila. Las inscripciones que quedaron como JSON en SharedPreferences se migran
+ * la primera vez que se abre la base; si el JSON no se puede leer se deja donde está.
+ */
+class SqliteEnrollmentStore implements EnrollmentStore {
+
+    private static final String TAG = "EnrollmentRepository";
+    private static final String PREFS_NAME = "enrollment_preferences";
+    private static final String KEY_ENROLLED_COURSES = "enrolled_courses";
+
+    private final Context context;
+    private final EnrollmentDbHelper dbHelper;
+    private SQLiteDatabase database;
+
+    SqliteEnrollmentStore(Context context) {
+        this.context = context;
+        this.dbHelper = new EnrollmentDbHelper(context);
+    }
+
+    @Override
+    public List<Course> loadAll() {
+        List<Course> courses = new ArrayList<>();
+        // rowid conserva el orden de inscripción
+        try (Cursor cursor = database().query(EnrollmentDbHelper.TABLE, null, null, null,
+                null, null, "rowid")) {
+            while (cursor.moveToNext()) {
+                courses.add(EnrollmentDbHelper.fromCursor(cursor));
+            }
+        }
+        return courses;
+    }
+
+    @Override
+    public void apply(Map<String, Course> changes, boolean clearFirst) {
+        SQLiteDatabase db = database();
+        long now = System.currentTimeMillis();
+        db.beginTransaction();
+        try {
+            if (clearFirst) {
+                db.delete(EnrollmentDbHelper.TABLE, null, null);
+            }
+            for (Map.Entry<String, Course> change : changes.entrySet()) {
+                if (change.getValue() != null) {
+                    db.insertWithOnConflict(EnrollmentDbHelper.TABLE, null,
+                            EnrollmentDbHelper.toValues(change.getValue(), now), SQLiteDatabase.CONFLICT_IGNORE);
+                } else {
+                    db.delete(EnrollmentDbHelper.TABLE,
+                            EnrollmentDbHelper.COL_NAME + " = ?", new String[]{change.getKey()});
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Abre la base la primera vez que se usa y migra las inscripciones guardadas como JSON
+     */
+    private synchronized SQLiteDatabase database() {
+        if (database == null) {
+            database = dbHelper.getWritableDatabase();
+            migrateFromPreferences(database);
+        }
+        return database;
+    }
+
+    private void migrateFromPreferences(SQLiteDatabase db) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        String coursesJson = prefs.getString(KEY_ENROLLED_COURSES, "");
+        if (coursesJson.isEmpty()) {
+            return;
+        }
+
+        List<Course> courses;
+        try {
+            courses = parseLegacyCourses(coursesJson);
+        } catch (Exception e) {
+            // No se borra: son las inscripciones del usuario. Se reintenta en el próximo arranque
+            Log.e(TAG, "No se pudieron leer las inscripciones guardadas; se conservan sin migrar", e);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        db.beginTransaction();
+        try {
+            for (Course course : courses) {
+                if (course != null && course.getName() != null) {
+                    db.insertWithOnConflict(EnrollmentDbHelper.TABLE, null,
+                            EnrollmentDbHelper.toValues(course, now), SQLiteDatabase.CONFLICT_IGNORE);
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        Log.d(TAG, "Inscripciones migradas a SQLite: " + courses.size());
+        // Si se corta antes de esto, la próxima vez se vuelve a migrar sin duplicar
+        prefs.edit().remove(KEY_ENROLLED_COURSES).commit();
+    }
+
+    /**
+     * Lee el JSON que guardaba la versión anterior con {@code new Gson().toJson(courses)}.
+     * Gson escribía LocalDateTime campo por campo:
+     * {@code {"date":{"year":..,"month":..,"day":..},"time":{"hour":..,"minute":..,"second":..,"nano":..}}}
+     */
+    static List<Course> parseLegacyCourses(String json) {
+        Gson gson = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, (JsonDeserializer<LocalDateTime>) (element, type, ctx) -> {
+                    JsonObject date = element.getAsJsonObject().getAsJsonObject("date");
+                    JsonObject time = element.getAsJsonObject().getAsJsonObject("time");
+                    return LocalDateTime.of(
+                            date.get("year").getAsInt(), date.get("month").getAsInt(), date.get("day").getAsInt(),
+                            time.get("hour").getAsInt(), time.get("minute").getAsInt(),
+                            time.get("second").getAsInt(), time.get("nano").getAsInt());
+                })
+                .create();
+        Type listType = new TypeToken<List<Course>>(){}.getType();
+        List<Course> courses = gson.fromJson(json, listType);
+        return courses != null ? courses : new ArrayList<>();
+    }
+}
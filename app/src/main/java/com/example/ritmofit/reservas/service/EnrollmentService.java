@@ -35,4 +35,10 @@ public interface EnrollmentService {
      * @return true si la cancelación fue exitosa
      */
     boolean unenrollFromCourse(String courseName);
+    
+    /**
+     * Ejecutar una acción en el hilo principal cuando las inscripciones guardadas ya están cargadas
+     * @param action lo que se ejecuta; enseguida si ya se cargaron
+     */
+    void whenLoaded(Runnable action);
 }
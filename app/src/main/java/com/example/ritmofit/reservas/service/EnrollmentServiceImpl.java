@@ -64,4 +64,9 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         enrollmentRepository.unenrollFromCourse(courseName);
         return true;
     }
+    
+    @Override
+    public void whenLoaded(Runnable action) {
+        enrollmentRepository.whenLoaded(action);
+    }
 }
@@ -68,8 +68,17 @@ public class ReservasFragment extends Fragment {
     
     /**
      * Carga y muestra los cursos en los que el usuario está inscrito
+     * Espera a que las inscripciones guardadas estén en memoria, sin bloquear el hilo principal
      */
     private void loadEnrolledCourses() {
+        enrollmentService.whenLoaded(() -> {
+            if (getView() != null) {
+                showCurrentEnrollments();
+            }
+        });
+    }
+    
+    private void showCurrentEnrollments() {
         List<Course> enrolledCourses = enrollmentService.getEnrolledCourses();
         
         if (enrolledCourses.isEmpty()) {
@@ -136,7 +145,7 @@ public class ReservasFragment extends Fragment {
         boolean success = enrollmentService.unenrollFromCourse(course.getName());
         if (success) {
             Toast.makeText(getContext(), "Inscripción cancelada: " + course.getName(), Toast.LENGTH_SHORT).show();
-            loadEnrolledCourses(); // Recargar la lista
+            showCurrentEnrollments(); // Recargar la lista
         } else {
             Toast.makeText(getContext(), "Error al cancelar inscripción", Toast.LENGTH_SHORT).show();
         }
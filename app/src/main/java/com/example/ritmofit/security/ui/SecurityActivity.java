@@ -11,6 +11,7 @@ import androidx.biometric.BiometricPrompt;
 
 import com.example.ritmofit.MainActivity;
 import com.example.ritmofit.R;
+import com.example.ritmofit.core.http.ConnectionWarmer;
 import com.example.ritmofit.security.model.SecurityEvent;
 import com.example.ritmofit.security.service.SecurityService;
 
@@ -29,6 +30,9 @@ public class SecurityActivity extends AppCompatActivity {
     
     @Inject
     SecurityService securityService;
+
+    @Inject
+    ConnectionWarmer connectionWarmer;
     
     private TextView titleTextView;
     private TextView subtitleTextView;
@@ -39,6 +43,9 @@ public class SecurityActivity extends AppCompatActivity {
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_security);
+
+        // El prompt biométrico tarda unos segundos: alcanza para conectar con el backend
+        connectionWarmer.warmUp();
         
         initializeViews();
         setupClickListeners();
@@ -6,6 +6,7 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.DatePicker;
+import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -13,12 +14,15 @@ import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
+import com.example.ritmofit.core.connectivity.ConnectivityMonitor;
 import com.example.ritmofit.databinding.FragmentHistorialBinding;
 import com.example.ritmofit.utils.DateUtils;
 
 import java.time.LocalDate;
 import java.util.Calendar;
 
+import javax.inject.Inject;
+
 import dagger.hilt.android.AndroidEntryPoint;
 
 /**
@@ -37,9 +41,13 @@ import dagger.hilt.android.AndroidEntryPoint;
 @AndroidEntryPoint
 public class HistorialFragment extends Fragment {
     
+    @Inject
+    ConnectivityMonitor connectivityMonitor;
+    
     private FragmentHistorialBinding binding;
     private HistorialViewModel viewModel;
     private HistorialAdapter adapter;
+    private boolean staleNoticeShown;
     
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, ViewGroup container,
@@ -193,6 +201,20 @@ public class HistorialFragment extends Fragment {
             // Handle refresh state
             binding.swipeRefreshLayout.setRefreshing(uiState.isRefreshing());
             
+            // Datos guardados sin revalidación en curso: se avisa una sola vez
+            if (uiState.isStale() && !uiState.isRefreshing()) {
+                if (!staleNoticeShown) {
+                    // Con conexión los datos quedaron viejos por el servidor (5xx, breaker abierto)
+                    int message = connectivityMonitor.isConnected()
+                            ? com.example.ritmofit.R.string.historial_refresh_failed_cached
+                            : com.example.ritmofit.R.string.historial_offline_cached;
+                    Toast.makeText(requireContext(), message, Toast.LENGTH_SHORT).show();
+                    staleNoticeShown = true;
+                }
+            } else if (!uiState.isStale()) {
+                staleNoticeShown = false;
+            }
+            
             switch (uiState.getState()) {
                 case LOADING:
                     showLoadingState();
@@ -21,13 +21,20 @@ public class HistorialUiState {
     private final List<HistorialItem> historialItems;
     private final String errorMessage;
     private final boolean isRefreshing;
+    private final boolean isStale;
     
     private HistorialUiState(State state, List<HistorialItem> historialItems, 
                            String errorMessage, boolean isRefreshing) {
+        this(state, historialItems, errorMessage, isRefreshing, false);
+    }
+    
+    private HistorialUiState(State state, List<HistorialItem> historialItems, 
+                           String errorMessage, boolean isRefreshing, boolean isStale) {
         this.state = state;
         this.historialItems = historialItems;
         this.errorMessage = errorMessage;
         this.isRefreshing = isRefreshing;
+        this.isStale = isStale;
     }
     
     // Factory methods for creating different states
@@ -56,6 +63,18 @@ public class HistorialUiState {
         return new HistorialUiState(State.SUCCESS, historialItems, null, false);
     }
     
+    /**
+     * Creates a success state with previously cached data.
+     * @param historialItems cached items
+     * @param revalidating true while fresh data is being requested in the background
+     */
+    public static HistorialUiState stale(List<HistorialItem> historialItems, boolean revalidating) {
+        if (historialItems == null || historialItems.isEmpty()) {
+            return new HistorialUiState(State.EMPTY, null, null, revalidating, true);
+        }
+        return new HistorialUiState(State.SUCCESS, historialItems, null, revalidating, true);
+    }
+    
     /**
      * Creates an error state with error message
      */
@@ -88,6 +107,10 @@ public class HistorialUiState {
         return isRefreshing;
     }
     
+    public boolean isStale() {
+        return isStale;
+    }
+    
     // Convenience methods for checking state
     
     public boolean isLoading() {
@@ -118,6 +141,7 @@ public class HistorialUiState {
         HistorialUiState that = (HistorialUiState) o;
         
         if (isRefreshing != that.isRefreshing) return false;
+        if (isStale != that.isStale) return false;
         if (state != that.state) return false;
         if (historialItems != null ? !historialItems.equals(that.historialItems) : that.historialItems != null)
             return false;
@@ -130,6 +154,7 @@ public class HistorialUiState {
         result = 31 * result + (historialItems != null ? historialItems.hashCode() : 0);
         result = 31 * result + (errorMessage != null ? errorMessage.hashCode() : 0);
         result = 31 * result + (isRefreshing ? 1 : 0);
+        result = 31 * result + (isStale ? 1 : 0);
         return result;
     }
     
@@ -140,6 +165,7 @@ public class HistorialUiState {
                 ", historialItems=" + (historialItems != null ? historialItems.size() + " items" : "null") +
                 ", errorMessage='" + errorMessage + '\'' +
                 ", isRefreshing=" + isRefreshing +
+                ", isStale=" + isStale +
                 '}';
     }
 }
\ No newline at end of file
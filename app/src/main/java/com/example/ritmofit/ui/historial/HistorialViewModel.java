@@ -4,6 +4,7 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
+import com.example.ritmofit.core.CallRegistry;
 import com.example.ritmofit.data.repository.HistorialRepository;
 import com.example.ritmofit.model.DateRange;
 import com.example.ritmofit.model.HistorialItem;
@@ -23,6 +24,8 @@ import dagger.hilt.android.lifecycle.HiltViewModel;
 @HiltViewModel
 public class HistorialViewModel extends ViewModel {
     
+    private static final String LOAD_KEY = "historial";
+    
     private final HistorialRepository historialRepository;
     
     // LiveData for UI state observation
@@ -36,6 +39,16 @@ public class HistorialViewModel extends ViewModel {
     // All loaded historial items (before filtering)
     private List<HistorialItem> allHistorialItems;
     
+    // Range allHistorialItems was loaded for; a filter inside it needs no new load
+    private DateRange loadedRange;
+    
+    // allHistorialItems comes from the local cache and not from the last response
+    private boolean showingCachedData;
+    private boolean revalidating;
+    
+    // In-flight loads; a newer load or onCleared cancels the previous one
+    private final CallRegistry calls = new CallRegistry();
+    
     @Inject
     public HistorialViewModel(HistorialRepository historialRepository) {
         this.historialRepository = historialRepository;
@@ -51,30 +64,52 @@ public class HistorialViewModel extends ViewModel {
      * Loads historial data based on current date range filter
      */
     public void loadHistorialData() {
+        DateRange currentRange = _dateRange.getValue();
+        LocalDate fromDate = currentRange != null ? currentRange.getFromDate() : null;
+        LocalDate toDate = currentRange != null ? currentRange.getToDate() : null;
+        loadedRange = new DateRange(fromDate, toDate);
+        
+        // Stale-while-revalidate: the last downloaded list is shown right away
+        List<HistorialItem> cachedItems = historialRepository.getCachedHistorial(fromDate, toDate);
+        boolean hasCachedItems = cachedItems != null && !cachedItems.isEmpty();
+        
         // Check network availability before loading
         if (!isNetworkAvailable()) {
+            // Se recarga solo cuando vuelva la red; una carga más nueva lo descarta
+            calls.next(LOAD_KEY).track(historialRepository.whenNetworkAvailable(this::loadHistorialData));
+            if (hasCachedItems) {
+                showCachedData(cachedItems, false);
+                return;
+            }
             _uiState.setValue(HistorialUiState.error("Sin conexión a internet. Verifica tu conexión y vuelve a intentar."));
             return;
         }
         
-        _uiState.setValue(HistorialUiState.loading());
-        
-        DateRange currentRange = _dateRange.getValue();
-        LocalDate fromDate = currentRange != null ? currentRange.getFromDate() : null;
-        LocalDate toDate = currentRange != null ? currentRange.getToDate() : null;
+        if (hasCachedItems) {
+            showCachedData(cachedItems, true);
+        } else {
+            _uiState.setValue(HistorialUiState.loading());
+        }
         
-        historialRepository.getHistorial(fromDate, toDate, new HistorialRepository.HistorialCallback() {
+        CallRegistry.Generation generation = calls.next(LOAD_KEY);
+        generation.track(historialRepository.getHistorial(fromDate, toDate, new HistorialRepository.HistorialCallback() {
             @Override
             public void onSuccess(List<HistorialItem> historialItems) {
-                allHistorialItems = historialItems;
-                applyDateFilter();
+                if (!generation.isCurrent()) return; // superseded by a newer load
+                showFreshData(historialItems);
             }
             
             @Override
             public void onError(String errorMessage) {
+                if (!generation.isCurrent()) return;
+                if (hasCachedItems) {
+                    // Keep showing the cached list instead of replacing it with an error
+                    showCachedData(cachedItems, false);
+                    return;
+                }
                 _uiState.setValue(HistorialUiState.error(errorMessage));
             }
-        });
+        }));
     }
     
     /**
@@ -86,19 +121,22 @@ public class HistorialViewModel extends ViewModel {
         DateRange currentRange = _dateRange.getValue();
         LocalDate fromDate = currentRange != null ? currentRange.getFromDate() : null;
         LocalDate toDate = currentRange != null ? currentRange.getToDate() : null;
+        loadedRange = new DateRange(fromDate, toDate);
         
-        historialRepository.getHistorial(fromDate, toDate, new HistorialRepository.HistorialCallback() {
+        CallRegistry.Generation generation = calls.next(LOAD_KEY);
+        generation.track(historialRepository.getHistorial(fromDate, toDate, new HistorialRepository.HistorialCallback() {
             @Override
             public void onSuccess(List<HistorialItem> historialItems) {
-                allHistorialItems = historialItems;
-                applyDateFilter();
+                if (!generation.isCurrent()) return;
+                showFreshData(historialItems);
             }
             
             @Override
             public void onError(String errorMessage) {
+                if (!generation.isCurrent()) return;
                 _uiState.setValue(HistorialUiState.error(errorMessage));
             }
-        });
+        }));
     }
     
     /**
@@ -117,7 +155,7 @@ public class HistorialViewModel extends ViewModel {
         }
         
         _dateRange.setValue(newRange);
-        applyDateFilter();
+        applyOrLoad(newRange);
     }
     
     /**
@@ -136,7 +174,7 @@ public class HistorialViewModel extends ViewModel {
         }
         
         _dateRange.setValue(newRange);
-        applyDateFilter();
+        applyOrLoad(newRange);
     }
     
     /**
@@ -152,7 +190,7 @@ public class HistorialViewModel extends ViewModel {
         }
         
         _dateRange.setValue(newRange);
-        applyDateFilter();
+        applyOrLoad(newRange);
     }
     
     /**
@@ -163,6 +201,38 @@ public class HistorialViewModel extends ViewModel {
         loadHistorialData();
     }
     
+    /**
+     * Filters what is already loaded when the new range fits inside it; otherwise loads it.
+     * Days already downloaded come from the local store, so only the rest hits the network.
+     */
+    private void applyOrLoad(DateRange newRange) {
+        if (loadedRange != null && loadedRange.covers(newRange)) {
+            applyDateFilter();
+        } else {
+            loadHistorialData();
+        }
+    }
+    
+    /**
+     * Shows cached items while (optionally) fresh data is being requested
+     */
+    private void showCachedData(List<HistorialItem> cachedItems, boolean isRevalidating) {
+        allHistorialItems = cachedItems;
+        showingCachedData = true;
+        revalidating = isRevalidating;
+        applyDateFilter();
+    }
+    
+    /**
+     * Replaces whatever is on screen with items coming from the server
+     */
+    private void showFreshData(List<HistorialItem> historialItems) {
+        allHistorialItems = historialItems;
+        showingCachedData = false;
+        revalidating = false;
+        applyDateFilter();
+    }
+    
     /**
      * Applies the current date filter to the loaded data
      */
@@ -174,7 +244,7 @@ public class HistorialViewModel extends ViewModel {
         
         DateRange currentRange = _dateRange.getValue();
         if (currentRange == null || !currentRange.hasFilter()) {
-            _uiState.setValue(HistorialUiState.success(allHistorialItems));
+            _uiState.setValue(stateFor(allHistorialItems));
             return;
         }
         
@@ -182,7 +252,13 @@ public class HistorialViewModel extends ViewModel {
                 .filter(item -> currentRange.contains(item.getFecha()))
                 .collect(Collectors.toList());
         
-        _uiState.setValue(HistorialUiState.success(filteredItems));
+        _uiState.setValue(stateFor(filteredItems));
+    }
+    
+    private HistorialUiState stateFor(List<HistorialItem> items) {
+        return showingCachedData
+                ? HistorialUiState.stale(items, revalidating)
+                : HistorialUiState.success(items);
     }
     
     /**
@@ -205,6 +281,15 @@ public class HistorialViewModel extends ViewModel {
         return dateRange.getValidationError();
     }
     
+    /**
+     * Cancels pending loads so their responses don't outlive the screen
+     */
+    @Override
+    protected void onCleared() {
+        calls.cancelAll();
+        super.onCleared();
+    }
+    
     /**
      * Retries the last failed operation
      */
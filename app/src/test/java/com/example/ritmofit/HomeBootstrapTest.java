@@ -0,0 +1,183 @@
+package com.example.ritmofit;
+
+import android.content.Context;
+
+import com.example.ritmofit.core.connectivity.ConnectivityMonitor;
+import com.example.ritmofit.core.connectivity.FetchPolicy;
+import com.example.ritmofit.core.http.CallCoalescer;
+import com.example.ritmofit.core.http.CborConverterFactory;
+import com.example.ritmofit.core.http.DecodedResponseCache;
+import com.example.ritmofit.core.http.RequestBatcher;
+import com.example.ritmofit.data.api.HistorialConverterFactory;
+import com.example.ritmofit.data.api.model.HistorialService;
+import com.example.ritmofit.data.repository.impl.HistorialCache;
+import com.example.ritmofit.data.repository.impl.HistorialRepositoryImpl;
+import com.example.ritmofit.home.http.CoursesApi;
+import com.example.ritmofit.home.repository.CourseRepositoryImpl;
+import com.example.ritmofit.profile.http.UsersApi;
+import com.example.ritmofit.profile.repository.UserRepositoryImpl;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test para HomeBootstrap con el RequestBatcher real contra un backend local
+ * Verifica que catálogo, perfil e historial del mes salgan en un solo POST a /api/batch
+ */
+public class HomeBootstrapTest {
+
+    private static final String CATALOG_JSON =
+            "{\"_embedded\":{\"courses\":[{\"name\":\"Yoga\",\"description\":\"d\",\"professor\":\"Ana\","
+                    + "\"branch\":\"Centro\",\"startsAt\":\"2024-12-01T08:00:00\",\"endsAt\":\"2024-12-01T09:00:00\"}]}}";
+
+    private MockWebServer server;
+    private HistorialRepositoryImpl historialRepository;
+    private HomeBootstrap bootstrap;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (request.getPath().equals("/" + RequestBatcher.BATCH_PATH)) {
+                    return batchResponse(request.getBody().clone().readUtf8());
+                }
+                return new MockResponse().setResponseCode(500);
+            }
+        });
+        server.start();
+
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(HistorialConverterFactory.create())
+                .addConverterFactory(CborConverterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build();
+        RequestBatcher batcher = new RequestBatcher(retrofit, null);
+        CallCoalescer coalescer = new CallCoalescer(null, null, batcher);
+
+        FetchPolicy fetchPolicy = mock(FetchPolicy.class);
+        when(fetchPolicy.allowsSpeculativePrefetch()).thenReturn(true);
+        when(fetchPolicy.coursePaging()).thenReturn(FetchPolicy.DEFAULT_PAGING);
+        ConnectivityMonitor connectivityMonitor = mock(ConnectivityMonitor.class);
+        when(connectivityMonitor.isConnected()).thenReturn(true);
+        Context context = mock(Context.class);
+
+        historialRepository = new HistorialRepositoryImpl(retrofit.create(HistorialService.class), context,
+                coalescer, new DecodedResponseCache(null), new HistorialCache(null), null,
+                connectivityMonitor, fetchPolicy, null);
+        bootstrap = new HomeBootstrap(context, batcher,
+                new CourseRepositoryImpl(retrofit.create(CoursesApi.class), coalescer,
+                        new DecodedResponseCache(null), fetchPolicy),
+                new UserRepositoryImpl(retrofit.create(UsersApi.class), coalescer),
+                historialRepository, fetchPolicy);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void prefetch_sendsCatalogProfileAndHistorialInOneBatch() throws Exception {
+        // When
+        bootstrap.prefetch();
+
+        // Then: un solo POST con las tres partes
+        RecordedRequest batch = server.takeRequest(5, TimeUnit.SECONDS);
+        assertNotNull(batch);
+        assertEquals("POST", batch.getMethod());
+        assertEquals("/" + RequestBatcher.BATCH_PATH, batch.getPath());
+        List<String> urls = urls(batch.getBody().clone().readUtf8());
+        assertEquals(3, urls.size());
+        assertTrue(urls.stream().anyMatch(url -> url.startsWith("/api/courses/search/byName")));
+        assertTrue(urls.contains("/api/users/me"));
+        LocalDate today = LocalDate.now();
+        assertTrue(urls.contains("/historial?desde=" + today.withDayOfMonth(1) + "&hasta=" + today));
+
+        // Nada sale por separado
+        assertNull(server.takeRequest(500, TimeUnit.MILLISECONDS));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void prefetchedMonth_isKeptForTheHistorialScreen() throws Exception {
+        // When
+        bootstrap.prefetch();
+        assertNotNull(server.takeRequest(5, TimeUnit.SECONDS));
+
+        // Then: la pantalla pide el mes entero y lo encuentra en memoria
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.withDayOfMonth(1);
+        LocalDate to = today.withDayOfMonth(today.lengthOfMonth());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (historialRepository.getCachedHistorial(from, to) == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, historialRepository.getCachedHistorial(from, to).size());
+    }
+
+    private static List<String> urls(String batchBody) {
+        List<String> urls = new ArrayList<>();
+        JsonArray requests = new JsonParser().parse(batchBody).getAsJsonObject().getAsJsonArray("requests");
+        for (JsonElement request : requests) {
+            urls.add(request.getAsJsonObject().get("url").getAsString());
+        }
+        return urls;
+    }
+
+    // Responde cada parte con lo que devolvería el endpoint suelto
+    private static MockResponse batchResponse(String batchBody) {
+        JsonArray responses = new JsonArray();
+        JsonArray requests = new JsonParser().parse(batchBody).getAsJsonObject().getAsJsonArray("requests");
+        for (JsonElement element : requests) {
+            JsonObject request = element.getAsJsonObject();
+            String url = request.get("url").getAsString();
+            JsonObject response = new JsonObject();
+            response.addProperty("id", request.get("id").getAsString());
+            String partBody = bodyFor(url);
+            response.addProperty("status", partBody != null ? 200 : 500);
+            if (partBody != null) {
+                response.add("body", new JsonParser().parse(partBody));
+            }
+            responses.add(response);
+        }
+        JsonObject body = new JsonObject();
+        body.add("responses", responses);
+        return new MockResponse().setHeader("Content-Type", "application/json").setBody(body.toString());
+    }
+
+    private static String bodyFor(String url) {
+        if (url.startsWith("/api/users/me")) {
+            return null; // el perfil falla: ProfileFragment lo vuelve a pedir, no cambia el batch
+        }
+        if (url.startsWith("/historial")) {
+            LocalDate firstDay = LocalDate.now().withDayOfMonth(1);
+            return "[{\"id\":1,\"clase\":\"Yoga\",\"sede\":\"Centro\",\"fecha\":\"" + firstDay
+                    + "\",\"hora\":\"08:00\",\"duracion\":60}]";
+        }
+        return CATALOG_JSON;
+    }
+}
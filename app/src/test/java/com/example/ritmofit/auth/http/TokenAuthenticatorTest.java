@@ -0,0 +1,241 @@
+package com.example.ritmofit.auth.http;
+
+import com.example.ritmofit.auth.http.api.LoginResponse;
+import com.example.ritmofit.auth.model.UnAuthenticationEvent;
+import com.example.ritmofit.auth.repository.TokenRepository;
+import com.google.gson.JsonParser;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for TokenAuthenticator against a local stand-in backend.
+ * The stand-in only accepts the token it handed out last, so an expired token
+ * gets a 401 until the client refreshes it.
+ */
+public class TokenAuthenticatorTest {
+
+    private MockWebServer server;
+    private volatile String validToken;
+    private volatile boolean refreshAccepted;
+    private final AtomicInteger refreshCalls = new AtomicInteger();
+    private CountDownLatch refreshGate;
+
+    private InMemoryTokenRepository tokens;
+    private List<UnAuthenticationEvent> events;
+    private TokenAuthenticator authenticator;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        validToken = "nuevo";
+        refreshAccepted = true;
+        refreshGate = new CountDownLatch(0);
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (request.getPath().equals(TokenAuthenticator.REFRESH_PATH)) {
+                    refreshCalls.incrementAndGet();
+                    refreshGate.await(5, TimeUnit.SECONDS);
+                    return refreshAccepted
+                            ? new MockResponse().setBody("{\"token\":\"" + validToken + "\"}")
+                            : new MockResponse().setResponseCode(401);
+                }
+                return ("Bearer " + validToken).equals(request.getHeader("Authorization"))
+                        ? new MockResponse().setBody("ok")
+                        : new MockResponse().setResponseCode(401);
+            }
+        });
+        server.start();
+
+        tokens = new InMemoryTokenRepository("vencido");
+        events = new ArrayList<>();
+        Retrofit[] retrofit = new Retrofit[1];
+        authenticator = new TokenAuthenticator(tokens, () -> retrofit[0].create(AuthApi.class), events::add);
+        client = new OkHttpClient.Builder()
+                .addNetworkInterceptor(new AuthInterceptor(tokens))
+                .authenticator(authenticator)
+                .build();
+        retrofit[0] = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(new LoginResponseConverterFactory())
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void expiredToken_isRefreshedAndRequestReplayed() throws IOException {
+        // When
+        try (Response response = get("/api/users/me")) {
+            // Then
+            assertEquals(200, response.code());
+        }
+        assertEquals("nuevo", tokens.getToken());
+        assertEquals(1, refreshCalls.get());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void concurrent401s_shareASingleRefresh() throws Exception {
+        // Given: el refresh tarda hasta que todos los requests recibieron su 401
+        refreshGate = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            results.add(pool.submit(() -> {
+                try (Response response = get("/api/courses")) {
+                    return response.code();
+                }
+            }));
+        }
+        Thread.sleep(300);
+        refreshGate.countDown();
+
+        // Then
+        for (Future<Integer> result : results) {
+            assertEquals(200, (int) result.get(5, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+        assertEquals(1, refreshCalls.get());
+        assertEquals(1, authenticator.getRefreshCount());
+    }
+
+    @Test
+    public void rejectedRefresh_clearsTokenAndPostsOneEvent() throws Exception {
+        // Given
+        refreshAccepted = false;
+
+        // When
+        int first;
+        int second;
+        try (Response response = get("/api/users/me")) {
+            first = response.code();
+        }
+        try (Response response = get("/api/users/me")) {
+            second = response.code();
+        }
+
+        // Then
+        assertEquals(401, first);
+        assertEquals(401, second);
+        assertNull(tokens.getToken());
+        assertEquals(1, events.size());
+        assertEquals(1, refreshCalls.get()); // sin token no se vuelve a intentar
+    }
+
+    @Test
+    public void withoutSession_401IsReturnedWithoutRefresh() throws IOException {
+        // Given
+        tokens.clearToken();
+
+        // When
+        try (Response response = get("/api/users/me")) {
+            // Then
+            assertEquals(401, response.code());
+        }
+        assertEquals(0, refreshCalls.get());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void renewedTokenAlsoRejected_isNotRefreshedAgain() throws IOException {
+        // Given: el servidor emite un token que él mismo no acepta
+        validToken = "nuevo";
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (request.getPath().equals(TokenAuthenticator.REFRESH_PATH)) {
+                    refreshCalls.incrementAndGet();
+                    return new MockResponse().setBody("{\"token\":\"otro\"}");
+                }
+                return new MockResponse().setResponseCode(401);
+            }
+        });
+
+        // When
+        try (Response response = get("/api/users/me")) {
+            // Then
+            assertEquals(401, response.code());
+        }
+        assertEquals(1, refreshCalls.get());
+    }
+
+    private Response get(String path) throws IOException {
+        return client.newCall(new Request.Builder().url(server.url(path)).build()).execute();
+    }
+
+    private static final class InMemoryTokenRepository implements TokenRepository {
+        private volatile String token;
+
+        InMemoryTokenRepository(String token) {
+            this.token = token;
+        }
+
+        @Override
+        public void saveToken(String token) {
+            this.token = token;
+        }
+
+        @Override
+        public String getToken() {
+            return token;
+        }
+
+        @Override
+        public void clearToken() {
+            token = null;
+        }
+
+        @Override
+        public boolean hasToken() {
+            return token != null;
+        }
+    }
+
+    // Gson 2.8 no sabe construir records en la JVM de los tests
+    private static final class LoginResponseConverterFactory extends Converter.Factory {
+        @Override
+        public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations,
+                                                                Retrofit retrofit) {
+            if (type != LoginResponse.class) {
+                return null;
+            }
+            return body -> new LoginResponse(
+                    new JsonParser().parse(body.string()).getAsJsonObject().get("token").getAsString());
+        }
+    }
+}
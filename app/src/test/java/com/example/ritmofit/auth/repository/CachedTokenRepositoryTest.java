@@ -0,0 +1,86 @@
+package com.example.ritmofit.auth.repository;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test unitario para CachedTokenRepository
+ * Verifica que el token se lea una sola vez del almacenamiento encriptado
+ */
+public class CachedTokenRepositoryTest {
+
+    @Mock
+    private TokenRepository mockDelegate;
+
+    private CachedTokenRepository repository;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        repository = new CachedTokenRepository(mockDelegate);
+    }
+
+    @Test
+    public void getToken_readsDelegateOnlyOnce() {
+        // Arrange
+        when(mockDelegate.getToken()).thenReturn("abc");
+
+        // Act
+        String first = repository.getToken();
+        String second = repository.getToken();
+        String third = repository.getToken();
+
+        // Assert
+        assertEquals("abc", first);
+        assertEquals("abc", second);
+        assertEquals("abc", third);
+        verify(mockDelegate, times(1)).getToken();
+        assertEquals(2, repository.getDecryptsAvoided());
+    }
+
+    @Test
+    public void getToken_cachesMissingToken() {
+        // Arrange
+        when(mockDelegate.getToken()).thenReturn(null);
+
+        // Act
+        assertNull(repository.getToken());
+        assertFalse(repository.hasToken());
+
+        // Assert
+        verify(mockDelegate, times(1)).getToken();
+    }
+
+    @Test
+    public void saveToken_updatesCacheWithoutReadingDelegate() {
+        // Act
+        repository.saveToken("nuevo");
+
+        // Assert
+        assertEquals("nuevo", repository.getToken());
+        assertTrue(repository.hasToken());
+        verify(mockDelegate).saveToken("nuevo");
+        verify(mockDelegate, never()).getToken();
+    }
+
+    @Test
+    public void clearToken_clearsCache() {
+        // Arrange
+        when(mockDelegate.getToken()).thenReturn("abc");
+        repository.getToken();
+
+        // Act
+        repository.clearToken();
+
+        // Assert
+        assertNull(repository.getToken());
+        assertFalse(repository.hasToken());
+        verify(mockDelegate).clearToken();
+        verify(mockDelegate, times(1)).getToken();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.ritmofit.auth.repository;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test para TokenClaims
+ * Verifica que el sujeto se lea del payload del JWT y que los tokens raros no rompan
+ */
+public class TokenClaimsTest {
+
+    @Test
+    public void subject_isReadFromThePayload() {
+        // Given
+        String token = jwt("{\"sub\":\"user-42\",\"exp\":1700000000}");
+
+        // When & Then
+        assertEquals("user-42", TokenClaims.subject(token));
+    }
+
+    @Test
+    public void subject_isTheSameAfterRefresh() {
+        // Given: el refresh cambia exp y firma, no el usuario
+        String first = jwt("{\"sub\":\"7\",\"exp\":1700000000}");
+        String renewed = jwt("{\"sub\":\"7\",\"exp\":1700003600}");
+
+        // When & Then
+        assertNotEquals(first, renewed);
+        assertEquals(TokenClaims.subject(first), TokenClaims.subject(renewed));
+    }
+
+    @Test
+    public void numericSubject_isReadAsText() {
+        assertEquals("15", TokenClaims.subject(jwt("{\"sub\":15}")));
+    }
+
+    @Test
+    public void tokenWithoutSubject_orNotAJwt_hasNone() {
+        assertNull(TokenClaims.subject(null));
+        assertNull(TokenClaims.subject("opaque-token"));
+        assertNull(TokenClaims.subject(jwt("{\"exp\":1700000000}")));
+        assertNull(TokenClaims.subject("a.%%%.c"));
+        assertNull(TokenClaims.subject(jwt("not json")));
+    }
+
+    private static String jwt(String payload) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + ".firma";
+    }
+}
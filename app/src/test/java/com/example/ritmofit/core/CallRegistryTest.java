@@ -0,0 +1,116 @@
+package com.example.ritmofit.core;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CallRegistry.
+ * Verifies that superseded and destroyed loads are cancelled and their results dropped.
+ */
+public class CallRegistryTest {
+
+    private CallRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = new CallRegistry();
+    }
+
+    @Test
+    public void next_cancelsPreviousCallForSameKey() {
+        // Given
+        Cancellable first = mock(Cancellable.class);
+        CallRegistry.Generation generation = registry.next("courses");
+        generation.track(first);
+
+        // When
+        CallRegistry.Generation newer = registry.next("courses");
+
+        // Then
+        verify(first).cancel();
+        assertFalse(generation.isCurrent());
+        assertTrue(newer.isCurrent());
+    }
+
+    @Test
+    public void next_doesNotTouchOtherKeys() {
+        // Given
+        Cancellable user = mock(Cancellable.class);
+        CallRegistry.Generation generation = registry.next("user");
+        generation.track(user);
+
+        // When
+        registry.next("courses");
+
+        // Then
+        verify(user, never()).cancel();
+        assertTrue(generation.isCurrent());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void guard_dropsResultsOfSupersededGeneration() {
+        // Given
+        DomainCallback<String> stale = mock(DomainCallback.class);
+        DomainCallback<String> fresh = mock(DomainCallback.class);
+        DomainCallback<String> staleGuard = registry.next("courses").guard(stale);
+        DomainCallback<String> freshGuard = registry.next("courses").guard(fresh);
+
+        // When: la respuesta vieja llega después de la nueva
+        freshGuard.onSuccess("nuevo");
+        staleGuard.onSuccess("viejo");
+        staleGuard.onError(new Exception("tarde"));
+
+        // Then
+        verify(fresh).onSuccess("nuevo");
+        verify(stale, never()).onSuccess(any());
+        verify(stale, never()).onError(any());
+    }
+
+    @Test
+    public void cancelAll_cancelsEverythingInFlight() {
+        // Given
+        Cancellable courses = mock(Cancellable.class);
+        Cancellable user = mock(Cancellable.class);
+        registry.next("courses").track(courses);
+        registry.next("user").track(user);
+
+        // When
+        registry.cancelAll();
+
+        // Then
+        verify(courses).cancel();
+        verify(user).cancel();
+        assertTrue(registry.isCleared());
+    }
+
+    @Test
+    public void trackAfterCancelAll_cancelsImmediately() {
+        // Given
+        CallRegistry.Generation generation = registry.next("courses");
+        registry.cancelAll();
+        Cancellable late = mock(Cancellable.class);
+
+        // When
+        generation.track(late);
+        CallRegistry.Generation afterClear = registry.next("courses");
+
+        // Then
+        verify(late).cancel();
+        assertFalse(afterClear.isCurrent());
+    }
+
+    @Test
+    public void track_ignoresNullHandles() {
+        CallRegistry.Generation generation = registry.next("courses");
+
+        generation.track(null);
+        registry.cancelAll();
+
+        assertFalse(generation.isCurrent());
+    }
+}
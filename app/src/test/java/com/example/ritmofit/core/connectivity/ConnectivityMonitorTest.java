@@ -0,0 +1,134 @@
+package com.example.ritmofit.core.connectivity;
+
+import android.net.NetworkCapabilities;
+
+import com.example.ritmofit.core.Cancellable;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ConnectivityMonitor.
+ * Updates are fed by hand and delivered synchronously.
+ */
+public class ConnectivityMonitorTest {
+
+    private static final ConnectivityState WIFI =
+            new ConnectivityState(true, true, false, ConnectivityState.Transport.WIFI, 50_000, 10_000);
+    private static final ConnectivityState CELLULAR =
+            new ConnectivityState(true, true, true, ConnectivityState.Transport.CELLULAR, 5_000, 1_000);
+
+    private List<ConnectivityEvent> events;
+    private ConnectivityMonitor monitor;
+
+    @Before
+    public void setUp() {
+        events = new ArrayList<>();
+        monitor = new ConnectivityMonitor(ConnectivityState.OFFLINE, Runnable::run, events::add);
+    }
+
+    @Test
+    public void update_publishesLinkTransitions() {
+        // Given
+        List<ConnectivityState> seen = new ArrayList<>();
+        monitor.addListener((previous, current) -> seen.add(current));
+
+        // When
+        monitor.update(WIFI);
+        monitor.update(CELLULAR);
+        monitor.update(ConnectivityState.OFFLINE);
+
+        // Then
+        assertEquals(List.of(WIFI, CELLULAR, ConnectivityState.OFFLINE), seen);
+        assertEquals(3, events.size());
+        assertEquals(WIFI, events.get(1).previous());
+        assertFalse(monitor.isConnected());
+    }
+
+    @Test
+    public void bandwidthOnlyChange_updatesStateWithoutPublishing() {
+        // Given
+        monitor.update(WIFI);
+        ConnectivityState slower =
+                new ConnectivityState(true, true, false, ConnectivityState.Transport.WIFI, 20_000, 5_000);
+
+        // When
+        monitor.update(slower);
+
+        // Then
+        assertEquals(20_000, monitor.getState().getDownstreamKbps());
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    public void whenConnected_offline_runsWhenNetworkReturns() {
+        // Given
+        int[] runs = {0};
+        monitor.whenConnected(() -> runs[0]++);
+        assertEquals(1, monitor.getPendingCount());
+
+        // When
+        monitor.update(WIFI);
+        monitor.update(CELLULAR);
+
+        // Then
+        assertEquals(1, runs[0]);
+        assertEquals(0, monitor.getPendingCount());
+    }
+
+    @Test
+    public void whenConnected_online_runsRightAway() {
+        // Given
+        monitor.update(WIFI);
+        int[] runs = {0};
+
+        // When
+        monitor.whenConnected(() -> runs[0]++);
+
+        // Then
+        assertEquals(1, runs[0]);
+        assertEquals(0, monitor.getPendingCount());
+    }
+
+    @Test
+    public void cancelledTask_isNotRun() {
+        // Given
+        int[] runs = {0};
+        Cancellable handle = monitor.whenConnected(() -> runs[0]++);
+
+        // When
+        handle.cancel();
+        monitor.update(WIFI);
+
+        // Then
+        assertEquals(0, runs[0]);
+        assertEquals(0, monitor.getPendingCount());
+    }
+
+    @Test
+    public void stateOf_readsCapabilities() {
+        // Given
+        NetworkCapabilities capabilities = mock(NetworkCapabilities.class);
+        when(capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)).thenReturn(true);
+        when(capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_VALIDATED)).thenReturn(true);
+        when(capabilities.hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR)).thenReturn(true);
+        when(capabilities.getLinkDownstreamBandwidthKbps()).thenReturn(3_000);
+
+        // When
+        ConnectivityState state = ConnectivityMonitor.stateOf(capabilities);
+
+        // Then
+        assertTrue(state.isConnected());
+        assertTrue(state.isValidated());
+        assertTrue(state.isMetered());
+        assertEquals(ConnectivityState.Transport.CELLULAR, state.getTransport());
+        assertEquals(3_000, state.getDownstreamKbps());
+        assertEquals(ConnectivityState.OFFLINE, ConnectivityMonitor.stateOf(null));
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.ritmofit.core.connectivity;
+
+import com.example.ritmofit.core.http.NetworkMetrics;
+import com.example.ritmofit.core.paging.PagedList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FetchPolicy.
+ * Connectivity and measured latency/throughput are set by hand for each case.
+ */
+public class FetchPolicyTest {
+
+    private ConnectivityState state;
+    private NetworkMetrics metrics;
+    private FetchPolicy policy;
+
+    @Before
+    public void setUp() {
+        metrics = mock(NetworkMetrics.class);
+        when(metrics.getRecentKbps()).thenReturn(-1L);
+        when(metrics.getRecentTtfbMillis()).thenReturn(-1L);
+        policy = new FetchPolicy(() -> state, metrics);
+    }
+
+    @Test
+    public void withoutMeasurements_behavesAsBefore() {
+        // Given
+        state = wifi(0);
+
+        // Then
+        assertEquals(FetchPolicy.Quality.MODERATE, policy.quality());
+        assertSame(FetchPolicy.DEFAULT_PAGING, policy.coursePaging());
+        assertTrue(policy.allowsSpeculativePrefetch());
+        assertEquals(0, policy.historialWindowDays());
+    }
+
+    @Test
+    public void offline_isConstrained() {
+        // Given
+        state = ConnectivityState.OFFLINE;
+
+        // Then
+        assertEquals(FetchPolicy.Quality.OFFLINE, policy.quality());
+        assertFalse(policy.allowsSpeculativePrefetch());
+    }
+
+    @Test
+    public void meteredNetwork_usesSmallPagesWithoutPrefetch() {
+        // Given: 4G rápido pero con datos móviles
+        state = new ConnectivityState(true, true, true, ConnectivityState.Transport.CELLULAR, 20_000, 5_000);
+
+        // Then
+        assertSame(FetchPolicy.CONSTRAINED_PAGING, policy.coursePaging());
+        assertFalse(policy.allowsSpeculativePrefetch());
+        assertEquals(FetchPolicy.CONSTRAINED_HISTORIAL_DAYS, policy.historialWindowDays());
+    }
+
+    @Test
+    public void measuredThroughput_winsOverSystemEstimate() {
+        // Given: el sistema estima Wi-Fi rápido, pero lo medido es lento
+        state = wifi(50_000);
+        when(metrics.getRecentKbps()).thenReturn(200L);
+
+        // Then
+        assertEquals(FetchPolicy.Quality.POOR, policy.quality());
+        assertSame(FetchPolicy.CONSTRAINED_PAGING, policy.coursePaging());
+    }
+
+    @Test
+    public void slowFirstByte_isPoor() {
+        // Given
+        state = wifi(50_000);
+        when(metrics.getRecentTtfbMillis()).thenReturn(FetchPolicy.POOR_TTFB_MILLIS + 1);
+
+        // Then
+        assertEquals(FetchPolicy.Quality.POOR, policy.quality());
+    }
+
+    @Test
+    public void fastUnmeteredNetwork_prefetchesMore() {
+        // Given
+        state = wifi(50_000);
+        when(metrics.getRecentKbps()).thenReturn(20_000L);
+        when(metrics.getRecentTtfbMillis()).thenReturn(80L);
+
+        // Then
+        assertEquals(FetchPolicy.Quality.GOOD, policy.quality());
+        assertSame(FetchPolicy.GOOD_PAGING, policy.coursePaging());
+        assertTrue(policy.allowsSpeculativePrefetch());
+        assertEquals(0, policy.historialWindowDays());
+    }
+
+    @Test
+    public void coursePaging_staysTheSameOnTheSameLink() {
+        // Given: el primer pedido todavía no tiene mediciones
+        state = wifi(0);
+        PagedList.Config first = policy.coursePaging();
+
+        // When: lo que se bajó primero ya midió una red rápida
+        when(metrics.getRecentKbps()).thenReturn(20_000L);
+        when(metrics.getRecentTtfbMillis()).thenReturn(80L);
+        state = wifi(50_000);
+
+        // Then
+        assertSame(FetchPolicy.DEFAULT_PAGING, first);
+        assertSame(first, policy.coursePaging());
+    }
+
+    @Test
+    public void coursePaging_isDecidedAgainOnANewLink() {
+        // Given
+        state = wifi(0);
+        policy.coursePaging();
+
+        // When: pasa a datos móviles
+        state = new ConnectivityState(true, true, true, ConnectivityState.Transport.CELLULAR, 20_000, 5_000);
+
+        // Then
+        assertSame(FetchPolicy.CONSTRAINED_PAGING, policy.coursePaging());
+    }
+
+    private static ConnectivityState wifi(int downstreamKbps) {
+        return new ConnectivityState(true, true, false, ConnectivityState.Transport.WIFI, downstreamKbps, 0);
+    }
+}
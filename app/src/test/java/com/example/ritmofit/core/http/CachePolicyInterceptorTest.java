@@ -0,0 +1,140 @@
+package com.example.ritmofit.core.http;
+
+import com.example.ritmofit.data.api.HistorialConverterFactory;
+import com.example.ritmofit.data.api.model.HistorialService;
+import com.example.ritmofit.home.http.CoursesApi;
+import com.example.ritmofit.model.HistorialItem;
+import com.example.ritmofit.profile.http.UsersApi;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Invocation;
+import retrofit2.Retrofit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for CachePolicyInterceptor.
+ * Verifies the Cache-Control resolved for each kind of endpoint.
+ */
+public class CachePolicyInterceptorTest {
+
+    private static final String URL = "http://10.0.2.2:8080/api/test";
+
+    @Rule
+    public TemporaryFolder cacheDir = new TemporaryFolder();
+
+    @Test
+    public void courseCatalog_getsLongTtlWithRevalidation() throws Exception {
+        Method method = CoursesApi.class.getMethod("getAllBy", String.class);
+
+        String header = CachePolicyInterceptor.cacheControlFor(get(method, ""));
+
+        assertEquals("private, max-age=" + CoursesApi.CATALOG_MAX_AGE_SECONDS + ", must-revalidate", header);
+    }
+
+    @Test
+    public void historial_isNeverStored() throws Exception {
+        Method method = HistorialService.class.getMethod("getHistorial", String.class, String.class);
+
+        String header = CachePolicyInterceptor.cacheControlFor(get(method, "2024-01-01", "2024-01-31"));
+
+        assertEquals("no-store", header);
+    }
+
+    @Test
+    public void historial_afterLoginAsOtherUser_isNotServedFromTheHttpCache() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                // Cada usuario ve sólo sus asistencias
+                String body = "Bearer token-a".equals(request.getHeader("Authorization"))
+                        ? "[{\"id\":1,\"clase\":\"Yoga\",\"sede\":\"Centro\",\"fecha\":\"2024-01-10\","
+                                + "\"hora\":\"08:00\",\"duracion\":60}]"
+                        : "[]";
+                return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+            }
+        });
+        server.start();
+        try {
+            AtomicReference<String> token = new AtomicReference<>("token-a");
+            OkHttpClient client = new OkHttpClient.Builder()
+                    .cache(new Cache(cacheDir.newFolder("http-cache"), 1024 * 1024))
+                    .addNetworkInterceptor(chain -> chain.proceed(chain.request().newBuilder()
+                            .header("Authorization", "Bearer " + token.get())
+                            .build()))
+                    .addNetworkInterceptor(new CachePolicyInterceptor())
+                    .build();
+            HistorialService service = new Retrofit.Builder()
+                    .baseUrl(server.url("/"))
+                    .client(client)
+                    .addConverterFactory(HistorialConverterFactory.create())
+                    .build()
+                    .create(HistorialService.class);
+
+            // Given: el primer usuario descarga su historial
+            assertEquals(1, service.getHistorial("2024-01-01", "2024-01-31").execute().body().size());
+
+            // When: cierra sesión y entra otro usuario enseguida
+            token.set("token-b");
+            List<HistorialItem> second = service.getHistorial("2024-01-01", "2024-01-31").execute().body();
+
+            // Then: la misma URL vuelve a pedirse y no trae lo del primero
+            assertEquals(2, server.getRequestCount());
+            assertTrue(second.isEmpty());
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void currentUser_isNeverStored() throws Exception {
+        Method method = UsersApi.class.getMethod("getCurrentUser");
+
+        String header = CachePolicyInterceptor.cacheControlFor(get(method));
+
+        assertEquals("no-store", header);
+    }
+
+    @Test
+    public void mutations_areNeverStored() {
+        Request post = new Request.Builder()
+                .url(URL)
+                .post(RequestBody.create(new byte[0], null))
+                .build();
+
+        assertEquals("no-store", CachePolicyInterceptor.cacheControlFor(post));
+    }
+
+    @Test
+    public void unannotatedGet_keepsServerHeaders() {
+        Request request = new Request.Builder().url(URL).build();
+
+        assertNull(CachePolicyInterceptor.cacheControlFor(request));
+    }
+
+    private Request get(Method method, Object... args) {
+        return new Request.Builder()
+                .url(URL)
+                .tag(Invocation.class, Invocation.of(method,
+                        args.length == 0 ? Collections.emptyList() : Arrays.asList(args)))
+                .build();
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.ritmofit.core.http;
+
+import com.example.ritmofit.auth.repository.TokenRepository;
+import com.example.ritmofit.core.Cancellable;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CallCoalescer.
+ * Verifies that identical in-flight GETs share a single round-trip.
+ */
+public class CallCoalescerTest {
+
+    private static final String URL = "http://10.0.2.2:8080/api/courses/search/byName?name=";
+
+    @Mock
+    private TokenRepository mockTokenRepository;
+
+    @Mock
+    private Callback<String> firstCallback;
+
+    @Mock
+    private Callback<String> secondCallback;
+
+    private CallCoalescer coalescer;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mockTokenRepository.getToken()).thenReturn("token");
+        coalescer = new CallCoalescer(mockTokenRepository);
+    }
+
+    @Test
+    public void identicalGets_shareOneCall() {
+        // Given
+        Call<String> first = mockCall(new Request.Builder().url(URL).build());
+        Call<String> second = mockCall(new Request.Builder().url(URL).build());
+
+        // When
+        coalescer.enqueue(first, firstCallback);
+        coalescer.enqueue(second, secondCallback);
+
+        // Then
+        ArgumentCaptor<Callback<String>> captor = ArgumentCaptor.forClass(Callback.class);
+        verify(first).enqueue(captor.capture());
+        verify(second, never()).enqueue(any());
+
+        Response<String> response = Response.success("ok");
+        captor.getValue().onResponse(first, response);
+
+        verify(firstCallback).onResponse(first, response);
+        verify(secondCallback).onResponse(second, response);
+        assertEquals(1, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    public void failure_isFannedOutToAllCallers() {
+        // Given
+        Call<String> first = mockCall(new Request.Builder().url(URL).build());
+        Call<String> second = mockCall(new Request.Builder().url(URL).build());
+        coalescer.enqueue(first, firstCallback);
+        coalescer.enqueue(second, secondCallback);
+
+        ArgumentCaptor<Callback<String>> captor = ArgumentCaptor.forClass(Callback.class);
+        verify(first).enqueue(captor.capture());
+
+        // When
+        IOException error = new IOException("timeout");
+        captor.getValue().onFailure(first, error);
+
+        // Then
+        verify(firstCallback).onFailure(first, error);
+        verify(secondCallback).onFailure(second, error);
+    }
+
+    @Test
+    public void completedCall_isNotReused() {
+        // Given
+        Call<String> first = mockCall(new Request.Builder().url(URL).build());
+        coalescer.enqueue(first, firstCallback);
+        ArgumentCaptor<Callback<String>> captor = ArgumentCaptor.forClass(Callback.class);
+        verify(first).enqueue(captor.capture());
+        captor.getValue().onResponse(first, Response.success("ok"));
+
+        // When
+        Call<String> second = mockCall(new Request.Builder().url(URL).build());
+        coalescer.enqueue(second, secondCallback);
+
+        // Then
+        verify(second).enqueue(any());
+        assertEquals(0, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    public void differentTokens_areNotCoalesced() {
+        // Given
+        Call<String> first = mockCall(new Request.Builder().url(URL).build());
+        Call<String> second = mockCall(new Request.Builder().url(URL).build());
+
+        // When
+        coalescer.enqueue(first, firstCallback);
+        when(mockTokenRepository.getToken()).thenReturn("otro-token");
+        coalescer.enqueue(second, secondCallback);
+
+        // Then
+        verify(first).enqueue(any());
+        verify(second).enqueue(any());
+    }
+
+    @Test
+    public void mutations_areNeverCoalesced() {
+        // Given
+        RequestBody body = RequestBody.create(new byte[0], null);
+        Call<String> first = mockCall(new Request.Builder().url(URL).post(body).build());
+        Call<String> second = mockCall(new Request.Builder().url(URL).post(body).build());
+
+        // When
+        coalescer.enqueue(first, firstCallback);
+        coalescer.enqueue(second, secondCallback);
+
+        // Then
+        ArgumentCaptor<Callback<String>> firstCaptor = ArgumentCaptor.forClass(Callback.class);
+        ArgumentCaptor<Callback<String>> secondCaptor = ArgumentCaptor.forClass(Callback.class);
+        verify(first).enqueue(firstCaptor.capture());
+        verify(second).enqueue(secondCaptor.capture());
+
+        Response<String> firstResponse = Response.success("uno");
+        Response<String> secondResponse = Response.success("dos");
+        firstCaptor.getValue().onResponse(first, firstResponse);
+        secondCaptor.getValue().onResponse(second, secondResponse);
+        verify(firstCallback).onResponse(first, firstResponse);
+        verify(secondCallback).onResponse(second, secondResponse);
+        assertEquals(0, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    public void cancel_oneSubscriber_keepsSharedCallForTheOther() {
+        // Given
+        Call<String> first = mockCall(new Request.Builder().url(URL).build());
+        Call<String> second = mockCall(new Request.Builder().url(URL).build());
+        Cancellable firstHandle = coalescer.enqueue(first, firstCallback);
+        coalescer.enqueue(second, secondCallback);
+        ArgumentCaptor<Callback<String>> captor = ArgumentCaptor.forClass(Callback.class);
+        verify(first).enqueue(captor.capture());
+
+        // When
+        firstHandle.cancel();
+        Response<String> response = Response.success("ok");
+        captor.getValue().onResponse(first, response);
+
+        // Then
+        verify(first, never()).cancel();
+        verify(firstCallback, never()).onResponse(any(), any());
+        verify(secondCallback).onResponse(second, response);
+    }
+
+    @Test
+    public void cancel_lastSubscriber_cancelsCallAndFreesKey() {
+        // Given
+        Call<String> first = mockCall(new Request.Builder().url(URL).build());
+        Cancellable handle = coalescer.enqueue(first, firstCallback);
+
+        // When
+        handle.cancel();
+        Call<String> second = mockCall(new Request.Builder().url(URL).build());
+        coalescer.enqueue(second, secondCallback);
+
+        // Then
+        verify(first).cancel();
+        verify(second).enqueue(any());
+        assertEquals(0, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    public void cancel_uncoalescedCall_dropsLateResponse() {
+        // Given
+        RequestBody body = RequestBody.create(new byte[0], null);
+        Call<String> call = mockCall(new Request.Builder().url(URL).post(body).build());
+        Cancellable handle = coalescer.enqueue(call, firstCallback);
+        ArgumentCaptor<Callback<String>> captor = ArgumentCaptor.forClass(Callback.class);
+        verify(call).enqueue(captor.capture());
+
+        // When
+        handle.cancel();
+        captor.getValue().onFailure(call, new IOException("Canceled"));
+
+        // Then
+        verify(call).cancel();
+        verify(firstCallback, never()).onFailure(any(), any());
+    }
+
+    @Test
+    public void joiningWithHigherPriority_promotesQueuedCall() {
+        // Given
+        PriorityCallScheduler scheduler = new PriorityCallScheduler();
+        CallCoalescer scheduled = new CallCoalescer(mockTokenRepository, scheduler);
+        for (int i = 0; i < PriorityCallScheduler.MAX_IN_FLIGHT; i++) {
+            scheduler.enqueue(mockCall(new Request.Builder().url(URL + i).build()), firstCallback,
+                    RequestPriority.USER_BLOCKING);
+        }
+        Call<String> prefetch = mockCall(new Request.Builder().url(URL).build());
+        Call<String> blocking = mockCall(new Request.Builder().url(URL).build());
+        scheduled.enqueue(prefetch, firstCallback, RequestPriority.PREFETCH);
+
+        // When
+        scheduled.enqueue(blocking, secondCallback, RequestPriority.USER_BLOCKING);
+
+        // Then
+        assertEquals(1, scheduler.getQueuedCount());
+        scheduler.cancelAtOrBelow(RequestPriority.PREFETCH);
+        assertEquals(1, scheduler.getQueuedCount());
+        verify(secondCallback, never()).onFailure(any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Call<String> mockCall(Request request) {
+        Call<String> call = mock(Call.class);
+        when(call.request()).thenReturn(request);
+        return call;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.ritmofit.core.http;
+
+import com.example.ritmofit.data.api.HistorialConverterFactory;
+import com.example.ritmofit.data.api.model.CourseResponse;
+import com.example.ritmofit.data.api.model.CoursesResponse;
+import com.example.ritmofit.data.api.model.HistorialService;
+import com.example.ritmofit.data.api.model.PageResponse;
+import com.example.ritmofit.home.http.CoursesApi;
+import com.example.ritmofit.model.HistorialItem;
+import com.google.gson.stream.JsonToken;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for CBOR negotiation against a local stand-in backend.
+ * The backend answers CBOR only when the request accepts it, so the same
+ * payload can be compared in both formats.
+ */
+public class CborConverterFactoryTest {
+
+    static final int CATALOG_SIZE = 500;
+    static final int HISTORIAL_SIZE = 1000;
+
+    private MockWebServer server;
+    private boolean backendSupportsCbor;
+
+    private String catalogJson;
+    private byte[] catalogCbor;
+    private String historialJson;
+    private byte[] historialCbor;
+
+    @Before
+    public void setUp() throws IOException {
+        catalogJson = buildCatalogJson();
+        catalogCbor = CborWriter.fromJson(catalogJson);
+        historialJson = buildHistorialJson();
+        historialCbor = CborWriter.fromJson(historialJson);
+
+        backendSupportsCbor = true;
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                boolean historial = request.getPath().startsWith("/historial");
+                String accept = request.getHeader("Accept");
+                if (backendSupportsCbor && accept != null && accept.contains("application/cbor")) {
+                    return new MockResponse()
+                            .setHeader("Content-Type", "application/cbor")
+                            .setBody(new Buffer().write(historial ? historialCbor : catalogCbor));
+                }
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(historial ? historialJson : catalogJson);
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void catalog_isNegotiatedAsCborAndDecodesLikeJson() throws IOException {
+        // Given
+        CoursesApi api = retrofit().create(CoursesApi.class);
+
+        // When
+        Response<PageResponse<CoursesResponse>> cbor = api.getAllBy("").execute();
+        backendSupportsCbor = false;
+        Response<PageResponse<CoursesResponse>> json = api.getAllBy("").execute();
+
+        // Then
+        assertEquals("application/cbor", cbor.raw().header("Content-Type"));
+        assertEquals("application/json", json.raw().header("Content-Type"));
+
+        List<CourseResponse> fromCbor = cbor.body().getData().getCourses();
+        List<CourseResponse> fromJson = json.body().getData().getCourses();
+        assertEquals(CATALOG_SIZE, fromCbor.size());
+        assertEquals(fromJson.size(), fromCbor.size());
+        for (int i = 0; i < fromJson.size(); i++) {
+            assertEquals(fromJson.get(i).getName(), fromCbor.get(i).getName());
+            assertEquals(fromJson.get(i).getStartsAt(), fromCbor.get(i).getStartsAt());
+            assertEquals(fromJson.get(i).getProfessor(), fromCbor.get(i).getProfessor());
+        }
+    }
+
+    @Test
+    public void historial_isDecodedFromCborIntoItems() throws IOException {
+        // Given
+        HistorialService service = retrofit().create(HistorialService.class);
+
+        // When
+        List<HistorialItem> items = service.getHistorial("2024-01-01", "2024-12-31").execute().body();
+
+        // Then
+        assertEquals(HISTORIAL_SIZE, items.size());
+        assertEquals(LocalDate.of(2024, 1, 1), items.get(0).getFecha());
+        assertEquals("Clase 0", items.get(0).getClase());
+        assertEquals(45, items.get(0).getDuracion());
+    }
+
+    @Test
+    public void cbor_isSmallerThanJson() throws IOException {
+        // Payload size of both formats, on the same data.
+        // Decode time is not asserted here (it depends on the machine): see CborDecodeBenchmark
+        int catalogJsonSize = catalogJson.getBytes("UTF-8").length;
+        int historialJsonSize = historialJson.getBytes("UTF-8").length;
+
+        assertTrue(catalogCbor.length < catalogJsonSize);
+        assertTrue(historialCbor.length < historialJsonSize);
+    }
+
+    @Test
+    public void reader_handlesIndefiniteLengthsTagsAndFloats() throws IOException {
+        // [_ "a", 1.5 (half), -10, {"k": true}, tag 1 (0), null] with an indefinite array and string
+        byte[] cbor = {
+                (byte) 0x9F,                                    // array indefinido
+                (byte) 0x7F, 0x61, 'a', 0x61, 'b', (byte) 0xFF, // "ab" en chunks
+                (byte) 0xF9, 0x3E, 0x00,                        // 1.5 half float
+                0x29,                                           // -10
+                (byte) 0xA1, 0x61, 'k', (byte) 0xF5,            // {"k": true}
+                (byte) 0xC1, 0x00,                              // tag 1 sobre 0
+                (byte) 0xF6,                                    // null
+                (byte) 0xFF
+        };
+        CborReader reader = new CborReader(new Buffer().write(cbor));
+
+        reader.beginArray();
+        assertEquals("ab", reader.nextString());
+        assertEquals(1.5, reader.nextDouble(), 0.0);
+        assertEquals(-10, reader.nextInt());
+        reader.beginObject();
+        assertEquals("k", reader.nextName());
+        assertTrue(reader.nextBoolean());
+        assertFalse(reader.hasNext());
+        reader.endObject();
+        assertEquals(0L, reader.nextLong());
+        assertEquals(JsonToken.NULL, reader.peek());
+        reader.nextNull();
+        reader.endArray();
+        assertEquals(JsonToken.END_DOCUMENT, reader.peek());
+    }
+
+    private Retrofit retrofit() {
+        return new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(HistorialConverterFactory.create())
+                .addConverterFactory(CborConverterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build();
+    }
+
+    static String buildCatalogJson() {
+        StringBuilder json = new StringBuilder("{\"_embedded\":{\"courses\":[");
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"name\":\"Curso ").append(i)
+                    .append("\",\"description\":\"Clase grupal de entrenamiento funcional\"")
+                    .append(",\"professor\":\"Profesor ").append(i % 12)
+                    .append("\",\"branch\":\"Sede ").append(i % 4)
+                    .append("\",\"startsAt\":\"2024-12-").append(String.format("%02d", i % 28 + 1))
+                    .append("T08:00:00\",\"endsAt\":\"2024-12-").append(String.format("%02d", i % 28 + 1))
+                    .append("T09:00:00\"}");
+        }
+        return json.append("]}}").toString();
+    }
+
+    static String buildHistorialJson() {
+        StringBuilder json = new StringBuilder("[");
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < HISTORIAL_SIZE; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"id\":").append(i)
+                    .append(",\"clase\":\"Clase ").append(i % 20)
+                    .append("\",\"sede\":\"Sede ").append(i % 4)
+                    .append("\",\"fecha\":\"").append(start.plusDays(i % 365))
+                    .append("\",\"hora\":\"18:30\",\"duracion\":45}");
+        }
+        return json.append(']').toString();
+    }
+}
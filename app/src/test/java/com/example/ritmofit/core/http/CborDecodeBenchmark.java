@@ -0,0 +1,90 @@
+package com.example.ritmofit.core.http;
+
+import com.example.ritmofit.data.api.HistorialConverterFactory;
+import com.example.ritmofit.data.api.model.HistorialService;
+import com.example.ritmofit.home.http.CoursesApi;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Decode time of the CBOR and JSON payloads used by CborConverterFactoryTest.
+ * Not a unit test: timings depend on the machine, so it is run by hand and only reports.
+ * It goes through the same converters Retrofit uses, without the network round trip.
+ *
+ * <pre>
+ * ./gradlew :app:compileDebugUnitTestJavaWithJavac
+ * java -cp "app/build/intermediates/javac/debugUnitTest/classes:&lt;test runtime classpath&gt;" \
+ *     com.example.ritmofit.core.http.CborDecodeBenchmark
+ * </pre>
+ */
+public final class CborDecodeBenchmark {
+
+    private static final MediaType JSON = MediaType.get("application/json");
+    private static final MediaType CBOR = MediaType.get("application/cbor");
+
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int ROUNDS = 200;
+
+    private CborDecodeBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl("http://localhost/")
+                .addConverterFactory(HistorialConverterFactory.create())
+                .addConverterFactory(CborConverterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build();
+
+        String catalogJson = CborConverterFactoryTest.buildCatalogJson();
+        String historialJson = CborConverterFactoryTest.buildHistorialJson();
+
+        run("Catálogo (" + CborConverterFactoryTest.CATALOG_SIZE + " cursos)",
+                converter(retrofit, CoursesApi.class.getMethod("getAllBy", String.class)), catalogJson);
+        run("Historial (" + CborConverterFactoryTest.HISTORIAL_SIZE + " asistencias)",
+                converter(retrofit, HistorialService.class.getMethod("getHistorial", String.class, String.class)),
+                historialJson);
+    }
+
+    private static void run(String name, Converter<ResponseBody, ?> converter, String json) throws IOException {
+        byte[] jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+        byte[] cborBytes = CborWriter.fromJson(json);
+
+        // Calentamiento para que el JIT no distorsione la comparación
+        time(converter, JSON, jsonBytes, WARMUP_ROUNDS);
+        time(converter, CBOR, cborBytes, WARMUP_ROUNDS);
+
+        long jsonNanos = time(converter, JSON, jsonBytes, ROUNDS);
+        long cborNanos = time(converter, CBOR, cborBytes, ROUNDS);
+        System.out.println(name + ": JSON " + jsonBytes.length + " B en " + jsonNanos / 1000 + " µs, CBOR "
+                + cborBytes.length + " B en " + cborNanos / 1000 + " µs");
+    }
+
+    private static long time(Converter<ResponseBody, ?> converter, MediaType type, byte[] payload, int rounds)
+            throws IOException {
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            if (converter.convert(ResponseBody.create(payload, type)) == null) {
+                throw new IllegalStateException("decodificación vacía");
+            }
+        }
+        return (System.nanoTime() - start) / rounds;
+    }
+
+    // El converter que Retrofit elegiría para el tipo de respuesta del método
+    private static Converter<ResponseBody, ?> converter(Retrofit retrofit, Method method) {
+        Type body = ((ParameterizedType) method.getGenericReturnType()).getActualTypeArguments()[0];
+        return retrofit.responseBodyConverter(body, new Annotation[0]);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.ritmofit.core.http;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import okio.Buffer;
+
+/**
+ * Minimal CBOR encoder used by the stand-in backend in tests.
+ * Converts a JSON document into its CBOR equivalent with definite lengths.
+ */
+final class CborWriter {
+
+    private CborWriter() {
+    }
+
+    static byte[] fromJson(String json) {
+        Buffer buffer = new Buffer();
+        write(buffer, new JsonParser().parse(json));
+        return buffer.readByteArray();
+    }
+
+    private static void write(Buffer out, JsonElement element) {
+        if (element == null || element.isJsonNull()) {
+            out.writeByte(0xF6);
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            writeHead(out, 4, array.size());
+            for (JsonElement item : array) {
+                write(out, item);
+            }
+        } else if (element.isJsonObject()) {
+            JsonObject object = element.getAsJsonObject();
+            writeHead(out, 5, object.size());
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                writeText(out, entry.getKey());
+                write(out, entry.getValue());
+            }
+        } else {
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                out.writeByte(primitive.getAsBoolean() ? 0xF5 : 0xF4);
+            } else if (primitive.isNumber()) {
+                String lexical = primitive.getAsString();
+                if (lexical.contains(".") || lexical.contains("e") || lexical.contains("E")) {
+                    out.writeByte(0xFB);
+                    out.writeLong(Double.doubleToLongBits(primitive.getAsDouble()));
+                } else {
+                    long value = primitive.getAsLong();
+                    if (value >= 0) {
+                        writeHead(out, 0, value);
+                    } else {
+                        writeHead(out, 1, -1 - value);
+                    }
+                }
+            } else {
+                writeText(out, primitive.getAsString());
+            }
+        }
+    }
+
+    private static void writeText(Buffer out, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        writeHead(out, 3, bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeHead(Buffer out, int major, long argument) {
+        int type = major << 5;
+        if (argument < 24) {
+            out.writeByte(type | (int) argument);
+        } else if (argument <= 0xFF) {
+            out.writeByte(type | 24);
+            out.writeByte((int) argument);
+        } else if (argument <= 0xFFFF) {
+            out.writeByte(type | 25);
+            out.writeShort((int) argument);
+        } else if (argument <= 0xFFFFFFFFL) {
+            out.writeByte(type | 26);
+            out.writeInt((int) argument);
+        } else {
+            out.writeByte(type | 27);
+            out.writeLong(argument);
+        }
+    }
+}
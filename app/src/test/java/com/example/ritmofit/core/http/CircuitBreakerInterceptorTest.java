@@ -0,0 +1,162 @@
+package com.example.ritmofit.core.http;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Cache;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for CircuitBreakerInterceptor against a local stand-in backend.
+ */
+public class CircuitBreakerInterceptorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private AtomicLong now;
+    private List<CircuitStateEvent> events;
+    private CircuitBreakerInterceptor interceptor;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        now = new AtomicLong(1_000_000L);
+        events = new ArrayList<>();
+        interceptor = new CircuitBreakerInterceptor(now::get, events::add);
+        client = new OkHttpClient.Builder()
+                .cache(new Cache(folder.newFolder("http-cache"), 1024 * 1024))
+                .addInterceptor(interceptor)
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void consecutiveFailures_openCircuitAndFailFast() throws IOException {
+        // Given
+        failTimes(CircuitBreaker.FAILURE_THRESHOLD, "/api/historial");
+
+        // When
+        try {
+            execute("/api/historial");
+            fail("Expected CircuitOpenException");
+        } catch (CircuitOpenException e) {
+            // Then
+            assertEquals(EndpointGroup.HISTORIAL, e.getGroup());
+            assertEquals(CircuitBreaker.OPEN_MILLIS, e.getRetryAfterMillis());
+        }
+        assertEquals(CircuitBreaker.FAILURE_THRESHOLD, server.getRequestCount());
+        assertEquals(CircuitBreaker.State.OPEN, interceptor.getState(EndpointGroup.HISTORIAL));
+        assertEquals(1, events.size());
+        assertEquals(CircuitBreaker.State.OPEN, events.get(0).state());
+    }
+
+    @Test
+    public void openCircuit_servesGetFromStaleCache() throws IOException {
+        // Given
+        server.enqueue(new MockResponse().setHeader("Cache-Control", "max-age=0").setBody("catalogo"));
+        try (Response first = execute("/api/courses/search/byName")) {
+            assertEquals("catalogo", first.body().string());
+        }
+        failTimes(CircuitBreaker.FAILURE_THRESHOLD, "/api/courses/search/byName");
+        int requestsBefore = server.getRequestCount();
+
+        // When
+        try (Response fallback = execute("/api/courses/search/byName")) {
+            // Then
+            assertEquals(200, fallback.code());
+            assertEquals("catalogo", fallback.body().string());
+        }
+        assertEquals(requestsBefore, server.getRequestCount());
+    }
+
+    @Test
+    public void halfOpenProbe_success_closesCircuit() throws IOException {
+        // Given
+        failTimes(CircuitBreaker.FAILURE_THRESHOLD, "/api/users/me");
+        now.addAndGet(CircuitBreaker.OPEN_MILLIS);
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        // When
+        try (Response probe = execute("/api/users/me")) {
+            assertEquals(200, probe.code());
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.State.CLOSED, interceptor.getState(EndpointGroup.USERS));
+        assertEquals(3, events.size());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, events.get(1).state());
+        assertEquals(CircuitBreaker.State.CLOSED, events.get(2).state());
+    }
+
+    @Test
+    public void halfOpenProbe_failure_reopensCircuit() throws IOException {
+        // Given
+        failTimes(CircuitBreaker.FAILURE_THRESHOLD, "/api/reservas");
+        now.addAndGet(CircuitBreaker.OPEN_MILLIS);
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        // When
+        execute("/api/reservas").close();
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, interceptor.getState(EndpointGroup.RESERVAS));
+    }
+
+    @Test
+    public void groups_areIsolated() throws IOException {
+        // Given
+        failTimes(CircuitBreaker.FAILURE_THRESHOLD, "/api/historial");
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        // When
+        try (Response response = execute("/api/auth/login")) {
+            // Then
+            assertEquals(200, response.code());
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, interceptor.getState(EndpointGroup.AUTH));
+    }
+
+    @Test
+    public void endpointGroup_isResolvedFromPath() {
+        assertEquals(EndpointGroup.AUTH, EndpointGroup.of(HttpUrl.get("http://10.0.2.2:8080/api/auth/otp/request")));
+        assertEquals(EndpointGroup.COURSES, EndpointGroup.of(HttpUrl.get("http://10.0.2.2:8080/api/courses/search/byName")));
+        assertEquals(EndpointGroup.HISTORIAL, EndpointGroup.of(HttpUrl.get("http://10.0.2.2:8080/historial")));
+        assertEquals(EndpointGroup.USERS, EndpointGroup.of(HttpUrl.get("http://10.0.2.2:8080/api/usuarios/3")));
+        assertEquals(EndpointGroup.RESERVAS, EndpointGroup.of(HttpUrl.get("http://10.0.2.2:8080/reservas/mias")));
+        assertEquals(EndpointGroup.OTHER, EndpointGroup.of(HttpUrl.get("http://10.0.2.2:8080/")));
+    }
+
+    private void failTimes(int times, String path) throws IOException {
+        for (int i = 0; i < times; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+            execute(path).close();
+        }
+    }
+
+    private Response execute(String path) throws IOException {
+        return client.newCall(new Request.Builder().url(server.url(path)).build()).execute();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.ritmofit.core.http;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for ConnectionWarmer against a local server.
+ * Verifies that the warm-up leaves a connection in the pool and that its use is reported.
+ */
+public class ConnectionWarmerTest {
+
+    private MockWebServer server;
+    private OkHttpClient client;
+    private ConnectionWarmer warmer;
+    private long now;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+
+        Retrofit[] retrofit = new Retrofit[1];
+        now = 1_000_000;
+        warmer = new ConnectionWarmer(() -> retrofit[0], () -> now);
+        client = new OkHttpClient.Builder()
+                .eventListenerFactory(warmer.eventListenerFactory())
+                .build();
+        retrofit[0] = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void firstRequestAfterWarmUp_reusesConnection() throws Exception {
+        // Given
+        server.enqueue(new MockResponse());
+        server.enqueue(new MockResponse().setBody("{}"));
+        assertTrue(warmer.warmUp());
+        awaitWarm();
+
+        // When
+        get("/api/users/me");
+
+        // Then
+        RecordedRequest warmUp = server.takeRequest();
+        RecordedRequest first = server.takeRequest();
+        assertEquals("HEAD", warmUp.getMethod());
+        assertEquals(1, first.getSequenceNumber()); // segundo request sobre la misma conexión
+        assertEquals(1, warmer.getUsedCount());
+        assertEquals(0, warmer.getMissedCount());
+        assertFalse(warmer.isWarm());
+    }
+
+    @Test
+    public void evictedConnection_isReportedAsMissed() throws Exception {
+        // Given
+        server.enqueue(new MockResponse());
+        server.enqueue(new MockResponse().setBody("{}"));
+        warmer.warmUp();
+        awaitWarm();
+        client.connectionPool().evictAll();
+
+        // When
+        get("/api/users/me");
+
+        // Then
+        assertEquals(0, warmer.getUsedCount());
+        assertEquals(1, warmer.getMissedCount());
+    }
+
+    @Test
+    public void withoutWarmUp_nothingIsReported() throws Exception {
+        // Given
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        // When
+        get("/api/users/me");
+
+        // Then
+        assertEquals(0, warmer.getUsedCount());
+        assertEquals(0, warmer.getMissedCount());
+    }
+
+    @Test
+    public void warmUpWithinInterval_isSkipped() throws Exception {
+        // Given
+        server.enqueue(new MockResponse());
+        server.enqueue(new MockResponse());
+        warmer.warmUp();
+        awaitWarm();
+
+        // When
+        now += ConnectionWarmer.MIN_INTERVAL_MILLIS - 1;
+        boolean again = warmer.warmUp();
+        now += 1;
+        boolean later = warmer.warmUp();
+
+        // Then
+        assertFalse(again);
+        assertTrue(later);
+    }
+
+    private void get(String path) throws IOException {
+        Request request = new Request.Builder().url(server.url(path)).build();
+        try (Response response = client.newCall(request).execute()) {
+            assertTrue(response.isSuccessful());
+            response.body().string();
+        }
+    }
+
+    private void awaitWarm() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!warmer.isWarm()) {
+            assertTrue("El warm-up no terminó", System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.ritmofit.core.http;
+
+import com.example.ritmofit.core.DomainCallback;
+import com.example.ritmofit.home.http.CoursesApi;
+import com.example.ritmofit.home.model.Course;
+import com.example.ritmofit.home.repository.CourseRepositoryImpl;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for conditional revalidation against a local stand-in backend.
+ * Verifies that validators are sent once the entry expires and that a 304
+ * is answered with the previously decoded courses.
+ */
+public class DecodedResponseCacheTest {
+
+    private static final String ETAG = "\"catalogo-v1\"";
+    private static final String CATALOG_JSON = "{\"_embedded\":{\"courses\":[" +
+            "{\"name\":\"Yoga\",\"description\":\"Clase de yoga\",\"professor\":\"Ana\"," +
+            "\"branch\":\"Centro\",\"startsAt\":\"2024-12-15T08:00:00\",\"endsAt\":\"2024-12-15T09:00:00\"}]}}";
+
+    private MockWebServer server;
+    private AtomicLong now;
+    private DecodedResponseCache cache;
+    private Runnable beforeNotModified = () -> { };
+    private CourseRepositoryImpl repository;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (ETAG.equals(request.getHeader("If-None-Match"))) {
+                    beforeNotModified.run();
+                    return new MockResponse().setResponseCode(304).setHeader("ETag", ETAG);
+                }
+                return new MockResponse()
+                        .setHeader("ETag", ETAG)
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(CATALOG_JSON);
+            }
+        });
+        server.start();
+
+        now = new AtomicLong(1_000_000L);
+        cache = new DecodedResponseCache(null, now::get);
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new ConditionalRequestInterceptor(cache))
+                .addNetworkInterceptor(new CachePolicyInterceptor())
+                .build();
+        CoursesApi api = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(CoursesApi.class);
+
+        repository = new CourseRepositoryImpl(api, new CallCoalescer(null), cache, null);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void freshEntry_isServedWithoutNetwork() throws Exception {
+        List<Course> first = load();
+        List<Course> second = load();
+
+        assertEquals(1, server.getRequestCount());
+        assertSame(first, second);
+    }
+
+    @Test
+    public void expiredEntry_revalidatesAndReusesDecodedCourses() throws Exception {
+        // Given
+        List<Course> first = load();
+        RecordedRequest initial = server.takeRequest();
+        assertNull(initial.getHeader("If-None-Match"));
+
+        // When
+        now.addAndGet((CoursesApi.CATALOG_MAX_AGE_SECONDS + 1) * 1000L);
+        List<Course> revalidated = load();
+
+        // Then
+        RecordedRequest conditional = server.takeRequest();
+        assertEquals(ETAG, conditional.getHeader("If-None-Match"));
+        assertSame(first, revalidated);
+        assertEquals("Yoga", revalidated.get(0).getName());
+    }
+
+    @Test
+    public void entryEvictedBefore304_refetchesOnceWithoutValidators() throws Exception {
+        // Given: la entrada se descarta mientras el request condicional está en vuelo
+        load();
+        server.takeRequest();
+        now.addAndGet((CoursesApi.CATALOG_MAX_AGE_SECONDS + 1) * 1000L);
+        beforeNotModified = cache::clear;
+
+        // When
+        List<Course> reloaded = load();
+
+        // Then
+        assertEquals(ETAG, server.takeRequest().getHeader("If-None-Match"));
+        assertNull(server.takeRequest().getHeader("If-None-Match"));
+        assertEquals(3, server.getRequestCount());
+        assertEquals("Yoga", reloaded.get(0).getName());
+    }
+
+    private List<Course> load() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<List<Course>> result = new AtomicReference<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        repository.getAllByName("", new DomainCallback<List<Course>>() {
+            @Override
+            public void onSuccess(List<Course> courses) {
+                result.set(courses);
+                latch.countDown();
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                failure.set(error);
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertNull(failure.get());
+        return result.get();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.ritmofit.core.http;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for LatencyHistogram bucket boundaries and percentiles.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void percentiles_reportBucketUpperBound() {
+        // Given: 90 muestras de 3 ms, 9 de 40 ms y una de 800 ms
+        LatencyHistogram histogram = new LatencyHistogram();
+        record(histogram, 90, 3);
+        record(histogram, 9, 40);
+        record(histogram, 1, 800);
+
+        // Then
+        assertEquals(100, histogram.getCount());
+        assertEquals(5.0, histogram.percentileMillis(0.50), 0.001);
+        assertEquals(50.0, histogram.percentileMillis(0.95), 0.001);
+        assertEquals(50.0, histogram.percentileMillis(0.99), 0.001);
+        assertEquals(800.0, histogram.percentileMillis(1.0), 0.001);
+    }
+
+    @Test
+    public void overflowBucket_reportsObservedMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        record(histogram, 1, 42_000);
+
+        assertEquals(42_000.0, histogram.percentileMillis(0.99), 0.001);
+    }
+
+    @Test
+    public void empty_reportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0.0, histogram.percentileMillis(0.5), 0.0);
+        assertEquals(0.0, histogram.getMeanMillis(), 0.0);
+    }
+
+    private static void record(LatencyHistogram histogram, int times, long millis) {
+        for (int i = 0; i < times; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.ritmofit.core.http;
+
+import com.example.ritmofit.profile.http.UsersApi;
+import com.example.ritmofit.profile.model.UpdateUserRequest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for NetworkLogger and NetworkLogInterceptor.
+ * Records are collected by a test sink and drained by hand unless stated otherwise.
+ */
+public class NetworkLoggerTest {
+
+    private MockWebServer server;
+    private final List<NetworkLogRecord> written = new ArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void retrofitRequest_isLoggedWithPathTemplate() throws Exception {
+        // Given
+        NetworkLogger logger = new NetworkLogger(16, 1.0, written::add);
+        server.enqueue(new MockResponse().setHeader("Content-Type", "application/json").setBody("{}"));
+
+        // When
+        usersApi(logger).updateById(7L, update()).execute();
+        logger.drain();
+
+        // Then: la plantilla, no el id
+        assertEquals(1, written.size());
+        NetworkLogRecord record = written.get(0);
+        assertEquals("PUT", record.getMethod());
+        assertEquals("/api/users/{id}", record.getPath());
+        assertEquals(200, record.getStatus());
+        assertTrue(record.getRequestBytes() > 0);
+        assertEquals(2, record.getResponseBytes());
+        assertTrue(record.toString().startsWith("method=PUT path=/api/users/{id} status=200"));
+    }
+
+    @Test
+    public void failedRequest_isLoggedWithErrorAndRethrown() throws Exception {
+        // Given
+        NetworkLogger logger = new NetworkLogger(16, 1.0, written::add);
+        UsersApi api = usersApi(logger);
+        server.shutdown();
+
+        // When
+        try {
+            api.getCurrentUser().execute();
+            fail("Esperaba IOException");
+        } catch (IOException expected) {
+            // ok
+        }
+        logger.drain();
+
+        // Then
+        assertEquals(NetworkLogRecord.NO_RESPONSE, written.get(0).getStatus());
+        assertNotNull(written.get(0).getError());
+    }
+
+    @Test
+    public void sampleRateZero_logsNothing() throws Exception {
+        // Given
+        NetworkLogger logger = new NetworkLogger(16, 0, written::add);
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        // When
+        usersApi(logger).getCurrentUser().execute();
+        logger.drain();
+
+        // Then
+        assertFalse(logger.isEnabled());
+        assertTrue(written.isEmpty());
+        assertEquals(0, logger.getPendingCount());
+    }
+
+    @Test
+    public void fullBuffer_dropsNewRecords() {
+        // Given
+        NetworkLogger logger = new NetworkLogger(4, 1.0, written::add);
+
+        // When
+        for (int i = 0; i < 6; i++) {
+            logger.offer(record("/" + i));
+        }
+        logger.drain();
+
+        // Then: los primeros cuatro en orden, los dos últimos descartados
+        assertEquals(4, written.size());
+        assertEquals("/0", written.get(0).getPath());
+        assertEquals("/3", written.get(3).getPath());
+        assertEquals(2, logger.getDroppedCount());
+    }
+
+    @Test
+    public void concurrentProducers_loseNothingWhileThereIsRoom() throws Exception {
+        // Given
+        NetworkLogger logger = new NetworkLogger(1024, 1.0, written::add);
+        int threads = 4;
+        int perThread = 200;
+        CountDownLatch done = new CountDownLatch(threads);
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    logger.offer(record("/x"));
+                }
+                done.countDown();
+            }).start();
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        logger.drain();
+
+        // Then
+        assertEquals(threads * perThread, written.size());
+        assertEquals(0, logger.getDroppedCount());
+    }
+
+    @Test
+    public void backgroundDrainer_emptiesBufferWithoutManualDrain() throws Exception {
+        // Given
+        CountDownLatch received = new CountDownLatch(1);
+        NetworkLogger logger = new NetworkLogger(16, 1.0, record -> received.countDown());
+
+        // When
+        logger.offer(record("/x"));
+
+        // Then
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+    }
+
+    private UsersApi usersApi(NetworkLogger logger) {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(new NetworkLogInterceptor(logger))
+                .build();
+        return new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(UsersApi.class);
+    }
+
+    private static UpdateUserRequest update() {
+        return new UpdateUserRequest("Ana", null, null, null, null, null, "ana@mail.com", 7L);
+    }
+
+    private static NetworkLogRecord record(String path) {
+        return new NetworkLogRecord(0, "GET", path, 200, 0, 0, 1, null);
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.ritmofit.core.http;
+
+import com.example.ritmofit.home.http.CoursesApi;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for NetworkMetrics against a local server.
+ * Verifies that phases and cache results are recorded under the Retrofit method name.
+ */
+public class NetworkMetricsTest {
+
+    private static final String CATALOG_JSON = "{\"_embedded\":{\"courses\":[]}}";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private NetworkMetrics metrics;
+    private CoursesApi courses;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+
+        metrics = new NetworkMetrics();
+        client = new OkHttpClient.Builder()
+                .cache(new Cache(folder.newFolder("http-cache"), 1024 * 1024))
+                .addNetworkInterceptor(new CachePolicyInterceptor())
+                .eventListenerFactory(metrics.eventListenerFactory())
+                .build();
+        courses = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(CoursesApi.class);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void retrofitCall_isRecordedUnderMethodName() throws Exception {
+        // Given
+        server.enqueue(json(CATALOG_JSON));
+
+        // When
+        courses.getAllBy("").execute();
+
+        // Then
+        NetworkMetrics.EndpointMetrics endpoint = metrics.get("CoursesApi.getAllBy");
+        assertNotNull(endpoint);
+        assertEquals(1, endpoint.getCalls());
+        assertEquals(1, endpoint.histogram(NetworkMetrics.Phase.TCP).getCount());
+        assertEquals(1, endpoint.histogram(NetworkMetrics.Phase.TTFB).getCount());
+        assertEquals(1, endpoint.histogram(NetworkMetrics.Phase.DOWNLOAD).getCount());
+        assertEquals(1, endpoint.histogram(NetworkMetrics.Phase.TOTAL).getCount());
+        assertEquals(0, endpoint.histogram(NetworkMetrics.Phase.TLS).getCount()); // sin https
+        assertEquals(1, endpoint.getCacheMisses());
+    }
+
+    @Test
+    public void largeBody_updatesRecentThroughput() throws Exception {
+        // Given: 16 KB de a 4 KB cada 50 ms, después de un body chico que no cuenta
+        server.enqueue(json(CATALOG_JSON));
+        server.enqueue(new MockResponse().setBody("x".repeat(16 * 1024))
+                .throttleBody(4 * 1024, 50, TimeUnit.MILLISECONDS));
+        courses.getAllBy("").execute();
+        assertEquals(-1, metrics.getRecentKbps());
+
+        // When
+        try (Response response = client.newCall(new Request.Builder().url(server.url("/img")).build()).execute()) {
+            response.body().string();
+        }
+
+        // Then
+        long kbps = metrics.getRecentKbps();
+        assertTrue("kbps=" + kbps, kbps > 0 && kbps < 2_000);
+        assertTrue(metrics.getRecentTtfbMillis() >= 0);
+
+        metrics.reset();
+        assertEquals(-1, metrics.getRecentKbps());
+        assertEquals(-1, metrics.getRecentTtfbMillis());
+    }
+
+    @Test
+    public void secondCallWithinMaxAge_countsCacheHit() throws Exception {
+        // Given
+        server.enqueue(json(CATALOG_JSON));
+        courses.getAllBy("").execute();
+
+        // When
+        courses.getAllBy("").execute();
+
+        // Then
+        NetworkMetrics.EndpointMetrics endpoint = metrics.get("CoursesApi.getAllBy");
+        assertEquals(2, endpoint.getCalls());
+        assertEquals(1, endpoint.getCacheHits());
+        assertEquals(1, endpoint.histogram(NetworkMetrics.Phase.TTFB).getCount());
+        assertEquals(2, endpoint.histogram(NetworkMetrics.Phase.TOTAL).getCount());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void failedCall_countsFailure() throws Exception {
+        // Given
+        server.shutdown();
+
+        // When
+        try {
+            courses.getAllByBranch("Centro").execute();
+            fail("Esperaba IOException");
+        } catch (IOException expected) {
+            // ok
+        }
+
+        // Then
+        NetworkMetrics.EndpointMetrics endpoint = metrics.get("CoursesApi.getAllByBranch");
+        assertEquals(1, endpoint.getFailures());
+        assertEquals(1, endpoint.histogram(NetworkMetrics.Phase.TOTAL).getCount());
+    }
+
+    @Test
+    public void writeCsv_hasOneRowPerPhase() throws Exception {
+        // Given
+        server.enqueue(json(CATALOG_JSON));
+        courses.getAllBy("").execute();
+        StringWriter out = new StringWriter();
+
+        // When
+        metrics.writeCsv(out);
+
+        // Then
+        String[] lines = out.toString().split("\n");
+        assertTrue(lines[0].startsWith("endpoint,phase,count,p50_ms,p95_ms,p99_ms"));
+        assertEquals(1 + NetworkMetrics.Phase.values().length, lines.length);
+        assertTrue(lines[1].startsWith("CoursesApi.getAllBy,DNS,"));
+    }
+
+    @Test
+    public void endpointsBeyondLimit_areGroupedAsOther() {
+        // Given
+        EventListener.Factory factory = metrics.eventListenerFactory();
+
+        // When
+        for (int i = 0; i <= NetworkMetrics.MAX_ENDPOINTS; i++) {
+            factory.create(callTo("/api/users/" + i)).callStart(mock(Call.class));
+        }
+
+        // Then
+        assertEquals(NetworkMetrics.MAX_ENDPOINTS + 1, metrics.snapshot().size());
+        assertEquals(1, metrics.get(NetworkMetrics.OTHER).getCalls());
+    }
+
+    @Test
+    public void compositeFactory_forwardsToEveryListener() {
+        // Given
+        EventListener first = mock(EventListener.class);
+        EventListener second = mock(EventListener.class);
+        EventListener.Factory factory = CompositeEventListener.factory(
+                call -> first, call -> EventListener.NONE, call -> second);
+        Call call = callTo("/api/courses");
+
+        // When
+        factory.create(call).callEnd(call);
+
+        // Then
+        verify(first).callEnd(call);
+        verify(second).callEnd(call);
+        verify(first, never()).callFailed(any(), any());
+    }
+
+    private Call callTo(String path) {
+        Call call = mock(Call.class);
+        when(call.request()).thenReturn(new Request.Builder().url(server.url(path)).build());
+        return call;
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+    }
+}
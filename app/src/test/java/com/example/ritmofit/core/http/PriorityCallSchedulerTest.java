@@ -0,0 +1,242 @@
+package com.example.ritmofit.core.http;
+
+import com.example.ritmofit.home.http.CoursesApi;
+import com.example.ritmofit.profile.http.UsersApi;
+import com.example.ritmofit.profile.model.UpdateUserRequest;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Invocation;
+import retrofit2.Response;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PriorityCallScheduler.
+ * Calls are mocks: starting one means Call.enqueue was invoked.
+ */
+public class PriorityCallSchedulerTest {
+
+    private static final String URL = "http://10.0.2.2:8080/api/courses/search/byName?name=";
+
+    private PriorityCallScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new PriorityCallScheduler();
+    }
+
+    @Test
+    public void belowLimit_callsStartImmediately() {
+        // Given
+        Call<String> call = mockCall();
+
+        // When
+        scheduler.enqueue(call, callback(), RequestPriority.VISIBLE);
+
+        // Then
+        verify(call).enqueue(any());
+        assertEquals(1, scheduler.getRunningCount());
+    }
+
+    @Test
+    public void queuedCalls_startByPriorityThenFifo() {
+        // Given
+        List<Call<String>> blockers = fill(RequestPriority.USER_BLOCKING, PriorityCallScheduler.MAX_IN_FLIGHT);
+        Call<String> background = mockCall();
+        Call<String> visible = mockCall();
+        Call<String> firstBlocking = mockCall();
+        Call<String> secondBlocking = mockCall();
+        scheduler.enqueue(background, callback(), RequestPriority.BACKGROUND);
+        scheduler.enqueue(visible, callback(), RequestPriority.VISIBLE);
+        scheduler.enqueue(firstBlocking, callback(), RequestPriority.USER_BLOCKING);
+        scheduler.enqueue(secondBlocking, callback(), RequestPriority.USER_BLOCKING);
+
+        // When
+        complete(blockers.get(0));
+
+        // Then
+        verify(firstBlocking).enqueue(any());
+        verify(secondBlocking, never()).enqueue(any());
+        verify(visible, never()).enqueue(any());
+
+        complete(blockers.get(1));
+        verify(secondBlocking).enqueue(any());
+        verify(visible, never()).enqueue(any());
+    }
+
+    @Test
+    public void lowPriority_leavesSlotsForUserBlocking() {
+        // Given
+        fill(RequestPriority.PREFETCH, PriorityCallScheduler.MAX_IN_FLIGHT);
+
+        // Then: prefetch sólo usa capacidad ociosa
+        assertEquals(PriorityCallScheduler.limitFor(RequestPriority.PREFETCH), scheduler.getRunningCount());
+
+        // When
+        fill(RequestPriority.VISIBLE, 2);
+        Call<String> blocking = mockCall();
+        scheduler.enqueue(blocking, callback(), RequestPriority.USER_BLOCKING);
+
+        // Then
+        verify(blocking).enqueue(any());
+    }
+
+    @Test
+    public void userBlocking_preemptsPrefetchAndRequeuesIt() {
+        // Given
+        Call<String> prefetch = mockCall();
+        Call<String> retry = mockCall();
+        when(prefetch.clone()).thenReturn(retry);
+        Callback<String> prefetchCallback = callback();
+        scheduler.enqueue(prefetch, prefetchCallback, RequestPriority.PREFETCH);
+        List<Call<String>> running = fill(RequestPriority.USER_BLOCKING, PriorityCallScheduler.MAX_IN_FLIGHT - 1);
+
+        // When
+        Call<String> blocking = mockCall();
+        scheduler.enqueue(blocking, callback(), RequestPriority.USER_BLOCKING);
+
+        // Then
+        verify(prefetch).cancel();
+        verify(blocking, never()).enqueue(any());
+
+        fail(prefetch, new IOException("Canceled"));
+        verify(blocking).enqueue(any());
+        verify(prefetchCallback, never()).onFailure(any(), any());
+
+        // Cuando vuelve a haber capacidad ociosa, el prefetch se reintenta
+        running.add(blocking);
+        for (Call<String> call : running) {
+            complete(call);
+        }
+        verify(retry).enqueue(any());
+    }
+
+    @Test
+    public void cancel_queuedCall_failsWithoutStarting() {
+        // Given
+        fill(RequestPriority.BACKGROUND, 2);
+        Call<String> queued = mockCall();
+        Callback<String> queuedCallback = callback();
+        ScheduledCall handle = scheduler.enqueue(queued, queuedCallback, RequestPriority.BACKGROUND);
+
+        // When
+        handle.cancel();
+
+        // Then
+        assertTrue(handle.isCanceled());
+        verify(queued, never()).enqueue(any());
+        verify(queuedCallback).onFailure(eq(queued), any(IOException.class));
+        assertEquals(0, scheduler.getQueuedCount());
+    }
+
+    @Test
+    public void cancelAtOrBelow_cancelsOnlyLowPriorityWork() {
+        // Given
+        Call<String> visible = mockCall();
+        Call<String> prefetch = mockCall();
+        Call<String> background = mockCall();
+        Callback<String> backgroundCallback = callback();
+        scheduler.enqueue(visible, callback(), RequestPriority.VISIBLE);
+        scheduler.enqueue(prefetch, callback(), RequestPriority.PREFETCH);
+        scheduler.enqueue(background, backgroundCallback, RequestPriority.BACKGROUND);
+
+        // When
+        scheduler.cancelAtOrBelow(RequestPriority.PREFETCH);
+
+        // Then: el prefetch en vuelo se cancela y el background encolado ni arranca
+        verify(visible, never()).cancel();
+        verify(prefetch).cancel();
+        verify(background, never()).enqueue(any());
+        verify(backgroundCallback).onFailure(eq(background), any(IOException.class));
+    }
+
+    @Test
+    public void promote_movesQueuedCallAhead() {
+        // Given
+        List<Call<String>> blockers = fill(RequestPriority.USER_BLOCKING, PriorityCallScheduler.MAX_IN_FLIGHT);
+        Call<String> visible = mockCall();
+        Call<String> prefetch = mockCall();
+        scheduler.enqueue(visible, callback(), RequestPriority.VISIBLE);
+        ScheduledCall handle = scheduler.enqueue(prefetch, callback(), RequestPriority.PREFETCH);
+
+        // When
+        scheduler.promote(handle, RequestPriority.USER_BLOCKING);
+        complete(blockers.get(0));
+
+        // Then
+        assertEquals(RequestPriority.USER_BLOCKING, handle.getPriority());
+        verify(prefetch).enqueue(any());
+        verify(visible, never()).enqueue(any());
+    }
+
+    @Test
+    public void priorityOf_readsAnnotationAndDefaultsToVisible() throws Exception {
+        Invocation annotated = Invocation.of(
+                UsersApi.class.getMethod("updateById", Long.class, UpdateUserRequest.class),
+                new ArrayList<>(Arrays.asList(1L, null)));
+        Call<String> blocking = mockCall(new Request.Builder().url(URL).tag(Invocation.class, annotated).build());
+        // El catálogo no se anota: quien lo pide decide si espera el usuario o es prefetch
+        Invocation catalog = Invocation.of(CoursesApi.class.getMethod("getAllBy", String.class),
+                new ArrayList<>(List.of("")));
+        Call<String> unannotated = mockCall(new Request.Builder().url(URL).tag(Invocation.class, catalog).build());
+
+        assertEquals(RequestPriority.USER_BLOCKING, PriorityCallScheduler.priorityOf(blocking));
+        assertEquals(RequestPriority.VISIBLE, PriorityCallScheduler.priorityOf(unannotated));
+        assertEquals(RequestPriority.VISIBLE, PriorityCallScheduler.priorityOf(mockCall()));
+    }
+
+    private List<Call<String>> fill(RequestPriority priority, int count) {
+        List<Call<String>> calls = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Call<String> call = mockCall();
+            scheduler.enqueue(call, callback(), priority);
+            calls.add(call);
+        }
+        return calls;
+    }
+
+    private static void complete(Call<String> call) {
+        startedCallback(call).onResponse(call, Response.success("ok"));
+    }
+
+    private static void fail(Call<String> call, IOException error) {
+        startedCallback(call).onFailure(call, error);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Callback<String> startedCallback(Call<String> call) {
+        ArgumentCaptor<Callback<String>> captor = ArgumentCaptor.forClass(Callback.class);
+        verify(call).enqueue(captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Callback<String> callback() {
+        return mock(Callback.class);
+    }
+
+    private static Call<String> mockCall() {
+        return mockCall(new Request.Builder().url(URL).build());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Call<String> mockCall(Request request) {
+        Call<String> call = mock(Call.class);
+        when(call.request()).thenReturn(request);
+        return call;
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.ritmofit.core.http;
+
+import com.example.ritmofit.core.Cancellable;
+import com.example.ritmofit.data.api.HistorialConverterFactory;
+import com.example.ritmofit.data.api.model.CoursesResponse;
+import com.example.ritmofit.data.api.model.HistorialService;
+import com.example.ritmofit.data.api.model.PageResponse;
+import com.example.ritmofit.home.http.CoursesApi;
+import com.example.ritmofit.model.HistorialItem;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for RequestBatcher against a local stand-in backend.
+ * The stand-in answers each sub-request of /api/batch with the same body it would
+ * return for the individual endpoint, so batched and unbatched results can be compared.
+ */
+public class RequestBatcherTest {
+
+    private static final String CATALOG_JSON =
+            "{\"_embedded\":{\"courses\":[{\"name\":\"Yoga\",\"description\":\"d\",\"professor\":\"Ana\","
+                    + "\"branch\":\"Centro\",\"startsAt\":\"2024-12-01T08:00:00\",\"endsAt\":\"2024-12-01T09:00:00\"}]}}";
+    private static final String HISTORIAL_JSON =
+            "[{\"id\":1,\"clase\":\"Yoga\",\"sede\":\"Centro\",\"fecha\":\"2024-12-01\",\"hora\":\"08:00\",\"duracion\":60}]";
+
+    private MockWebServer server;
+    private boolean batchSupported;
+    private final List<String> paths = new ArrayList<>();
+
+    private RequestBatcher batcher;
+    private CallCoalescer coalescer;
+    private CoursesApi courses;
+    private HistorialService historial;
+
+    @Before
+    public void setUp() throws IOException {
+        batchSupported = true;
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                synchronized (paths) {
+                    paths.add(request.getPath());
+                }
+                if (request.getPath().equals("/" + RequestBatcher.BATCH_PATH)) {
+                    return batchSupported
+                            ? batchResponse(request.getBody().readUtf8())
+                            : new MockResponse().setResponseCode(404);
+                }
+                String body = bodyFor(request.getPath());
+                return body != null
+                        ? new MockResponse().setHeader("Content-Type", "application/json").setBody(body)
+                        : new MockResponse().setResponseCode(500);
+            }
+        });
+        server.start();
+
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(HistorialConverterFactory.create())
+                .addConverterFactory(CborConverterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build();
+        batcher = new RequestBatcher(retrofit, null);
+        coalescer = new CallCoalescer(null, null, batcher);
+        courses = retrofit.create(CoursesApi.class);
+        historial = retrofit.create(HistorialService.class);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void batch_sendsOneRequestAndSplitsResponses() throws Exception {
+        // Given
+        Recorder<PageResponse<CoursesResponse>> catalog = new Recorder<>();
+        Recorder<List<HistorialItem>> items = new Recorder<>();
+
+        // When
+        batcher.batch(() -> {
+            coalescer.enqueue(courses.getAllBy(""), catalog);
+            coalescer.enqueue(historial.getHistorial("2024-12-01", "2024-12-31"), items);
+        });
+
+        // Then
+        assertEquals("Yoga", catalog.await().body().getData().getCourses().get(0).getName());
+        assertEquals(60, items.await().body().get(0).getDuracion());
+        assertEquals(List.of("/" + RequestBatcher.BATCH_PATH), paths);
+    }
+
+    @Test
+    public void batch_partWithErrorStatus_isDeliveredAsErrorResponse() throws Exception {
+        // Given
+        Recorder<PageResponse<CoursesResponse>> catalog = new Recorder<>();
+        Recorder<PageResponse<CoursesResponse>> unknown = new Recorder<>();
+
+        // When
+        batcher.batch(() -> {
+            coalescer.enqueue(courses.getAllBy(""), catalog);
+            coalescer.enqueue(courses.getAllByBranch("inexistente"), unknown);
+        });
+
+        // Then
+        assertTrue(catalog.await().isSuccessful());
+        assertEquals(500, unknown.await().code());
+        assertEquals(1, paths.size());
+    }
+
+    @Test
+    public void unsupportedServer_fallsBackToIndividualCalls() throws Exception {
+        // Given
+        batchSupported = false;
+        Recorder<PageResponse<CoursesResponse>> catalog = new Recorder<>();
+        Recorder<List<HistorialItem>> items = new Recorder<>();
+
+        // When
+        batcher.batch(() -> {
+            coalescer.enqueue(courses.getAllBy(""), catalog);
+            coalescer.enqueue(historial.getHistorial("2024-12-01", "2024-12-31"), items);
+        });
+
+        // Then
+        assertTrue(catalog.await().isSuccessful());
+        assertTrue(items.await().isSuccessful());
+        assertFalse(batcher.isSupported());
+        assertEquals(3, paths.size()); // el batch rechazado + las dos llamadas sueltas
+
+        // Después ni se intenta
+        Recorder<PageResponse<CoursesResponse>> again = new Recorder<>();
+        Recorder<List<HistorialItem>> againItems = new Recorder<>();
+        batcher.batch(() -> {
+            coalescer.enqueue(courses.getAllBy(""), again);
+            coalescer.enqueue(historial.getHistorial("2024-12-01", "2024-12-31"), againItems);
+        });
+        again.await();
+        againItems.await();
+        assertEquals(5, paths.size());
+    }
+
+    @Test
+    public void identicalCallAfterBatch_joinsBatchedPart() throws Exception {
+        // Given
+        Recorder<PageResponse<CoursesResponse>> bootstrap = new Recorder<>();
+        Recorder<PageResponse<CoursesResponse>> screen = new Recorder<>();
+        Recorder<List<HistorialItem>> items = new Recorder<>();
+        batcher.batch(() -> {
+            coalescer.enqueue(courses.getAllBy(""), bootstrap);
+            coalescer.enqueue(historial.getHistorial("2024-12-01", "2024-12-31"), items);
+            // When: la pantalla pide lo mismo antes de que vuelva el batch
+            coalescer.enqueue(courses.getAllBy(""), screen);
+        });
+
+        // Then
+        assertTrue(bootstrap.await().isSuccessful());
+        assertTrue(screen.await().isSuccessful());
+        assertEquals(1, coalescer.getCoalescedCount());
+        assertEquals(1, paths.size());
+    }
+
+    @Test
+    public void cancelledPart_isNotDelivered() throws Exception {
+        // Given
+        Recorder<PageResponse<CoursesResponse>> kept = new Recorder<>();
+        Recorder<List<HistorialItem>> cancelled = new Recorder<>();
+        Cancellable[] handle = new Cancellable[1];
+
+        // When
+        batcher.batch(() -> {
+            coalescer.enqueue(courses.getAllBy(""), kept);
+            handle[0] = coalescer.enqueue(historial.getHistorial("2024-12-01", "2024-12-31"), cancelled);
+            handle[0].cancel();
+        });
+
+        // Then
+        assertTrue(kept.await().isSuccessful());
+        assertFalse(cancelled.latch.await(200, TimeUnit.MILLISECONDS));
+    }
+
+    private static String bodyFor(String path) {
+        if (path.startsWith("/api/courses/search/byName")) {
+            return CATALOG_JSON;
+        }
+        if (path.startsWith("/historial")) {
+            return HISTORIAL_JSON;
+        }
+        return null;
+    }
+
+    // Backend de prueba: resuelve cada sub-request como si fuera una llamada suelta
+    private static MockResponse batchResponse(String requestJson) {
+        JsonArray requests = new JsonParser().parse(requestJson).getAsJsonObject().getAsJsonArray("requests");
+        JsonArray responses = new JsonArray();
+        for (JsonElement element : requests) {
+            JsonObject subRequest = element.getAsJsonObject();
+            assertEquals("application/json", subRequest.getAsJsonObject("headers").get("Accept").getAsString());
+            String body = bodyFor(subRequest.get("url").getAsString());
+
+            JsonObject subResponse = new JsonObject();
+            subResponse.addProperty("id", subRequest.get("id").getAsString());
+            subResponse.addProperty("status", body != null ? 200 : 500);
+            JsonObject headers = new JsonObject();
+            headers.addProperty("ETag", "\"v1\"");
+            subResponse.add("headers", headers);
+            if (body != null) {
+                subResponse.add("body", new JsonParser().parse(body));
+            }
+            responses.add(subResponse);
+        }
+        JsonObject root = new JsonObject();
+        root.add("responses", responses);
+        return new MockResponse().setHeader("Content-Type", "application/json").setBody(root.toString());
+    }
+
+    private static final class Recorder<T> implements Callback<T> {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Map<String, Object> result = new HashMap<>();
+
+        @Override
+        public void onResponse(Call<T> call, Response<T> response) {
+            result.put("response", response);
+            latch.countDown();
+        }
+
+        @Override
+        public void onFailure(Call<T> call, Throwable t) {
+            result.put("failure", t);
+            latch.countDown();
+        }
+
+        @SuppressWarnings("unchecked")
+        Response<T> await() throws Exception {
+            assertTrue("Sin respuesta", latch.await(5, TimeUnit.SECONDS));
+            if (result.containsKey("failure")) {
+                throw new AssertionError((Throwable) result.get("failure"));
+            }
+            return (Response<T>) result.get("response");
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.ritmofit.core.http;
+
+import com.example.ritmofit.data.api.model.ReservaService;
+import com.example.ritmofit.data.api.model.reserva.ReservaCreateRequestDTO;
+import com.example.ritmofit.data.api.model.reserva.ReservaResponseDTO;
+import com.example.ritmofit.home.http.CoursesApi;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for RetryInterceptor against a local stand-in backend.
+ * Sleeps are recorded instead of performed.
+ */
+public class RetryInterceptorTest {
+
+    private static final String CATALOG_JSON = "{\"_embedded\":{\"courses\":[]}}";
+
+    private MockWebServer server;
+    private final List<Long> sleeps = new ArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void get_transientFailure_isRetriedAndCountedAsRecovered() throws IOException {
+        // Given
+        RetryInterceptor interceptor = interceptor(new RetryBudget());
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(json(CATALOG_JSON));
+
+        // When
+        Response<?> response = courses(interceptor).getAllBy("").execute();
+
+        // Then
+        assertTrue(response.isSuccessful());
+        assertEquals(2, server.getRequestCount());
+        RetryStats stats = interceptor.getStats().get("CoursesApi.getAllBy");
+        assertEquals(1, stats.getRequests());
+        assertEquals(1, stats.getRetries());
+        assertEquals(1, stats.getRecovered());
+        assertTrue(sleeps.get(0) <= RetryInterceptor.BASE_DELAY_MILLIS);
+    }
+
+    @Test
+    public void connectionFailure_isRetried() throws IOException {
+        // Given
+        RetryInterceptor interceptor = interceptor(new RetryBudget());
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        server.enqueue(json(CATALOG_JSON));
+
+        // When
+        Response<?> response = courses(interceptor).getAllBy("").execute();
+
+        // Then
+        assertTrue(response.isSuccessful());
+        assertEquals(1, interceptor.getStats().get("CoursesApi.getAllBy").getRecovered());
+    }
+
+    @Test
+    public void retryAfter_isHonoured() throws IOException {
+        // Given
+        RetryInterceptor interceptor = interceptor(new RetryBudget());
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "2"));
+        server.enqueue(json(CATALOG_JSON));
+
+        // When
+        courses(interceptor).getAllBy("").execute();
+
+        // Then
+        assertEquals(1, sleeps.size());
+        assertEquals(Long.valueOf(2000), sleeps.get(0));
+    }
+
+    @Test
+    public void retryAfter_longerThanMaxDelay_isNotRetried() throws IOException {
+        // Given
+        RetryInterceptor interceptor = interceptor(new RetryBudget());
+        server.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "120"));
+
+        // When
+        Response<?> response = courses(interceptor).getAllBy("").execute();
+
+        // Then
+        assertEquals(503, response.code());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void persistentFailure_stopsAfterMaxAttempts() throws IOException {
+        // Given
+        RetryInterceptor interceptor = interceptor(new RetryBudget());
+        for (int i = 0; i < RetryInterceptor.MAX_ATTEMPTS + 1; i++) {
+            server.enqueue(new MockResponse().setResponseCode(502));
+        }
+
+        // When
+        Response<?> response = courses(interceptor).getAllBy("").execute();
+
+        // Then
+        assertEquals(502, response.code());
+        assertEquals(RetryInterceptor.MAX_ATTEMPTS, server.getRequestCount());
+        assertEquals(0, interceptor.getStats().get("CoursesApi.getAllBy").getRecovered());
+    }
+
+    @Test
+    public void post_isNotRetried() throws IOException {
+        // Given
+        RetryInterceptor interceptor = interceptor(new RetryBudget());
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        // When
+        Response<ReservaResponseDTO> response =
+                reservas(interceptor).crearReserva(new ReservaCreateRequestDTO(1L, 2L)).execute();
+
+        // Then
+        assertEquals(503, response.code());
+        assertEquals(1, server.getRequestCount());
+        assertTrue(interceptor.getStats().isEmpty());
+    }
+
+    @Test
+    public void exhaustedBudget_preventsRetries() throws IOException {
+        // Given
+        RetryInterceptor interceptor = interceptor(new RetryBudget(0));
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        // When
+        Response<?> response = courses(interceptor).getAllBy("").execute();
+
+        // Then
+        assertEquals(503, response.code());
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, interceptor.getStats().get("CoursesApi.getAllBy").getBudgetDenied());
+    }
+
+    @Test
+    public void budget_refillsWithSuccessfulTraffic() {
+        // Given
+        RetryBudget budget = new RetryBudget(0);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            budget.onRequest();
+        }
+
+        // Then
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+    }
+
+    private RetryInterceptor interceptor(RetryBudget budget) {
+        return new RetryInterceptor(budget, sleeps::add, new Random(42));
+    }
+
+    private Retrofit retrofit(RetryInterceptor interceptor) {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .retryOnConnectionFailure(false)
+                .addInterceptor(interceptor)
+                .build();
+        return new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create())
+                .build();
+    }
+
+    private CoursesApi courses(RetryInterceptor interceptor) {
+        return retrofit(interceptor).create(CoursesApi.class);
+    }
+
+    private ReservaService reservas(RetryInterceptor interceptor) {
+        return retrofit(interceptor).create(ReservaService.class);
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.ritmofit.core.paging;
+
+import com.example.ritmofit.core.Cancellable;
+import com.example.ritmofit.core.DomainCallback;
+import com.example.ritmofit.core.http.RequestPriority;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for PagedList.
+ * Pages are answered by hand so each test controls what has arrived.
+ */
+public class PagedListTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    private FakeSource source;
+    private RecordingListener listener;
+
+    @Before
+    public void setUp() {
+        source = new FakeSource(95);
+        listener = new RecordingListener();
+    }
+
+    @Test
+    public void start_loadsOnlyFirstPage() {
+        // Given
+        PagedList<String> list = newList(5, 5);
+
+        // When
+        list.start();
+        source.complete(0);
+
+        // Then
+        assertEquals(List.of(0), source.requested);
+        assertEquals(95, list.size()); // placeholders para todo el total
+        assertEquals("item-3", list.get(3));
+        assertEquals(List.of("inserted 0+95", "changed 0+10", "initial 95"), listener.events);
+    }
+
+    @Test
+    public void get_nearPageEnd_prefetchesNextPage() {
+        // Given
+        PagedList<String> list = newList(3, 5);
+        list.start();
+        source.complete(0);
+
+        // When
+        list.get(6);
+        list.get(7); // a 3 elementos del borde
+
+        // Then
+        assertEquals(List.of(0, 1), source.requested);
+    }
+
+    @Test
+    public void priority_comesFromWhoAsks() {
+        // Given: un filtro que el usuario acaba de aplicar
+        PagedList<String> list = newList(3, 5);
+        list.start(RequestPriority.USER_BLOCKING);
+        source.complete(0);
+
+        // When: se scrollea hasta cerca del borde y después se salta a una página sin cargar
+        list.get(7);
+        list.get(42);
+
+        // Then
+        assertEquals(RequestPriority.USER_BLOCKING, source.priorities.get(0));
+        assertEquals(RequestPriority.PREFETCH, source.priorities.get(1));
+        assertEquals(RequestPriority.VISIBLE, source.priorities.get(4));
+    }
+
+    @Test
+    public void placeholder_isNullUntilItsPageArrives() {
+        // Given
+        PagedList<String> list = newList(0, 5);
+        list.start();
+        source.complete(0);
+
+        // When
+        String before = list.get(42);
+        source.complete(4);
+
+        // Then
+        assertNull(before);
+        assertEquals("item-42", list.get(42));
+    }
+
+    @Test
+    public void retainedPages_areBoundedAndFarthestIsEvicted() {
+        // Given
+        PagedList<String> list = newList(0, 3);
+        list.start();
+        source.complete(0);
+
+        // When: se recorre hasta la página 4
+        for (int page = 1; page <= 4; page++) {
+            list.get(page * PAGE_SIZE);
+            source.complete(page);
+        }
+
+        // Then
+        assertEquals(3, list.getRetainedPageCount());
+        assertNull(list.get(0)); // la página 0 se descartó y se vuelve a pedir
+        assertEquals(0, (int) source.requested.get(source.requested.size() - 1));
+        assertEquals("item-40", list.get(40));
+    }
+
+    @Test
+    public void withoutTotal_growsPageByPageUntilShortPage() {
+        // Given
+        source.reportTotal = false;
+        source.total = 25;
+        PagedList<String> list = newList(2, 5);
+        list.start();
+        source.complete(0);
+        assertEquals(10, list.size());
+
+        // When
+        list.get(9);
+        source.complete(1);
+        list.get(19);
+        source.complete(2);
+        list.get(24);
+
+        // Then
+        assertEquals(25, list.size());
+        assertEquals(List.of(0, 1, 2), source.requested);
+    }
+
+    @Test
+    public void failedPage_isNotRetriedUntilRetry() {
+        // Given
+        PagedList<String> list = newList(0, 5);
+        list.start();
+        source.fail(0);
+
+        // When
+        list.get(0);
+        list.get(1);
+
+        // Then
+        assertEquals(List.of(0), source.requested);
+        assertEquals("error", listener.events.get(0));
+
+        list.retry();
+        assertEquals(List.of(0, 0), source.requested);
+    }
+
+    @Test
+    public void cancel_cancelsInFlightPagesAndDropsLateResults() {
+        // Given
+        PagedList<String> list = newList(0, 5);
+        list.start();
+
+        // When
+        list.cancel();
+        source.complete(0);
+
+        // Then
+        assertTrue(source.cancelled.contains(0));
+        assertEquals(0, list.size());
+        assertTrue(listener.events.isEmpty());
+    }
+
+    @Test
+    public void emptySearch_reportsInitialLoadWithZero() {
+        // Given
+        source.total = 0;
+        PagedList<String> list = newList(0, 5);
+
+        // When
+        list.start();
+        source.complete(0);
+
+        // Then
+        assertEquals(List.of("initial 0"), listener.events);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void config_rejectsRetentionSmallerThanPrefetchWindow() {
+        new PagedList.Config(PAGE_SIZE, 30, 3);
+    }
+
+    private PagedList<String> newList(int prefetchDistance, int maxPages) {
+        PagedList.Config config = new PagedList.Config(PAGE_SIZE, prefetchDistance, maxPages);
+        return new PagedList<>(source, config, Runnable::run, listener);
+    }
+
+    private static final class FakeSource implements PageSource<String> {
+        final List<Integer> requested = new ArrayList<>();
+        final Map<Integer, RequestPriority> priorities = new LinkedHashMap<>();
+        final List<Integer> cancelled = new ArrayList<>();
+        final Map<Integer, DomainCallback<Page<String>>> pending = new LinkedHashMap<>();
+        int total;
+        boolean reportTotal = true;
+
+        FakeSource(int total) {
+            this.total = total;
+        }
+
+        @Override
+        public Cancellable load(int page, int size, RequestPriority priority,
+                                DomainCallback<Page<String>> callback) {
+            requested.add(page);
+            priorities.put(page, priority);
+            pending.put(page, callback);
+            return () -> cancelled.add(page);
+        }
+
+        void complete(int page) {
+            List<String> items = new ArrayList<>();
+            for (int i = page * PAGE_SIZE; i < Math.min(total, (page + 1) * PAGE_SIZE); i++) {
+                items.add("item-" + i);
+            }
+            pending.remove(page).onSuccess(new Page<>(page, items, reportTotal ? total : -1));
+        }
+
+        void fail(int page) {
+            pending.remove(page).onError(new Exception("sin conexión"));
+        }
+    }
+
+    private static final class RecordingListener implements PagedList.Listener {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onItemRangeInserted(int start, int count) {
+            events.add("inserted " + start + "+" + count);
+        }
+
+        @Override
+        public void onItemRangeRemoved(int start, int count) {
+            events.add("removed " + start + "+" + count);
+        }
+
+        @Override
+        public void onItemRangeChanged(int start, int count) {
+            events.add("changed " + start + "+" + count);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            events.add("error");
+        }
+
+        @Override
+        public void onInitialLoad(int size) {
+            events.add("initial " + size);
+        }
+    }
+}
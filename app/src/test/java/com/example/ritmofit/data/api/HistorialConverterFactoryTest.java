@@ -0,0 +1,130 @@
+package com.example.ritmofit.data.api;
+
+import com.example.ritmofit.data.api.model.HistorialDelta;
+import com.example.ritmofit.data.api.model.HistorialService;
+import com.example.ritmofit.model.HistorialItem;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for HistorialConverterFactory.
+ * Verifies streaming decode into HistorialItem and that invalid rows are skipped.
+ */
+public class HistorialConverterFactoryTest {
+
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private final Retrofit retrofit = new Retrofit.Builder()
+            .baseUrl("http://10.0.2.2:8080")
+            .addConverterFactory(HistorialConverterFactory.create())
+            .build();
+
+    @Test
+    public void validRows_areDecodedDirectlyIntoItems() throws IOException {
+        // Given
+        String json = "[{\"id\":1,\"clase\":\"Yoga\",\"sede\":\"Sede Centro\",\"fecha\":\"2024-12-15\"," +
+                "\"hora\":\"10:00\",\"duracion\":60,\"extra\":{\"ignorado\":true}}]";
+
+        // When
+        List<HistorialItem> items = convert(json);
+
+        // Then
+        assertEquals(1, items.size());
+        HistorialItem item = items.get(0);
+        assertEquals(Long.valueOf(1L), item.getId());
+        assertEquals("Yoga", item.getClase());
+        assertEquals("Sede Centro", item.getSede());
+        assertEquals(LocalDate.of(2024, 12, 15), item.getFecha());
+        assertEquals(LocalTime.of(10, 0), item.getHora());
+        assertEquals(60, item.getDuracion());
+    }
+
+    @Test
+    public void invalidRows_areSkippedWithoutFailing() throws IOException {
+        // Given
+        String json = "[" +
+                "{\"id\":1,\"clase\":\"Yoga\",\"fecha\":\"2024-12-15\",\"duracion\":60}," +
+                "\"no es un objeto\"," +
+                "{\"id\":2,\"clase\":\"Pilates\",\"fecha\":\"15/12/2024\",\"duracion\":45}," +
+                "{\"id\":\"tres\",\"clase\":\"Spinning\",\"fecha\":\"2024-12-13\",\"duracion\":30}," +
+                "{\"id\":4,\"clase\":{\"nombre\":\"Box\"},\"fecha\":\"2024-12-12\",\"duracion\":50}," +
+                "{\"id\":5,\"clase\":null,\"sede\":null,\"fecha\":\"2024-12-11\",\"hora\":null,\"duracion\":40}" +
+                "]";
+
+        // When
+        List<HistorialItem> items = convert(json);
+
+        // Then
+        assertEquals(2, items.size());
+        assertEquals(Long.valueOf(1L), items.get(0).getId());
+        assertEquals(Long.valueOf(5L), items.get(1).getId());
+        assertEquals("", items.get(1).getClase());
+        assertNull(items.get(1).getHora());
+    }
+
+    @Test(expected = IOException.class)
+    public void nonArrayBody_throwsIOException() throws IOException {
+        convert("{\"error\":\"inesperado\"}");
+    }
+
+    @Test
+    public void delta_isDecodedWithChangedRowsAndDeletedIds() throws IOException {
+        // Given
+        String json = "{\"cursor\":\"42\",\"changed\":[" +
+                "{\"id\":7,\"clase\":\"Yoga\",\"sede\":\"Centro\",\"fecha\":\"2024-12-15\",\"duracion\":60}," +
+                "{\"id\":8,\"clase\":\"Pilates\",\"fecha\":\"fecha rota\",\"duracion\":45}" +
+                "],\"deleted\":[3,\"x\",4]}";
+        Converter<ResponseBody, HistorialDelta> converter =
+                retrofit.responseBodyConverter(HistorialDelta.class, new Annotation[0]);
+
+        // When
+        HistorialDelta delta = converter.convert(ResponseBody.create(json, JSON));
+
+        // Then
+        assertEquals("42", delta.getCursor());
+        assertEquals(1, delta.getChanged().size());
+        assertEquals(Long.valueOf(7L), delta.getChanged().get(0).getId());
+        assertEquals(List.of(3L, 4L), delta.getDeleted());
+    }
+
+    @Test
+    public void otherTypes_areLeftToNextFactory() {
+        // When
+        Converter<ResponseBody, ?> converter = HistorialConverterFactory.create()
+                .responseBodyConverter(String.class, new Annotation[0], retrofit);
+
+        // Then
+        assertNull(converter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<HistorialItem> convert(String json) throws IOException {
+        try {
+            Type type = HistorialService.class
+                    .getMethod("getHistorial", String.class, String.class)
+                    .getGenericReturnType();
+            Type bodyType = ((ParameterizedType) type).getActualTypeArguments()[0];
+            Converter<ResponseBody, List<HistorialItem>> converter =
+                    (Converter<ResponseBody, List<HistorialItem>>) (Converter<?, ?>)
+                            retrofit.responseBodyConverter(bodyType, new Annotation[0]);
+            return converter.convert(ResponseBody.create(json, JSON));
+        } catch (NoSuchMethodException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
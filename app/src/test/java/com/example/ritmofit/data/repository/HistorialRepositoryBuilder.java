@@ -0,0 +1,43 @@
+package com.example.ritmofit.data.repository;
+
+import android.content.Context;
+
+import com.example.ritmofit.core.connectivity.FetchPolicy;
+import com.example.ritmofit.core.http.CallCoalescer;
+import com.example.ritmofit.core.http.DecodedResponseCache;
+import com.example.ritmofit.data.api.model.HistorialService;
+import com.example.ritmofit.data.repository.impl.HistorialCache;
+import com.example.ritmofit.data.repository.impl.HistorialRepositoryImpl;
+import com.example.ritmofit.data.repository.impl.HistorialSyncStore;
+
+/**
+ * Builds HistorialRepositoryImpl for tests through its injected constructor.
+ * Defaults to empty in-memory caches and no sync, connectivity monitor, fetch policy or store.
+ */
+final class HistorialRepositoryBuilder {
+
+    private final HistorialService historialService;
+    private final Context context;
+    private HistorialSyncStore syncStore;
+    private FetchPolicy fetchPolicy;
+
+    HistorialRepositoryBuilder(HistorialService historialService, Context context) {
+        this.historialService = historialService;
+        this.context = context;
+    }
+
+    HistorialRepositoryBuilder syncStore(HistorialSyncStore syncStore) {
+        this.syncStore = syncStore;
+        return this;
+    }
+
+    HistorialRepositoryBuilder fetchPolicy(FetchPolicy fetchPolicy) {
+        this.fetchPolicy = fetchPolicy;
+        return this;
+    }
+
+    HistorialRepositoryImpl build() {
+        return new HistorialRepositoryImpl(historialService, context, new CallCoalescer(null),
+                new DecodedResponseCache(null), new HistorialCache(null), syncStore, null, fetchPolicy, null);
+    }
+}
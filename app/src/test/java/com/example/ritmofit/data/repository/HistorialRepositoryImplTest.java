@@ -4,7 +4,6 @@ import android.content.Context;
 import android.net.ConnectivityManager;
 import android.net.NetworkInfo;
 
-import com.example.ritmofit.data.api.model.HistorialResponse;
 import com.example.ritmofit.data.api.model.HistorialService;
 import com.example.ritmofit.data.repository.impl.HistorialRepositoryImpl;
 import com.example.ritmofit.model.HistorialItem;
@@ -22,6 +21,7 @@ import java.net.ConnectException;
 import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
 
@@ -36,7 +36,7 @@ import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for HistorialRepositoryImpl class.
- * Tests API integration, error handling, and data transformation.
+ * Tests API integration, error handling, and caching.
  */
 @RunWith(RobolectricTestRunner.class)
 public class HistorialRepositoryImplTest {
@@ -54,7 +54,7 @@ public class HistorialRepositoryImplTest {
     private NetworkInfo mockNetworkInfo;
 
     @Mock
-    private Call<List<HistorialResponse>> mockCall;
+    private Call<List<HistorialItem>> mockCall;
 
     @Mock
     private HistorialRepository.HistorialCallback mockCallback;
@@ -72,7 +72,7 @@ public class HistorialRepositoryImplTest {
             .thenReturn(mockNetworkInfo);
         when(mockNetworkInfo.isConnected()).thenReturn(true);
         
-        repository = new HistorialRepositoryImpl(mockHistorialService, mockContext);
+        repository = new HistorialRepositoryBuilder(mockHistorialService, mockContext).build();
     }
 
     @Test
@@ -109,8 +109,8 @@ public class HistorialRepositoryImplTest {
     @Test
     public void getHistorial_successfulResponse_callsOnSuccess() {
         // Given
-        List<HistorialResponse> mockResponses = createSampleHistorialResponses();
-        Response<List<HistorialResponse>> successResponse = Response.success(mockResponses);
+        List<HistorialItem> mockResponses = createSampleHistorialItems();
+        Response<List<HistorialItem>> successResponse = Response.success(mockResponses);
         
         when(mockHistorialService.getHistorial(any(), any())).thenReturn(mockCall);
         
@@ -118,7 +118,7 @@ public class HistorialRepositoryImplTest {
         repository.getHistorial(null, null, mockCallback);
         
         // Capture and trigger the callback
-        ArgumentCaptor<Callback<List<HistorialResponse>>> callbackCaptor = 
+        ArgumentCaptor<Callback<List<HistorialItem>>> callbackCaptor = 
             ArgumentCaptor.forClass(Callback.class);
         verify(mockCall).enqueue(callbackCaptor.capture());
         callbackCaptor.getValue().onResponse(mockCall, successResponse);
@@ -133,10 +133,55 @@ public class HistorialRepositoryImplTest {
         assertEquals("Pilates", items.get(1).getClase());
     }
 
+    @Test
+    public void getHistorial_networkUnavailableAfterSuccess_returnsCachedItems() {
+        // Given
+        when(mockHistorialService.getHistorial(any(), any())).thenReturn(mockCall);
+        repository.getHistorial(null, null, mockCallback);
+        ArgumentCaptor<Callback<List<HistorialItem>>> callbackCaptor =
+            ArgumentCaptor.forClass(Callback.class);
+        verify(mockCall).enqueue(callbackCaptor.capture());
+        callbackCaptor.getValue().onResponse(mockCall, Response.success(createSampleHistorialItems()));
+
+        HistorialRepository.HistorialCallback offlineCallback = mock(HistorialRepository.HistorialCallback.class);
+        when(mockNetworkInfo.isConnected()).thenReturn(false);
+
+        // When
+        repository.getHistorial(null, null, offlineCallback);
+
+        // Then
+        ArgumentCaptor<List<HistorialItem>> itemsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(offlineCallback).onSuccess(itemsCaptor.capture());
+        verify(offlineCallback, never()).onError(any());
+        assertEquals(2, itemsCaptor.getValue().size());
+        verify(mockHistorialService, times(1)).getHistorial(any(), any());
+    }
+
+    @Test
+    public void getCachedHistorial_narrowerRange_filtersCachedItems() {
+        // Given
+        assertNull(repository.getCachedHistorial(null, null));
+        when(mockHistorialService.getHistorial(any(), any())).thenReturn(mockCall);
+        repository.getHistorial(null, null, mockCallback);
+        ArgumentCaptor<Callback<List<HistorialItem>>> callbackCaptor =
+            ArgumentCaptor.forClass(Callback.class);
+        verify(mockCall).enqueue(callbackCaptor.capture());
+        callbackCaptor.getValue().onResponse(mockCall, Response.success(createSampleHistorialItems()));
+
+        // When
+        List<HistorialItem> cached = repository.getCachedHistorial(
+            LocalDate.of(2024, 12, 15), LocalDate.of(2024, 12, 15));
+
+        // Then
+        assertNotNull(cached);
+        assertEquals(1, cached.size());
+        assertEquals("Yoga", cached.get(0).getClase());
+    }
+
     @Test
     public void getHistorial_emptyResponse_callsOnSuccessWithEmptyList() {
         // Given
-        Response<List<HistorialResponse>> emptyResponse = Response.success(null);
+        Response<List<HistorialItem>> emptyResponse = Response.success(null);
         
         when(mockHistorialService.getHistorial(any(), any())).thenReturn(mockCall);
         
@@ -144,7 +189,7 @@ public class HistorialRepositoryImplTest {
         repository.getHistorial(null, null, mockCallback);
         
         // Capture and trigger the callback
-        ArgumentCaptor<Callback<List<HistorialResponse>>> callbackCaptor = 
+        ArgumentCaptor<Callback<List<HistorialItem>>> callbackCaptor = 
             ArgumentCaptor.forClass(Callback.class);
         verify(mockCall).enqueue(callbackCaptor.capture());
         callbackCaptor.getValue().onResponse(mockCall, emptyResponse);
@@ -160,7 +205,7 @@ public class HistorialRepositoryImplTest {
     @Test
     public void getHistorial_errorResponse_callsOnError() {
         // Given
-        Response<List<HistorialResponse>> errorResponse = Response.error(404, 
+        Response<List<HistorialItem>> errorResponse = Response.error(404, 
             okhttp3.ResponseBody.create(null, "Not Found"));
         
         when(mockHistorialService.getHistorial(any(), any())).thenReturn(mockCall);
@@ -169,7 +214,7 @@ public class HistorialRepositoryImplTest {
         repository.getHistorial(null, null, mockCallback);
         
         // Capture and trigger the callback
-        ArgumentCaptor<Callback<List<HistorialResponse>>> callbackCaptor = 
+        ArgumentCaptor<Callback<List<HistorialItem>>> callbackCaptor = 
             ArgumentCaptor.forClass(Callback.class);
         verify(mockCall).enqueue(callbackCaptor.capture());
         callbackCaptor.getValue().onResponse(mockCall, errorResponse);
@@ -191,7 +236,7 @@ public class HistorialRepositoryImplTest {
         repository.getHistorial(null, null, mockCallback);
         
         // Capture and trigger the callback
-        ArgumentCaptor<Callback<List<HistorialResponse>>> callbackCaptor = 
+        ArgumentCaptor<Callback<List<HistorialItem>>> callbackCaptor = 
             ArgumentCaptor.forClass(Callback.class);
         verify(mockCall).enqueue(callbackCaptor.capture());
         callbackCaptor.getValue().onFailure(mockCall, networkException);
@@ -405,7 +450,7 @@ public class HistorialRepositoryImplTest {
         // When
         repository.getHistorial(null, null, mockCallback);
         
-        ArgumentCaptor<Callback<List<HistorialResponse>>> callbackCaptor = 
+        ArgumentCaptor<Callback<List<HistorialItem>>> callbackCaptor = 
             ArgumentCaptor.forClass(Callback.class);
         verify(mockCall).enqueue(callbackCaptor.capture());
         callbackCaptor.getValue().onFailure(mockCall, timeoutException);
@@ -426,7 +471,7 @@ public class HistorialRepositoryImplTest {
         // When
         repository.getHistorial(null, null, mockCallback);
         
-        ArgumentCaptor<Callback<List<HistorialResponse>>> callbackCaptor = 
+        ArgumentCaptor<Callback<List<HistorialItem>>> callbackCaptor = 
             ArgumentCaptor.forClass(Callback.class);
         verify(mockCall).enqueue(callbackCaptor.capture());
         callbackCaptor.getValue().onFailure(mockCall, connectException);
@@ -440,7 +485,7 @@ public class HistorialRepositoryImplTest {
     @Test
     public void httpErrorHandling_401Unauthorized_returnsCorrectMessage() {
         // Given
-        Response<List<HistorialResponse>> unauthorizedResponse = Response.error(401, 
+        Response<List<HistorialItem>> unauthorizedResponse = Response.error(401, 
             okhttp3.ResponseBody.create(null, "Unauthorized"));
         
         when(mockHistorialService.getHistorial(any(), any())).thenReturn(mockCall);
@@ -448,7 +493,7 @@ public class HistorialRepositoryImplTest {
         // When
         repository.getHistorial(null, null, mockCallback);
         
-        ArgumentCaptor<Callback<List<HistorialResponse>>> callbackCaptor = 
+        ArgumentCaptor<Callback<List<HistorialItem>>> callbackCaptor = 
             ArgumentCaptor.forClass(Callback.class);
         verify(mockCall).enqueue(callbackCaptor.capture());
         callbackCaptor.getValue().onResponse(mockCall, unauthorizedResponse);
@@ -462,7 +507,7 @@ public class HistorialRepositoryImplTest {
     @Test
     public void httpErrorHandling_500ServerError_returnsCorrectMessage() {
         // Given
-        Response<List<HistorialResponse>> serverErrorResponse = Response.error(500, 
+        Response<List<HistorialItem>> serverErrorResponse = Response.error(500, 
             okhttp3.ResponseBody.create(null, "Internal Server Error"));
         
         when(mockHistorialService.getHistorial(any(), any())).thenReturn(mockCall);
@@ -470,7 +515,7 @@ public class HistorialRepositoryImplTest {
         // When
         repository.getHistorial(null, null, mockCallback);
         
-        ArgumentCaptor<Callback<List<HistorialResponse>>> callbackCaptor = 
+        ArgumentCaptor<Callback<List<HistorialItem>>> callbackCaptor = 
             ArgumentCaptor.forClass(Callback.class);
         verify(mockCall).enqueue(callbackCaptor.capture());
         callbackCaptor.getValue().onResponse(mockCall, serverErrorResponse);
@@ -482,25 +527,14 @@ public class HistorialRepositoryImplTest {
     }
 
     /**
-     * Helper method to create sample HistorialResponse objects for testing
+     * Helper method to create sample HistorialItem objects for testing
      */
-    private List<HistorialResponse> createSampleHistorialResponses() {
-        HistorialResponse response1 = new HistorialResponse();
-        response1.id = 1L;
-        response1.clase = "Yoga";
-        response1.sede = "Sede Centro";
-        response1.fecha = "2024-12-15";
-        response1.hora = "10:00";
-        response1.duracion = 60;
-        
-        HistorialResponse response2 = new HistorialResponse();
-        response2.id = 2L;
-        response2.clase = "Pilates";
-        response2.sede = "Sede Norte";
-        response2.fecha = "2024-12-14";
-        response2.hora = "18:30";
-        response2.duracion = 45;
-        
-        return Arrays.asList(response1, response2);
+    private List<HistorialItem> createSampleHistorialItems() {
+        HistorialItem item1 = new HistorialItem(
+            1L, "Yoga", "Sede Centro", LocalDate.of(2024, 12, 15), LocalTime.of(10, 0), 60);
+        HistorialItem item2 = new HistorialItem(
+            2L, "Pilates", "Sede Norte", LocalDate.of(2024, 12, 14), LocalTime.of(18, 30), 45);
+        
+        return Arrays.asList(item1, item2);
     }
-}
\ No newline at end of file
+}
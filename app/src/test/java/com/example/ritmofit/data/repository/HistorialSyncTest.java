@@ -0,0 +1,343 @@
+package com.example.ritmofit.data.repository;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
+
+import com.example.ritmofit.core.connectivity.FetchPolicy;
+import com.example.ritmofit.data.api.HistorialConverterFactory;
+import com.example.ritmofit.data.api.model.HistorialService;
+import com.example.ritmofit.data.repository.impl.HistorialRepositoryImpl;
+import com.example.ritmofit.data.repository.impl.HistorialSyncStore;
+import com.example.ritmofit.model.HistorialItem;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the incremental historial sync against a local stand-in server.
+ * The stand-in keeps a change log with a version per row; the cursor is the last version seen.
+ */
+public class HistorialSyncTest {
+
+    private MockWebServer server;
+    private FakeHistorialServer backend;
+    private HistorialSyncStore store;
+    private FetchPolicy fetchPolicy;
+    private HistorialRepositoryImpl repository;
+    private final LocalDate today = LocalDate.now();
+
+    @Before
+    public void setUp() throws IOException {
+        backend = new FakeHistorialServer();
+        server = new MockWebServer();
+        server.setDispatcher(backend);
+        server.start();
+
+        HistorialService service = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(HistorialConverterFactory.create())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(HistorialService.class);
+
+        Context context = mock(Context.class);
+        ConnectivityManager connectivityManager = mock(ConnectivityManager.class);
+        NetworkInfo networkInfo = mock(NetworkInfo.class);
+        when(context.getSystemService(Context.CONNECTIVITY_SERVICE)).thenReturn(connectivityManager);
+        when(connectivityManager.getActiveNetworkInfo()).thenReturn(networkInfo);
+        when(networkInfo.isConnected()).thenReturn(true);
+
+        store = new HistorialSyncStore(null, null);
+        fetchPolicy = mock(FetchPolicy.class);
+        repository = new HistorialRepositoryBuilder(service, context)
+                .syncStore(store)
+                .fetchPolicy(fetchPolicy)
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void firstSync_downloadsEverything_thenOnlyChanges() throws Exception {
+        // Given: 300 asistencias en el servidor
+        for (int i = 0; i < 300; i++) {
+            backend.upsert(i + 1, "Yoga", today.minusDays(i % 600));
+        }
+
+        // When
+        List<HistorialItem> first = load(null, null);
+        backend.upsert(301, "Spinning", today);
+        List<HistorialItem> second = load(null, null);
+
+        // Then
+        assertEquals(300, first.size());
+        assertEquals(301, second.size());
+        assertEquals("Spinning", second.get(0).getClase()); // más reciente primero
+        assertEquals(List.of("/historial/changes", "/historial/changes?since=300"), backend.paths);
+        assertTrue("El delta debería ser mucho más chico que la descarga completa",
+                backend.bodySizes.get(1) * 50 < backend.bodySizes.get(0));
+    }
+
+    @Test
+    public void changedAndDeletedRows_areMergedById() throws Exception {
+        // Given
+        backend.upsert(1, "Yoga", today.minusDays(1));
+        backend.upsert(2, "Pilates", today.minusDays(2));
+        load(null, null);
+
+        // When
+        backend.upsert(1, "Yoga avanzado", today.minusDays(1));
+        backend.delete(2);
+        List<HistorialItem> items = load(null, null);
+
+        // Then
+        assertEquals(1, items.size());
+        assertEquals("Yoga avanzado", items.get(0).getClase());
+    }
+
+    @Test
+    public void rangeQueries_areFilteredLocally() throws Exception {
+        // Given
+        backend.upsert(1, "Yoga", today.minusDays(40));
+        backend.upsert(2, "Pilates", today.minusDays(3));
+        load(null, null);
+
+        // When
+        List<HistorialItem> lastWeek = load(today.minusDays(7), today);
+
+        // Then
+        assertEquals(1, lastWeek.size());
+        assertEquals("Pilates", lastWeek.get(0).getClase());
+        assertEquals(lastWeek, repository.getCachedHistorial(today.minusDays(7), today));
+    }
+
+    @Test
+    public void expiredCursor_resyncsFromScratch() throws Exception {
+        // Given
+        backend.upsert(1, "Yoga", today.minusDays(1));
+        load(null, null);
+        backend.upsert(2, "Pilates", today);
+
+        // When: el servidor compactó su log y ya no conoce el cursor
+        backend.oldestCursor = 2;
+        List<HistorialItem> items = load(null, null);
+
+        // Then
+        assertEquals(2, items.size());
+        assertEquals(List.of("/historial/changes", "/historial/changes?since=1", "/historial/changes"),
+                backend.paths);
+    }
+
+    @Test
+    public void serverWithoutChangesEndpoint_fallsBackToRange() throws Exception {
+        // Given
+        backend.changesSupported = false;
+        backend.upsert(1, "Yoga", today.minusDays(1));
+
+        // When
+        List<HistorialItem> all = load(null, null);
+        List<HistorialItem> lastWeek = load(today.minusDays(7), today);
+
+        // Then
+        assertEquals(1, all.size());
+        assertEquals(1, lastWeek.size());
+        assertFalse(store.isSupported());
+        assertEquals("/historial/changes", backend.paths.get(0));
+        assertFalse(backend.paths.get(1).startsWith("/historial/changes"));
+        assertTrue(backend.paths.get(2).startsWith("/historial?desde="));
+    }
+
+    @Test
+    public void rangeWithoutCursor_isFetchedAsRange() throws Exception {
+        // Given: nunca se sincronizó
+        backend.upsert(1, "Yoga", today.minusDays(1));
+        backend.upsert(2, "Pilates", today.minusDays(40));
+
+        // When
+        List<HistorialItem> lastWeek = load(today.minusDays(7), today);
+
+        // Then: no se baja el historial completo para responder una semana
+        assertEquals(1, lastWeek.size());
+        assertEquals(1, backend.paths.size());
+        assertTrue(backend.paths.get(0).startsWith("/historial?desde="));
+        assertFalse(store.isSeeded());
+    }
+
+    @Test
+    public void allHistorial_onConstrainedNetwork_fetchesOnlyTheWindow() throws Exception {
+        // Given: ya sincronizado, y en el servidor cambió una asistencia vieja
+        backend.upsert(1, "Yoga", today.minusDays(3));
+        load(null, null);
+        backend.upsert(2, "Pilates", today.minusDays(200));
+        when(fetchPolicy.historialWindowDays()).thenReturn(31);
+
+        // When
+        List<HistorialItem> items = loadAll();
+
+        // Then: no se pide el delta, que traería cambios fuera de la ventana
+        assertEquals(1, items.size());
+        assertEquals(2, backend.paths.size());
+        assertTrue(backend.paths.get(1).startsWith("/historial?desde=" + today.minusDays(30)));
+    }
+
+    private List<HistorialItem> load(LocalDate from, LocalDate to) throws InterruptedException {
+        return await(callback -> repository.getHistorial(from, to, callback));
+    }
+
+    private List<HistorialItem> loadAll() throws InterruptedException {
+        return await(repository::getAllHistorial);
+    }
+
+    private List<HistorialItem> await(Consumer<HistorialRepository.HistorialCallback> request)
+            throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        Object[] result = new Object[1];
+        request.accept(new HistorialRepository.HistorialCallback() {
+            @Override
+            public void onSuccess(List<HistorialItem> historialItems) {
+                result[0] = historialItems;
+                latch.countDown();
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                result[0] = errorMessage;
+                latch.countDown();
+            }
+        });
+        assertTrue("Sin respuesta", latch.await(5, TimeUnit.SECONDS));
+        if (result[0] instanceof String) {
+            fail((String) result[0]);
+        }
+        @SuppressWarnings("unchecked")
+        List<HistorialItem> items = (List<HistorialItem>) result[0];
+        return items;
+    }
+
+    /**
+     * Backend de prueba: cada alta, cambio o baja sube la versión global y marca la fila.
+     */
+    private static final class FakeHistorialServer extends Dispatcher {
+        final List<String> paths = new ArrayList<>();
+        final List<Integer> bodySizes = new ArrayList<>();
+        boolean changesSupported = true;
+        long oldestCursor = 0;
+
+        private final Map<Long, Row> rows = new LinkedHashMap<>();
+        private long version;
+
+        synchronized void upsert(long id, String clase, LocalDate fecha) {
+            rows.put(id, new Row(id, clase, fecha, ++version, false));
+        }
+
+        synchronized void delete(long id) {
+            Row row = rows.get(id);
+            rows.put(id, new Row(id, row.clase, row.fecha, ++version, true));
+        }
+
+        @Override
+        public synchronized MockResponse dispatch(RecordedRequest request) {
+            paths.add(request.getPath());
+            String body;
+            if (request.getPath().startsWith("/historial/changes")) {
+                if (!changesSupported) {
+                    return new MockResponse().setResponseCode(404);
+                }
+                String since = request.getRequestUrl().queryParameter("since");
+                long from = since != null ? Long.parseLong(since) : 0;
+                if (since != null && from < oldestCursor) {
+                    return new MockResponse().setResponseCode(410);
+                }
+                body = changesSince(from, since == null);
+            } else {
+                body = range(request.getRequestUrl().queryParameter("desde"),
+                        request.getRequestUrl().queryParameter("hasta"));
+            }
+            bodySizes.add(body.length());
+            return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+        }
+
+        private String changesSince(long from, boolean full) {
+            StringBuilder changed = new StringBuilder();
+            StringBuilder deleted = new StringBuilder();
+            for (Row row : rows.values()) {
+                if (row.version <= from) {
+                    continue;
+                }
+                if (row.deleted) {
+                    if (!full) {
+                        append(deleted, String.valueOf(row.id));
+                    }
+                } else {
+                    append(changed, row.json());
+                }
+            }
+            return "{\"cursor\":\"" + version + "\",\"changed\":[" + changed + "],\"deleted\":[" + deleted + "]}";
+        }
+
+        private String range(String desde, String hasta) {
+            StringBuilder out = new StringBuilder();
+            for (Row row : rows.values()) {
+                boolean inRange = (desde == null || !row.fecha.isBefore(LocalDate.parse(desde)))
+                        && (hasta == null || !row.fecha.isAfter(LocalDate.parse(hasta)));
+                if (!row.deleted && inRange) {
+                    append(out, row.json());
+                }
+            }
+            return "[" + out + "]";
+        }
+
+        private static void append(StringBuilder out, String value) {
+            if (out.length() > 0) {
+                out.append(',');
+            }
+            out.append(value);
+        }
+    }
+
+    private static final class Row {
+        final long id;
+        final String clase;
+        final LocalDate fecha;
+        final long version;
+        final boolean deleted;
+
+        Row(long id, String clase, LocalDate fecha, long version, boolean deleted) {
+            this.id = id;
+            this.clase = clase;
+            this.fecha = fecha;
+            this.version = version;
+            this.deleted = deleted;
+        }
+
+        String json() {
+            return "{\"id\":" + id + ",\"clase\":\"" + clase + "\",\"sede\":\"Centro\",\"fecha\":\""
+                    + fecha + "\",\"hora\":\"08:00\",\"duracion\":60}";
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.ritmofit.data.repository.impl;
+
+import android.content.Context;
+
+import com.example.ritmofit.auth.repository.TokenRepository;
+import com.example.ritmofit.model.DateRange;
+import com.example.ritmofit.model.HistorialItem;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test para AttendanceStore sobre la base SQLite de Robolectric
+ * Verifica las consultas por día, la cobertura de rangos y que lo guardado sobreviva a un reinicio.
+ * La base corre en el hilo del test: el hilo de I/O y el principal se reemplazan por ejecución directa
+ */
+@RunWith(RobolectricTestRunner.class)
+public class AttendanceStoreTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private Context context;
+    private FakeTokens tokens;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+        tokens = new FakeTokens(jwt("user-1", 1));
+    }
+
+    @After
+    public void tearDown() {
+        context.deleteDatabase(AttendanceDbHelper.DB_NAME);
+    }
+
+    @Test
+    public void put_coversRangeAndAnswersNewestFirst() {
+        // Given
+        AttendanceStore store = open();
+        LocalDate from = TODAY.minusDays(30);
+        LocalDate to = TODAY.minusDays(1);
+
+        // When
+        store.put(from, to, List.of(
+                item(1L, TODAY.minusDays(20), "08:00"),
+                item(2L, TODAY.minusDays(5), "18:30"),
+                item(3L, TODAY.minusDays(5), "07:00")));
+
+        // Then
+        assertTrue(covers(store, from, to));
+        assertTrue(covers(store, TODAY.minusDays(10), TODAY.minusDays(2)));
+        assertEquals(List.of(2L, 3L, 1L), ids(query(store, from, to)));
+        assertEquals(List.of(2L, 3L), ids(query(store, TODAY.minusDays(6), to)));
+    }
+
+    @Test
+    public void missing_isOnlyTheUncoveredPart() {
+        // Given: ya se bajó el último mes
+        AttendanceStore store = open();
+        store.put(TODAY.minusDays(30), TODAY.minusDays(1), List.of());
+
+        // When: se amplía a seis meses
+        List<DateRange> missing = missing(store, TODAY.minusDays(180), TODAY.minusDays(1));
+
+        // Then
+        assertEquals(List.of(new DateRange(TODAY.minusDays(180), TODAY.minusDays(31))), missing);
+        assertTrue(missing(store, TODAY.minusDays(30), TODAY.minusDays(1)).isEmpty());
+    }
+
+    @Test
+    public void missing_aroundCoveredSpan_isBothSides() {
+        // Given: ya se bajó un mes del medio
+        AttendanceStore store = open();
+        store.put(TODAY.minusDays(60), TODAY.minusDays(31), List.of());
+
+        // When
+        List<DateRange> missing = missing(store, TODAY.minusDays(90), TODAY.minusDays(1));
+
+        // Then
+        assertEquals(List.of(
+                new DateRange(TODAY.minusDays(90), TODAY.minusDays(61)),
+                new DateRange(TODAY.minusDays(30), TODAY.minusDays(1))), missing);
+    }
+
+    @Test
+    public void openRange_isCoveredAfterDownloadingEverything() {
+        // Given
+        AttendanceStore store = open();
+
+        // When
+        store.put(null, null, List.of(item(1L, TODAY.minusYears(1), "10:00")));
+
+        // Then
+        assertTrue(missing(store, null, null).isEmpty());
+        assertTrue(missing(store, TODAY.minusYears(3), TODAY.minusDays(1)).isEmpty());
+        assertEquals(List.of(1L), ids(query(store, null, null)));
+    }
+
+    @Test
+    public void today_staysCoveredOnlyForItsTtl() {
+        // Given
+        long[] now = {System.currentTimeMillis()};
+        AttendanceStore store = open(() -> now[0]);
+        store.put(TODAY.minusDays(7), TODAY, List.of());
+        boolean coveredRightAway = covers(store, TODAY.minusDays(7), TODAY);
+
+        // When
+        now[0] += AttendanceStore.TODAY_TTL_MILLIS + 1;
+
+        // Then: los días pasados siguen cubiertos, hoy hay que volver a pedirlo
+        assertTrue(coveredRightAway);
+        assertEquals(List.of(new DateRange(TODAY, TODAY)), missing(store, TODAY.minusDays(7), TODAY));
+    }
+
+    @Test
+    public void coverage_survivesRestart() {
+        // Given
+        AttendanceStore store = open();
+        store.put(TODAY.minusDays(60), TODAY.minusDays(31), List.of(item(1L, TODAY.minusDays(40), "09:00")));
+        store.put(TODAY.minusDays(30), TODAY.minusDays(1), List.of(item(2L, TODAY.minusDays(2), "09:00")));
+
+        // When
+        AttendanceStore reopened = open();
+
+        // Then
+        assertTrue(covers(reopened, TODAY.minusDays(60), TODAY.minusDays(1)));
+        assertEquals(List.of(2L, 1L), ids(query(reopened, TODAY.minusDays(60), TODAY.minusDays(1))));
+    }
+
+    @Test
+    public void attendanceThatChangedDay_isNotDuplicated() {
+        // Given
+        AttendanceStore store = open();
+        store.put(TODAY.minusDays(30), TODAY.minusDays(11), List.of(item(1L, TODAY.minusDays(15), "09:00")));
+
+        // When: el servidor la movió a un día de otro rango
+        store.put(TODAY.minusDays(10), TODAY.minusDays(1), List.of(item(1L, TODAY.minusDays(5), "09:00")));
+
+        // Then
+        List<HistorialItem> items = query(store, TODAY.minusDays(30), TODAY.minusDays(1));
+        assertEquals(1, items.size());
+        assertEquals(TODAY.minusDays(5), items.get(0).getFecha());
+    }
+
+    @Test
+    public void syncCopy_survivesRestart() {
+        // Given: una sincronización completa y después un delta
+        AttendanceStore store = open();
+        store.saveSync("5", true, List.of(
+                item(1L, TODAY.minusDays(9), "08:00"),
+                item(2L, TODAY.minusDays(3), "08:00")), List.of());
+        store.saveSync("6", false, List.of(item(3L, TODAY, "19:00")), List.of(1L));
+
+        // When
+        AttendanceStore reopened = open();
+        HistorialSyncStore syncStore = new HistorialSyncStore(tokens, reopened);
+
+        // Then: se sigue desde el último cursor, sin bajar todo de nuevo
+        assertTrue(syncStore.isSeeded());
+        assertEquals("6", syncStore.getCursor());
+        assertEquals(List.of(3L, 2L), ids(syncStore.query(null, null)));
+    }
+
+    @Test
+    public void clearSync_dropsCursorAndRows() {
+        // Given
+        AttendanceStore store = open();
+        store.saveSync("5", true, List.of(item(1L, TODAY.minusDays(9), "08:00")), List.of());
+
+        // When
+        store.clearSync();
+
+        // Then
+        List<String> cursors = new ArrayList<>();
+        open().loadSync((cursor, items) -> {
+            cursors.add(cursor);
+            assertTrue(items.isEmpty());
+        });
+        assertEquals(Collections.singletonList(null), cursors);
+    }
+
+    @Test
+    public void refreshedToken_ofTheSameUser_keepsWhatWasSaved() {
+        // Given
+        AttendanceStore store = open();
+        store.put(TODAY.minusDays(30), TODAY.minusDays(1), List.of(item(1L, TODAY.minusDays(5), "09:00")));
+
+        // When: TokenAuthenticator guarda el token renovado
+        tokens.saveToken(jwt("user-1", 2));
+
+        // Then
+        assertTrue(covers(store, TODAY.minusDays(30), TODAY.minusDays(1)));
+        assertEquals(List.of(1L), ids(query(store, TODAY.minusDays(30), TODAY.minusDays(1))));
+    }
+
+    @Test
+    public void otherUser_startsEmpty() {
+        // Given
+        AttendanceStore store = open();
+        store.put(TODAY.minusDays(30), TODAY.minusDays(1), List.of(item(1L, TODAY.minusDays(5), "09:00")));
+        store.saveSync("5", true, List.of(item(1L, TODAY.minusDays(5), "09:00")), List.of());
+
+        // When
+        tokens.token = jwt("user-2", 1);
+
+        // Then
+        assertFalse(covers(store, TODAY.minusDays(30), TODAY.minusDays(1)));
+        assertTrue(query(store, TODAY.minusDays(30), TODAY.minusDays(1)).isEmpty());
+        assertFalse(new HistorialSyncStore(tokens, store).isSeeded());
+    }
+
+    private AttendanceStore open() {
+        return open(System::currentTimeMillis);
+    }
+
+    private AttendanceStore open(LongSupplier clock) {
+        return new AttendanceStore(context, tokens, clock, Runnable::run, Runnable::run);
+    }
+
+    private static List<HistorialItem> query(AttendanceStore store, LocalDate from, LocalDate to) {
+        List<List<HistorialItem>> result = new ArrayList<>();
+        store.query(from, to, result::add);
+        return result.get(0);
+    }
+
+    private static List<DateRange> missing(AttendanceStore store, LocalDate from, LocalDate to) {
+        List<List<DateRange>> result = new ArrayList<>();
+        store.read(from, to, (items, missing) -> result.add(missing));
+        return result.get(0);
+    }
+
+    private static boolean covers(AttendanceStore store, LocalDate from, LocalDate to) {
+        return missing(store, from, to).isEmpty();
+    }
+
+    // JWT sin firma válida: AttendanceStore sólo lee el sujeto
+    private static String jwt(String subject, long issuedAt) {
+        String payload = "{\"sub\":\"" + subject + "\",\"iat\":" + issuedAt + "}";
+        return "e30." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + ".firma";
+    }
+
+    private static HistorialItem item(Long id, LocalDate fecha, String hora) {
+        return new HistorialItem(id, "Yoga", "Centro", fecha, LocalTime.parse(hora), 60);
+    }
+
+    private static List<Long> ids(List<HistorialItem> items) {
+        List<Long> ids = new ArrayList<>();
+        for (HistorialItem item : items) {
+            ids.add(item.getId());
+        }
+        return ids;
+    }
+
+    private static final class FakeTokens implements TokenRepository {
+        String token;
+
+        FakeTokens(String token) {
+            this.token = token;
+        }
+
+        @Override
+        public void saveToken(String token) {
+            this.token = token;
+        }
+
+        @Override
+        public String getToken() {
+            return token;
+        }
+
+        @Override
+        public void clearToken() {
+            token = null;
+        }
+
+        @Override
+        public boolean hasToken() {
+            return token != null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.ritmofit.data.repository.impl;
+
+import com.example.ritmofit.auth.repository.TokenRepository;
+import com.example.ritmofit.model.HistorialItem;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test para HistorialCache
+ * Verifica que lo guardado sea por usuario y no por token: un refresh no lo descarta
+ */
+public class HistorialCacheTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 3, 31);
+
+    private FakeTokens tokens;
+    private HistorialCache cache;
+
+    @Before
+    public void setUp() {
+        tokens = new FakeTokens(jwt("user-1", 1));
+        cache = new HistorialCache(tokens);
+    }
+
+    @Test
+    public void refreshedToken_ofTheSameUser_keepsTheCachedHistory() {
+        // Given
+        cache.put(FROM, TO, List.of(item(1L, FROM.plusDays(3))));
+
+        // When: TokenAuthenticator guarda el token renovado
+        tokens.saveToken(jwt("user-1", 2));
+
+        // Then
+        List<HistorialItem> cached = cache.get(FROM, TO);
+        assertNotNull(cached);
+        assertEquals(1, cached.size());
+    }
+
+    @Test
+    public void otherUser_doesNotSeeTheCachedHistory() {
+        // Given
+        cache.put(FROM, TO, List.of(item(1L, FROM.plusDays(3))));
+
+        // When
+        tokens.saveToken(jwt("user-2", 1));
+
+        // Then
+        assertNull(cache.get(FROM, TO));
+    }
+
+    @Test
+    public void logout_andLoginAsOtherUser_doesNotSeeTheCachedHistory() {
+        // Given
+        cache.put(FROM, TO, List.of(item(1L, FROM.plusDays(3))));
+
+        // When
+        tokens.clearToken();
+        cache.get(FROM, TO);
+        tokens.saveToken(jwt("user-2", 1));
+
+        // Then
+        assertNull(cache.get(FROM, TO));
+    }
+
+    // JWT sin firma válida: HistorialCache sólo lee el sujeto
+    private static String jwt(String subject, long issuedAt) {
+        String payload = "{\"sub\":\"" + subject + "\",\"iat\":" + issuedAt + "}";
+        return "e30." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + ".firma";
+    }
+
+    private static HistorialItem item(Long id, LocalDate fecha) {
+        return new HistorialItem(id, "Yoga", "Centro", fecha, LocalTime.of(9, 0), 60);
+    }
+
+    private static final class FakeTokens implements TokenRepository {
+        private String token;
+
+        FakeTokens(String token) {
+            this.token = token;
+        }
+
+        @Override
+        public void saveToken(String token) {
+            this.token = token;
+        }
+
+        @Override
+        public String getToken() {
+            return token;
+        }
+
+        @Override
+        public void clearToken() {
+            token = null;
+        }
+
+        @Override
+        public boolean hasToken() {
+            return token != null;
+        }
+    }
+}
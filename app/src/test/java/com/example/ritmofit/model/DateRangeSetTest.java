@@ -0,0 +1,171 @@
+package com.example.ritmofit.model;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for DateRangeSet.
+ * Tests range merging and the missing sub-ranges computed for a requested range.
+ */
+public class DateRangeSetTest {
+
+    private static final LocalDate DEC_1 = LocalDate.of(2024, 12, 1);
+
+    @Test
+    public void add_adjacentAndOverlappingRanges_areMerged() {
+        // Given
+        DateRangeSet set = new DateRangeSet();
+
+        // When
+        set.add(range(10, 19));
+        set.add(range(0, 9));
+        set.add(range(15, 25));
+        set.add(range(40, 50));
+
+        // Then
+        assertEquals(List.of(range(0, 25), range(40, 50)), set.getRanges());
+    }
+
+    @Test
+    public void add_rangeSpanningSeveral_mergesThemAll() {
+        // Given
+        DateRangeSet set = new DateRangeSet();
+        set.add(range(0, 5));
+        set.add(range(10, 15));
+        set.add(range(20, 25));
+
+        // When
+        set.add(range(3, 22));
+
+        // Then
+        assertEquals(List.of(range(0, 25)), set.getRanges());
+    }
+
+    @Test
+    public void missing_returnsEveryGapInOrder() {
+        // Given
+        DateRangeSet set = new DateRangeSet();
+        set.add(range(10, 19));
+        set.add(range(30, 39));
+
+        // When
+        List<DateRange> missing = set.missing(range(0, 49));
+
+        // Then
+        assertEquals(List.of(range(0, 9), range(20, 29), range(40, 49)), missing);
+    }
+
+    @Test
+    public void missing_coveredRange_isEmpty() {
+        // Given
+        DateRangeSet set = new DateRangeSet();
+        set.add(range(0, 30));
+
+        // When & Then
+        assertTrue(set.missing(range(5, 25)).isEmpty());
+        assertTrue(set.covers(range(0, 30)));
+        assertFalse(set.covers(range(0, 31)));
+    }
+
+    @Test
+    public void missing_emptySet_isTheWholeRange() {
+        // Given
+        DateRangeSet set = new DateRangeSet();
+
+        // When & Then
+        assertEquals(List.of(range(0, 9)), set.missing(range(0, 9)));
+    }
+
+    @Test
+    public void openBounds_areKeptInGaps() {
+        // Given
+        DateRangeSet set = new DateRangeSet();
+        set.add(range(10, 19));
+
+        // When
+        List<DateRange> missing = set.missing(new DateRange());
+
+        // Then
+        assertEquals(List.of(
+                new DateRange(null, day(9)),
+                new DateRange(day(20), null)), missing);
+    }
+
+    @Test
+    public void openRange_coversEverything() {
+        // Given
+        DateRangeSet set = new DateRangeSet();
+
+        // When
+        set.add(new DateRange(null, day(5)));
+        set.add(new DateRange(day(6), null));
+
+        // Then
+        assertEquals(List.of(new DateRange()), set.getRanges());
+        assertTrue(set.missing(range(-1000, 1000)).isEmpty());
+    }
+
+    @Test
+    public void invalidRange_isIgnored() {
+        // Given
+        DateRangeSet set = new DateRangeSet();
+
+        // When
+        set.add(range(9, 0));
+
+        // Then
+        assertTrue(set.isEmpty());
+        assertTrue(set.missing(range(9, 0)).isEmpty());
+    }
+
+    @Test
+    public void copy_isIndependent() {
+        // Given
+        DateRangeSet set = new DateRangeSet();
+        set.add(range(0, 9));
+
+        // When
+        DateRangeSet copy = new DateRangeSet(set);
+        copy.add(range(10, 19));
+
+        // Then
+        assertEquals(List.of(range(0, 9)), set.getRanges());
+        assertEquals(List.of(range(0, 19)), copy.getRanges());
+    }
+
+    @Test
+    public void bridge_joinsRangesOnlyAFewDaysApart() {
+        // Given: gaps separated by 3, 10 and 1 covered days
+        List<DateRange> gaps = List.of(
+                new DateRange(null, day(9)), range(13, 19), range(30, 39), range(41, 45));
+
+        // When
+        List<DateRange> bridged = DateRangeSet.bridge(gaps, 3);
+
+        // Then
+        assertEquals(List.of(new DateRange(null, day(19)), range(30, 45)), bridged);
+    }
+
+    @Test
+    public void bridge_farApartOrSingle_isUnchanged() {
+        // Given
+        List<DateRange> gaps = List.of(range(0, 9), range(20, 29), new DateRange(day(40), null));
+
+        // When & Then
+        assertEquals(gaps, DateRangeSet.bridge(gaps, 5));
+        assertEquals(List.of(range(0, 9)), DateRangeSet.bridge(List.of(range(0, 9)), 5));
+        assertTrue(DateRangeSet.bridge(List.of(), 5).isEmpty());
+    }
+
+    private static LocalDate day(int offset) {
+        return DEC_1.plusDays(offset);
+    }
+
+    private static DateRange range(int from, int to) {
+        return new DateRange(day(from), day(to));
+    }
+}
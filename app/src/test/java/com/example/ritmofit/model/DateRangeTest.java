@@ -423,6 +423,32 @@ public class DateRangeTest {
         assertTrue(result.contains("DateRange"));
     }
 
+    @Test
+    public void covers_narrowerRange_returnsTrue() {
+        // Given
+        DateRange month = new DateRange(LocalDate.of(2024, 12, 1), LocalDate.of(2024, 12, 31));
+        DateRange week = new DateRange(LocalDate.of(2024, 12, 8), LocalDate.of(2024, 12, 14));
+        
+        // Then
+        assertTrue(month.covers(week));
+        assertTrue(month.covers(month));
+        assertFalse(week.covers(month));
+    }
+
+    @Test
+    public void covers_openBounds_onlyCoveredByOpenRange() {
+        // Given
+        DateRange all = new DateRange();
+        DateRange month = new DateRange(LocalDate.of(2024, 12, 1), LocalDate.of(2024, 12, 31));
+        DateRange fromDecember = new DateRange(LocalDate.of(2024, 12, 1), null);
+        
+        // Then
+        assertTrue(all.covers(month));
+        assertTrue(all.covers(fromDecember));
+        assertFalse(month.covers(fromDecember));
+        assertFalse(month.covers(null));
+    }
+
     @Test
     public void setters_updateDatesCorrectly() {
         // Given
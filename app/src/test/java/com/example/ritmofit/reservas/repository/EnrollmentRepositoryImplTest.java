@@ -0,0 +1,179 @@
+package com.example.ritmofit.reservas.repository;
+
+import android.content.Context;
+
+import com.example.ritmofit.home.model.Course;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test para EnrollmentRepositoryImpl sobre la base SQLite de Robolectric
+ * Verifica las operaciones, la persistencia y la migración del JSON que quedaba en SharedPreferences
+ */
+@RunWith(RobolectricTestRunner.class)
+public class EnrollmentRepositoryImplTest {
+
+    // Como lo guardaba la versión anterior con new Gson().toJson(courses)
+    private static final String LEGACY_JSON = "[{\"name\":\"Yoga\",\"description\":\"Relajación\","
+            + "\"professor\":\"Ana\",\"branch\":\"Centro\","
+            + "\"startsAt\":{\"date\":{\"year\":2024,\"month\":12,\"day\":1},"
+            + "\"time\":{\"hour\":8,\"minute\":0,\"second\":0,\"nano\":0}},"
+            + "\"endsAt\":{\"date\":{\"year\":2024,\"month\":12,\"day\":1},"
+            + "\"time\":{\"hour\":9,\"minute\":30,\"second\":0,\"nano\":0}}},"
+            + "{\"name\":\"Spinning\",\"description\":\"Cardio\",\"professor\":\"Luis\",\"branch\":\"Norte\","
+            + "\"startsAt\":{\"date\":{\"year\":2024,\"month\":12,\"day\":2},"
+            + "\"time\":{\"hour\":18,\"minute\":0,\"second\":0,\"nano\":0}},"
+            + "\"endsAt\":{\"date\":{\"year\":2024,\"month\":12,\"day\":2},"
+            + "\"time\":{\"hour\":19,\"minute\":0,\"second\":0,\"nano\":0}}}]";
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = RuntimeEnvironment.getApplication();
+    }
+
+    @After
+    public void tearDown() {
+        context.deleteDatabase(EnrollmentDbHelper.DB_NAME);
+    }
+
+    @Test
+    public void enrollInCourse_isFoundByName() {
+        // Given
+        EnrollmentRepositoryImpl repository = new EnrollmentRepositoryImpl(context);
+
+        // When
+        repository.enrollInCourse(course("Yoga"));
+
+        // Then
+        assertTrue(repository.isEnrolledInCourse("Yoga"));
+        assertFalse(repository.isEnrolledInCourse("Pilates"));
+    }
+
+    @Test
+    public void enrollInCourse_twice_keepsOneRow() {
+        // Given
+        EnrollmentRepositoryImpl repository = new EnrollmentRepositoryImpl(context);
+
+        // When
+        repository.enrollInCourse(course("Yoga"));
+        repository.enrollInCourse(course("Yoga"));
+
+        // Then
+        assertEquals(1, repository.getEnrolledCourses().size());
+    }
+
+    @Test
+    public void getEnrolledCourses_keepsEnrollmentOrderAndFields() {
+        // Given
+        EnrollmentRepositoryImpl repository = new EnrollmentRepositoryImpl(context);
+        repository.enrollInCourse(course("Spinning"));
+        repository.enrollInCourse(course("Yoga"));
+
+        // When
+        List<Course> courses = repository.getEnrolledCourses();
+
+        // Then
+        assertEquals("Spinning", courses.get(0).getName());
+        assertEquals("Yoga", courses.get(1).getName());
+        assertEquals("Ana", courses.get(1).getProfessor());
+        assertEquals(LocalDateTime.of(2024, 12, 1, 8, 0), courses.get(1).getStartsAt());
+    }
+
+    @Test
+    public void unenrollFromCourse_removesOnlyThatCourse() {
+        // Given
+        EnrollmentRepositoryImpl repository = new EnrollmentRepositoryImpl(context);
+        repository.enrollInCourse(course("Yoga"));
+        repository.enrollInCourse(course("Spinning"));
+
+        // When
+        repository.unenrollFromCourse("Yoga");
+
+        // Then
+        assertFalse(repository.isEnrolledInCourse("Yoga"));
+        assertTrue(repository.isEnrolledInCourse("Spinning"));
+    }
+
+    @Test
+    public void flushedChanges_areSeenByANewInstance() throws Exception {
+        // Given
+        EnrollmentRepositoryImpl repository = new EnrollmentRepositoryImpl(context);
+        repository.enrollInCourse(course("Yoga"));
+        repository.enrollInCourse(course("Spinning"));
+        repository.unenrollFromCourse("Yoga");
+
+        // When
+        repository.flush();
+        repository.awaitIdle();
+        EnrollmentRepositoryImpl reopened = new EnrollmentRepositoryImpl(context);
+        reopened.awaitIdle();
+
+        // Then
+        assertFalse(reopened.isEnrolledInCourse("Yoga"));
+        assertTrue(reopened.isEnrolledInCourse("Spinning"));
+    }
+
+    @Test
+    public void legacyJson_isMigratedOnFirstUseAndRemoved() throws Exception {
+        // Given
+        context.getSharedPreferences("enrollment_preferences", Context.MODE_PRIVATE)
+                .edit().putString("enrolled_courses", LEGACY_JSON).commit();
+
+        // When
+        EnrollmentRepositoryImpl repository = new EnrollmentRepositoryImpl(context);
+        repository.awaitIdle();
+        List<Course> courses = repository.getEnrolledCourses();
+
+        // Then
+        assertEquals(2, courses.size());
+        assertTrue(repository.isEnrolledInCourse("Spinning"));
+        assertFalse(context.getSharedPreferences("enrollment_preferences", Context.MODE_PRIVATE)
+                .contains("enrolled_courses"));
+    }
+
+    @Test
+    public void unreadableLegacyJson_isKeptForTheNextStart() throws Exception {
+        // Given
+        context.getSharedPreferences("enrollment_preferences", Context.MODE_PRIVATE)
+                .edit().putString("enrolled_courses", "[{\"name\":\"Yoga\",").commit();
+
+        // When
+        EnrollmentRepositoryImpl repository = new EnrollmentRepositoryImpl(context);
+        repository.awaitIdle();
+        List<Course> courses = repository.getEnrolledCourses();
+
+        // Then
+        assertTrue(courses.isEmpty());
+        assertEquals("[{\"name\":\"Yoga\",", context.getSharedPreferences("enrollment_preferences",
+                Context.MODE_PRIVATE).getString("enrolled_courses", null));
+    }
+
+    @Test
+    public void parseLegacyCourses_readsGsonDateFormat() {
+        // When
+        List<Course> courses = SqliteEnrollmentStore.parseLegacyCourses(LEGACY_JSON);
+
+        // Then
+        assertEquals(2, courses.size());
+        assertEquals("Yoga", courses.get(0).getName());
+        assertEquals(LocalDateTime.of(2024, 12, 1, 9, 30), courses.get(0).getEndsAt());
+        assertEquals("Norte", courses.get(1).getBranch());
+    }
+
+    private static Course course(String name) {
+        return new Course(name, "Clase de " + name, "Ana", "Centro",
+                LocalDateTime.of(2024, 12, 1, 8, 0), LocalDateTime.of(2024, 12, 1, 9, 0));
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.ritmofit.reservas.repository;
+
+import com.example.ritmofit.home.model.Course;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test para el índice en memoria y la escritura diferida de EnrollmentRepositoryImpl
+ * Usa un almacenamiento en memoria que registra cada lote escrito
+ */
+public class EnrollmentWriteBehindTest {
+
+    private FakeStore store;
+    private ScheduledExecutorService io;
+
+    @Before
+    public void setUp() {
+        store = new FakeStore();
+        io = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        io.shutdownNow();
+    }
+
+    @Test
+    public void reads_areAnsweredFromMemoryAfterOneLoad() throws Exception {
+        // Given
+        store.rows.put("Yoga", course("Yoga"));
+        EnrollmentRepositoryImpl repository = new EnrollmentRepositoryImpl(store, io, Runnable::run);
+        repository.awaitIdle();
+
+        // When
+        boolean enrolled = repository.isEnrolledInCourse("Yoga");
+        repository.getEnrolledCourses();
+        repository.isEnrolledInCourse("Pilates");
+
+        // Then
+        assertTrue(enrolled);
+        assertEquals(1, store.loads);
+    }
+
+    @Test
+    public void whenLoaded_runsOnceStoredRowsAreInMemory() throws Exception {
+        // Given
+        CountDownLatch loading = new CountDownLatch(1);
+        store.rows.put("Yoga", course("Yoga"));
+        store.blockLoad = loading;
+        EnrollmentRepositoryImpl repository = new EnrollmentRepositoryImpl(store, io, Runnable::run);
+        List<Boolean> seen = new ArrayList<>();
+
+        // When
+        repository.whenLoaded(() -> seen.add(repository.isEnrolledInCourse("Yoga")));
+        boolean beforeLoad = repository.isEnrolledInCourse("Yoga"); // no espera a la carga
+        loading.countDown();
+        repository.awaitIdle();
+
+        // Then
+        assertFalse(beforeLoad);
+        assertEquals(List.of(true), seen);
+    }
+
+    @Test
+    public void changesBeforeLoad_areAppliedOverStoredRows() throws Exception {
+        // Given
+        CountDownLatch loading = new CountDownLatch(1);
+        store.rows.put("Yoga", course("Yoga"));
+        store.rows.put("Spinning", course("Spinning"));
+        store.blockLoad = loading;
+        EnrollmentRepositoryImpl repository = new EnrollmentRepositoryImpl(store, io, Runnable::run);
+
+        // When
+        repository.unenrollFromCourse("Yoga");
+        repository.enrollInCourse(course("Pilates"));
+        loading.countDown();
+        repository.flush();
+        repository.awaitIdle();
+
+        // Then
+        assertEquals(List.of("Spinning", "Pilates"), names(repository.getEnrolledCourses()));
+        assertEquals(List.of("Spinning", "Pilates"), new ArrayList<>(store.rows.keySet()));
+    }
+
+    @Test
+    public void mutations_areVisibleAtOnceAndWrittenTogether() throws Exception {
+        // Given
+        EnrollmentRepositoryImpl repository = new EnrollmentRepositoryImpl(store, io, Runnable::run);
+
+        // When
+        repository.enrollInCourse(course("Yoga"));
+        repository.enrollInCourse(course("Spinning"));
+        repository.enrollInCourse(course("Pilates"));
+        repository.unenrollFromCourse("Spinning");
+
+        // Then
+        assertTrue(repository.isEnrolledInCourse("Yoga"));
+        assertFalse(repository.isEnrolledInCourse("Spinning"));
+        assertTrue(store.batches.isEmpty()); // todavía nada escrito
+
+        assertTrue(store.written.await(EnrollmentRepositoryImpl.FLUSH_DELAY_MILLIS * 4, TimeUnit.MILLISECONDS));
+        assertEquals(1, store.batches.size());
+        assertEquals(List.of("Yoga", "Pilates"), new ArrayList<>(store.rows.keySet()));
+    }
+
+    @Test
+    public void flush_writesPendingChangesRightAway() throws Exception {
+        // Given
+        EnrollmentRepositoryImpl repository = new EnrollmentRepositoryImpl(store, io, Runnable::run);
+        repository.enrollInCourse(course("Yoga"));
+
+        // When
+        repository.flush();
+        repository.awaitIdle();
+
+        // Then
+        assertTrue(store.rows.containsKey("Yoga"));
+        assertEquals(1, repository.getFlushCount());
+
+        repository.flush(); // sin cambios no escribe de nuevo
+        repository.awaitIdle();
+        assertEquals(1, repository.getFlushCount());
+    }
+
+    @Test
+    public void enrollTwice_queuesOneChange() throws Exception {
+        // Given
+        EnrollmentRepositoryImpl repository = new EnrollmentRepositoryImpl(store, io, Runnable::run);
+
+        // When
+        repository.enrollInCourse(course("Yoga"));
+        repository.enrollInCourse(course("Yoga"));
+        repository.flush();
+        repository.awaitIdle();
+
+        // Then
+        assertEquals(1, store.batches.get(0).size());
+        assertEquals(1, repository.getEnrolledCourses().size());
+    }
+
+    @Test
+    public void clearAll_thenEnroll_clearsBeforeInserting() throws Exception {
+        // Given
+        store.rows.put("Yoga", course("Yoga"));
+        EnrollmentRepositoryImpl repository = new EnrollmentRepositoryImpl(store, io, Runnable::run);
+
+        // When
+        repository.clearAllEnrollments();
+        repository.enrollInCourse(course("Pilates"));
+        repository.flush();
+        repository.awaitIdle();
+
+        // Then
+        assertEquals(List.of("Pilates"), new ArrayList<>(store.rows.keySet()));
+    }
+
+    @Test
+    public void failedWrite_isRetriedOnNextFlush() throws Exception {
+        // Given
+        EnrollmentRepositoryImpl repository = new EnrollmentRepositoryImpl(store, io, Runnable::run);
+        repository.enrollInCourse(course("Yoga"));
+        store.failNext = true;
+
+        // When
+        repository.flush();
+        repository.awaitIdle();
+        repository.flush();
+        repository.awaitIdle();
+
+        // Then
+        assertTrue(store.rows.containsKey("Yoga"));
+    }
+
+    @Test
+    public void failedWrite_isRetriedWithoutAnotherChange() throws Exception {
+        // Given
+        EnrollmentRepositoryImpl repository = new EnrollmentRepositoryImpl(store, io, Runnable::run);
+        repository.enrollInCourse(course("Yoga"));
+        store.failNext = true;
+
+        // When
+        repository.flush();
+
+        // Then
+        assertTrue(store.written.await(EnrollmentRepositoryImpl.FLUSH_DELAY_MILLIS * 10, TimeUnit.MILLISECONDS));
+        repository.awaitIdle();
+        assertTrue(store.rows.containsKey("Yoga"));
+        assertEquals(1, repository.getFlushCount());
+    }
+
+    private static List<String> names(List<Course> courses) {
+        List<String> names = new ArrayList<>();
+        for (Course course : courses) {
+            names.add(course.getName());
+        }
+        return names;
+    }
+
+    private static Course course(String name) {
+        return new Course(name, "Clase de " + name, "Ana", "Centro",
+                LocalDateTime.of(2024, 12, 1, 8, 0), LocalDateTime.of(2024, 12, 1, 9, 0));
+    }
+
+    private static final class FakeStore implements EnrollmentStore {
+        final Map<String, Course> rows = new LinkedHashMap<>();
+        final List<Map<String, Course>> batches = new ArrayList<>();
+        final CountDownLatch written = new CountDownLatch(1);
+        volatile boolean failNext;
+        volatile CountDownLatch blockLoad;
+        int loads;
+
+        @Override
+        public List<Course> loadAll() {
+            if (blockLoad != null) {
+                try {
+                    blockLoad.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            loads++;
+            return new ArrayList<>(rows.values());
+        }
+
+        @Override
+        public void apply(Map<String, Course> changes, boolean clearFirst) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("disco lleno");
+            }
+            if (clearFirst) {
+                rows.clear();
+            }
+            for (Map.Entry<String, Course> change : changes.entrySet()) {
+                if (change.getValue() != null) {
+                    rows.putIfAbsent(change.getKey(), change.getValue());
+                } else {
+                    rows.remove(change.getKey());
+                }
+            }
+            batches.add(changes);
+            written.countDown();
+        }
+    }
+}
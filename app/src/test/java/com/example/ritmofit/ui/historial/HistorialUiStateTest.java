@@ -64,6 +64,22 @@ public class HistorialUiStateTest {
         assertTrue(state.hasData());
     }
 
+    @Test
+    public void stale_withData_createsStaleSuccessState() {
+        // Given
+        List<HistorialItem> items = createSampleHistorialItems();
+        
+        // When
+        HistorialUiState state = HistorialUiState.stale(items, true);
+        
+        // Then
+        assertTrue(state.isSuccess());
+        assertTrue(state.isStale());
+        assertTrue(state.isRefreshing());
+        assertEquals(items, state.getHistorialItems());
+        assertNotEquals(HistorialUiState.success(items), state);
+    }
+
     @Test
     public void success_withEmptyList_createsEmptyState() {
         // Given
@@ -383,6 +383,54 @@ public class HistorialViewModelTest {
         assertTrue(description.contains("2024-12-31"));
     }
 
+    @Test
+    public void loadHistorialData_cachedItems_showsStaleThenFreshData() {
+        // Given
+        List<HistorialItem> cachedItems = Arrays.asList(createHistorialItem(1L, LocalDate.now()));
+        List<HistorialItem> freshItems = Arrays.asList(
+            createHistorialItem(1L, LocalDate.now()),
+            createHistorialItem(2L, LocalDate.now())
+        );
+        when(mockRepository.getCachedHistorial(any(), any())).thenReturn(cachedItems);
+
+        // When
+        viewModel.loadHistorialData();
+
+        // Then - cached data is visible while the request is in flight
+        HistorialUiState staleState = viewModel.uiState.getValue();
+        assertTrue(staleState.isSuccess());
+        assertTrue(staleState.isStale());
+        assertTrue(staleState.isRefreshing());
+        assertEquals(1, staleState.getHistorialItems().size());
+
+        ArgumentCaptor<HistorialRepository.HistorialCallback> callbackCaptor =
+            ArgumentCaptor.forClass(HistorialRepository.HistorialCallback.class);
+        verify(mockRepository, atLeastOnce()).getHistorial(any(), any(), callbackCaptor.capture());
+        callbackCaptor.getValue().onSuccess(freshItems);
+
+        HistorialUiState freshState = viewModel.uiState.getValue();
+        assertTrue(freshState.isSuccess());
+        assertFalse(freshState.isStale());
+        assertEquals(2, freshState.getHistorialItems().size());
+    }
+
+    @Test
+    public void loadHistorialData_offlineWithCachedItems_showsStaleState() {
+        // Given
+        List<HistorialItem> cachedItems = Arrays.asList(createHistorialItem(1L, LocalDate.now()));
+        when(mockRepository.getCachedHistorial(any(), any())).thenReturn(cachedItems);
+        when(mockRepository.isNetworkAvailable()).thenReturn(false);
+
+        // When
+        viewModel.loadHistorialData();
+
+        // Then
+        HistorialUiState state = viewModel.uiState.getValue();
+        assertTrue(state.isSuccess());
+        assertTrue(state.isStale());
+        assertFalse(state.isRefreshing());
+    }
+
     @Test
     public void isNetworkAvailable_delegatesToRepository() {
         // When